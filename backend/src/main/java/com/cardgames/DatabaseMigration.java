@@ -0,0 +1,33 @@
+package com.cardgames;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+import java.util.Arrays;
+
+/**
+ * Runs the Liquibase migrations and exits, without the web server, Redis or
+ * MyBatis. Lets a deploy migrate the database once, before rolling out
+ * instances started with {@code LIQUIBASE_ENABLED=false}:
+ *
+ * <pre>
+ * java -cp backend-exec.jar -Dloader.main=com.cardgames.DatabaseMigration \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher
+ * </pre>
+ */
+@ImportAutoConfiguration({ DataSourceAutoConfiguration.class, LiquibaseAutoConfiguration.class })
+public class DatabaseMigration {
+
+	public static void main(String[] args) {
+		String[] arguments = Arrays.copyOf(args, args.length + 1);
+		arguments[args.length] = "--spring.liquibase.enabled=true";
+		new SpringApplicationBuilder(DatabaseMigration.class)
+				.web(WebApplicationType.NONE)
+				.run(arguments)
+				.close();
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.cardgames.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.Nullable;
+
+import javax.sql.DataSource;
+
+/**
+ * Connection pools of the primary database and of its optional read replica.
+ * The primary pool is configured like Spring Boot's, under
+ * {@code spring.datasource.hikari}. Setting {@code cardgames.datasource.replica.url}
+ * adds a replica pool, configured under {@code cardgames.datasource.replica.hikari},
+ * and routes read-only transactions to it through {@link ReplicaRoutingDataSource}.
+ * <p>
+ * The choice is made at startup rather than with a condition, since the
+ * fast-start profile evaluates conditions when it builds.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Creates the pool of the primary database.
+     *
+     * @param properties The {@code spring.datasource} properties.
+     * @return The primary pool.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the pool of the read replica, if one is configured.
+     *
+     * @param properties  The {@code spring.datasource} properties, for the driver.
+     * @param environment The environment holding the replica pool settings.
+     * @param url         The JDBC URL of the replica, blank for none.
+     * @param username    The user to connect as.
+     * @param password    The password to connect with.
+     * @return The replica pool, or null if no replica is configured.
+     */
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties, Environment environment,
+            @Value("${cardgames.datasource.replica.url:}") String url,
+            @Value("${cardgames.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${cardgames.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        if (url.isBlank()) {
+            return null;
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class)
+                .url(url).username(username).password(password).build();
+        Binder.get(environment).bind("cardgames.datasource.replica.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the data source MyBatis, Liquibase and the transaction manager
+     * use.
+     *
+     * @param primaryDataSource The primary pool.
+     * @param replicaDataSource The replica pool, or null.
+     * @return The primary pool alone, or a router over both pools.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            @Qualifier("replicaDataSource") @Nullable HikariDataSource replicaDataSource) {
+        if (replicaDataSource == null) {
+            return primaryDataSource;
+        }
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource));
+    }
+}
@@ -0,0 +1,19 @@
+package com.cardgames.config;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.aot.BeanRegistrationExcludeFilter;
+import org.springframework.beans.factory.support.RegisteredBean;
+
+/**
+ * Leaves the MyBatis mapper beans out of the Spring AOT initializers built by
+ * the fast-start profile. Their generated definitions lose the mapper
+ * interface MyBatis passes as a constructor argument, so the mapper scanner,
+ * which stays in the initializers, registers them again at startup.
+ */
+class MapperAotExcludeFilter implements BeanRegistrationExcludeFilter {
+
+    @Override
+    public boolean isExcludedFromAotProcessing(RegisteredBean registeredBean) {
+        return MapperFactoryBean.class.equals(registeredBean.getBeanClass());
+    }
+}
@@ -0,0 +1,67 @@
+package com.cardgames.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Sends the statements of {@code @Transactional(readOnly = true)} transactions
+ * to the read replica and everything else to the primary. A read-only call made
+ * inside a read-write transaction joins it and stays on the primary, so a flow
+ * reads its own writes. Wrapped in a lazy connection proxy, the route is picked
+ * when the first statement runs, once the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> FORCE_PRIMARY = new ThreadLocal<>();
+
+    /**
+     * Constructs a new ReplicaRoutingDataSource.
+     *
+     * @param primary The data source taking writes.
+     * @param replica The data source read-only transactions go to.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Runs a read on the primary even if it is read-only. Callers use it to
+     * check a row the replica did not return, which may have been written too
+     * recently to be replicated.
+     *
+     * @param read The read to run.
+     * @param <T>  The type of the result.
+     * @return The result of the read.
+     */
+    public static <T> T onPrimary(Supplier<T> read) {
+        Boolean previous = FORCE_PRIMARY.get();
+        FORCE_PRIMARY.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            if (previous == null) {
+                FORCE_PRIMARY.remove();
+            } else {
+                FORCE_PRIMARY.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (FORCE_PRIMARY.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
@@ -1,13 +1,28 @@
 package com.cardgames.config;
 
+import com.cardgames.metrics.ActionFlightRecorderEndpoint;
+import com.cardgames.metrics.CapacityEndpoint;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.savedrequest.NullRequestCache;
 
 /**
  * Configuration class for Spring Security.
@@ -20,6 +35,11 @@ public class SecurityConfig {
     /**
      * Configures the security filter chain.
      * defines which URL paths used depend on authentication and which are public.
+     * Health and Prometheus scrapes are public; they are served on the management
+     * port, which is not exposed to players. Error dispatches are let through so
+     * that a status set by another chain, such as the 401 of the diagnostic
+     * endpoints, reaches the client unchanged. Rejected requests are not saved for replay, since no
+     * login page would replay them, so they never open a session in Redis.
      *
      * @param http the HttpSecurity to modify
      * @return the SecurityFilterChain
@@ -30,22 +50,67 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                         .requestMatchers("/auth/**").permitAll()
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, PrometheusScrapeEndpoint.class))
+                        .permitAll()
                         .anyRequest().authenticated())
+                .requestCache(cache -> cache.requestCache(new NullRequestCache()))
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .formLogin(AbstractHttpConfigurer::disable);
 
         return http.build();
     }
 
+    /**
+     * Configures the diagnostic endpoints, the action flight recorder and the
+     * capacity report, which show usernames and game IDs. They take HTTP Basic
+     * credentials of the admin account, since player sessions are not resolved
+     * on the management port, and stay closed while no admin password is set.
+     *
+     * @param http            the HttpSecurity to modify
+     * @param passwordEncoder the encoder of the admin password
+     * @param username        the admin username
+     * @param password        the admin password, blank to close the endpoints
+     * @return the SecurityFilterChain of the diagnostic endpoints
+     * @throws Exception if an error occurs during configuration
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain diagnosticsFilterChain(HttpSecurity http, PasswordEncoder passwordEncoder,
+            @Value("${cardgames.admin.username:admin}") String username,
+            @Value("${cardgames.admin.password:}") String password) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.to(ActionFlightRecorderEndpoint.class, CapacityEndpoint.class))
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults());
+        if (password.isBlank()) {
+            http.authorizeHttpRequests(auth -> auth.anyRequest().denyAll());
+        } else {
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+            provider.setPasswordEncoder(passwordEncoder);
+            provider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles("ADMIN")
+                    .build()));
+            http
+                    .authenticationManager(new ProviderManager(provider))
+                    .authorizeHttpRequests(auth -> auth.anyRequest().hasRole("ADMIN"));
+        }
+        return http.build();
+    }
+
     /**
      * Provides a BCrypt password encoder.
      * BCrypt is a strong hashing function designed for passwords.
      *
+     * @param strength the BCrypt cost of new hashes; existing hashes are redone
+     *                 at the new cost when their user next logs in
      * @return a PasswordEncoder instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${cardgames.auth.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -0,0 +1,24 @@
+package com.cardgames.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Configuration of the HTTP sessions, which Spring Session keeps in Redis so
+ * that any node can serve any player and a restart logs nobody out.
+ */
+@Configuration
+public class SessionConfig {
+
+    /**
+     * Provides the serializer of session values. Spring Session looks it up by
+     * this bean name instead of using Java serialization.
+     *
+     * @return a serializer storing the logged-in player compactly
+     */
+    @Bean
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer() {
+        return new SessionSerializer();
+    }
+}
@@ -0,0 +1,150 @@
+package com.cardgames.config;
+
+import com.cardgames.model.User;
+import org.springframework.core.serializer.support.DeserializingConverter;
+import org.springframework.core.serializer.support.SerializingConverter;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes HTTP session values to Redis in a small tagged binary format. The
+ * security context of a logged-in player is stored as the user ID, username,
+ * email and role names, about 60 bytes; the password hash is left out. The
+ * session timestamps Spring Session keeps next to it are plain numbers. Any
+ * other value falls back to Java serialization, so an attribute added later
+ * still works, only less compactly.
+ */
+public class SessionSerializer implements RedisSerializer<Object> {
+
+    private static final byte JAVA = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte STRING = 3;
+    private static final byte USER_CONTEXT = 4;
+
+    private final SerializingConverter javaSerializer = new SerializingConverter();
+    private final DeserializingConverter javaDeserializer = new DeserializingConverter();
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (value instanceof Long number) {
+                out.writeByte(LONG);
+                out.writeLong(number);
+            } else if (value instanceof Integer number) {
+                out.writeByte(INTEGER);
+                out.writeInt(number);
+            } else if (value instanceof String string) {
+                out.writeByte(STRING);
+                out.writeUTF(string);
+            } else if (getUser(value) != null) {
+                writeUserContext(out, (SecurityContext) value);
+            } else {
+                out.writeByte(JAVA);
+                out.write(javaSerializer.convert(value));
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not serialize session value of type " + value.getClass(), e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte tag = in.readByte();
+            switch (tag) {
+                case LONG:
+                    return in.readLong();
+                case INTEGER:
+                    return in.readInt();
+                case STRING:
+                    return in.readUTF();
+                case USER_CONTEXT:
+                    return readUserContext(in);
+                case JAVA:
+                    return javaDeserializer.convert(in.readAllBytes());
+                default:
+                    throw new SerializationException("Unknown session value tag " + tag);
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Could not deserialize session value", e);
+        }
+    }
+
+    /**
+     * Gets the player a security context was created for by the login endpoint.
+     *
+     * @param value The session value.
+     * @return The user, or null if the value is anything else.
+     */
+    private User getUser(Object value) {
+        if (value instanceof SecurityContext context
+                && context.getAuthentication() instanceof UsernamePasswordAuthenticationToken token
+                && token.getPrincipal() instanceof User user) {
+            return user;
+        }
+        return null;
+    }
+
+    private void writeUserContext(DataOutputStream out, SecurityContext context) throws IOException {
+        Authentication authentication = context.getAuthentication();
+        User user = (User) authentication.getPrincipal();
+        out.writeByte(USER_CONTEXT);
+        out.writeLong(user.getId() == null ? -1 : user.getId());
+        writeNullable(out, user.getUsername());
+        writeNullable(out, user.getEmail());
+        Collection<? extends GrantedAuthority> authorities = authentication.getAuthorities();
+        out.writeByte(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            out.writeUTF(authority.getAuthority());
+        }
+    }
+
+    private SecurityContext readUserContext(DataInputStream in) throws IOException {
+        User user = new User();
+        long id = in.readLong();
+        user.setId(id == -1 ? null : id);
+        user.setUsername(readNullable(in));
+        user.setEmail(readNullable(in));
+        int count = in.readUnsignedByte();
+        List<GrantedAuthority> authorities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            authorities.add(new SimpleGrantedAuthority(in.readUTF()));
+        }
+        return new SecurityContextImpl(new UsernamePasswordAuthenticationToken(user, null, authorities));
+    }
+
+    private void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -1,6 +1,9 @@
 package com.cardgames.config;
 
+import com.cardgames.metrics.BroadcastMetricsInterceptor;
+import com.cardgames.websocket.interceptor.ActionTraceInterceptor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -13,11 +16,21 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final BroadcastMetricsInterceptor broadcastMetricsInterceptor;
+    private final ActionTraceInterceptor actionTraceInterceptor;
+
+    public WebSocketConfig(BroadcastMetricsInterceptor broadcastMetricsInterceptor,
+            ActionTraceInterceptor actionTraceInterceptor) {
+        this.broadcastMetricsInterceptor = broadcastMetricsInterceptor;
+        this.actionTraceInterceptor = actionTraceInterceptor;
+    }
+
     /**
      * Configures the message broker options.
      * Enables a simple memory-based message broker to carry messages back to the
      * client
-     * on destinations prefixed with "/topic" and "/queue".
+     * on destinations prefixed with "/topic" and "/queue". Every message the
+     * application sends to the broker is measured on the way.
      *
      * @param config The MessageBrokerRegistry to configure.
      */
@@ -25,6 +38,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
+        config.configureBrokerChannel().interceptors(broadcastMetricsInterceptor);
     }
 
     /**
@@ -39,4 +53,15 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*")
                 .withSockJS();
     }
+
+    /**
+     * Configures the channel carrying messages from clients. Frames are stamped
+     * with their receive time before they are queued.
+     *
+     * @param registration The ChannelRegistration of the client inbound channel.
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(actionTraceInterceptor);
+    }
 }
@@ -3,8 +3,10 @@ package com.cardgames.controller;
 import com.cardgames.dto.CreateGameRequest;
 import com.cardgames.dto.GameResponse;
 import com.cardgames.dto.JoinGameRequest;
+import com.cardgames.dto.ReplayResponse;
 import com.cardgames.model.User;
 import com.cardgames.service.GameService;
+import com.cardgames.service.ReplayService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -14,9 +16,11 @@ import org.springframework.web.bind.annotation.*;
 public class GameController {
 
     private final GameService gameService;
+    private final ReplayService replayService;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, ReplayService replayService) {
         this.gameService = gameService;
+        this.replayService = replayService;
     }
 
     /**
@@ -70,4 +74,19 @@ public class GameController {
         gameService.startGame(gameId, user);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Rebuilds the state of a game right after a given move from its recorded
+     * actions.
+     *
+     * @param gameId The ID of the game to replay.
+     * @param move   The move to rebuild, 0 being the initial deal.
+     * @return A ResponseEntity containing the state after the move.
+     */
+    @GetMapping("/{gameId}/replay")
+    public ResponseEntity<ReplayResponse> getReplay(@PathVariable Long gameId, @RequestParam int move) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        ReplayResponse response = replayService.getStateAt(gameId, move, user);
+        return ResponseEntity.ok(response);
+    }
 }
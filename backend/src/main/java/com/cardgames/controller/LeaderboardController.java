@@ -0,0 +1,64 @@
+package com.cardgames.controller;
+
+import com.cardgames.dto.LeaderboardEntry;
+import com.cardgames.model.User;
+import com.cardgames.service.LeaderboardService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/leaderboard")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    /**
+     * Retrieves a page of the best players of a game type.
+     *
+     * @param gameType The game type, e.g. UNO.
+     * @param offset   The number of players to skip.
+     * @param limit    The number of players to return.
+     * @return A ResponseEntity containing the players, best first.
+     */
+    @GetMapping("/{gameType}")
+    public ResponseEntity<List<LeaderboardEntry>> getTop(@PathVariable String gameType,
+            @RequestParam(defaultValue = "0") int offset, @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(gameType, offset, limit));
+    }
+
+    /**
+     * Retrieves the players ranked around the current user.
+     *
+     * @param gameType The game type, e.g. UNO.
+     * @param radius   The number of players to include above and below.
+     * @return A ResponseEntity containing the players, best first, empty if the
+     *         user is not ranked.
+     */
+    @GetMapping("/{gameType}/around-me")
+    public ResponseEntity<List<LeaderboardEntry>> getAroundMe(@PathVariable String gameType,
+            @RequestParam(defaultValue = "5") int radius) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return ResponseEntity.ok(leaderboardService.getAround(gameType, user.getUsername(), radius));
+    }
+
+    /**
+     * Retrieves the rank and points of the current user.
+     *
+     * @param gameType The game type, e.g. UNO.
+     * @return A ResponseEntity containing the entry of the user, or 404 if the
+     *         user is not ranked.
+     */
+    @GetMapping("/{gameType}/me")
+    public ResponseEntity<LeaderboardEntry> getMyRank(@PathVariable String gameType) {
+        User user = (User) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        LeaderboardEntry entry = leaderboardService.getRank(gameType, user.getUsername());
+        return entry == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(entry);
+    }
+}
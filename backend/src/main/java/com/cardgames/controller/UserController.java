@@ -1,9 +1,17 @@
 package com.cardgames.controller;
 
+import com.cardgames.dto.MatchHistoryPage;
 import com.cardgames.model.User;
+import com.cardgames.model.UserStats;
+import com.cardgames.service.MatchHistoryService;
 import com.cardgames.service.UserService;
+import com.cardgames.service.UserStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
 
 @RestController
@@ -13,6 +21,12 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserStatsService userStatsService;
+
+    @Autowired
+    private MatchHistoryService matchHistoryService;
+
     /**
      * Retrieves a list of all users.
      *
@@ -33,4 +47,44 @@ public class UserController {
     public User getUserById(@PathVariable Long id) {
         return userService.getUserById(id);
     }
+
+    /**
+     * Retrieves the statistics of a user for each game type they played.
+     *
+     * @param id The ID of the user.
+     * @return A list of UserStats objects, one per game type.
+     */
+    @GetMapping("/{id}/stats")
+    public List<UserStats> getUserStats(@PathVariable Long id) {
+        return userStatsService.getStats(id);
+    }
+
+    /**
+     * Retrieves a page of the finished games of a user, most recent first.
+     *
+     * @param id     The ID of the user.
+     * @param cursor The nextCursor of the previous page, omitted for the first page.
+     * @param limit  The number of games to return.
+     * @return A MatchHistoryPage with the games and the cursor of the next page.
+     */
+    @GetMapping("/{id}/games")
+    public MatchHistoryPage getMatchHistory(@PathVariable Long id, @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        return matchHistoryService.getHistory(id, cursor, limit);
+    }
+
+    /**
+     * Streams every finished game of a user as newline-delimited JSON.
+     *
+     * @param id The ID of the user.
+     * @return A ResponseEntity whose body is written as the games are read.
+     */
+    @GetMapping("/{id}/games/export")
+    public ResponseEntity<StreamingResponseBody> exportMatchHistory(@PathVariable Long id) {
+        StreamingResponseBody body = out -> matchHistoryService.exportHistory(id, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"games-" + id + ".ndjson\"")
+                .body(body);
+    }
 }
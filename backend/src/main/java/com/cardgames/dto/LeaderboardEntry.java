@@ -0,0 +1,84 @@
+package com.cardgames.dto;
+
+/**
+ * Data Transfer Object for one row of a leaderboard.
+ */
+public class LeaderboardEntry {
+    private Long rank;
+    private String username;
+    private long points;
+
+    /**
+     * Default constructor.
+     */
+    public LeaderboardEntry() {
+    }
+
+    /**
+     * Constructs a new LeaderboardEntry with the specified details.
+     *
+     * @param rank     The rank of the player, 1 being the best.
+     * @param username The username of the player.
+     * @param points   The leaderboard points of the player.
+     */
+    public LeaderboardEntry(Long rank, String username, long points) {
+        this.rank = rank;
+        this.username = username;
+        this.points = points;
+    }
+
+    /**
+     * Gets the rank of the player.
+     *
+     * @return The rank, 1 being the best.
+     */
+    public Long getRank() {
+        return rank;
+    }
+
+    /**
+     * Sets the rank of the player.
+     *
+     * @param rank The rank to set.
+     */
+    public void setRank(Long rank) {
+        this.rank = rank;
+    }
+
+    /**
+     * Gets the username of the player.
+     *
+     * @return The username.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the username of the player.
+     *
+     * @param username The username to set.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the leaderboard points of the player: the number of opponents they
+     * finished ahead of, over all their games of this type.
+     *
+     * @return The points.
+     */
+    public long getPoints() {
+        return points;
+    }
+
+    /**
+     * Sets the leaderboard points of the player.
+     *
+     * @param points The points to set.
+     */
+    public void setPoints(long points) {
+        this.points = points;
+    }
+}
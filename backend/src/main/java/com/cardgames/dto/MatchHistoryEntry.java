@@ -0,0 +1,161 @@
+package com.cardgames.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for one finished game in the match history of a user.
+ */
+public class MatchHistoryEntry {
+    private Long gameId;
+    private String gameType;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+    private String winner;
+    private int seat;
+    private int score;
+    private int placement;
+
+    /**
+     * Gets the ID of the game.
+     *
+     * @return The game ID.
+     */
+    public Long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Sets the ID of the game.
+     *
+     * @param gameId The game ID to set.
+     */
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    /**
+     * Gets the type of the game.
+     *
+     * @return The game type, e.g. UNO.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Sets the type of the game.
+     *
+     * @param gameType The game type to set.
+     */
+    public void setGameType(String gameType) {
+        this.gameType = gameType;
+    }
+
+    /**
+     * Gets the time the game ended.
+     *
+     * @return The end time.
+     */
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Sets the time the game ended.
+     *
+     * @param finishedAt The end time to set.
+     */
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Gets how long the game lasted.
+     *
+     * @return The duration in milliseconds, or null if the start is unknown.
+     */
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    /**
+     * Sets how long the game lasted.
+     *
+     * @param durationMs The duration in milliseconds to set.
+     */
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    /**
+     * Gets the username of the winner.
+     *
+     * @return The username of the winner, or null if nobody won.
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * Sets the username of the winner.
+     *
+     * @param winner The username of the winner to set.
+     */
+    public void setWinner(String winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * Gets the seat of the user in the game.
+     *
+     * @return The seat index, 0 being the first player.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Sets the seat of the user in the game.
+     *
+     * @param seat The seat index to set.
+     */
+    public void setSeat(int seat) {
+        this.seat = seat;
+    }
+
+    /**
+     * Gets the final score of the user.
+     *
+     * @return The final score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Sets the final score of the user.
+     *
+     * @param score The final score to set.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Gets the placement of the user.
+     *
+     * @return The placement, 1 being the winner.
+     */
+    public int getPlacement() {
+        return placement;
+    }
+
+    /**
+     * Sets the placement of the user.
+     *
+     * @param placement The placement to set.
+     */
+    public void setPlacement(int placement) {
+        this.placement = placement;
+    }
+}
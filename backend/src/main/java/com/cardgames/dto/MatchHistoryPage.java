@@ -0,0 +1,64 @@
+package com.cardgames.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of the match history of a user.
+ */
+public class MatchHistoryPage {
+    private List<MatchHistoryEntry> games;
+    private String nextCursor;
+
+    /**
+     * Default constructor.
+     */
+    public MatchHistoryPage() {
+    }
+
+    /**
+     * Constructs a new MatchHistoryPage with the specified details.
+     *
+     * @param games      The games of the page, most recent first.
+     * @param nextCursor The cursor of the next page, or null on the last page.
+     */
+    public MatchHistoryPage(List<MatchHistoryEntry> games, String nextCursor) {
+        this.games = games;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Gets the games of the page.
+     *
+     * @return The games, most recent first.
+     */
+    public List<MatchHistoryEntry> getGames() {
+        return games;
+    }
+
+    /**
+     * Sets the games of the page.
+     *
+     * @param games The games to set.
+     */
+    public void setGames(List<MatchHistoryEntry> games) {
+        this.games = games;
+    }
+
+    /**
+     * Gets the cursor to pass to fetch the next page.
+     *
+     * @return The cursor, or null if this is the last page.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Sets the cursor to pass to fetch the next page.
+     *
+     * @param nextCursor The cursor to set.
+     */
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,104 @@
+package com.cardgames.dto;
+
+/**
+ * Data Transfer Object for returning the state of a game at a given move.
+ */
+public class ReplayResponse {
+    private Long gameId;
+    private int move;
+    private int totalMoves;
+    private Object gameState;
+
+    /**
+     * Default constructor.
+     */
+    public ReplayResponse() {
+    }
+
+    /**
+     * Constructs a new ReplayResponse with the specified details.
+     *
+     * @param gameId     The unique identifier of the game.
+     * @param move       The move the state was rebuilt at, 0 being the deal.
+     * @param totalMoves The number of moves recorded so far.
+     * @param gameState  The game state after the move.
+     */
+    public ReplayResponse(Long gameId, int move, int totalMoves, Object gameState) {
+        this.gameId = gameId;
+        this.move = move;
+        this.totalMoves = totalMoves;
+        this.gameState = gameState;
+    }
+
+    /**
+     * Gets the game ID.
+     *
+     * @return The game ID.
+     */
+    public Long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Sets the game ID.
+     *
+     * @param gameId The game ID to set.
+     */
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    /**
+     * Gets the move the state was rebuilt at.
+     *
+     * @return The move number.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * Sets the move the state was rebuilt at.
+     *
+     * @param move The move number to set.
+     */
+    public void setMove(int move) {
+        this.move = move;
+    }
+
+    /**
+     * Gets the number of moves recorded so far.
+     *
+     * @return The total number of moves.
+     */
+    public int getTotalMoves() {
+        return totalMoves;
+    }
+
+    /**
+     * Sets the number of moves recorded so far.
+     *
+     * @param totalMoves The total number of moves to set.
+     */
+    public void setTotalMoves(int totalMoves) {
+        this.totalMoves = totalMoves;
+    }
+
+    /**
+     * Gets the game state after the move.
+     *
+     * @return The game state.
+     */
+    public Object getGameState() {
+        return gameState;
+    }
+
+    /**
+     * Sets the game state after the move.
+     *
+     * @param gameState The game state to set.
+     */
+    public void setGameState(Object gameState) {
+        this.gameState = gameState;
+    }
+}
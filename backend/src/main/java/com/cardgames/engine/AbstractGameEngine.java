@@ -0,0 +1,483 @@
+package com.cardgames.engine;
+
+import com.cardgames.metrics.CapacityTracker;
+import com.cardgames.metrics.GameMetrics;
+import com.cardgames.metrics.jfr.ApplyActionEvent;
+import com.cardgames.metrics.jfr.StateLoadEvent;
+import com.cardgames.metrics.jfr.StateSaveEvent;
+import com.cardgames.model.GameResult;
+import com.cardgames.model.GameResultPlayer;
+import com.cardgames.service.GameExpiry;
+import com.cardgames.service.GameResultWriter;
+import com.cardgames.service.ActionLogService;
+import com.cardgames.service.LobbyService;
+import com.cardgames.websocket.model.Action;
+import com.cardgames.websocket.model.ActionTrace;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Base class for game engines. Keeps the rules of a game (building the opening
+ * state and applying an action to it) apart from Redis persistence, the action
+ * log and WebSocket broadcasting, so the rules can be replayed in memory.
+ *
+ * @param <S> The game state type.
+ */
+public abstract class AbstractGameEngine<S> implements GameEngine {
+
+    /**
+     * The number of times an action is applied before giving up when other
+     * actions on the same game keep changing its state first.
+     */
+    static final int MAX_SAVE_ATTEMPTS = 3;
+
+    protected final SimpMessageSendingOperations messagingTemplate;
+    protected final StringRedisTemplate redisTemplate;
+    protected final LobbyService lobbyService;
+    protected final ObjectMapper objectMapper;
+    protected final ActionLogService actionLogService;
+
+    private final String gameType;
+    private final String gamePrefix;
+    private final Class<S> stateType;
+
+    @Autowired
+    private GameMetrics gameMetrics = GameMetrics.NONE;
+
+    @Autowired
+    private CapacityTracker capacityTracker = CapacityTracker.NONE;
+
+    @Autowired
+    private GameResultWriter gameResultWriter = GameResultWriter.NONE;
+
+    @Autowired
+    private GameExpiry gameExpiry = GameExpiry.NONE;
+
+    protected AbstractGameEngine(SimpMessageSendingOperations messagingTemplate, StringRedisTemplate redisTemplate,
+            LobbyService lobbyService, ObjectMapper objectMapper, ActionLogService actionLogService,
+            String gameType, String gamePrefix, Class<S> stateType) {
+        this.messagingTemplate = messagingTemplate;
+        this.redisTemplate = redisTemplate;
+        this.lobbyService = lobbyService;
+        this.objectMapper = objectMapper;
+        this.actionLogService = actionLogService;
+        this.gameType = gameType;
+        this.gamePrefix = gamePrefix;
+        this.stateType = stateType;
+    }
+
+    /**
+     * Builds the opening state of a game without touching Redis. The same seat
+     * order and seed always produce the same deal.
+     *
+     * @param playerNames The usernames of the players, in lobby order.
+     * @param seed        The seed every shuffle of this game is drawn from.
+     * @return The initialized game state.
+     */
+    public abstract S newGame(List<String> playerNames, long seed);
+
+    /**
+     * Applies a player action to the state in place. Must depend only on the state
+     * and the action so that replaying the action log rebuilds the same game.
+     *
+     * @param state   The current game state.
+     * @param sender  The username of the player sending the action.
+     * @param payload The action payload sent by the client.
+     * @return true if the action was accepted and must be saved and broadcast.
+     */
+    public abstract boolean applyAction(S state, String sender, Map<String, Object> payload);
+
+    /**
+     * Checks whether the game has ended.
+     *
+     * @param state The current game state.
+     * @return true if the game is over, false otherwise.
+     */
+    public abstract boolean isGameOver(S state);
+
+    /**
+     * Builds the view of the state that may be shown to every player, without the
+     * deck or the random stream.
+     *
+     * @param state The current game state.
+     * @return The public copy of the state.
+     */
+    public abstract S toPublicState(S state);
+
+    /**
+     * Gets the number of players seated in a game.
+     *
+     * @param state The current game state.
+     * @return The number of players.
+     */
+    public abstract int getPlayerCount(S state);
+
+    /**
+     * Gets the final score of each player. A higher score is better.
+     *
+     * @param state The game state.
+     * @return The score of each player by username, in seat order.
+     */
+    public abstract Map<String, Integer> getFinalScores(S state);
+
+    /**
+     * Gets the winner of a finished game.
+     *
+     * @param state The game state.
+     * @return The username of the winner, or null if nobody won.
+     */
+    public abstract String getWinner(S state);
+
+    /**
+     * Builds the result of a finished game. The winner is placed first and the
+     * other players follow by score, players with the same score sharing a
+     * placement.
+     *
+     * @param gameId     The ID of the game.
+     * @param state      The final game state.
+     * @param finishedAt The time the game ended.
+     * @return The result.
+     */
+    public GameResult buildResult(Long gameId, S state, LocalDateTime finishedAt) {
+        String winner = getWinner(state);
+        List<GameResultPlayer> players = new ArrayList<>();
+        int seat = 0;
+        for (Map.Entry<String, Integer> entry : getFinalScores(state).entrySet()) {
+            GameResultPlayer player = new GameResultPlayer();
+            player.setUsername(entry.getKey());
+            player.setSeat(seat++);
+            player.setScore(entry.getValue());
+            players.add(player);
+        }
+        players.sort((a, b) -> {
+            boolean aWon = a.getUsername().equals(winner);
+            boolean bWon = b.getUsername().equals(winner);
+            if (aWon != bWon) {
+                return aWon ? -1 : 1;
+            }
+            return a.getScore() != b.getScore() ? Integer.compare(b.getScore(), a.getScore())
+                    : Integer.compare(a.getSeat(), b.getSeat());
+        });
+        for (int i = 0; i < players.size(); i++) {
+            GameResultPlayer player = players.get(i);
+            GameResultPlayer previous = i > 0 ? players.get(i - 1) : null;
+            boolean tied = previous != null && previous.getScore() == player.getScore()
+                    && !previous.getUsername().equals(winner);
+            player.setPlacement(tied ? previous.getPlacement() : i + 1);
+        }
+
+        GameResult result = new GameResult();
+        result.setGameId(gameId);
+        result.setGameType(gameType);
+        result.setWinner(winner);
+        result.setFinishedAt(finishedAt);
+        result.setPlayers(players);
+        return result;
+    }
+
+    /**
+     * Gets the game type this engine runs.
+     *
+     * @return The game type, e.g. FLIP_SEVEN.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Gets the Redis key holding the state of a game.
+     *
+     * @param gameId The ID of the game.
+     * @return The state key.
+     */
+    public String getStateKey(Long gameId) {
+        return gamePrefix + gameId + ":state";
+    }
+
+    /**
+     * Gets the SCAN pattern matching the state keys of every game of this type.
+     *
+     * @return The key pattern.
+     */
+    public String getStateKeyPattern() {
+        return gamePrefix + "*:state";
+    }
+
+    /**
+     * Gets the game ID from a state key of this engine.
+     *
+     * @param stateKey The state key.
+     * @return The ID of the game, or null if the key is not a state key of this
+     *         engine.
+     */
+    public Long parseStateKey(String stateKey) {
+        if (!stateKey.startsWith(gamePrefix) || !stateKey.endsWith(":state")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(stateKey.substring(gamePrefix.length(), stateKey.length() - ":state".length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Checks whether a stored state is of a game that has ended.
+     *
+     * @param json The state as stored in Redis.
+     * @return true if the game is over, false if not or if the state cannot be
+     *         read.
+     */
+    public boolean isStoredGameOver(String json) {
+        try {
+            return isGameOver(objectMapper.readValue(json, stateType));
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets the class of the state this engine persists.
+     *
+     * @return The state class.
+     */
+    public Class<S> getStateType() {
+        return stateType;
+    }
+
+    /**
+     * Initializes the game from the players in the lobby with a fresh seed and
+     * records the seat order and seed as the first entry of the action log.
+     *
+     * @param gameId The ID of the game to initialize.
+     */
+    @Override
+    public void initializeGame(Long gameId) {
+        Set<String> playerNames = lobbyService.getPlayers(gameId);
+        if (playerNames == null || playerNames.isEmpty()) {
+            return;
+        }
+
+        List<String> seats = new ArrayList<>(playerNames);
+        long seed = ThreadLocalRandom.current().nextLong();
+        S state = newGame(seats, seed);
+
+        actionLogService.recordStart(gameId, seats, seed);
+        saveState(gameId, state);
+        broadcastGameState(gameId, state);
+    }
+
+    /**
+     * Loads the state, applies the action and, if it was accepted, saves the
+     * state, records the action in the action log and broadcasts the state. The
+     * save only goes through if no other action changed the state since it was
+     * loaded; otherwise the action is applied again to the new state, up to
+     * {@link #MAX_SAVE_ATTEMPTS} times. The action that ends the game also hands
+     * its result to the {@link GameResultWriter}, which stores it in the
+     * background.
+     *
+     * @param action The action received from the client.
+     */
+    @Override
+    public void handleAction(Action action) {
+        long start = System.nanoTime();
+        ActionTrace trace = action.getTrace();
+        if (trace == null) {
+            trace = ActionTrace.start(action.getCorrelationId());
+            action.setTrace(trace);
+        }
+        Long gameId = action.getGameId();
+        Map<String, Object> payload = action.getPayload();
+        Object name = payload.get("action");
+        for (int attempt = 1; attempt <= MAX_SAVE_ATTEMPTS; attempt++) {
+            StateLoadEvent loadEvent = new StateLoadEvent();
+            loadEvent.begin();
+            long loadStart = System.nanoTime();
+            String loaded = redisTemplate.opsForValue().get(getStateKey(gameId));
+            S state = readState(gameId, loaded, loadEvent, loadStart);
+            if (state == null)
+                return;
+            trace.markLoaded();
+
+            if ("SYNC_REQUEST".equals(name)) {
+                broadcastGameState(gameId, state, trace);
+                gameMetrics.recordAction(gameType, "SYNC_REQUEST", System.nanoTime() - start);
+                return;
+            }
+
+            boolean wasOver = isGameOver(state);
+            ApplyActionEvent event = new ApplyActionEvent();
+            event.begin();
+            boolean accepted = applyAction(state, action.getSender(), payload);
+            event.end();
+            trace.markApplied();
+            if (event.shouldCommit()) {
+                event.setGame(gameType, gameId);
+                event.setAction(String.valueOf(name));
+                event.setPlayers(getPlayerCount(state));
+                event.setAccepted(accepted);
+                event.commit();
+            }
+            if (!accepted) {
+                break;
+            }
+
+            Integer size = saveState(gameId, state, loaded, action);
+            if (size == null) {
+                // Another action changed the state first, apply this one to the new state
+                continue;
+            }
+            trace.setStateSize(size);
+            trace.markSaved();
+            broadcastGameState(gameId, state, trace);
+            if (!wasOver && isGameOver(state)) {
+                gameResultWriter.submit(buildResult(gameId, state, LocalDateTime.now()));
+            }
+            gameMetrics.recordAction(gameType, String.valueOf(name), System.nanoTime() - start);
+            return;
+        }
+        gameMetrics.recordAction(gameType, GameMetrics.ACTION_REJECTED, System.nanoTime() - start);
+    }
+
+    /**
+     * Persists the game state to Redis, pushing back its expiry.
+     *
+     * @param gameId The ID of the game.
+     * @param state  The game state to save.
+     * @return The length of the saved JSON, or null if the state could not be
+     *         serialized.
+     */
+    protected Integer saveState(Long gameId, S state) {
+        return saveState(gameId, state, null, null);
+    }
+
+    /**
+     * Persists the game state to Redis, pushing back its expiry. Given the action
+     * that produced it, the state is only saved if the stored one is still the
+     * loaded one, and the action is logged in the same step.
+     *
+     * @param gameId The ID of the game.
+     * @param state  The game state to save.
+     * @param loaded The state as it was loaded, or null to save unconditionally.
+     * @param action The action that produced the state, or null.
+     * @return The length of the saved JSON, or null if the state could not be
+     *         serialized or was changed by another action.
+     */
+    private Integer saveState(Long gameId, S state, String loaded, Action action) {
+        try {
+            StateSaveEvent event = new StateSaveEvent();
+            event.begin();
+            long start = System.nanoTime();
+            String json = objectMapper.writeValueAsString(state);
+            boolean over = isGameOver(state);
+            Duration ttl = gameExpiry.stateTtl(over);
+            if (action != null) {
+                if (!actionLogService.recordWithState(gameId, action, getStateKey(gameId), loaded, json, ttl)) {
+                    return null;
+                }
+            } else if (ttl != null) {
+                redisTemplate.opsForValue().set(getStateKey(gameId), json, ttl);
+            } else {
+                redisTemplate.opsForValue().set(getStateKey(gameId), json);
+            }
+            gameMetrics.recordState(gameType, "save", System.nanoTime() - start, json.length());
+            capacityTracker.stateSaved(gameType, gameId, json.length(), getPlayerCount(state), over);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setGame(gameType, gameId);
+                event.setPlayers(getPlayerCount(state));
+                event.setStateSize(json.length());
+                event.commit();
+            }
+            return json.length();
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the game state from Redis.
+     *
+     * @param gameId The ID of the game.
+     * @return The current state, or null if not found.
+     */
+    public S loadState(Long gameId) {
+        StateLoadEvent event = new StateLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        return readState(gameId, redisTemplate.opsForValue().get(getStateKey(gameId)), event, start);
+    }
+
+    private S readState(Long gameId, String json, StateLoadEvent event, long start) {
+        if (json == null)
+            return null;
+        try {
+            long allocated = capacityTracker.allocatedBytes();
+            S state = objectMapper.readValue(json, stateType);
+            capacityTracker.stateLoaded(gameType, allocated);
+            gameMetrics.recordState(gameType, "load", System.nanoTime() - start, json.length());
+            event.end();
+            if (event.shouldCommit()) {
+                event.setGame(gameType, gameId);
+                event.setPlayers(getPlayerCount(state));
+                event.setStateSize(json.length());
+                event.commit();
+            }
+            return state;
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Sends the public view of the game state to all clients via WebSocket.
+     *
+     * @param gameId The ID of the game.
+     * @param state  The game state to broadcast.
+     */
+    protected void broadcastGameState(Long gameId, S state) {
+        broadcastGameState(gameId, state, null);
+    }
+
+    /**
+     * Sends the public view of the game state to all clients via WebSocket,
+     * together with the trace of the action that produced it.
+     *
+     * @param gameId The ID of the game.
+     * @param state  The game state to broadcast.
+     * @param trace  The trace of the action, or null for updates no action
+     *               caused, such as the opening deal.
+     */
+    protected void broadcastGameState(Long gameId, S state, ActionTrace trace) {
+        Action updateAction = new Action();
+        updateAction.setType(Action.ActionType.GAME_ACTION);
+        updateAction.setGameId(gameId);
+        updateAction.setSender("SYSTEM");
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "GAME_UPDATE");
+        payload.put("gameState", toPublicState(state));
+        if (trace != null) {
+            updateAction.setCorrelationId(trace.getCorrelationId());
+            trace.markBroadcast();
+            payload.put("trace", trace);
+        }
+
+        updateAction.setPayload(payload);
+        messagingTemplate.convertAndSend("/topic/lobby/" + gameId + "/game", updateAction);
+    }
+}
@@ -3,10 +3,11 @@ package com.cardgames.engine;
 import com.cardgames.model.flipseven.Card;
 import com.cardgames.model.flipseven.CardType;
 import com.cardgames.model.flipseven.FlipSevenPlayer;
+import com.cardgames.model.flipseven.FlipSevenRules;
 import com.cardgames.model.flipseven.FlipSevenState;
+import com.cardgames.model.flipseven.PendingActionType;
+import com.cardgames.service.ActionLogService;
 import com.cardgames.service.LobbyService;
-import com.cardgames.websocket.model.Action;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
@@ -15,161 +16,193 @@ import org.springframework.stereotype.Component;
 import java.util.*;
 
 @Component
-public class FlipSevenGameEngine implements GameEngine {
-
-    private final SimpMessageSendingOperations messagingTemplate;
-    private final StringRedisTemplate redisTemplate;
-    private final LobbyService lobbyService;
-    private final ObjectMapper objectMapper;
+public class FlipSevenGameEngine extends AbstractGameEngine<FlipSevenState> {
 
+    private static final String GAME_TYPE = "FLIP_SEVEN";
     private static final String GAME_PREFIX = "game:flipseven:";
 
     public FlipSevenGameEngine(SimpMessageSendingOperations messagingTemplate, StringRedisTemplate redisTemplate,
-            LobbyService lobbyService, ObjectMapper objectMapper) {
-        this.messagingTemplate = messagingTemplate;
-        this.redisTemplate = redisTemplate;
-        this.lobbyService = lobbyService;
-        this.objectMapper = objectMapper;
+            LobbyService lobbyService, ObjectMapper objectMapper, ActionLogService actionLogService) {
+        super(messagingTemplate, redisTemplate, lobbyService, objectMapper, actionLogService, GAME_TYPE, GAME_PREFIX,
+                FlipSevenState.class);
     }
 
     /**
-     * Initializes the game by setting up players, deck, and initial state.
+     * Builds the opening state: seats the players, shuffles a deck and deals the
+     * first round.
      *
-     * @param gameId The ID of the game to initialize.
+     * @param playerNames The usernames of the players, in seat order.
+     * @param seed        The seed every shuffle of this game is drawn from.
+     * @return The initialized game state.
      */
     @Override
-    public void initializeGame(Long gameId) {
-        Set<String> playerNames = lobbyService.getPlayers(gameId);
-        if (playerNames == null || playerNames.isEmpty()) {
-            return;
-        }
+    public FlipSevenState newGame(List<String> playerNames, long seed) {
+        return newGame(playerNames, seed, new FlipSevenRules());
+    }
 
+    /**
+     * Builds the opening state of a game played with custom scoring constants.
+     *
+     * @param playerNames The usernames of the players, in seat order.
+     * @param seed        The seed every shuffle of this game is drawn from.
+     * @param rules       The scoring constants of the game.
+     * @return The initialized game state.
+     */
+    public FlipSevenState newGame(List<String> playerNames, long seed, FlipSevenRules rules) {
         FlipSevenState state = new FlipSevenState();
+        state.setSeed(seed);
+        state.setRngState(seed);
+        state.setRules(rules);
+
         List<FlipSevenPlayer> players = new ArrayList<>();
         playerNames.forEach(p -> players.add(new FlipSevenPlayer(p)));
         state.setPlayers(players);
         state.setCurrentPlayerIndex(0);
         state.setRoundStarterIndex(0);
 
-        state.setDeck(generateDeck());
-
-        startNewRound(gameId, state);
+        state.setDeck(generateDeck(state));
 
-        saveState(gameId, state);
-
-        broadcastGameState(gameId, state);
+        startNewRound(state);
+        return state;
     }
 
     /**
-     * Processes incoming actions from players, such as hit, stay, or using special
-     * cards.
+     * Processes actions from players, such as hit, stay, or using special cards.
      *
-     * @param action The action received from the client.
+     * @param state   The current game state.
+     * @param sender  The username of the player sending the action.
+     * @param payload The action payload sent by the client.
+     * @return true if the action was accepted, false otherwise.
      */
     @Override
-    public void handleAction(Action action) {
-        Long gameId = action.getGameId();
-        FlipSevenState state = loadState(gameId);
-        if (state == null)
-            return;
-
-        String sender = action.getSender();
-        Map<String, Object> payload = action.getPayload();
+    public boolean applyAction(FlipSevenState state, String sender, Map<String, Object> payload) {
         String type = (String) payload.get("action");
 
         if ("PLAYER_READY".equals(type)) {
-            handlePlayerReady(state, sender, gameId);
-            saveState(gameId, state);
-            broadcastGameState(gameId, state);
-            return;
+            handlePlayerReady(state, sender);
+            return true;
         }
 
-        FlipSevenPlayer currentPlayer = state.getPlayers().get(state.getCurrentPlayerIndex());
-        if (!currentPlayer.getUsername().equals(sender)) {
-            return;
-        }
-
-        if (state.getPendingActionType() != null && state.getPendingActionInitiator().equals(sender)) {
-            if (!"SELECT_TARGET".equals(type)) {
-                return;
+        if (state.getPendingActionType() != null) {
+            FlipSevenPlayer initiator = findPlayer(state, state.getPendingActionInitiator());
+            if (initiator == null || !initiator.getUsername().equals(sender) || !"SELECT_TARGET".equals(type)) {
+                return false;
             }
+            return handleSelectTarget(state, initiator, (String) payload.get("target"));
         }
 
-        boolean stateChanged = false;
+        FlipSevenPlayer currentPlayer = state.getPlayers().get(state.getCurrentPlayerIndex());
+        if (!currentPlayer.getUsername().equals(sender)) {
+            return false;
+        }
 
         if ("HIT".equals(type)) {
             handleHit(state, currentPlayer);
-            stateChanged = true;
+            return true;
         } else if ("STAY".equals(type)) {
             handleStay(state, currentPlayer);
-            stateChanged = true;
-        } else if ("SELECT_TARGET".equals(type)) {
-            handleSelectTarget(state, currentPlayer, (String) payload.get("target"));
-            stateChanged = true;
-        } else if ("SYNC_REQUEST".equals(type)) {
-            broadcastGameState(gameId, state);
-            return;
+            return true;
         }
+        return false;
+    }
 
-        if (stateChanged) {
-            saveState(gameId, state);
-            broadcastGameState(gameId, state);
+    /**
+     * Checks whether a player has reached the target score.
+     *
+     * @param state The current game state.
+     * @return true if the game is over, false otherwise.
+     */
+    @Override
+    public boolean isGameOver(FlipSevenState state) {
+        return state.isGameOver();
+    }
+
+    /**
+     * Gets the total score of each player over all rounds.
+     *
+     * @param state The game state.
+     * @return The score of each player by username, in seat order.
+     */
+    @Override
+    public Map<String, Integer> getFinalScores(FlipSevenState state) {
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (FlipSevenPlayer p : state.getPlayers()) {
+            scores.put(p.getUsername(), p.getTotalScore());
         }
+        return scores;
     }
 
     /**
-     * Handles the selection of a target player for specific action cards.
+     * Gets the player who reached the target score with the highest total.
+     *
+     * @param state The game state.
+     * @return The username of the winner, or null if nobody won.
+     */
+    @Override
+    public String getWinner(FlipSevenState state) {
+        return state.getWinner();
+    }
+
+    /**
+     * Handles the selection of a target player for the pending effect. The
+     * selection belongs to the player who drew the card, who is not the current
+     * player when the card came from someone else's Flip 3.
      *
      * @param state          The current game state.
      * @param initiator      The player initiating the action.
      * @param targetUsername The username of the target player.
+     * @return true if the target was valid and the effect was applied.
      */
-    private void handleSelectTarget(FlipSevenState state, FlipSevenPlayer initiator, String targetUsername) {
-        if (state.getPendingActionType() == null
-                || !initiator.getUsername().equals(state.getPendingActionInitiator())) {
-            return;
-        }
-
-        FlipSevenPlayer target = state.getPlayers().stream()
-                .filter(p -> p.getUsername().equals(targetUsername))
-                .findFirst()
-                .orElse(null);
-
+    private boolean handleSelectTarget(FlipSevenState state, FlipSevenPlayer initiator, String targetUsername) {
+        FlipSevenPlayer target = findPlayer(state, targetUsername);
         if (target == null || !target.isRoundActive())
-            return;
+            return false;
 
-        if ("FREEZE_SELECTION".equals(state.getPendingActionType())) {
-            disableCardByType(initiator, CardType.ACTION_FREEZE);
+        PendingActionType effect = state.getPendingActionType();
+        state.setPendingActionType(null);
+        state.setPendingActionInitiator(null);
 
-            target.setTotalScore(target.getTotalScore() + target.getRoundScore());
-            target.setLastRoundScore(target.getRoundScore());
-            target.setRoundActive(false);
-            target.setRoundScore(0);
+        switch (effect) {
+            case FREEZE_SELECTION:
+                disableCardByType(initiator, effect.getCardType());
 
-            state.setPendingActionType(null);
-            state.setPendingActionInitiator(null);
-
-            checkNextStep(state, initiator);
-
-        } else if ("FLIP3_SELECTION".equals(state.getPendingActionType())) {
-            disableCardByType(initiator, CardType.ACTION_FLIP3);
-
-            state.setFlip3ActiveTarget(target.getUsername());
-            state.setFlip3DrawsRemaining(3);
+                target.setTotalScore(target.getTotalScore() + target.getRoundScore());
+                target.setLastRoundScore(target.getRoundScore());
+                target.setRoundActive(false);
+                target.setRoundScore(0);
 
-            state.setPendingActionType(null);
-            state.setPendingActionInitiator(null);
+                resolveEffects(state, initiator);
+                break;
+            case FLIP3_SELECTION:
+                disableCardByType(initiator, effect.getCardType());
 
-            checkNextStep(state, target);
+                state.setFlip3ActiveTarget(target.getUsername());
+                state.setFlip3DrawsRemaining(3);
 
-        } else if ("GIVE_SECOND_CHANCE".equals(state.getPendingActionType())) {
-            target.setHasSecondChance(true);
+                resolveEffects(state, target);
+                break;
+            case GIVE_SECOND_CHANCE:
+                target.setHasSecondChance(true);
 
-            state.setPendingActionType(null);
-            state.setPendingActionInitiator(null);
+                resolveEffects(state, initiator);
+                break;
+        }
+        return true;
+    }
 
-            checkNextStep(state, initiator);
+    /**
+     * Finds a player by username.
+     *
+     * @param state    The current game state.
+     * @param username The username to look for.
+     * @return The player, or null if nobody in the game has that username.
+     */
+    private FlipSevenPlayer findPlayer(FlipSevenState state, String username) {
+        for (FlipSevenPlayer p : state.getPlayers()) {
+            if (p.getUsername().equals(username))
+                return p;
         }
+        return null;
     }
 
     /**
@@ -188,21 +221,55 @@ public class FlipSevenGameEngine implements GameEngine {
     }
 
     /**
-     * Processes the drawing of cards during a Flip 3 action.
+     * Runs the game forward after an effect was resolved: draws the remaining
+     * Flip 3 cards, then opens the next queued effect, then passes the turn. Stops
+     * as soon as a player has to choose a target.
      *
-     * @param state  The current game state.
-     * @param target The player being targeted by the Flip 3 action.
+     * @param state        The current game state.
+     * @param activePlayer The player who resolved the last effect, or the Flip 3
+     *                     target while its draws are running.
      */
-    private void processNextFlip3Card(FlipSevenState state, FlipSevenPlayer target) {
-        if (state.getFlip3DrawsRemaining() <= 0) {
-            checkNextStep(state, target);
+    private void resolveEffects(FlipSevenState state, FlipSevenPlayer activePlayer) {
+        while (true) {
+            FlipSevenPlayer target = state.getFlip3DrawsRemaining() > 0
+                    ? findPlayer(state, state.getFlip3ActiveTarget())
+                    : null;
+            if (target != null) {
+                activePlayer = target;
+                if (!drawFlip3Card(state, target))
+                    return;
+                continue;
+            }
+
+            PendingActionType next = state.getPendingActionQueue().pollFirst();
+            if (next != null) {
+                if (!anyRoundActive(state))
+                    continue;
+                state.setPendingActionType(next);
+                state.setPendingActionInitiator(activePlayer.getUsername());
+                return;
+            }
+
+            state.setFlip3ActiveTarget(null);
+            state.setFlip3DrawsRemaining(0);
+            advanceTurn(state);
             return;
         }
+    }
 
+    /**
+     * Draws one card of a Flip 3 for its target. Freeze and Flip 3 cards are
+     * queued until the draws are done.
+     *
+     * @param state  The current game state.
+     * @param target The player being targeted by the Flip 3 action.
+     * @return true if the draws go on, false if the target must give a Second
+     *         Chance away or busted.
+     */
+    private boolean drawFlip3Card(FlipSevenState state, FlipSevenPlayer target) {
         if (state.getDeck().isEmpty()) {
             state.setFlip3DrawsRemaining(0);
-            checkNextStep(state, target);
-            return;
+            return true;
         }
 
         Card card = state.getDeck().remove(0);
@@ -210,15 +277,15 @@ public class FlipSevenGameEngine implements GameEngine {
         state.setFlip3DrawsRemaining(state.getFlip3DrawsRemaining() - 1);
 
         if (card.getType() == CardType.ACTION_FREEZE) {
-            state.getPendingActionQueue().add("FREEZE_SELECTION");
+            state.getPendingActionQueue().addLast(PendingActionType.FREEZE_SELECTION);
         } else if (card.getType() == CardType.ACTION_FLIP3) {
-            state.getPendingActionQueue().add("FLIP3_SELECTION");
+            state.getPendingActionQueue().addLast(PendingActionType.FLIP3_SELECTION);
         } else if (card.getType() == CardType.ACTION_SECOND_CHANCE) {
             if (target.isHasSecondChance()) {
-                state.setPendingActionType("GIVE_SECOND_CHANCE");
+                state.setPendingActionType(PendingActionType.GIVE_SECOND_CHANCE);
                 state.setPendingActionInitiator(target.getUsername());
                 target.setRoundScore(calculateScore(target.getHand()));
-                return;
+                return false;
             }
             target.setHasSecondChance(true);
         }
@@ -227,53 +294,21 @@ public class FlipSevenGameEngine implements GameEngine {
             if (target.isHasSecondChance()) {
                 target.setHasSecondChance(false);
                 card.setNoEffect(true);
-                processNextFlip3Card(state, target);
-            } else {
-                target.setRoundScore(0);
-                target.setLastRoundScore(0);
-                target.setRoundActive(false);
-
-                state.setFlip3DrawsRemaining(0);
-                state.setFlip3ActiveTarget(null);
-                state.getPendingActionQueue().clear();
-                advanceTurn(state);
-            }
-        } else {
-            target.setRoundScore(calculateScore(target.getHand()));
-            processNextFlip3Card(state, target);
-        }
-    }
-
-    /**
-     * Checks what the next step in the game flow should be.
-     *
-     * @param state        The current game state.
-     * @param activePlayer The currently active player.
-     */
-    private void checkNextStep(FlipSevenState state, FlipSevenPlayer activePlayer) {
-        if (state.getFlip3DrawsRemaining() > 0) {
-            String activeTargetName = state.getFlip3ActiveTarget();
-            if (activeTargetName != null) {
-                FlipSevenPlayer target = state.getPlayers().stream()
-                        .filter(p -> p.getUsername().equals(activeTargetName))
-                        .findFirst().orElse(null);
-                if (target != null) {
-                    processNextFlip3Card(state, target);
-                    return;
-                }
+                return true;
             }
-        }
+            target.setRoundScore(0);
+            target.setLastRoundScore(0);
+            target.setRoundActive(false);
 
-        if (state.getPendingActionQueue() != null && !state.getPendingActionQueue().isEmpty()) {
-            String nextAction = state.getPendingActionQueue().remove(0);
-            state.setPendingActionType(nextAction);
-            state.setPendingActionInitiator(activePlayer.getUsername());
-            return;
+            state.setFlip3DrawsRemaining(0);
+            state.setFlip3ActiveTarget(null);
+            state.getPendingActionQueue().clear();
+            advanceTurn(state);
+            return false;
         }
 
-        state.setFlip3ActiveTarget(null);
-        state.setFlip3DrawsRemaining(0);
-        advanceTurn(state);
+        target.setRoundScore(calculateScore(target.getHand()));
+        return true;
     }
 
     /**
@@ -281,9 +316,8 @@ public class FlipSevenGameEngine implements GameEngine {
      *
      * @param state    The current game state.
      * @param username The username of the ready player.
-     * @param gameId   The ID of the game.
      */
-    private void handlePlayerReady(FlipSevenState state, String username, Long gameId) {
+    private void handlePlayerReady(FlipSevenState state, String username) {
         if (!state.isRoundOver())
             return;
 
@@ -300,10 +334,7 @@ public class FlipSevenGameEngine implements GameEngine {
             int nextStarter = (state.getRoundStarterIndex() + 1) % state.getPlayers().size();
             state.setRoundStarterIndex(nextStarter);
 
-            startNewRound(gameId, state);
-
-            saveState(gameId, state);
-            broadcastGameState(gameId, state);
+            startNewRound(state);
         }
     }
 
@@ -322,18 +353,18 @@ public class FlipSevenGameEngine implements GameEngine {
         player.getHand().add(card);
 
         if (card.getType() == CardType.ACTION_FREEZE) {
-            state.setPendingActionType("FREEZE_SELECTION");
+            state.setPendingActionType(PendingActionType.FREEZE_SELECTION);
             state.setPendingActionInitiator(player.getUsername());
             player.setRoundScore(calculateScore(player.getHand()));
             return;
         } else if (card.getType() == CardType.ACTION_FLIP3) {
-            state.setPendingActionType("FLIP3_SELECTION");
+            state.setPendingActionType(PendingActionType.FLIP3_SELECTION);
             state.setPendingActionInitiator(player.getUsername());
             player.setRoundScore(calculateScore(player.getHand()));
             return;
         } else if (card.getType() == CardType.ACTION_SECOND_CHANCE) {
             if (player.isHasSecondChance()) {
-                state.setPendingActionType("GIVE_SECOND_CHANCE");
+                state.setPendingActionType(PendingActionType.GIVE_SECOND_CHANCE);
                 state.setPendingActionInitiator(player.getUsername());
                 player.setRoundScore(calculateScore(player.getHand()));
                 return;
@@ -356,7 +387,7 @@ public class FlipSevenGameEngine implements GameEngine {
             player.setRoundScore(calculateScore(player.getHand()));
 
             if (checkFlipSeven(player.getHand())) {
-                player.setRoundScore(player.getRoundScore() + 15);
+                player.setRoundScore(player.getRoundScore() + state.getRules().getFlipSevenBonus());
                 handleStay(state, player);
                 return;
             }
@@ -414,10 +445,10 @@ public class FlipSevenGameEngine implements GameEngine {
             if (c.isNoEffect())
                 return;
             if (c.getType() == CardType.ACTION_FREEZE) {
-                state.setPendingActionType("FREEZE_SELECTION");
+                state.setPendingActionType(PendingActionType.FREEZE_SELECTION);
                 state.setPendingActionInitiator(player.getUsername());
             } else if (c.getType() == CardType.ACTION_FLIP3) {
-                state.setPendingActionType("FLIP3_SELECTION");
+                state.setPendingActionType(PendingActionType.FLIP3_SELECTION);
                 state.setPendingActionInitiator(player.getUsername());
             }
         }
@@ -434,7 +465,7 @@ public class FlipSevenGameEngine implements GameEngine {
 
         FlipSevenPlayer potentialWinner = null;
         for (FlipSevenPlayer p : state.getPlayers()) {
-            if (p.getTotalScore() >= 200) {
+            if (p.getTotalScore() >= state.getRules().getTargetScore()) {
                 if (potentialWinner == null || p.getTotalScore() > potentialWinner.getTotalScore()) {
                     potentialWinner = p;
                 }
@@ -450,12 +481,11 @@ public class FlipSevenGameEngine implements GameEngine {
     /**
      * Resets the game state for a new round.
      *
-     * @param gameId The ID of the game.
-     * @param state  The current game state.
+     * @param state The current game state.
      */
-    private void startNewRound(Long gameId, FlipSevenState state) {
+    private void startNewRound(FlipSevenState state) {
         if (state.getDeck().size() < state.getPlayers().size() * 5) {
-            state.setDeck(generateDeck());
+            state.setDeck(generateDeck(state));
         }
 
         state.setFlip3DrawsRemaining(0);
@@ -490,20 +520,22 @@ public class FlipSevenGameEngine implements GameEngine {
     }
 
     /**
-     * Checks if a player has busted by having duplicate numbers.
+     * Checks if a player has busted by having duplicate numbers. Number cards
+     * go from 0 to 12, so the values seen fit in the bits of a long.
      *
      * @param player The player to check.
      * @return true if the player has busted, false otherwise.
      */
     private boolean isBust(FlipSevenPlayer player) {
-        Set<Integer> numbers = new HashSet<>();
+        long numbers = 0;
         for (Card c : player.getHand()) {
             if (c.isNoEffect())
                 continue;
             if (c.getType() == CardType.NUMBER) {
-                if (numbers.contains(c.getValue()))
+                long bit = 1L << c.getValue();
+                if ((numbers & bit) != 0)
                     return true;
-                numbers.add(c.getValue());
+                numbers |= bit;
             }
         }
         return false;
@@ -516,15 +548,29 @@ public class FlipSevenGameEngine implements GameEngine {
      * @return true if the player has achieved Flip 7, false otherwise.
      */
     private boolean checkFlipSeven(List<Card> hand) {
-        Set<Integer> numbers = new HashSet<>();
+        long numbers = 0;
         for (Card c : hand) {
             if (c.isNoEffect())
                 continue;
             if (c.getType() == CardType.NUMBER) {
-                numbers.add(c.getValue());
+                numbers |= 1L << c.getValue();
             }
         }
-        return numbers.size() >= 7;
+        return Long.bitCount(numbers) >= 7;
+    }
+
+    /**
+     * Checks if any player is still playing the round.
+     *
+     * @param state The current game state.
+     * @return true if at least one player is round active.
+     */
+    private boolean anyRoundActive(FlipSevenState state) {
+        for (FlipSevenPlayer p : state.getPlayers()) {
+            if (p.isRoundActive())
+                return true;
+        }
+        return false;
     }
 
     /**
@@ -559,9 +605,10 @@ public class FlipSevenGameEngine implements GameEngine {
     /**
      * Generates a new shuffled deck of cards.
      *
+     * @param state The game state whose random stream drives the shuffle.
      * @return A list of Cards representing the deck.
      */
-    private List<Card> generateDeck() {
+    private List<Card> generateDeck(FlipSevenState state) {
         List<Card> deck = new ArrayList<>();
         int idCounter = 0;
 
@@ -584,59 +631,42 @@ public class FlipSevenGameEngine implements GameEngine {
         }
         deck.add(new Card(idCounter++ + "", CardType.MODIFIER_MULTIPLY, 0, "x2"));
 
-        Collections.shuffle(deck);
+        shuffle(deck, state);
         return deck;
     }
 
     /**
-     * Persists the game state to Redis.
+     * Shuffles cards with the game's own random stream and advances it, so a game
+     * replays identically from its seed.
      *
-     * @param gameId The ID of the game.
-     * @param state  The game state to save.
+     * @param cards The cards to shuffle in place.
+     * @param state The game state holding the random stream.
      */
-    private void saveState(Long gameId, FlipSevenState state) {
-
-        try {
-            String json = objectMapper.writeValueAsString(state);
-            redisTemplate.opsForValue().set(GAME_PREFIX + gameId + ":state", json);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-        }
+    private void shuffle(List<?> cards, FlipSevenState state) {
+        SplittableRandom random = new SplittableRandom(state.getRngState());
+        Collections.shuffle(cards, random);
+        state.setRngState(random.nextLong());
     }
 
     /**
-     * Retrieves the game state from Redis.
+     * Gets the number of players seated in a game.
      *
-     * @param gameId The ID of the game.
-     * @return The current FlipSevenState, or null if not found.
+     * @param state The current game state.
+     * @return The number of players.
      */
-    private FlipSevenState loadState(Long gameId) {
-        String json = redisTemplate.opsForValue().get(GAME_PREFIX + gameId + ":state");
-        if (json == null)
-            return null;
-        try {
-            return objectMapper.readValue(json, FlipSevenState.class);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return null;
-        }
+    @Override
+    public int getPlayerCount(FlipSevenState state) {
+        return state.getPlayers().size();
     }
 
     /**
-     * Sends the current game state to all clients via WebSocket.
+     * Builds the copy of the state sent to clients, without the deck.
      *
-     * @param gameId The ID of the game.
-     * @param state  The game state to broadcast.
+     * @param state The current game state.
+     * @return The sanitized state.
      */
-    private void broadcastGameState(Long gameId, FlipSevenState state) {
-        Action updateAction = new Action();
-        updateAction.setType(Action.ActionType.GAME_ACTION);
-        updateAction.setGameId(gameId);
-        updateAction.setSender("SYSTEM");
-
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", "GAME_UPDATE");
-
+    @Override
+    public FlipSevenState toPublicState(FlipSevenState state) {
         FlipSevenState sanitized = new FlipSevenState();
         sanitized.setPlayers(state.getPlayers());
         sanitized.setCurrentPlayerIndex(state.getCurrentPlayerIndex());
@@ -648,10 +678,6 @@ public class FlipSevenGameEngine implements GameEngine {
         sanitized.setReadyPlayers(state.getReadyPlayers());
         sanitized.setWinner(state.getWinner());
         sanitized.setGameOver(state.isGameOver());
-
-        payload.put("gameState", sanitized);
-
-        updateAction.setPayload(payload);
-        messagingTemplate.convertAndSend("/topic/lobby/" + gameId + "/game", updateAction);
+        return sanitized;
     }
 }
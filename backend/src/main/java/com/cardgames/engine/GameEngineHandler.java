@@ -1,15 +1,17 @@
 package com.cardgames.engine;
 
+import com.cardgames.metrics.jfr.EngineDispatchEvent;
 import com.cardgames.websocket.model.Action;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class GameEngineHandler {
 
-    private final Map<String, GameEngine> engines = new ConcurrentHashMap<>();
+    private final Map<String, AbstractGameEngine<?>> engines = new ConcurrentHashMap<>();
 
     public GameEngineHandler(FlipSevenGameEngine flipSevenGameEngine, UnoGameEngine unoGameEngine,
             SkullKingGameEngine skullKingGameEngine) {
@@ -25,6 +27,8 @@ public class GameEngineHandler {
      * @param action The action to be handled.
      */
     public void handleAction(Action action) {
+        EngineDispatchEvent event = new EngineDispatchEvent();
+        event.begin();
         String gameType = action.getGameType();
         if (gameType != null && engines.containsKey(gameType)) {
             engines.get(gameType).handleAction(action);
@@ -33,6 +37,12 @@ public class GameEngineHandler {
                 engines.values().iterator().next().handleAction(action);
             }
         }
+        event.end();
+        if (event.shouldCommit()) {
+            event.setGame(gameType, action.getGameId());
+            event.setAction(action.getPayload() == null ? null : String.valueOf(action.getPayload().get("action")));
+            event.commit();
+        }
     }
 
     /**
@@ -46,4 +56,27 @@ public class GameEngineHandler {
             engines.get(gameType).initializeGame(gameId);
         }
     }
+
+    /**
+     * Gets the engines of every game type.
+     *
+     * @return The engines.
+     */
+    public Collection<AbstractGameEngine<?>> getEngines() {
+        return engines.values();
+    }
+
+    /**
+     * Gets the engine that runs a specific game type.
+     *
+     * @param gameType The type of game (e.g., FLIP_SEVEN, UNO).
+     * @return The engine for the game type.
+     */
+    public AbstractGameEngine<?> getEngine(String gameType) {
+        AbstractGameEngine<?> engine = gameType == null ? null : engines.get(gameType);
+        if (engine == null) {
+            throw new RuntimeException("Unknown game type: " + gameType);
+        }
+        return engine;
+    }
 }
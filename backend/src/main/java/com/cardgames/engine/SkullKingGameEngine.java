@@ -1,9 +1,8 @@
 package com.cardgames.engine;
 
 import com.cardgames.model.skullking.*;
+import com.cardgames.service.ActionLogService;
 import com.cardgames.service.LobbyService;
-import com.cardgames.websocket.model.Action;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
@@ -12,35 +11,43 @@ import org.springframework.stereotype.Component;
 import java.util.*;
 
 @Component
-public class SkullKingGameEngine implements GameEngine {
-
-    private final SimpMessageSendingOperations messagingTemplate;
-    private final StringRedisTemplate redisTemplate;
-    private final LobbyService lobbyService;
-    private final ObjectMapper objectMapper;
+public class SkullKingGameEngine extends AbstractGameEngine<SkullKingState> {
 
+    private static final String GAME_TYPE = "SKULL_KING";
     private static final String GAME_PREFIX = "game:skullking:";
 
     public SkullKingGameEngine(SimpMessageSendingOperations messagingTemplate, StringRedisTemplate redisTemplate,
-            LobbyService lobbyService, ObjectMapper objectMapper) {
-        this.messagingTemplate = messagingTemplate;
-        this.redisTemplate = redisTemplate;
-        this.lobbyService = lobbyService;
-        this.objectMapper = objectMapper;
+            LobbyService lobbyService, ObjectMapper objectMapper, ActionLogService actionLogService) {
+        super(messagingTemplate, redisTemplate, lobbyService, objectMapper, actionLogService, GAME_TYPE, GAME_PREFIX,
+                SkullKingState.class);
     }
 
     /**
-     * Initializes the game by setting up players, deck, and initial state.
+     * Builds the opening state: seats the players and deals the first round.
      *
-     * @param gameId The ID of the game to initialize.
+     * @param playerNames The usernames of the players, in seat order.
+     * @param seed        The seed every shuffle of this game is drawn from.
+     * @return The initialized game state.
      */
     @Override
-    public void initializeGame(Long gameId) {
-        Set<String> playerNames = lobbyService.getPlayers(gameId);
-        if (playerNames == null || playerNames.isEmpty())
-            return;
+    public SkullKingState newGame(List<String> playerNames, long seed) {
+        return newGame(playerNames, seed, new SkullKingRules());
+    }
 
+    /**
+     * Builds the opening state of a game played with custom scoring constants.
+     *
+     * @param playerNames The usernames of the players, in seat order.
+     * @param seed        The seed every shuffle of this game is drawn from.
+     * @param rules       The scoring constants of the game.
+     * @return The initialized game state.
+     */
+    public SkullKingState newGame(List<String> playerNames, long seed, SkullKingRules rules) {
         SkullKingState state = new SkullKingState();
+        state.setSeed(seed);
+        state.setRngState(seed);
+        state.setRules(rules);
+
         List<SkullKingPlayer> players = new ArrayList<>();
         playerNames.forEach(p -> players.add(new SkullKingPlayer(p)));
         state.setPlayers(players);
@@ -51,25 +58,19 @@ public class SkullKingGameEngine implements GameEngine {
         state.setPhase("BIDDING");
 
         dealCards(state);
-
-        saveState(gameId, state);
-        broadcastGameState(gameId, state);
+        return state;
     }
 
     /**
-     * Processes incoming actions from players, such as bids and card plays.
+     * Processes actions from players, such as bids and card plays.
      *
-     * @param action The action received from the client.
+     * @param state   The current game state.
+     * @param sender  The username of the player sending the action.
+     * @param payload The action payload sent by the client.
+     * @return true if the action was accepted, false otherwise.
      */
     @Override
-    public void handleAction(Action action) {
-        Long gameId = action.getGameId();
-        SkullKingState state = loadState(gameId);
-        if (state == null)
-            return;
-
-        String sender = action.getSender();
-        Map<String, Object> payload = action.getPayload();
+    public boolean applyAction(SkullKingState state, String sender, Map<String, Object> payload) {
         String type = (String) payload.get("action");
 
         boolean stateChanged = false;
@@ -85,11 +86,44 @@ public class SkullKingGameEngine implements GameEngine {
         } else if ("NEXT_ROUND".equals(type)) {
             stateChanged = startNextRound(state);
         }
+        return stateChanged;
+    }
+
+    /**
+     * Checks whether the last round has been scored.
+     *
+     * @param state The current game state.
+     * @return true if the game is over, false otherwise.
+     */
+    @Override
+    public boolean isGameOver(SkullKingState state) {
+        return "GAME_OVER".equals(state.getPhase());
+    }
 
-        if (stateChanged) {
-            saveState(gameId, state);
-            broadcastGameState(gameId, state);
+    /**
+     * Gets the score of each player after the last round.
+     *
+     * @param state The game state.
+     * @return The score of each player by username, in seat order.
+     */
+    @Override
+    public Map<String, Integer> getFinalScores(SkullKingState state) {
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (SkullKingPlayer p : state.getPlayers()) {
+            scores.put(p.getUsername(), p.getScore());
         }
+        return scores;
+    }
+
+    /**
+     * Gets the player with the highest score after the last round.
+     *
+     * @param state The game state.
+     * @return The username of the winner, or null if nobody won.
+     */
+    @Override
+    public String getWinner(SkullKingState state) {
+        return state.getWinner();
     }
 
     /**
@@ -104,9 +138,14 @@ public class SkullKingGameEngine implements GameEngine {
         if (!"BIDDING".equals(state.getPhase()))
             return false;
 
-        SkullKingPlayer player = state.getPlayers().stream()
-                .filter(p -> p.getUsername().equals(sender))
-                .findFirst().orElse(null);
+        SkullKingPlayer player = null;
+        boolean allBid = true;
+        for (SkullKingPlayer p : state.getPlayers()) {
+            if (p.getUsername().equals(sender))
+                player = p;
+            else if (p.getBid() == null)
+                allBid = false;
+        }
 
         if (player == null)
             return false;
@@ -116,7 +155,7 @@ public class SkullKingGameEngine implements GameEngine {
 
         player.setBid(bid);
 
-        if (state.getPlayers().stream().allMatch(p -> p.getBid() != null)) {
+        if (allBid) {
             state.setPhase("PLAYING");
             state.setCurrentPlayerIndex(state.getTrickStarterIndex());
         }
@@ -168,7 +207,7 @@ public class SkullKingGameEngine implements GameEngine {
         if (starter.getHand().isEmpty()) {
             calculateRoundScores(state);
             state.setPhase("ROUND_OVER");
-            if (state.getRoundNumber() >= 10) {
+            if (state.getRoundNumber() >= state.getRules().getRounds()) {
                 determineGameWinner(state);
             }
         } else {
@@ -192,9 +231,13 @@ public class SkullKingGameEngine implements GameEngine {
         if (!currentPlayer.getUsername().equals(sender))
             return false;
 
-        SkullKingCard card = currentPlayer.getHand().stream()
-                .filter(c -> c.getId().equals(cardId))
-                .findFirst().orElse(null);
+        SkullKingCard card = null;
+        for (SkullKingCard c : currentPlayer.getHand()) {
+            if (c.getId().equals(cardId)) {
+                card = c;
+                break;
+            }
+        }
         if (card == null)
             return false;
 
@@ -204,7 +247,11 @@ public class SkullKingGameEngine implements GameEngine {
         currentPlayer.getHand().remove(card);
         currentPlayer.setCardPlayed(card);
 
-        long playersPlayed = state.getPlayers().stream().filter(p -> p.getCardPlayed() != null).count();
+        int playersPlayed = 0;
+        for (SkullKingPlayer p : state.getPlayers()) {
+            if (p.getCardPlayed() != null)
+                playersPlayed++;
+        }
         if (playersPlayed == state.getPlayers().size()) {
             resolveTrick(state);
         } else {
@@ -222,19 +269,11 @@ public class SkullKingGameEngine implements GameEngine {
      * @return true if the move is valid, false otherwise.
      */
     private boolean isValidMove(SkullKingState state, SkullKingPlayer player, SkullKingCard card) {
-        List<SkullKingPlayer> orderedPlayers = new ArrayList<>();
+        SkullKingColor leadColor = null;
         int count = state.getPlayers().size();
         for (int i = 0; i < count; i++) {
-            SkullKingPlayer p = state.getPlayers().get((state.getTrickStarterIndex() + i) % count);
-            if (p.getCardPlayed() != null) {
-                orderedPlayers.add(p);
-            }
-        }
-
-        SkullKingColor leadColor = null;
-        for (SkullKingPlayer p : orderedPlayers) {
-            SkullKingCard c = p.getCardPlayed();
-            if (c.getType() == SkullKingCardType.NUMBER) {
+            SkullKingCard c = state.getPlayers().get((state.getTrickStarterIndex() + i) % count).getCardPlayed();
+            if (c != null && c.getType() == SkullKingCardType.NUMBER) {
                 leadColor = c.getColor();
                 break;
             }
@@ -246,12 +285,9 @@ public class SkullKingGameEngine implements GameEngine {
         if (card.getType() != SkullKingCardType.NUMBER)
             return true;
 
-        SkullKingColor finalLeadColor = leadColor;
-        boolean hasSuit = player.getHand().stream()
-                .anyMatch(c -> c.getType() == SkullKingCardType.NUMBER && c.getColor() == finalLeadColor);
-
-        if (hasSuit) {
-            return card.getColor() == leadColor;
+        for (SkullKingCard c : player.getHand()) {
+            if (c.getType() == SkullKingCardType.NUMBER && c.getColor() == leadColor)
+                return card.getColor() == leadColor;
         }
 
         return true;
@@ -370,6 +406,7 @@ public class SkullKingGameEngine implements GameEngine {
      * @param state The current game state.
      */
     private void calculateRoundScores(SkullKingState state) {
+        SkullKingRules rules = state.getRules();
         for (SkullKingPlayer p : state.getPlayers()) {
             int bid = p.getBid();
             int won = p.getTricksWon();
@@ -377,13 +414,13 @@ public class SkullKingGameEngine implements GameEngine {
 
             if (bid == won) {
                 if (bid == 0) {
-                    points = state.getRoundNumber() * 10;
+                    points = state.getRoundNumber() * rules.getZeroBidPointsPerRound();
                 } else {
-                    points = bid * 20;
+                    points = bid * rules.getPointsPerTrick();
                 }
             } else {
                 int diff = Math.abs(bid - won);
-                points = diff * -10;
+                points = diff * -rules.getPointsPerMissedTrick();
             }
             p.setRoundPoints(points);
             p.setScore(p.getScore() + points);
@@ -397,7 +434,7 @@ public class SkullKingGameEngine implements GameEngine {
      * @return true if the state changed, false otherwise.
      */
     private boolean startNextRound(SkullKingState state) {
-        if (state.getRoundNumber() >= 10) {
+        if (state.getRoundNumber() >= state.getRules().getRounds()) {
             determineGameWinner(state);
             return true;
         }
@@ -434,12 +471,16 @@ public class SkullKingGameEngine implements GameEngine {
     }
 
     /**
-     * Distributes cards to players for the current round.
+     * Shuffles the deck with the game's own random stream, then distributes cards
+     * to players for the current round.
      *
      * @param state The current game state.
      */
     private void dealCards(SkullKingState state) {
-        Collections.shuffle(state.getDeck());
+        SplittableRandom random = new SplittableRandom(state.getRngState());
+        Collections.shuffle(state.getDeck(), random);
+        state.setRngState(random.nextLong());
+
         int cardsToDeal = state.getRoundNumber();
         for (SkullKingPlayer p : state.getPlayers()) {
             for (int i = 0; i < cardsToDeal; i++) {
@@ -481,55 +522,34 @@ public class SkullKingGameEngine implements GameEngine {
     }
 
     /**
-     * Persists the game state to Redis.
-     *
-     * @param gameId The ID of the game.
-     * @param state  The game state to save.
-     */
-    private void saveState(Long gameId, SkullKingState state) {
-        try {
-            String json = objectMapper.writeValueAsString(state);
-            redisTemplate.opsForValue().set(GAME_PREFIX + gameId + ":state", json);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-        }
-    }
-
-    /**
-     * Retrieves the game state from Redis.
+     * Gets the number of players seated in a game.
      *
-     * @param gameId The ID of the game.
-     * @return The current SkullKingState, or null if not found.
+     * @param state The current game state.
+     * @return The number of players.
      */
-    private SkullKingState loadState(Long gameId) {
-        String json = redisTemplate.opsForValue().get(GAME_PREFIX + gameId + ":state");
-        if (json == null)
-            return null;
-        try {
-            return objectMapper.readValue(json, SkullKingState.class);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return null;
-        }
+    @Override
+    public int getPlayerCount(SkullKingState state) {
+        return state.getPlayers().size();
     }
 
     /**
-     * Sends the current game state to all clients via WebSocket.
+     * Builds the copy of the state sent to clients, without the deck.
      *
-     * @param gameId The ID of the game.
-     * @param state  The game state to broadcast.
+     * @param state The current game state.
+     * @return The sanitized state.
      */
-    private void broadcastGameState(Long gameId, SkullKingState state) {
-        Action updateAction = new Action();
-        updateAction.setType(Action.ActionType.GAME_ACTION);
-        updateAction.setGameId(gameId);
-        updateAction.setSender("SYSTEM");
-
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", "GAME_UPDATE");
-        payload.put("gameState", state);
-
-        updateAction.setPayload(payload);
-        messagingTemplate.convertAndSend("/topic/lobby/" + gameId + "/game", updateAction);
+    @Override
+    public SkullKingState toPublicState(SkullKingState state) {
+        SkullKingState sanitized = new SkullKingState();
+        sanitized.setPlayers(state.getPlayers());
+        sanitized.setCurrentPlayerIndex(state.getCurrentPlayerIndex());
+        sanitized.setRoundNumber(state.getRoundNumber());
+        sanitized.setPhase(state.getPhase());
+        sanitized.setTrickStarterIndex(state.getTrickStarterIndex());
+        sanitized.setWinner(state.getWinner());
+        sanitized.setTrickWinner(state.getTrickWinner());
+        sanitized.setReadyPlayers(state.getReadyPlayers());
+        sanitized.setDeck(Collections.emptyList());
+        return sanitized;
     }
 }
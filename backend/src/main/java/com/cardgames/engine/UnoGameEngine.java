@@ -1,9 +1,8 @@
 package com.cardgames.engine;
 
 import com.cardgames.model.uno.*;
+import com.cardgames.service.ActionLogService;
 import com.cardgames.service.LobbyService;
-import com.cardgames.websocket.model.Action;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
@@ -12,47 +11,55 @@ import org.springframework.stereotype.Component;
 import java.util.*;
 
 @Component
-public class UnoGameEngine implements GameEngine {
-
-    private final SimpMessageSendingOperations messagingTemplate;
-    private final StringRedisTemplate redisTemplate;
-    private final LobbyService lobbyService;
-    private final ObjectMapper objectMapper;
+public class UnoGameEngine extends AbstractGameEngine<UnoState> {
 
+    private static final String GAME_TYPE = "UNO";
     private static final String GAME_PREFIX = "game:uno:";
 
     public UnoGameEngine(SimpMessageSendingOperations messagingTemplate, StringRedisTemplate redisTemplate,
-            LobbyService lobbyService, ObjectMapper objectMapper) {
-        this.messagingTemplate = messagingTemplate;
-        this.redisTemplate = redisTemplate;
-        this.lobbyService = lobbyService;
-        this.objectMapper = objectMapper;
+            LobbyService lobbyService, ObjectMapper objectMapper, ActionLogService actionLogService) {
+        super(messagingTemplate, redisTemplate, lobbyService, objectMapper, actionLogService, GAME_TYPE, GAME_PREFIX,
+                UnoState.class);
     }
 
     /**
-     * Initializes the game by setting up players, dealing initial cards, and
-     * setting the first card.
+     * Builds the opening state: shuffles the seats, deals initial cards and turns
+     * over the first card.
      *
-     * @param gameId The ID of the game to initialize.
+     * @param playerNames The usernames of the players, in lobby order.
+     * @param seed        The seed every shuffle of this game is drawn from.
+     * @return The initialized game state.
      */
     @Override
-    public void initializeGame(Long gameId) {
-        Set<String> playerNames = lobbyService.getPlayers(gameId);
-        if (playerNames == null || playerNames.isEmpty()) {
-            return;
-        }
+    public UnoState newGame(List<String> playerNames, long seed) {
+        return newGame(playerNames, seed, new UnoRules());
+    }
 
+    /**
+     * Builds the opening state of a game played with custom dealing and penalty
+     * constants.
+     *
+     * @param playerNames The usernames of the players, in lobby order.
+     * @param seed        The seed every shuffle of this game is drawn from.
+     * @param rules       The constants of the game.
+     * @return The initialized game state.
+     */
+    public UnoState newGame(List<String> playerNames, long seed, UnoRules rules) {
         UnoState state = new UnoState();
+        state.setSeed(seed);
+        state.setRngState(seed);
+        state.setRules(rules);
+
         List<UnoPlayer> players = new ArrayList<>();
         playerNames.forEach(p -> players.add(new UnoPlayer(p)));
-        Collections.shuffle(players);
+        shuffle(players, state);
         state.setPlayers(players);
         state.setCurrentPlayerIndex(0);
 
-        state.setDeck(generateDeck());
+        state.setDeck(generateDeck(state));
 
         for (UnoPlayer p : players) {
-            for (int i = 0; i < 7; i++) {
+            for (int i = 0; i < rules.getHandSize(); i++) {
                 drawCard(state, p);
             }
         }
@@ -65,7 +72,7 @@ public class UnoGameEngine implements GameEngine {
 
             if (c.getType() == UnoCardType.WILD_DRAW_FOUR) {
                 state.getDeck().add(c);
-                Collections.shuffle(state.getDeck());
+                shuffle(state.getDeck(), state);
                 continue;
             }
             firstCard = c;
@@ -75,9 +82,7 @@ public class UnoGameEngine implements GameEngine {
         state.setCurrentTopCard(firstCard);
 
         handleFirstCard(state, firstCard);
-
-        saveState(gameId, state);
-        broadcastGameState(gameId, state);
+        return state;
     }
 
     /**
@@ -118,20 +123,16 @@ public class UnoGameEngine implements GameEngine {
     }
 
     /**
-     * Processes incoming actions from players, such as playing a card, drawing, or
-     * saying Uno.
+     * Processes actions from players, such as playing a card, drawing, or saying
+     * Uno.
      *
-     * @param action The action received from the client.
+     * @param state   The current game state.
+     * @param sender  The username of the player sending the action.
+     * @param payload The action payload sent by the client.
+     * @return true if the action was accepted, false otherwise.
      */
     @Override
-    public void handleAction(Action action) {
-        Long gameId = action.getGameId();
-        UnoState state = loadState(gameId);
-        if (state == null)
-            return;
-
-        String sender = action.getSender();
-        Map<String, Object> payload = action.getPayload();
+    public boolean applyAction(UnoState state, String sender, Map<String, Object> payload) {
         String type = (String) payload.get("action");
 
         UnoPlayer currentPlayer = state.getPlayers().get(state.getCurrentPlayerIndex());
@@ -140,11 +141,9 @@ public class UnoGameEngine implements GameEngine {
             String cardId = (String) payload.get("cardId");
 
             if (!currentPlayer.getUsername().equals(sender)) {
-                UnoPlayer senderPlayer = state.getPlayers().stream().filter(p -> p.getUsername().equals(sender))
-                        .findFirst().orElse(null);
+                UnoPlayer senderPlayer = findPlayer(state, sender);
                 if (senderPlayer != null) {
-                    UnoCard card = senderPlayer.getHand().stream().filter(c -> c.getId().equals(cardId)).findFirst()
-                            .orElse(null);
+                    UnoCard card = findCard(senderPlayer, cardId);
                     UnoCard top = state.getCurrentTopCard();
 
                     if (card != null && top != null && card.getColor() == top.getColor()
@@ -162,18 +161,18 @@ public class UnoGameEngine implements GameEngine {
                             state.setCurrentPlayerIndex(senderIndex);
                             currentPlayer = senderPlayer;
                         } else {
-                            return;
+                            return false;
                         }
                     } else {
-                        return;
+                        return false;
                     }
                 } else {
-                    return;
+                    return false;
                 }
             }
 
             if (state.isWaitingForColorSelection())
-                return;
+                return false;
 
             if (payload.containsKey("saidUno") && Boolean.TRUE.equals(payload.get("saidUno"))) {
                 currentPlayer.setSaidUno(true);
@@ -183,30 +182,84 @@ public class UnoGameEngine implements GameEngine {
 
         } else if ("DRAW_CARD".equals(type)) {
             if (!currentPlayer.getUsername().equals(sender))
-                return;
+                return false;
             if (state.isWaitingForColorSelection())
-                return;
+                return false;
 
             handleDrawCard(state, currentPlayer);
 
         } else if ("SELECT_COLOR".equals(type)) {
             if (!currentPlayer.getUsername().equals(sender))
-                return;
+                return false;
             if (!state.isWaitingForColorSelection())
-                return;
+                return false;
 
             String colorStr = (String) payload.get("color");
             handleSelectColor(state, currentPlayer, colorStr);
 
         } else if ("SAY_UNO".equals(type)) {
             handleSayUno(state, sender);
-        } else if ("SYNC_REQUEST".equals(type)) {
-            broadcastGameState(gameId, state);
-            return;
         }
+        return true;
+    }
+
+    /**
+     * Checks whether a player has emptied their hand.
+     *
+     * @param state The current game state.
+     * @return true if the game is over, false otherwise.
+     */
+    @Override
+    public boolean isGameOver(UnoState state) {
+        return state.isGameOver();
+    }
+
+    /**
+     * Scores the game the Uno way: the winner gets the points of the cards left
+     * in the other hands, 20 for an action card and 50 for a wild card, and the
+     * other players get nothing.
+     *
+     * @param state The game state.
+     * @return The score of each player by username, in seat order.
+     */
+    @Override
+    public Map<String, Integer> getFinalScores(UnoState state) {
+        int points = 0;
+        for (UnoPlayer p : state.getPlayers()) {
+            if (p.getUsername().equals(state.getWinner()))
+                continue;
+            for (UnoCard c : p.getHand()) {
+                points += cardPoints(c);
+            }
+        }
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (UnoPlayer p : state.getPlayers()) {
+            scores.put(p.getUsername(), p.getUsername().equals(state.getWinner()) ? points : 0);
+        }
+        return scores;
+    }
+
+    /**
+     * Gets the player who emptied their hand first.
+     *
+     * @param state The game state.
+     * @return The username of the winner, or null if nobody won.
+     */
+    @Override
+    public String getWinner(UnoState state) {
+        return state.getWinner();
+    }
 
-        saveState(gameId, state);
-        broadcastGameState(gameId, state);
+    private int cardPoints(UnoCard card) {
+        switch (card.getType()) {
+            case NUMBER:
+                return card.getValue() == null ? 0 : card.getValue();
+            case WILD:
+            case WILD_DRAW_FOUR:
+                return 50;
+            default:
+                return 20;
+        }
     }
 
     /**
@@ -217,7 +270,7 @@ public class UnoGameEngine implements GameEngine {
      * @param cardId The ID of the card being played.
      */
     private void handlePlayCard(UnoState state, UnoPlayer player, String cardId) {
-        UnoCard card = player.getHand().stream().filter(c -> c.getId().equals(cardId)).findFirst().orElse(null);
+        UnoCard card = findCard(player, cardId);
         if (card == null)
             return;
 
@@ -232,10 +285,6 @@ public class UnoGameEngine implements GameEngine {
             return;
         }
 
-        if (card.getType() == UnoCardType.WILD_DRAW_FOUR) {
-            boolean hasColor = player.getHand().stream().anyMatch(c -> c.getColor() == state.getCurrentColor());
-        }
-
         player.getHand().remove(card);
         state.getDiscardPile().add(card);
         state.setCurrentTopCard(card);
@@ -354,13 +403,42 @@ public class UnoGameEngine implements GameEngine {
      * @param username The username of the player saying Uno.
      */
     private void handleSayUno(UnoState state, String username) {
-        UnoPlayer p = state.getPlayers().stream().filter(pl -> pl.getUsername().equals(username)).findFirst()
-                .orElse(null);
+        UnoPlayer p = findPlayer(state, username);
         if (p != null) {
             p.setSaidUno(true);
         }
     }
 
+    /**
+     * Finds a seated player by username.
+     *
+     * @param state    The current game state.
+     * @param username The username to look for.
+     * @return The player, or null if not seated.
+     */
+    private UnoPlayer findPlayer(UnoState state, String username) {
+        for (UnoPlayer p : state.getPlayers()) {
+            if (p.getUsername().equals(username))
+                return p;
+        }
+        return null;
+    }
+
+    /**
+     * Finds a card in the hand of a player.
+     *
+     * @param player The player holding the card.
+     * @param cardId The ID of the card.
+     * @return The card, or null if the player does not hold it.
+     */
+    private UnoCard findCard(UnoPlayer player, String cardId) {
+        for (UnoCard c : player.getHand()) {
+            if (c.getId().equals(cardId))
+                return c;
+        }
+        return null;
+    }
+
     /**
      * Checks if a player failed to say Uno and applies a penalty if necessary.
      *
@@ -369,7 +447,7 @@ public class UnoGameEngine implements GameEngine {
      */
     private void checkUnoPenalty(UnoState state, UnoPlayer previousPlayer) {
         if (previousPlayer.getHand().size() == 1 && !previousPlayer.hasSaidUno()) {
-            drawCards(state, previousPlayer, 2);
+            drawCards(state, previousPlayer, state.getRules().getUnoPenalty());
         }
         previousPlayer.setSaidUno(false);
     }
@@ -393,7 +471,7 @@ public class UnoGameEngine implements GameEngine {
     private void advanceTurn(UnoState state, int steps) {
         UnoPlayer finishingPlayer = state.getPlayers().get(state.getCurrentPlayerIndex());
         if (!state.isGameOver() && finishingPlayer.getHand().size() == 1 && !finishingPlayer.hasSaidUno()) {
-            drawCards(state, finishingPlayer, 2);
+            drawCards(state, finishingPlayer, state.getRules().getUnoPenalty());
         }
         if (finishingPlayer.getHand().size() != 1) {
             finishingPlayer.setSaidUno(false);
@@ -494,16 +572,17 @@ public class UnoGameEngine implements GameEngine {
             }
         }
 
-        Collections.shuffle(rest);
+        shuffle(rest, state);
         state.setDeck(rest);
     }
 
     /**
      * Generates a new shuffled Uno deck.
      *
+     * @param state The game state whose random stream drives the shuffle.
      * @return A list of UnoCards.
      */
-    private List<UnoCard> generateDeck() {
+    private List<UnoCard> generateDeck(UnoState state) {
         List<UnoCard> deck = new ArrayList<>();
         int idCount = 0;
 
@@ -529,58 +608,42 @@ public class UnoGameEngine implements GameEngine {
             deck.add(new UnoCard(String.valueOf(idCount++), UnoCardColor.NONE, UnoCardType.WILD_DRAW_FOUR, null, "+4"));
         }
 
-        Collections.shuffle(deck);
+        shuffle(deck, state);
         return deck;
     }
 
     /**
-     * Persists the game state to Redis.
+     * Shuffles a list with the game's own random stream and advances it, so a game
+     * replays identically from its seed.
      *
-     * @param gameId The ID of the game.
-     * @param state  The game state to save.
+     * @param items The list to shuffle in place.
+     * @param state The game state holding the random stream.
      */
-    private void saveState(Long gameId, UnoState state) {
-        try {
-            String json = objectMapper.writeValueAsString(state);
-            redisTemplate.opsForValue().set(GAME_PREFIX + gameId + ":state", json);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-        }
+    private void shuffle(List<?> items, UnoState state) {
+        SplittableRandom random = new SplittableRandom(state.getRngState());
+        Collections.shuffle(items, random);
+        state.setRngState(random.nextLong());
     }
 
     /**
-     * Retrieves the game state from Redis.
+     * Gets the number of players seated in a game.
      *
-     * @param gameId The ID of the game.
-     * @return The current UnoState, or null if not found.
+     * @param state The current game state.
+     * @return The number of players.
      */
-    private UnoState loadState(Long gameId) {
-        String json = redisTemplate.opsForValue().get(GAME_PREFIX + gameId + ":state");
-        if (json == null)
-            return null;
-        try {
-            return objectMapper.readValue(json, UnoState.class);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return null;
-        }
+    @Override
+    public int getPlayerCount(UnoState state) {
+        return state.getPlayers().size();
     }
 
     /**
-     * Sends the current game state to all clients via WebSocket.
+     * Builds the copy of the state sent to clients, without the deck.
      *
-     * @param gameId The ID of the game.
-     * @param state  The game state to broadcast.
+     * @param state The current game state.
+     * @return The public state.
      */
-    private void broadcastGameState(Long gameId, UnoState state) {
-        Action updateAction = new Action();
-        updateAction.setType(Action.ActionType.GAME_ACTION);
-        updateAction.setGameId(gameId);
-        updateAction.setSender("SYSTEM");
-
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", "GAME_UPDATE");
-
+    @Override
+    public UnoState toPublicState(UnoState state) {
         UnoState publicState = new UnoState();
         publicState.setDiscardPile(state.getDiscardPile());
         publicState.setCurrentTopCard(state.getCurrentTopCard());
@@ -602,10 +665,6 @@ public class UnoGameEngine implements GameEngine {
             sanitizedPlayers.add(sp);
         }
         publicState.setPlayers(sanitizedPlayers);
-
-        payload.put("gameState", publicState);
-        updateAction.setPayload(payload);
-
-        messagingTemplate.convertAndSend("/topic/lobby/" + gameId + "/game", updateAction);
+        return publicState;
     }
 }
@@ -0,0 +1,38 @@
+package com.cardgames.mapper;
+
+import com.cardgames.model.GameArchive;
+import org.apache.ibatis.annotations.Mapper;
+
+import java.util.Optional;
+
+/**
+ * Mapper interface for games reaped from Redis.
+ */
+@Mapper
+public interface GameArchiveMapper {
+
+    /**
+     * Inserts the archive of a game, or replaces it if the game was archived
+     * before. Games with no row in the game table are skipped.
+     *
+     * @param archive The archive to insert.
+     * @return The number of rows inserted or replaced.
+     */
+    int insertGameArchive(GameArchive archive);
+
+    /**
+     * Finds the archive of a game reaped from Redis.
+     *
+     * @param gameId The ID of the game.
+     * @return An Optional containing the archive if the game was reaped, or
+     *         empty otherwise.
+     */
+    Optional<GameArchive> findGameArchive(Long gameId);
+
+    /**
+     * Deletes the archive of a game that turned out to be still in play.
+     *
+     * @param gameId The ID of the game.
+     */
+    void deleteGameArchive(Long gameId);
+}
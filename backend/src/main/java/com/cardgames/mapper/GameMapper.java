@@ -1,24 +1,33 @@
 package com.cardgames.mapper;
 
+import com.cardgames.dto.MatchHistoryEntry;
 import com.cardgames.model.Game;
 import com.cardgames.model.GamePlayer;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
- * Mapper interface for Game-related database operations.
+ * Mapper interface for Game-related database operations. Reads marked
+ * {@code @Transactional(readOnly = true)} go to the read replica when one is
+ * configured, unless called inside a read-write transaction.
  */
 @Mapper
 public interface GameMapper {
 
     /**
-     * Inserts a new game into the database.
+     * Inserts a new game into the database, unless a game that is not finished
+     * already uses its code.
      *
      * @param game The game to insert.
+     * @return The number of rows inserted: 1, or 0 if the code is taken.
      */
-    void insertGame(Game game);
+    int insertGame(Game game);
 
     /**
      * Inserts a new game player record into the database.
@@ -28,19 +37,48 @@ public interface GameMapper {
     void insertGamePlayer(GamePlayer gamePlayer);
 
     /**
-     * Finds a game by its unique code.
+     * Inserts a new game player record, unless the game has left WAITING.
+     *
+     * @param gamePlayer The game player to insert.
+     * @return The number of rows inserted: 1, or 0 if the game is not waiting.
+     */
+    int insertGamePlayerIfWaiting(GamePlayer gamePlayer);
+
+    /**
+     * Finds the game that is not finished with the given code. Codes of finished
+     * games may be reused.
      *
      * @param code The game code.
      * @return An Optional containing the game if found, or empty otherwise.
      */
+    @Transactional(readOnly = true)
     Optional<Game> findByCode(String code);
 
+    /**
+     * Finds which of the given codes are held by games that are not finished.
+     *
+     * @param codes The codes to check.
+     * @return The codes in use.
+     */
+    List<String> findOpenCodes(@Param("codes") List<String> codes);
+
+    /**
+     * Counts the games being played, on every node. Lobbies are left out, as
+     * those that never start are never finished. The count reads the index of
+     * open codes.
+     *
+     * @return The number of playing games.
+     */
+    @Transactional(readOnly = true)
+    long countPlayingGames();
+
     /**
      * Finds a game by its ID.
      *
      * @param id The game ID.
      * @return An Optional containing the game if found, or empty otherwise.
      */
+    @Transactional(readOnly = true)
     Optional<Game> findById(Long id);
 
     /**
@@ -50,6 +88,7 @@ public interface GameMapper {
      * @param userId The ID of the user.
      * @return True if the user is in the game, false otherwise.
      */
+    @Transactional(readOnly = true)
     boolean isPlayerInGame(@Param("gameId") Long gameId, @Param("userId") Long userId);
 
     /**
@@ -59,4 +98,58 @@ public interface GameMapper {
      * @param status The new status.
      */
     void updateGameStatus(@Param("gameId") Long gameId, @Param("status") String status);
+
+    /**
+     * Moves a WAITING game to PLAYING and records when it started.
+     *
+     * @param gameId    The ID of the game.
+     * @param startedAt The time the game started.
+     * @return The number of rows updated: 1, or 0 if the game was not waiting.
+     */
+    int startGame(@Param("gameId") Long gameId, @Param("startedAt") LocalDateTime startedAt);
+
+    /**
+     * Moves a game to FINISHED and records when it ended.
+     *
+     * @param gameId     The ID of the game.
+     * @param finishedAt The time the game ended.
+     */
+    void finishGame(@Param("gameId") Long gameId, @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Moves a game whose keys were reaped from Redis to FINISHED, unless it
+     * already is, which releases its code.
+     *
+     * @param gameId     The ID of the game.
+     * @param finishedAt The time the game was reaped.
+     * @return The number of rows updated: 1, or 0 if the game was finished.
+     */
+    int finishReapedGame(@Param("gameId") Long gameId, @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Finds a page of the finished games of a user, most recent first. Pages
+     * are sought by (finished_at, game_id) on the user's history index rather
+     * than skipped with OFFSET, so deep pages cost the same as the first one.
+     *
+     * @param userId           The ID of the user.
+     * @param beforeFinishedAt The end time of the last game of the previous page,
+     *                         or null for the first page.
+     * @param beforeGameId     The ID of the last game of the previous page, or
+     *                         null for the first page.
+     * @param limit            The largest number of games to return.
+     * @return The games, most recent first.
+     */
+    List<MatchHistoryEntry> findMatchHistory(@Param("userId") Long userId,
+            @Param("beforeFinishedAt") LocalDateTime beforeFinishedAt, @Param("beforeGameId") Long beforeGameId,
+            @Param("limit") int limit);
+
+    /**
+     * Streams every finished game of a user, most recent first. The rows are
+     * fetched in chunks while the cursor is read, so it must be consumed inside
+     * a transaction and closed afterwards.
+     *
+     * @param userId The ID of the user.
+     * @return A cursor over the games.
+     */
+    Cursor<MatchHistoryEntry> streamMatchHistory(@Param("userId") Long userId);
 }
@@ -0,0 +1,57 @@
+package com.cardgames.mapper;
+
+import com.cardgames.dto.LeaderboardEntry;
+import com.cardgames.model.GameResult;
+import com.cardgames.model.GameResultPlayer;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Mapper interface for the results of finished games.
+ */
+@Mapper
+public interface GameResultMapper {
+
+    /**
+     * Inserts the result of a finished game. The duration is taken from the
+     * start time of the game row. A result already stored is skipped, so its
+     * update count is 0.
+     *
+     * @param result The result to insert.
+     */
+    void insertGameResult(GameResult result);
+
+    /**
+     * Inserts the final score and placement of one player. The user ID is looked
+     * up from the players who joined the game. In the same statement, the game
+     * is added to the {@code user_stats} row of the user for this game type,
+     * only if the player row was new, so a result written twice counts once.
+     * The end time is copied to the row so match history can be paged by user
+     * and time on one index.
+     *
+     * @param gameId     The ID of the game.
+     * @param finishedAt The time the game ended.
+     * @param player     The player result to insert.
+     */
+    void insertGameResultPlayer(@Param("gameId") Long gameId, @Param("finishedAt") LocalDateTime finishedAt,
+            @Param("player") GameResultPlayer player);
+
+    /**
+     * Finds the game types that have results.
+     *
+     * @return The game types.
+     */
+    List<String> findResultTypes();
+
+    /**
+     * Totals the leaderboard points of every player of a game type: one point
+     * per opponent finished ahead of, in every game. Entries have no rank.
+     *
+     * @param gameType The game type.
+     * @return The username and points of each player.
+     */
+    List<LeaderboardEntry> findLeaderboardPoints(String gameType);
+}
@@ -2,10 +2,14 @@ package com.cardgames.mapper;
 
 import com.cardgames.model.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 
 /**
- * Mapper interface for User-related database operations.
+ * Mapper interface for User-related database operations. {@link #findAll()} is
+ * read-only and goes to the read replica when one is configured.
  */
 @Mapper
 public interface UserMapper {
@@ -15,6 +19,7 @@ public interface UserMapper {
      *
      * @return A list of all users.
      */
+    @Transactional(readOnly = true)
     List<User> findAll();
 
     /**
@@ -39,4 +44,12 @@ public interface UserMapper {
      * @param user The user to insert.
      */
     void insert(User user);
+
+    /**
+     * Replaces the password hash of a user.
+     *
+     * @param id       The user ID.
+     * @param password The new password hash.
+     */
+    void updatePassword(@Param("id") Long id, @Param("password") String password);
 }
@@ -0,0 +1,22 @@
+package com.cardgames.mapper;
+
+import com.cardgames.model.UserStats;
+import org.apache.ibatis.annotations.Mapper;
+
+import java.util.List;
+
+/**
+ * Mapper interface for the per-user statistics. The rows are written together
+ * with the game results, see {@link GameResultMapper#insertGameResultPlayer}.
+ */
+@Mapper
+public interface UserStatsMapper {
+
+    /**
+     * Finds the statistics of a user for every game type they played.
+     *
+     * @param userId The user ID.
+     * @return One row per game type.
+     */
+    List<UserStats> findByUserId(Long userId);
+}
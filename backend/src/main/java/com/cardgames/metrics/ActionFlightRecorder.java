@@ -0,0 +1,112 @@
+package com.cardgames.metrics;
+
+import com.cardgames.websocket.model.Action;
+import com.cardgames.websocket.model.ActionTrace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last game actions handled by this node, with their timings and
+ * state sizes, in a fixed-size ring. Writers claim a slot with a single
+ * atomic increment and never wait for each other or for readers, so
+ * recording costs one small allocation per action. Actions slower than
+ * {@code cardgames.trace.slow-action-ms} are also written to the
+ * {@code com.cardgames.slow-actions} log.
+ */
+@Component
+public class ActionFlightRecorder {
+
+    private static final Logger slowActionLogger = LoggerFactory.getLogger("com.cardgames.slow-actions");
+
+    private final AtomicReferenceArray<FlightRecord> slots;
+    private final int mask;
+    private final AtomicLong next = new AtomicLong();
+    private final long slowActionMillis;
+
+    /**
+     * Constructs a new ActionFlightRecorder.
+     *
+     * @param capacity         The number of actions to keep, rounded up to a
+     *                         power of two.
+     * @param slowActionMillis The duration from which an action is logged as
+     *                         slow, or 0 to log none.
+     */
+    public ActionFlightRecorder(@Value("${cardgames.trace.buffer-size:1024}") int capacity,
+            @Value("${cardgames.trace.slow-action-ms:500}") long slowActionMillis) {
+        if (capacity < 1 || capacity > 1 << 20) {
+            throw new IllegalArgumentException("Flight recorder capacity must be between 1 and 1048576");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.slowActionMillis = slowActionMillis;
+    }
+
+    /**
+     * Records a handled action, overwriting the oldest one once the ring is
+     * full, and logs it if it was slow.
+     *
+     * @param action The action, with its trace.
+     * @return The record kept for the action.
+     */
+    public FlightRecord record(Action action) {
+        ActionTrace trace = action.getTrace();
+        long totalMicros = trace.elapsedMicros();
+        Map<String, Object> payload = action.getPayload();
+        Object name = payload == null ? null : payload.get("action");
+        long sequence = next.getAndIncrement();
+        FlightRecord record = new FlightRecord(sequence, action.getGameId(), action.getGameType(),
+                action.getSender(), name == null ? null : name.toString(), trace, totalMicros);
+        int slot = (int) (sequence & mask);
+        // A writer delayed by a whole lap must not overwrite the newer record
+        FlightRecord current = slots.get(slot);
+        while ((current == null || current.getSequence() < sequence)
+                && !slots.compareAndSet(slot, current, record)) {
+            current = slots.get(slot);
+        }
+        if (slowActionMillis > 0 && totalMicros / 1000 >= slowActionMillis) {
+            slowActionLogger.warn("Slow action took {} ms: {}", totalMicros / 1000, record);
+        }
+        return record;
+    }
+
+    /**
+     * Gets the actions currently in the ring, newest first. Records written
+     * while the snapshot is taken may or may not be included.
+     *
+     * @return A copy of the recorded actions.
+     */
+    public List<FlightRecord> snapshot() {
+        long end = next.get();
+        long start = Math.max(0, end - slots.length());
+        List<FlightRecord> records = new ArrayList<>((int) (end - start));
+        for (long sequence = end - 1; sequence >= start; sequence--) {
+            FlightRecord record = slots.get((int) (sequence & mask));
+            // The slot may still hold an older lap or already hold a newer one
+            if (record != null && record.getSequence() == sequence) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Gets the number of actions the ring keeps.
+     *
+     * @return The capacity.
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+}
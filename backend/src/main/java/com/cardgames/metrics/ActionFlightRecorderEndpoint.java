@@ -0,0 +1,32 @@
+package com.cardgames.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Actuator endpoint dumping the {@link ActionFlightRecorder} of this node at
+ * {@code /actuator/actions}, on the management port.
+ */
+@Component
+@Endpoint(id = "actions")
+public class ActionFlightRecorderEndpoint {
+
+    private final ActionFlightRecorder flightRecorder;
+
+    public ActionFlightRecorderEndpoint(ActionFlightRecorder flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    /**
+     * Gets the last actions handled by this node.
+     *
+     * @return The recorded actions, newest first.
+     */
+    @ReadOperation
+    public List<FlightRecord> actions() {
+        return flightRecorder.snapshot();
+    }
+}
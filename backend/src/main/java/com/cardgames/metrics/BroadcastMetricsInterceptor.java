@@ -0,0 +1,73 @@
+package com.cardgames.metrics;
+
+import com.cardgames.metrics.jfr.BroadcastEvent;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Measures the messages the application sends to the broker, once per
+ * broadcast rather than once per subscriber. The broker channel has no
+ * executor, so the hand-off to the broker runs on the sending thread between
+ * {@link #preSend} and {@link #afterSendCompletion}.
+ */
+@Component
+public class BroadcastMetricsInterceptor implements ChannelInterceptor {
+
+    private static final ThreadLocal<BroadcastEvent> currentEvent = new ThreadLocal<>();
+
+    private final GameMetrics gameMetrics;
+
+    public BroadcastMetricsInterceptor(GameMetrics gameMetrics) {
+        this.gameMetrics = gameMetrics;
+    }
+
+    /**
+     * Records the destination and payload size of every MESSAGE frame and, while
+     * a recording asks for it, starts its {@link BroadcastEvent}.
+     *
+     * @param message The message about to be sent to the broker.
+     * @param channel The broker channel.
+     * @return The message, unchanged.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE
+                && message.getPayload() instanceof byte[] payload) {
+            gameMetrics.recordBroadcast(SimpMessageHeaderAccessor.getDestination(message.getHeaders()),
+                    payload.length);
+            BroadcastEvent event = new BroadcastEvent();
+            if (event.isEnabled()) {
+                event.begin();
+                currentEvent.set(event);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Commits the {@link BroadcastEvent} started by {@link #preSend}, if any.
+     *
+     * @param message The message sent to the broker.
+     * @param channel The broker channel.
+     * @param sent    Whether the broker accepted the message.
+     * @param ex      The exception thrown while sending, if any.
+     */
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        BroadcastEvent event = currentEvent.get();
+        if (event == null) {
+            return;
+        }
+        currentEvent.remove();
+        event.end();
+        if (event.shouldCommit()) {
+            event.setDestination(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+            event.setPayloadSize(((byte[]) message.getPayload()).length);
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.cardgames.metrics;
+
+import com.cardgames.mapper.GameMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+
+/**
+ * Actuator endpoint reporting the live games, memory and projected game
+ * capacity of this node at {@code /actuator/capacity}, on the management port.
+ * Redis is only asked for its memory figures, never scanned; when it has no
+ * {@code maxmemory}, the memory of its host is taken as its limit. The games
+ * sharing that memory are counted in Postgres, where every node records them.
+ */
+@Component
+@Endpoint(id = "capacity")
+public class CapacityEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(CapacityEndpoint.class);
+
+    private final CapacityTracker capacityTracker;
+    private final GameMetrics gameMetrics;
+    private final StringRedisTemplate redisTemplate;
+    private final GameMapper gameMapper;
+
+    public CapacityEndpoint(CapacityTracker capacityTracker, GameMetrics gameMetrics,
+            StringRedisTemplate redisTemplate, GameMapper gameMapper) {
+        this.capacityTracker = capacityTracker;
+        this.gameMetrics = gameMetrics;
+        this.redisTemplate = redisTemplate;
+        this.gameMapper = gameMapper;
+    }
+
+    /**
+     * Gets the capacity report of this node.
+     *
+     * @return The report.
+     */
+    @ReadOperation
+    public CapacityReport capacity() {
+        Properties memory = null;
+        try {
+            memory = redisTemplate.execute((RedisCallback<Properties>) (RedisConnection connection) -> connection
+                    .serverCommands().info("memory"));
+        } catch (RuntimeException e) {
+            logger.warn("Could not read Redis memory figures", e);
+        }
+        Long playingGames = null;
+        try {
+            playingGames = gameMapper.countPlayingGames();
+        } catch (RuntimeException e) {
+            logger.warn("Could not count playing games", e);
+        }
+        Long maxMemory = memoryFigure(memory, "maxmemory");
+        return capacityTracker.report(gameMetrics.getConnectedSessions(), memoryFigure(memory, "used_memory"),
+                maxMemory == null || maxMemory == 0 ? memoryFigure(memory, "total_system_memory") : maxMemory,
+                playingGames);
+    }
+
+    private static Long memoryFigure(Properties memory, String name) {
+        String value = memory == null ? null : memory.getProperty(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
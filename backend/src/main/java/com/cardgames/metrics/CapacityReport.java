@@ -0,0 +1,355 @@
+package com.cardgames.metrics;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What this node knows about its live games and memory, and how many
+ * concurrent games it and Redis could hold at the current sizes. Estimates
+ * that cannot be made yet, such as the heap of a session before any session
+ * connected, stay null.
+ * <p>
+ * A game is projected to take the heap of its decoded state plus one session
+ * per player. In Redis, it is projected to take the memory Redis uses divided
+ * by the games open on all nodes, which also counts action logs, lobbies and
+ * finished games still stored. The live games of this node only describe the
+ * states it saved, since Redis is shared by every node.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CapacityReport {
+    private final Map<String, GameTypeCapacity> games;
+    private final int liveGames;
+    private final Long playingGames;
+    private final int connectedSessions;
+    private final long maxHeap;
+    private final long liveHeap;
+    private final Long idleHeap;
+    private final Long heapPerSession;
+    private final Long heapPerGame;
+    private final Long redisUsedMemory;
+    private final Long redisMaxMemory;
+    private final Long redisMemoryPerGame;
+    private final Long nodeGameCapacity;
+    private final Long redisGameCapacity;
+
+    /**
+     * Constructs a new CapacityReport and works out its projections.
+     *
+     * @param games             The live games of each type.
+     * @param connectedSessions The number of connected sessions.
+     * @param maxHeap           The maximum heap of the node.
+     * @param liveHeap          The heap in use after the last GC.
+     * @param idleHeap          The lowest live heap seen with no session
+     *                          connected, or null if never seen.
+     * @param redisUsedMemory   The memory Redis uses, or null if unknown.
+     * @param redisMaxMemory    The memory Redis may use, or null if unknown.
+     * @param playingGames         The games being played on all nodes, or null if
+     *                          unknown.
+     */
+    public CapacityReport(Map<String, GameTypeCapacity> games, int connectedSessions, long maxHeap, long liveHeap,
+            Long idleHeap, Long redisUsedMemory, Long redisMaxMemory, Long playingGames) {
+        this.games = new TreeMap<>(games);
+        this.connectedSessions = connectedSessions;
+        this.maxHeap = maxHeap;
+        this.liveHeap = liveHeap;
+        this.idleHeap = idleHeap;
+        this.redisUsedMemory = redisUsedMemory;
+        this.redisMaxMemory = redisMaxMemory;
+        this.playingGames = playingGames;
+
+        int count = 0;
+        double players = 0;
+        double stateHeap = 0;
+        int measured = 0;
+        for (GameTypeCapacity capacity : games.values()) {
+            count += capacity.getLiveGames();
+            players += capacity.getAveragePlayers() * capacity.getLiveGames();
+            if (capacity.getHeapPerState() != null) {
+                stateHeap += (double) capacity.getHeapPerState() * capacity.getLiveGames();
+                measured += capacity.getLiveGames();
+            }
+        }
+        this.liveGames = count;
+
+        this.heapPerSession = idleHeap != null && connectedSessions > 0 && liveHeap > idleHeap
+                ? (liveHeap - idleHeap) / connectedSessions
+                : null;
+        if (measured > 0) {
+            double perGame = stateHeap / measured;
+            if (heapPerSession != null) {
+                perGame += players / count * heapPerSession;
+            }
+            this.heapPerGame = Math.max(1, Math.round(perGame));
+            this.nodeGameCapacity = Math.max(0, (maxHeap - (idleHeap != null ? idleHeap : liveHeap)) / heapPerGame);
+        } else {
+            this.heapPerGame = null;
+            this.nodeGameCapacity = null;
+        }
+
+        this.redisMemoryPerGame = redisUsedMemory != null && playingGames != null && playingGames > 0
+                ? Math.max(1, redisUsedMemory / playingGames)
+                : null;
+        this.redisGameCapacity = redisMemoryPerGame != null && redisMaxMemory != null
+                ? redisMaxMemory / redisMemoryPerGame
+                : null;
+    }
+
+    /**
+     * Gets the live games of each type.
+     *
+     * @return The capacity of each game type, by type.
+     */
+    public Map<String, GameTypeCapacity> getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of live games saved by this node.
+     *
+     * @return The live games.
+     */
+    public int getLiveGames() {
+        return liveGames;
+    }
+
+    /**
+     * Gets the number of games being played on all nodes.
+     *
+     * @return The playing games, or null if unknown.
+     */
+    public Long getPlayingGames() {
+        return playingGames;
+    }
+
+    /**
+     * Gets the number of connected sessions.
+     *
+     * @return The connected sessions.
+     */
+    public int getConnectedSessions() {
+        return connectedSessions;
+    }
+
+    /**
+     * Gets the maximum heap of the node.
+     *
+     * @return The maximum heap in bytes.
+     */
+    public long getMaxHeap() {
+        return maxHeap;
+    }
+
+    /**
+     * Gets the heap in use after the last GC.
+     *
+     * @return The live heap in bytes.
+     */
+    public long getLiveHeap() {
+        return liveHeap;
+    }
+
+    /**
+     * Gets the lowest live heap seen with no session connected.
+     *
+     * @return The idle heap in bytes, or null if never seen.
+     */
+    public Long getIdleHeap() {
+        return idleHeap;
+    }
+
+    /**
+     * Gets the estimated heap held by one connected session.
+     *
+     * @return The heap in bytes, or null if it cannot be estimated yet.
+     */
+    public Long getHeapPerSession() {
+        return heapPerSession;
+    }
+
+    /**
+     * Gets the estimated heap of one game: its decoded state and the sessions
+     * of its players.
+     *
+     * @return The heap in bytes, or null if no state was loaded yet.
+     */
+    public Long getHeapPerGame() {
+        return heapPerGame;
+    }
+
+    /**
+     * Gets the memory Redis uses.
+     *
+     * @return The memory in bytes, or null if unknown.
+     */
+    public Long getRedisUsedMemory() {
+        return redisUsedMemory;
+    }
+
+    /**
+     * Gets the memory Redis may use.
+     *
+     * @return The memory in bytes, or null if unknown.
+     */
+    public Long getRedisMaxMemory() {
+        return redisMaxMemory;
+    }
+
+    /**
+     * Gets the Redis memory used per open game.
+     *
+     * @return The memory in bytes, or null if there is no open game.
+     */
+    public Long getRedisMemoryPerGame() {
+        return redisMemoryPerGame;
+    }
+
+    /**
+     * Gets the number of concurrent games the heap of this node could hold.
+     *
+     * @return The projected games, or null if it cannot be estimated yet.
+     */
+    public Long getNodeGameCapacity() {
+        return nodeGameCapacity;
+    }
+
+    /**
+     * Gets the number of concurrent games Redis could hold.
+     *
+     * @return The projected games, or null if it cannot be estimated yet.
+     */
+    public Long getRedisGameCapacity() {
+        return redisGameCapacity;
+    }
+
+    /**
+     * The live games of one type and the distribution of their state sizes.
+     */
+    public static class GameTypeCapacity {
+        private final int liveGames;
+        private final double averagePlayers;
+        private final Long heapPerState;
+        private final long totalStateSize;
+        private final int minStateSize;
+        private final int medianStateSize;
+        private final int p90StateSize;
+        private final int p99StateSize;
+        private final int maxStateSize;
+
+        /**
+         * Constructs a new GameTypeCapacity.
+         *
+         * @param stateSizes     The last saved state size of each live game; the
+         *                       array is sorted in place.
+         * @param averagePlayers The average number of players per game.
+         * @param heapPerState   The average heap a decoded state takes, or null
+         *                       if none was loaded yet.
+         */
+        public GameTypeCapacity(int[] stateSizes, double averagePlayers, Long heapPerState) {
+            Arrays.sort(stateSizes);
+            long total = 0;
+            for (int size : stateSizes) {
+                total += size;
+            }
+            this.liveGames = stateSizes.length;
+            this.averagePlayers = averagePlayers;
+            this.heapPerState = heapPerState;
+            this.totalStateSize = total;
+            this.minStateSize = percentile(stateSizes, 0);
+            this.medianStateSize = percentile(stateSizes, 0.5);
+            this.p90StateSize = percentile(stateSizes, 0.9);
+            this.p99StateSize = percentile(stateSizes, 0.99);
+            this.maxStateSize = percentile(stateSizes, 1);
+        }
+
+        private static int percentile(int[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.ceil(quantile * (sorted.length - 1))];
+        }
+
+        /**
+         * Gets the number of live games of this type.
+         *
+         * @return The live games.
+         */
+        public int getLiveGames() {
+            return liveGames;
+        }
+
+        /**
+         * Gets the average number of players per game.
+         *
+         * @return The average players.
+         */
+        public double getAveragePlayers() {
+            return averagePlayers;
+        }
+
+        /**
+         * Gets the average heap a decoded state takes.
+         *
+         * @return The heap in bytes, or null if no state was loaded yet.
+         */
+        public Long getHeapPerState() {
+            return heapPerState;
+        }
+
+        /**
+         * Gets the total size of the states of this type in Redis.
+         *
+         * @return The total length of the JSON states.
+         */
+        public long getTotalStateSize() {
+            return totalStateSize;
+        }
+
+        /**
+         * Gets the smallest state size.
+         *
+         * @return The length of the JSON state.
+         */
+        public int getMinStateSize() {
+            return minStateSize;
+        }
+
+        /**
+         * Gets the median state size.
+         *
+         * @return The length of the JSON state.
+         */
+        public int getMedianStateSize() {
+            return medianStateSize;
+        }
+
+        /**
+         * Gets the 90th percentile of the state sizes.
+         *
+         * @return The length of the JSON state.
+         */
+        public int getP90StateSize() {
+            return p90StateSize;
+        }
+
+        /**
+         * Gets the 99th percentile of the state sizes.
+         *
+         * @return The length of the JSON state.
+         */
+        public int getP99StateSize() {
+            return p99StateSize;
+        }
+
+        /**
+         * Gets the largest state size.
+         *
+         * @return The length of the JSON state.
+         */
+        public int getMaxStateSize() {
+            return maxStateSize;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.cardgames.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Follows the games this node saves, the heap their states take once loaded
+ * and the heap held by connected sessions, to plan how many games a node and
+ * Redis can hold. Everything is updated as states are saved and loaded, so
+ * building a {@link CapacityReport} never has to scan Redis.
+ * <p>
+ * The heap of a game is the bytes allocated while decoding its state, kept as
+ * a moving average per game type. The heap of a session is the growth of the
+ * live heap, measured after the last GC, since the lowest value seen while no
+ * session was connected, divided by the connected sessions.
+ * <p>
+ * A game counts as live on this node until it finishes, its keys are reaped
+ * here, or this node has not saved it for {@code cardgames.games.idle-ttl}.
+ * The last case covers games reaped by another node, games served by other
+ * nodes since, and keys Redis expired on its own.
+ */
+@Component
+public class CapacityTracker {
+
+    /**
+     * Tracker that records nothing, used by engines built outside of Spring for
+     * simulations, replays and benchmarks.
+     */
+    public static final CapacityTracker NONE = new CapacityTracker(false, null);
+
+    private static final double SMOOTHING = 0.05;
+    private static final int PRUNE_EVERY_SAVES = 1024;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final boolean enabled;
+    private final long idleTtlNanos;
+    private final AtomicInteger saves = new AtomicInteger();
+    private final Map<Long, LiveGame> liveGames = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> heapPerState = new ConcurrentHashMap<>();
+    private final AtomicLong idleHeap = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * Constructs a new CapacityTracker.
+     *
+     * @param idleTtl How long a game this node stops saving still counts as
+     *                live, or null to keep it until it finishes.
+     */
+    @Autowired
+    public CapacityTracker(@Value("${cardgames.games.idle-ttl:6h}") Duration idleTtl) {
+        this(true, idleTtl);
+    }
+
+    private CapacityTracker(boolean enabled, Duration idleTtl) {
+        this.enabled = enabled && threads.isThreadAllocatedMemorySupported();
+        this.idleTtlNanos = idleTtl == null || idleTtl.isZero() ? Long.MAX_VALUE : idleTtl.toNanos();
+    }
+
+    /**
+     * Gets the bytes allocated so far by the current thread, to be passed back
+     * to {@link #stateLoaded}.
+     *
+     * @return The allocated bytes, or 0 if the tracker is disabled.
+     */
+    public long allocatedBytes() {
+        return enabled ? threads.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Records the heap a state took to decode.
+     *
+     * @param gameType       The game type.
+     * @param allocatedSince The value of {@link #allocatedBytes()} before the
+     *                       state was decoded.
+     */
+    public void stateLoaded(String gameType, long allocatedSince) {
+        if (!enabled) {
+            return;
+        }
+        long sample = threads.getCurrentThreadAllocatedBytes() - allocatedSince;
+        heapPerState.computeIfAbsent(gameType, type -> new AtomicLong())
+                .updateAndGet(average -> average == 0 ? sample : average + (long) ((sample - average) * SMOOTHING));
+    }
+
+    /**
+     * Records a game whose state was removed from Redis, so it no longer counts
+     * as live.
+     *
+     * @param gameId The ID of the game.
+     */
+    public void stateRemoved(Long gameId) {
+        if (enabled) {
+            liveGames.remove(gameId);
+        }
+    }
+
+    /**
+     * Records a saved state. A finished game no longer counts as live.
+     *
+     * @param gameType  The game type.
+     * @param gameId    The ID of the game.
+     * @param stateSize The length of the saved JSON.
+     * @param players   The number of players in the game.
+     * @param finished  Whether the game is over.
+     */
+    public void stateSaved(String gameType, Long gameId, int stateSize, int players, boolean finished) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (finished) {
+            liveGames.remove(gameId);
+        } else {
+            liveGames.put(gameId, new LiveGame(gameType, stateSize, players, now));
+        }
+        if (saves.incrementAndGet() % PRUNE_EVERY_SAVES == 0) {
+            pruneIdle(now);
+        }
+    }
+
+    /**
+     * Forgets the games this node has not saved for the idle TTL.
+     *
+     * @param now The current {@link System#nanoTime()}.
+     */
+    private void pruneIdle(long now) {
+        if (idleTtlNanos != Long.MAX_VALUE) {
+            liveGames.values().removeIf(game -> now - game.savedAt > idleTtlNanos);
+        }
+    }
+
+    /**
+     * Records the number of connected sessions, so the live heap can be sampled
+     * while the node is idle.
+     *
+     * @param sessions The number of connected sessions.
+     */
+    public void sampleIdleHeap(int sessions) {
+        if (enabled && sessions == 0) {
+            long live = liveHeap();
+            idleHeap.accumulateAndGet(live, Math::min);
+        }
+    }
+
+    /**
+     * Builds the capacity report of this node.
+     *
+     * @param sessions        The number of connected sessions.
+     * @param redisUsedMemory The memory Redis uses, or null if unknown.
+     * @param redisMaxMemory  The memory Redis may use, or null if unknown.
+     * @param playingGames       The games being played on all nodes, or null if
+     *                        unknown.
+     * @return The report.
+     */
+    public CapacityReport report(int sessions, Long redisUsedMemory, Long redisMaxMemory, Long playingGames) {
+        sampleIdleHeap(sessions);
+        pruneIdle(System.nanoTime());
+        Map<String, List<LiveGame>> byType = new HashMap<>();
+        for (LiveGame game : liveGames.values()) {
+            byType.computeIfAbsent(game.gameType, type -> new ArrayList<>()).add(game);
+        }
+        Map<String, CapacityReport.GameTypeCapacity> types = new HashMap<>();
+        for (Map.Entry<String, List<LiveGame>> entry : byType.entrySet()) {
+            List<LiveGame> games = entry.getValue();
+            int[] sizes = new int[games.size()];
+            long players = 0;
+            for (int i = 0; i < sizes.length; i++) {
+                sizes[i] = games.get(i).stateSize;
+                players += games.get(i).players;
+            }
+            AtomicLong heap = heapPerState.get(entry.getKey());
+            types.put(entry.getKey(), new CapacityReport.GameTypeCapacity(sizes, (double) players / sizes.length,
+                    heap == null ? null : heap.get()));
+        }
+        long idle = idleHeap.get();
+        return new CapacityReport(types, sessions, Runtime.getRuntime().maxMemory(), liveHeap(),
+                idle == Long.MAX_VALUE ? null : idle, redisUsedMemory, redisMaxMemory, playingGames);
+    }
+
+    /**
+     * Gets the heap in use after the last GC, or the heap in use now if no GC
+     * has run yet.
+     *
+     * @return The live heap in bytes.
+     */
+    private static long liveHeap() {
+        long live = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (usage != null) {
+                live += usage.getUsed();
+            }
+        }
+        return live > 0 ? live : ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class LiveGame {
+        private final String gameType;
+        private final int stateSize;
+        private final int players;
+        private final long savedAt;
+
+        private LiveGame(String gameType, int stateSize, int players, long savedAt) {
+            this.gameType = gameType;
+            this.stateSize = stateSize;
+            this.players = players;
+            this.savedAt = savedAt;
+        }
+    }
+}
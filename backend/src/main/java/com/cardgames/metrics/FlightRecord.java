@@ -0,0 +1,194 @@
+package com.cardgames.metrics;
+
+import com.cardgames.websocket.model.ActionTrace;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One game action kept by the {@link ActionFlightRecorder}: who sent what to
+ * which game, its stage timings in microseconds since the frame was received,
+ * and the size of the state it saved. Stages the action did not reach stay
+ * null.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FlightRecord {
+    private final long sequence;
+    private final long receivedAt;
+    private final String correlationId;
+    private final Long gameId;
+    private final String gameType;
+    private final String sender;
+    private final String action;
+    private final Long dequeuedMicros;
+    private final Long loadedMicros;
+    private final Long appliedMicros;
+    private final Long savedMicros;
+    private final Long broadcastMicros;
+    private final long totalMicros;
+    private final Integer stateSize;
+
+    /**
+     * Constructs a new FlightRecord from the trace of a finished action.
+     *
+     * @param sequence    The position of the record in the recorder.
+     * @param gameId      The ID of the game.
+     * @param gameType    The type of the game, if the client sent it.
+     * @param sender      The username of the sender.
+     * @param action      The name of the action.
+     * @param trace       The trace of the action.
+     * @param totalMicros The time the action took from receipt to the end of
+     *                    its handling, in microseconds.
+     */
+    public FlightRecord(long sequence, Long gameId, String gameType, String sender, String action,
+            ActionTrace trace, long totalMicros) {
+        this.sequence = sequence;
+        this.receivedAt = trace.getReceivedAt();
+        this.correlationId = trace.getCorrelationId();
+        this.gameId = gameId;
+        this.gameType = gameType;
+        this.sender = sender;
+        this.action = action;
+        this.dequeuedMicros = trace.getDequeuedMicros();
+        this.loadedMicros = trace.getLoadedMicros();
+        this.appliedMicros = trace.getAppliedMicros();
+        this.savedMicros = trace.getSavedMicros();
+        this.broadcastMicros = trace.getBroadcastMicros();
+        this.totalMicros = totalMicros;
+        this.stateSize = trace.getStateSize();
+    }
+
+    /**
+     * Gets the position of the record in the recorder.
+     *
+     * @return The sequence number.
+     */
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the wall-clock time the frame was received.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+
+    /**
+     * Gets the correlation ID of the action.
+     *
+     * @return The correlation ID.
+     */
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    /**
+     * Gets the ID of the game.
+     *
+     * @return The game ID.
+     */
+    public Long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Gets the type of the game.
+     *
+     * @return The game type, or null if the client did not send it.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Gets the username of the sender.
+     *
+     * @return The sender.
+     */
+    public String getSender() {
+        return sender;
+    }
+
+    /**
+     * Gets the name of the action.
+     *
+     * @return The action name.
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Gets when the action was taken off the inbound queue.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getDequeuedMicros() {
+        return dequeuedMicros;
+    }
+
+    /**
+     * Gets when the game state was loaded.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getLoadedMicros() {
+        return loadedMicros;
+    }
+
+    /**
+     * Gets when the rules were applied.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getAppliedMicros() {
+        return appliedMicros;
+    }
+
+    /**
+     * Gets when the new state was saved.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getSavedMicros() {
+        return savedMicros;
+    }
+
+    /**
+     * Gets when the update was handed to the broadcast.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getBroadcastMicros() {
+        return broadcastMicros;
+    }
+
+    /**
+     * Gets the time the action took.
+     *
+     * @return Microseconds from receipt to the end of its handling.
+     */
+    public long getTotalMicros() {
+        return totalMicros;
+    }
+
+    /**
+     * Gets the size of the state saved for the action.
+     *
+     * @return The length of the state JSON, or null if nothing was saved.
+     */
+    public Integer getStateSize() {
+        return stateSize;
+    }
+
+    @Override
+    public String toString() {
+        return "game=" + gameId + ", sender=" + sender + ", action=" + action + ", correlationId=" + correlationId
+                + ", dequeued=" + dequeuedMicros + "us, loaded=" + loadedMicros + "us, applied=" + appliedMicros
+                + "us, saved=" + savedMicros + "us, broadcast=" + broadcastMicros + "us, total=" + totalMicros
+                + "us, stateSize=" + stateSize;
+    }
+}
@@ -0,0 +1,235 @@
+package com.cardgames.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer meters of the game hot paths: engine actions, state persistence,
+ * broadcasts, STOMP sessions and lobbies. Tags only ever hold game types,
+ * action names, operations and topic shapes, never game IDs or usernames, so
+ * the number of series stays bounded however many games are played.
+ */
+@Component
+public class GameMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameMetrics.class);
+
+    /**
+     * Meters that record nothing, used by engines built outside of Spring for
+     * simulations, replays and benchmarks.
+     */
+    public static final GameMetrics NONE = new GameMetrics(new CompositeMeterRegistry());
+
+    public static final String ACTION_REJECTED = "REJECTED";
+
+    private static final double MIN_PAYLOAD_BYTES = 64;
+    private static final double MAX_PAYLOAD_BYTES = 1024 * 1024;
+
+    private final MeterRegistry registry;
+    private final AtomicInteger connectedSessions = new AtomicInteger();
+    private final Map<Long, Integer> lobbySizes = new ConcurrentHashMap<>();
+    private final AtomicLong firstConnectionMillis = new AtomicLong(-1);
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("cardgames.sessions.connected", connectedSessions, AtomicInteger::get)
+                .description("Open STOMP sessions")
+                .register(registry);
+        Gauge.builder("cardgames.games.live", lobbySizes, Map::size)
+                .description("Games with at least one player connected to their lobby")
+                .register(registry);
+        TimeGauge.builder("cardgames.startup.first.connection", firstConnectionMillis, TimeUnit.MILLISECONDS,
+                millis -> millis.get() < 0 ? Double.NaN : millis.get())
+                .description("Time from JVM start to the first accepted STOMP session")
+                .register(registry);
+    }
+
+    /**
+     * Records the time an engine took to handle an action, from loading the
+     * state to broadcasting the update.
+     *
+     * @param gameType The game type.
+     * @param action   The action name, or {@link #ACTION_REJECTED} if the engine
+     *                 refused it, so clients cannot create new tag values.
+     * @param nanos    The elapsed time in nanoseconds.
+     */
+    public void recordAction(String gameType, String action, long nanos) {
+        Timer.builder("cardgames.engine.action")
+                .description("Time to load, apply, save and broadcast a game action")
+                .tag("game", gameType)
+                .tag("action", action)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one read or write of a game state in Redis.
+     *
+     * @param gameType  The game type.
+     * @param operation "load" or "save".
+     * @param nanos     The time spent in Redis and Jackson, in nanoseconds.
+     * @param chars     The length of the JSON state.
+     */
+    public void recordState(String gameType, String operation, long nanos, int chars) {
+        Timer.builder("cardgames.state.time")
+                .description("Time to read or write a game state, including JSON conversion")
+                .tag("game", gameType)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        payloadSize("cardgames.state.size", "Length of the JSON game state")
+                .tag("game", gameType)
+                .tag("operation", operation)
+                .register(registry)
+                .record(chars);
+    }
+
+    /**
+     * Records a message sent by the server to the subscribers of a topic.
+     *
+     * @param destination The destination of the message.
+     * @param bytes       The size of the serialized payload.
+     */
+    public void recordBroadcast(String destination, int bytes) {
+        payloadSize("cardgames.broadcast.size", "Size of the messages sent to a topic")
+                .tag("topic", topicOf(destination))
+                .register(registry)
+                .record(bytes);
+    }
+
+    /**
+     * Records a STOMP session being opened. The first one also records and logs
+     * how long after the JVM started the node accepted it.
+     */
+    public void sessionConnected() {
+        connectedSessions.incrementAndGet();
+        if (firstConnectionMillis.get() < 0) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            if (firstConnectionMillis.compareAndSet(-1, uptime)) {
+                logger.info("Accepted first WebSocket connection {} ms after JVM start", uptime);
+            }
+        }
+    }
+
+    /**
+     * Gets how long after the JVM started the first STOMP session was accepted.
+     *
+     * @return The time in milliseconds, or -1 if no session was accepted yet.
+     */
+    public long getFirstConnectionMillis() {
+        return firstConnectionMillis.get();
+    }
+
+    /**
+     * Records a STOMP session being closed.
+     */
+    public void sessionDisconnected() {
+        connectedSessions.decrementAndGet();
+    }
+
+    /**
+     * Gets the number of open STOMP sessions.
+     *
+     * @return The connected sessions.
+     */
+    public int getConnectedSessions() {
+        return connectedSessions.get();
+    }
+
+    /**
+     * Records the number of players connected to a lobby after one joined or
+     * left. A lobby nobody is connected to no longer counts as a live game.
+     *
+     * @param gameId The ID of the game, only used to count live games.
+     * @param size   The number of connected players.
+     */
+    public void recordLobbySize(Long gameId, int size) {
+        if (size > 0) {
+            lobbySizes.put(gameId, size);
+        } else {
+            lobbySizes.remove(gameId);
+        }
+        DistributionSummary.builder("cardgames.lobby.size")
+                .description("Players connected to a lobby when someone joins or leaves")
+                .register(registry)
+                .record(size);
+    }
+
+    /**
+     * Records a run of the game reaper.
+     *
+     * @param games          The number of games archived and removed from Redis.
+     * @param reclaimedBytes The Redis memory their keys used.
+     * @param nanos          The time the run took, in nanoseconds.
+     */
+    public void recordReaperRun(int games, long reclaimedBytes, long nanos) {
+        Timer.builder("cardgames.reaper.run")
+                .description("Time to scan Redis for idle and finished games and archive them")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder("cardgames.reaper.games")
+                .description("Games archived and removed from Redis")
+                .register(registry)
+                .increment(games);
+        Counter.builder("cardgames.reaper.reclaimed")
+                .description("Redis memory freed by removing reaped games")
+                .baseUnit("bytes")
+                .register(registry)
+                .increment(reclaimedBytes);
+    }
+
+    /**
+     * Replaces the numeric segments of a destination, such as game IDs, with
+     * {@code {id}}.
+     *
+     * @param destination The destination, e.g. /topic/lobby/42/game.
+     * @return The topic shape, e.g. /topic/lobby/{id}/game.
+     */
+    static String topicOf(String destination) {
+        if (destination == null) {
+            return "none";
+        }
+        StringBuilder topic = new StringBuilder(destination.length());
+        int start = 0;
+        while (start <= destination.length()) {
+            int end = destination.indexOf('/', start);
+            if (end < 0) {
+                end = destination.length();
+            }
+            String segment = destination.substring(start, end);
+            topic.append(!segment.isEmpty() && segment.chars().allMatch(Character::isDigit) ? "{id}" : segment);
+            if (end < destination.length()) {
+                topic.append('/');
+            }
+            start = end + 1;
+        }
+        return topic.toString();
+    }
+
+    private static DistributionSummary.Builder payloadSize(String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_PAYLOAD_BYTES)
+                .maximumExpectedValue(MAX_PAYLOAD_BYTES);
+    }
+}
@@ -0,0 +1,39 @@
+package com.cardgames.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A STOMP message handled by the action controller, from routing it to
+ * returning.
+ */
+@Name("com.cardgames.ActionReceived")
+@Label("Action Received")
+@Description("A client message handled by the action controller")
+public class ActionReceivedEvent extends GameEvent {
+
+    @Label("Message Type")
+    private String messageType;
+
+    @Label("Payload Entries")
+    private int payloadEntries;
+
+    /**
+     * Sets the type of the STOMP message.
+     *
+     * @param messageType The message type, e.g. GAME_ACTION.
+     */
+    public void setMessageType(String messageType) {
+        this.messageType = messageType;
+    }
+
+    /**
+     * Sets the number of entries in the action payload.
+     *
+     * @param payloadEntries The number of entries.
+     */
+    public void setPayloadEntries(int payloadEntries) {
+        this.payloadEntries = payloadEntries;
+    }
+}
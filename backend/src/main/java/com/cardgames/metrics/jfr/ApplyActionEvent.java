@@ -0,0 +1,26 @@
+package com.cardgames.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The rules of a game applied to an action, mutating the state in memory.
+ */
+@Name("com.cardgames.ApplyAction")
+@Label("Apply Action")
+@Description("The game rules applied to an action in memory")
+public class ApplyActionEvent extends GameEvent {
+
+    @Label("Accepted")
+    private boolean accepted;
+
+    /**
+     * Sets whether the rules accepted the action.
+     *
+     * @param accepted true if the state changed.
+     */
+    public void setAccepted(boolean accepted) {
+        this.accepted = accepted;
+    }
+}
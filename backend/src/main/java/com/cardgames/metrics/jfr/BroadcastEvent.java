@@ -0,0 +1,41 @@
+package com.cardgames.metrics.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A serialized message handed to the broker, which queues one copy for every
+ * subscriber of its destination.
+ */
+@Name("com.cardgames.Broadcast")
+@Label("Broadcast")
+@Description("A message handed to the broker for the subscribers of a topic")
+public class BroadcastEvent extends GameEvent {
+
+    @Label("Destination")
+    private String destination;
+
+    @Label("Payload Size")
+    @DataAmount
+    private int payloadSize;
+
+    /**
+     * Sets the destination of the message.
+     *
+     * @param destination The destination, e.g. /topic/lobby/42/game.
+     */
+    public void setDestination(String destination) {
+        this.destination = destination;
+    }
+
+    /**
+     * Sets the size of the serialized payload.
+     *
+     * @param payloadSize The size in bytes.
+     */
+    public void setPayloadSize(int payloadSize) {
+        this.payloadSize = payloadSize;
+    }
+}
@@ -0,0 +1,15 @@
+package com.cardgames.metrics.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An action handed to the engine of its game type, covering everything the
+ * engine did with it.
+ */
+@Name("com.cardgames.EngineDispatch")
+@Label("Engine Dispatch")
+@Description("An action handled by a game engine, from loading the state to broadcasting it")
+public class EngineDispatchEvent extends GameEvent {
+}
@@ -0,0 +1,63 @@
+package com.cardgames.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base class of the Flight Recorder events of the game hot paths. They are
+ * disabled unless a recording turns them on (see jfr/cardgames.jfc), in which
+ * case the JIT reduces them to a flag check.
+ * <p>
+ * Fields are only filled once {@link #shouldCommit()} has returned true. They
+ * are protected because Flight Recorder ignores private fields of event
+ * superclasses.
+ */
+@Category("Card Games")
+@Enabled(false)
+@StackTrace(false)
+public abstract class GameEvent extends Event {
+
+    @Label("Game Type")
+    protected String gameType;
+
+    @Label("Game ID")
+    protected long gameId;
+
+    @Label("Action")
+    protected String action;
+
+    @Label("Players")
+    protected int players;
+
+    /**
+     * Sets the game the event is about.
+     *
+     * @param gameType The game type.
+     * @param gameId   The ID of the game, or null if unknown.
+     */
+    public void setGame(String gameType, Long gameId) {
+        this.gameType = gameType;
+        this.gameId = gameId == null ? 0 : gameId;
+    }
+
+    /**
+     * Sets the name of the action being handled.
+     *
+     * @param action The action name, e.g. PLAY_CARD.
+     */
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    /**
+     * Sets the number of players seated in the game.
+     *
+     * @param players The number of players.
+     */
+    public void setPlayers(int players) {
+        this.players = players;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cardgames.metrics.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A game state read from Redis and parsed.
+ */
+@Name("com.cardgames.StateLoad")
+@Label("State Load")
+@Description("A game state read from Redis and parsed")
+public class StateLoadEvent extends GameEvent {
+
+    @Label("State Size")
+    @DataAmount
+    private int stateSize;
+
+    /**
+     * Sets the length of the JSON state.
+     *
+     * @param stateSize The length in characters, which is bytes for ASCII JSON.
+     */
+    public void setStateSize(int stateSize) {
+        this.stateSize = stateSize;
+    }
+}
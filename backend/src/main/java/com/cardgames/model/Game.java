@@ -12,6 +12,8 @@ public class Game {
     private Long hostUserId;
     private GameStatus status;
     private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
 
     /**
      * Gets the unique identifier of the game.
@@ -120,4 +122,40 @@ public class Game {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    /**
+     * Gets the timestamp when the game was started.
+     *
+     * @return The start timestamp, or null if not started.
+     */
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Sets the timestamp when the game was started.
+     *
+     * @param startedAt The start timestamp to set.
+     */
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    /**
+     * Gets the timestamp when the game ended.
+     *
+     * @return The end timestamp, or null if not finished.
+     */
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Sets the timestamp when the game ended.
+     *
+     * @param finishedAt The end timestamp to set.
+     */
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
 }
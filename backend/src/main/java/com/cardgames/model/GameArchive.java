@@ -0,0 +1,143 @@
+package com.cardgames.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last Redis state and action log of a game, moved to Postgres when the
+ * game was reaped from Redis.
+ */
+public class GameArchive {
+    private Long gameId;
+    private String gameType;
+    private boolean finished;
+    private String state;
+    private String actions;
+    private long reclaimedBytes;
+    private LocalDateTime archivedAt;
+
+    /**
+     * Gets the ID of the archived game.
+     *
+     * @return The game ID.
+     */
+    public Long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Sets the ID of the archived game.
+     *
+     * @param gameId The game ID.
+     */
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    /**
+     * Gets the type of the game.
+     *
+     * @return The game type, e.g. UNO.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Sets the type of the game.
+     *
+     * @param gameType The game type, e.g. UNO.
+     */
+    public void setGameType(String gameType) {
+        this.gameType = gameType;
+    }
+
+    /**
+     * Gets whether the game had ended when it was archived.
+     *
+     * @return true if the game was over, false if it was abandoned.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Sets whether the game had ended when it was archived.
+     *
+     * @param finished true if the game was over, false if it was abandoned.
+     */
+    public void setFinished(boolean finished) {
+        this.finished = finished;
+    }
+
+    /**
+     * Gets the last state of the game, as stored in Redis.
+     *
+     * @return The JSON state.
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * Sets the last state of the game, as stored in Redis.
+     *
+     * @param state The JSON state.
+     */
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    /**
+     * Gets the action log of the game.
+     *
+     * @return A JSON array of the logged actions, or null if there was no log.
+     */
+    public String getActions() {
+        return actions;
+    }
+
+    /**
+     * Sets the action log of the game.
+     *
+     * @param actions A JSON array of the logged actions, or null if there was no log.
+     */
+    public void setActions(String actions) {
+        this.actions = actions;
+    }
+
+    /**
+     * Gets the Redis memory freed by deleting the keys of the game.
+     *
+     * @return The memory in bytes.
+     */
+    public long getReclaimedBytes() {
+        return reclaimedBytes;
+    }
+
+    /**
+     * Sets the Redis memory freed by deleting the keys of the game.
+     *
+     * @param reclaimedBytes The memory in bytes.
+     */
+    public void setReclaimedBytes(long reclaimedBytes) {
+        this.reclaimedBytes = reclaimedBytes;
+    }
+
+    /**
+     * Gets when the game was archived.
+     *
+     * @return The archive time.
+     */
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    /**
+     * Sets when the game was archived.
+     *
+     * @param archivedAt The archive time.
+     */
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
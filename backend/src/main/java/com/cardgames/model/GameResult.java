@@ -0,0 +1,105 @@
+package com.cardgames.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The outcome of a finished game: winner, final standings and end time.
+ */
+public class GameResult {
+    private Long gameId;
+    private String gameType;
+    private String winner;
+    private LocalDateTime finishedAt;
+    private List<GameResultPlayer> players;
+
+    /**
+     * Gets the ID of the finished game.
+     *
+     * @return The game ID.
+     */
+    public Long getGameId() {
+        return gameId;
+    }
+
+    /**
+     * Sets the ID of the finished game.
+     *
+     * @param gameId The game ID.
+     */
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    /**
+     * Gets the type of the game.
+     *
+     * @return The game type, e.g. UNO.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Sets the type of the game.
+     *
+     * @param gameType The game type, e.g. UNO.
+     */
+    public void setGameType(String gameType) {
+        this.gameType = gameType;
+    }
+
+    /**
+     * Gets the username of the winner.
+     *
+     * @return The username of the winner, or null if nobody won.
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+    /**
+     * Sets the username of the winner.
+     *
+     * @param winner The username of the winner, or null if nobody won.
+     */
+    public void setWinner(String winner) {
+        this.winner = winner;
+    }
+
+    /**
+     * Gets the time the game ended.
+     *
+     * @return The time the game ended.
+     */
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Sets the time the game ended.
+     *
+     * @param finishedAt The time the game ended.
+     */
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * Gets the final standings.
+     *
+     * @return The players, best placed first.
+     */
+    public List<GameResultPlayer> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Sets the final standings.
+     *
+     * @param players The players, best placed first.
+     */
+    public void setPlayers(List<GameResultPlayer> players) {
+        this.players = players;
+    }
+}
@@ -0,0 +1,83 @@
+package com.cardgames.model;
+
+/**
+ * The final score and placement of one player in a finished game.
+ */
+public class GameResultPlayer {
+    private String username;
+    private int seat;
+    private int score;
+    private int placement;
+
+    /**
+     * Gets the username of the player.
+     *
+     * @return The username.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Sets the username of the player.
+     *
+     * @param username The username.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Gets the seat of the player.
+     *
+     * @return The seat index, 0 being the first player.
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Sets the seat of the player.
+     *
+     * @param seat The seat index, 0 being the first player.
+     */
+    public void setSeat(int seat) {
+        this.seat = seat;
+    }
+
+    /**
+     * Gets the final score of the player.
+     *
+     * @return The final score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Sets the final score of the player.
+     *
+     * @param score The final score.
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Gets the placement of the player.
+     *
+     * @return The placement, 1 being the winner.
+     */
+    public int getPlacement() {
+        return placement;
+    }
+
+    /**
+     * Sets the placement of the player.
+     *
+     * @param placement The placement, 1 being the winner.
+     */
+    public void setPlacement(int placement) {
+        this.placement = placement;
+    }
+}
@@ -0,0 +1,142 @@
+package com.cardgames.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * The running totals of one user for one game type, kept up to date as results
+ * are stored.
+ */
+public class UserStats {
+    private Long userId;
+    private String gameType;
+    private int gamesPlayed;
+    private int wins;
+    private long totalScore;
+    private LocalDateTime lastPlayedAt;
+
+    /**
+     * Gets the ID of the user.
+     *
+     * @return The user ID.
+     */
+    public Long getUserId() {
+        return userId;
+    }
+
+    /**
+     * Sets the ID of the user.
+     *
+     * @param userId The user ID.
+     */
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * Gets the game type the totals are for.
+     *
+     * @return The game type, e.g. UNO.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Sets the game type the totals are for.
+     *
+     * @param gameType The game type, e.g. UNO.
+     */
+    public void setGameType(String gameType) {
+        this.gameType = gameType;
+    }
+
+    /**
+     * Gets the number of finished games the user played.
+     *
+     * @return The number of games played.
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     * Sets the number of finished games the user played.
+     *
+     * @param gamesPlayed The number of games played.
+     */
+    public void setGamesPlayed(int gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games the user won.
+     *
+     * @return The number of wins.
+     */
+    public int getWins() {
+        return wins;
+    }
+
+    /**
+     * Sets the number of games the user won.
+     *
+     * @param wins The number of wins.
+     */
+    public void setWins(int wins) {
+        this.wins = wins;
+    }
+
+    /**
+     * Gets the sum of the final scores of the user.
+     *
+     * @return The total score.
+     */
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    /**
+     * Sets the sum of the final scores of the user.
+     *
+     * @param totalScore The total score.
+     */
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    /**
+     * Gets the time the last counted game ended.
+     *
+     * @return The end time of the last game.
+     */
+    public LocalDateTime getLastPlayedAt() {
+        return lastPlayedAt;
+    }
+
+    /**
+     * Sets the time the last counted game ended.
+     *
+     * @param lastPlayedAt The end time of the last game.
+     */
+    public void setLastPlayedAt(LocalDateTime lastPlayedAt) {
+        this.lastPlayedAt = lastPlayedAt;
+    }
+
+    /**
+     * Gets the share of games the user won.
+     *
+     * @return The win rate, between 0 and 1.
+     */
+    public double getWinRate() {
+        return gamesPlayed == 0 ? 0 : (double) wins / gamesPlayed;
+    }
+
+    /**
+     * Gets the average final score of the user.
+     *
+     * @return The average score.
+     */
+    public double getAverageScore() {
+        return gamesPlayed == 0 ? 0 : (double) totalScore / gamesPlayed;
+    }
+}
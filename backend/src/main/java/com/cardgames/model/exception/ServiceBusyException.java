@@ -0,0 +1,17 @@
+package com.cardgames.model.exception;
+
+/**
+ * Exception thrown when a bounded resource is saturated and the request is
+ * turned away rather than queued, so the client can retry shortly.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+    /**
+     * Constructs a new ServiceBusyException with the specified detail message.
+     *
+     * @param message The detail message.
+     */
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
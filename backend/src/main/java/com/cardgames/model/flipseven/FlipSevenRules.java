@@ -0,0 +1,63 @@
+package com.cardgames.model.flipseven;
+
+/**
+ * The scoring constants of a Flip Seven game. Live games use the defaults;
+ * simulations override them to measure the effect of a rules change.
+ */
+public class FlipSevenRules {
+    private int targetScore = 200;
+    private int flipSevenBonus = 15;
+
+    /**
+     * Default constructor, using the standard rules.
+     */
+    public FlipSevenRules() {
+    }
+
+    /**
+     * Constructs rules with the specified constants.
+     *
+     * @param targetScore    The total score that ends the game.
+     * @param flipSevenBonus The bonus for collecting seven unique numbers.
+     */
+    public FlipSevenRules(int targetScore, int flipSevenBonus) {
+        this.targetScore = targetScore;
+        this.flipSevenBonus = flipSevenBonus;
+    }
+
+    /**
+     * Gets the total score that ends the game.
+     *
+     * @return The target score.
+     */
+    public int getTargetScore() {
+        return targetScore;
+    }
+
+    /**
+     * Sets the total score that ends the game.
+     *
+     * @param targetScore The target score to set.
+     */
+    public void setTargetScore(int targetScore) {
+        this.targetScore = targetScore;
+    }
+
+    /**
+     * Gets the bonus for collecting seven unique numbers.
+     *
+     * @return The Flip 7 bonus.
+     */
+    public int getFlipSevenBonus() {
+        return flipSevenBonus;
+    }
+
+    /**
+     * Sets the bonus for collecting seven unique numbers.
+     *
+     * @param flipSevenBonus The Flip 7 bonus to set.
+     */
+    public void setFlipSevenBonus(int flipSevenBonus) {
+        this.flipSevenBonus = flipSevenBonus;
+    }
+}
@@ -1,6 +1,8 @@
 package com.cardgames.model.flipseven;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -12,7 +14,7 @@ public class FlipSevenState {
     private List<FlipSevenPlayer> players = new ArrayList<>();
     private int currentPlayerIndex;
     private boolean gameCheck;
-    private String pendingActionType;
+    private PendingActionType pendingActionType;
     private String pendingActionInitiator;
 
     @JsonProperty("isRoundOver")
@@ -29,10 +31,15 @@ public class FlipSevenState {
 
     private int flip3DrawsRemaining;
     private String flip3ActiveTarget;
-    private List<String> pendingActionQueue = new ArrayList<>();
+    private Deque<PendingActionType> pendingActionQueue = new ArrayDeque<>();
 
     private int roundStarterIndex;
 
+    private long seed;
+    private long rngState;
+
+    private FlipSevenRules rules = new FlipSevenRules();
+
     /**
      * Gets the current deck of cards.
      *
@@ -106,11 +113,11 @@ public class FlipSevenState {
     }
 
     /**
-     * Gets the type of the currently pending action (e.g., "FREEZE", "FLIP3").
+     * Gets the type of the currently pending action.
      *
-     * @return The pending action type.
+     * @return The pending action type, or null if no target is awaited.
      */
-    public String getPendingActionType() {
+    public PendingActionType getPendingActionType() {
         return pendingActionType;
     }
 
@@ -119,7 +126,7 @@ public class FlipSevenState {
      *
      * @param pendingActionType The action type to set.
      */
-    public void setPendingActionType(String pendingActionType) {
+    public void setPendingActionType(PendingActionType pendingActionType) {
         this.pendingActionType = pendingActionType;
     }
 
@@ -178,11 +185,12 @@ public class FlipSevenState {
     }
 
     /**
-     * Gets the queue of pending actions to be resolved.
+     * Gets the effects drawn during a Flip 3 that are resolved, in draw order,
+     * once its draws are done.
      *
      * @return The pending action queue.
      */
-    public List<String> getPendingActionQueue() {
+    public Deque<PendingActionType> getPendingActionQueue() {
         return pendingActionQueue;
     }
 
@@ -191,7 +199,7 @@ public class FlipSevenState {
      *
      * @param pendingActionQueue The action queue to set.
      */
-    public void setPendingActionQueue(List<String> pendingActionQueue) {
+    public void setPendingActionQueue(Deque<PendingActionType> pendingActionQueue) {
         this.pendingActionQueue = pendingActionQueue;
     }
 
@@ -286,4 +294,59 @@ public class FlipSevenState {
     public void setRoundStarterIndex(int roundStarterIndex) {
         this.roundStarterIndex = roundStarterIndex;
     }
+
+    /**
+     * Gets the seed the game was dealt from.
+     *
+     * @return The game seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed the game was dealt from.
+     *
+     * @param seed The game seed to set.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the current position of the game's random stream, advanced after every
+     * shuffle.
+     *
+     * @return The random state.
+     */
+    public long getRngState() {
+        return rngState;
+    }
+
+    /**
+     * Sets the current position of the game's random stream.
+     *
+     * @param rngState The random state to set.
+     */
+    public void setRngState(long rngState) {
+        this.rngState = rngState;
+    }
+
+    /**
+     * Gets the rules the game is played with.
+     *
+     * @return The game rules.
+     */
+    public FlipSevenRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Sets the rules the game is played with.
+     *
+     * @param rules The game rules to set.
+     */
+    public void setRules(FlipSevenRules rules) {
+        this.rules = rules;
+    }
 }
@@ -0,0 +1,36 @@
+package com.cardgames.model.flipseven;
+
+/**
+ * Enumeration of the effects that wait on a player choosing a target.
+ */
+public enum PendingActionType {
+    /**
+     * A Freeze card was drawn and must be played on an active player.
+     */
+    FREEZE_SELECTION(CardType.ACTION_FREEZE),
+
+    /**
+     * A Flip 3 card was drawn and must be played on an active player.
+     */
+    FLIP3_SELECTION(CardType.ACTION_FLIP3),
+
+    /**
+     * A second Second Chance card was drawn and must be given away.
+     */
+    GIVE_SECOND_CHANCE(CardType.ACTION_SECOND_CHANCE);
+
+    private final CardType cardType;
+
+    PendingActionType(CardType cardType) {
+        this.cardType = cardType;
+    }
+
+    /**
+     * Gets the type of the card that triggers this effect.
+     *
+     * @return The card type.
+     */
+    public CardType getCardType() {
+        return cardType;
+    }
+}
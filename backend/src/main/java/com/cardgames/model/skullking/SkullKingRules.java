@@ -0,0 +1,105 @@
+package com.cardgames.model.skullking;
+
+/**
+ * The scoring constants of a Skull King game. Live games use the defaults;
+ * simulations override them to measure the effect of a rules change.
+ */
+public class SkullKingRules {
+    private int rounds = 10;
+    private int pointsPerTrick = 20;
+    private int zeroBidPointsPerRound = 10;
+    private int pointsPerMissedTrick = 10;
+
+    /**
+     * Default constructor, using the standard rules.
+     */
+    public SkullKingRules() {
+    }
+
+    /**
+     * Constructs rules with the specified constants.
+     *
+     * @param rounds                The number of rounds in a game.
+     * @param pointsPerTrick        The points per trick for a met, non-zero bid.
+     * @param zeroBidPointsPerRound The points per round number for a met zero bid.
+     * @param pointsPerMissedTrick  The points lost per trick a bid is missed by.
+     */
+    public SkullKingRules(int rounds, int pointsPerTrick, int zeroBidPointsPerRound, int pointsPerMissedTrick) {
+        this.rounds = rounds;
+        this.pointsPerTrick = pointsPerTrick;
+        this.zeroBidPointsPerRound = zeroBidPointsPerRound;
+        this.pointsPerMissedTrick = pointsPerMissedTrick;
+    }
+
+    /**
+     * Gets the number of rounds in a game.
+     *
+     * @return The number of rounds.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Sets the number of rounds in a game.
+     *
+     * @param rounds The number of rounds to set.
+     */
+    public void setRounds(int rounds) {
+        this.rounds = rounds;
+    }
+
+    /**
+     * Gets the points per trick for a met, non-zero bid.
+     *
+     * @return The points per trick.
+     */
+    public int getPointsPerTrick() {
+        return pointsPerTrick;
+    }
+
+    /**
+     * Sets the points per trick for a met, non-zero bid.
+     *
+     * @param pointsPerTrick The points per trick to set.
+     */
+    public void setPointsPerTrick(int pointsPerTrick) {
+        this.pointsPerTrick = pointsPerTrick;
+    }
+
+    /**
+     * Gets the points per round number for a met zero bid.
+     *
+     * @return The zero bid points per round.
+     */
+    public int getZeroBidPointsPerRound() {
+        return zeroBidPointsPerRound;
+    }
+
+    /**
+     * Sets the points per round number for a met zero bid.
+     *
+     * @param zeroBidPointsPerRound The zero bid points per round to set.
+     */
+    public void setZeroBidPointsPerRound(int zeroBidPointsPerRound) {
+        this.zeroBidPointsPerRound = zeroBidPointsPerRound;
+    }
+
+    /**
+     * Gets the points lost per trick a bid is missed by.
+     *
+     * @return The points per missed trick.
+     */
+    public int getPointsPerMissedTrick() {
+        return pointsPerMissedTrick;
+    }
+
+    /**
+     * Sets the points lost per trick a bid is missed by.
+     *
+     * @param pointsPerMissedTrick The points per missed trick to set.
+     */
+    public void setPointsPerMissedTrick(int pointsPerMissedTrick) {
+        this.pointsPerMissedTrick = pointsPerMissedTrick;
+    }
+}
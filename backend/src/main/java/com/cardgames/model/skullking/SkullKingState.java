@@ -18,6 +18,11 @@ public class SkullKingState {
 
     private List<String> readyPlayers = new ArrayList<>();
 
+    private long seed;
+    private long rngState;
+
+    private SkullKingRules rules = new SkullKingRules();
+
     /**
      * Default constructor. Initializes the game phase to "BIDDING".
      */
@@ -186,4 +191,59 @@ public class SkullKingState {
     public void setTrickWinner(String trickWinner) {
         this.trickWinner = trickWinner;
     }
+
+    /**
+     * Gets the seed the game was dealt from.
+     *
+     * @return The game seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed the game was dealt from.
+     *
+     * @param seed The game seed to set.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the current position of the game's random stream, advanced after every
+     * shuffle.
+     *
+     * @return The random state.
+     */
+    public long getRngState() {
+        return rngState;
+    }
+
+    /**
+     * Sets the current position of the game's random stream.
+     *
+     * @param rngState The random state to set.
+     */
+    public void setRngState(long rngState) {
+        this.rngState = rngState;
+    }
+
+    /**
+     * Gets the rules the game is played with.
+     *
+     * @return The game rules.
+     */
+    public SkullKingRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Sets the rules the game is played with.
+     *
+     * @param rules The game rules to set.
+     */
+    public void setRules(SkullKingRules rules) {
+        this.rules = rules;
+    }
 }
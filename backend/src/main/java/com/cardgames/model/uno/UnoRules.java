@@ -0,0 +1,63 @@
+package com.cardgames.model.uno;
+
+/**
+ * The dealing and penalty constants of an Uno game. Live games use the
+ * defaults; simulations override them to measure the effect of a rules change.
+ */
+public class UnoRules {
+    private int handSize = 7;
+    private int unoPenalty = 2;
+
+    /**
+     * Default constructor, using the standard rules.
+     */
+    public UnoRules() {
+    }
+
+    /**
+     * Constructs rules with the specified constants.
+     *
+     * @param handSize   The number of cards dealt to each player.
+     * @param unoPenalty The number of cards drawn for not saying Uno.
+     */
+    public UnoRules(int handSize, int unoPenalty) {
+        this.handSize = handSize;
+        this.unoPenalty = unoPenalty;
+    }
+
+    /**
+     * Gets the number of cards dealt to each player.
+     *
+     * @return The hand size.
+     */
+    public int getHandSize() {
+        return handSize;
+    }
+
+    /**
+     * Sets the number of cards dealt to each player.
+     *
+     * @param handSize The hand size to set.
+     */
+    public void setHandSize(int handSize) {
+        this.handSize = handSize;
+    }
+
+    /**
+     * Gets the number of cards drawn for not saying Uno.
+     *
+     * @return The Uno penalty.
+     */
+    public int getUnoPenalty() {
+        return unoPenalty;
+    }
+
+    /**
+     * Sets the number of cards drawn for not saying Uno.
+     *
+     * @param unoPenalty The Uno penalty to set.
+     */
+    public void setUnoPenalty(int unoPenalty) {
+        this.unoPenalty = unoPenalty;
+    }
+}
@@ -24,6 +24,11 @@ public class UnoState {
     private boolean waitingForColorSelection = false;
     private String pendingActionInitiator;
 
+    private long seed;
+    private long rngState;
+
+    private UnoRules rules = new UnoRules();
+
     /**
      * Default constructor.
      */
@@ -229,4 +234,59 @@ public class UnoState {
     public void setPendingActionInitiator(String pendingActionInitiator) {
         this.pendingActionInitiator = pendingActionInitiator;
     }
+
+    /**
+     * Gets the seed the game was dealt from.
+     *
+     * @return The game seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed the game was dealt from.
+     *
+     * @param seed The game seed to set.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the current position of the game's random stream, advanced after every
+     * shuffle.
+     *
+     * @return The random state.
+     */
+    public long getRngState() {
+        return rngState;
+    }
+
+    /**
+     * Sets the current position of the game's random stream.
+     *
+     * @param rngState The random state to set.
+     */
+    public void setRngState(long rngState) {
+        this.rngState = rngState;
+    }
+
+    /**
+     * Gets the rules the game is played with.
+     *
+     * @return The game rules.
+     */
+    public UnoRules getRules() {
+        return rules;
+    }
+
+    /**
+     * Sets the rules the game is played with.
+     *
+     * @param rules The game rules to set.
+     */
+    public void setRules(UnoRules rules) {
+        this.rules = rules;
+    }
 }
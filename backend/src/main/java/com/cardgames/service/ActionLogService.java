@@ -0,0 +1,168 @@
+package com.cardgames.service;
+
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the ordered list of accepted actions of each game in Redis. The first
+ * entry is an INIT action holding the seat order and seed, so the log together
+ * with the engine rules is enough to rebuild any point of the game. An action
+ * is appended in the same script that saves the state it produced, and only if
+ * no other action changed the state in between, so the log never holds two
+ * actions applied to the same state.
+ */
+@Service
+public class ActionLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLogService.class);
+    static final String ACTION_LOG_PREFIX = "game:actions:";
+
+    public static final String INIT_ACTION = "INIT";
+
+    /**
+     * Saves a state and appends the action that produced it, only if the state
+     * is still the one the action was applied to. KEYS are the state key and
+     * the log key; ARGV are the loaded state, the new state, its TTL, the log
+     * entry and the log TTL, TTLs in milliseconds with 0 for none.
+     */
+    private static final RedisScript<Long> SAVE_IF_UNCHANGED = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end "
+                    + "if ARGV[3] == '0' then redis.call('SET', KEYS[1], ARGV[2]) "
+                    + "else redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) end "
+                    + "redis.call('RPUSH', KEYS[2], ARGV[4]) "
+                    + "if ARGV[5] ~= '0' then redis.call('PEXPIRE', KEYS[2], ARGV[5]) end "
+                    + "return 1",
+            Long.class);
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private GameExpiry gameExpiry = GameExpiry.NONE;
+
+    /**
+     * Starts a new log for a game, replacing any previous one.
+     *
+     * @param gameId  The ID of the game.
+     * @param players The usernames of the players, in the order given to the
+     *                engine.
+     * @param seed    The seed the game was dealt from.
+     */
+    public void recordStart(Long gameId, List<String> players, long seed) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("action", INIT_ACTION);
+        payload.put("players", players);
+        payload.put("seed", seed);
+
+        Action init = new Action();
+        init.setType(Action.ActionType.SYSTEM);
+        init.setSender("SYSTEM");
+        init.setGameId(gameId);
+        init.setPayload(payload);
+
+        String key = ACTION_LOG_PREFIX + gameId;
+        redisTemplate.delete(key);
+        append(key, init);
+    }
+
+    /**
+     * Saves the state an accepted action produced and appends the action to the
+     * log of its game, unless another action changed the state since it was
+     * loaded. In that case nothing is written.
+     *
+     * @param gameId   The ID of the game.
+     * @param action   The action that was applied.
+     * @param stateKey The Redis key of the game state.
+     * @param loaded   The state the action was applied to, as it was loaded.
+     * @param saved    The state the action produced.
+     * @param stateTtl The expiry of the saved state, or null for none.
+     * @return true if the state was saved and the action logged, false if the
+     *         state had changed.
+     */
+    public boolean recordWithState(Long gameId, Action action, String stateKey, String loaded, String saved,
+            Duration stateTtl) {
+        String entry;
+        try {
+            entry = objectMapper.writeValueAsString(action);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not record action for game " + gameId, e);
+        }
+        Duration logTtl = gameExpiry.getIdleTtl();
+        Long saves = redisTemplate.execute(SAVE_IF_UNCHANGED, List.of(stateKey, ACTION_LOG_PREFIX + gameId), loaded,
+                saved, String.valueOf(stateTtl == null ? 0 : stateTtl.toMillis()), entry,
+                String.valueOf(logTtl == null ? 0 : logTtl.toMillis()));
+        return saves != null && saves > 0;
+    }
+
+    /**
+     * Gets the number of entries in the log of a game, including the INIT entry.
+     *
+     * @param gameId The ID of the game.
+     * @return The number of log entries, or 0 if the game has no log.
+     */
+    public long size(Long gameId) {
+        Long size = redisTemplate.opsForList().size(ACTION_LOG_PREFIX + gameId);
+        return size == null ? 0 : size;
+    }
+
+    /**
+     * Reads the log of a game starting at the given entry.
+     *
+     * @param gameId The ID of the game.
+     * @param from   The index of the first entry to read, 0 being the INIT entry.
+     * @return The logged actions in order.
+     */
+    public List<Action> getActions(Long gameId, long from) {
+        List<String> entries = redisTemplate.opsForList().range(ACTION_LOG_PREFIX + gameId, from, -1);
+        List<Action> actions = new ArrayList<>();
+        if (entries == null)
+            return actions;
+        for (String entry : entries) {
+            try {
+                actions.add(objectMapper.readValue(entry, Action.class));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Corrupt action log entry for game " + gameId, e);
+            }
+        }
+        return actions;
+    }
+
+    private void append(String key, Action action) {
+        try {
+            String entry = objectMapper.writeValueAsString(action);
+            Duration ttl = gameExpiry.getIdleTtl();
+            if (ttl == null) {
+                redisTemplate.opsForList().rightPush(key, entry);
+                return;
+            }
+            // One round trip for the append and the expiry it pushes back
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection strings = (StringRedisConnection) connection;
+                strings.rPush(key, entry);
+                strings.pExpire(key, ttl.toMillis());
+                return null;
+            });
+        } catch (JsonProcessingException e) {
+            logger.error("Could not record action for {}", key, e);
+        }
+    }
+}
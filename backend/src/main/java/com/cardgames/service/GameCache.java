@@ -0,0 +1,202 @@
+package com.cardgames.service;
+
+import com.cardgames.config.ReplicaRoutingDataSource;
+import com.cardgames.mapper.GameMapper;
+import com.cardgames.model.Game;
+import com.cardgames.model.GameStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Short-lived local cache of game metadata and membership, in front of the
+ * lookups clients poll. Each node keeps its own copy, so entries expire after
+ * {@code cardgames.cache.games.ttl-ms} and are dropped right away when this
+ * node changes them.
+ * <p>
+ * Only memberships that exist are cached. Players never leave a game, so a
+ * cached membership cannot become wrong, while a cached refusal could outlive
+ * a join handled by another node. A code keeps pointing to its game until the
+ * game is seen FINISHED, after which the code may belong to a new game.
+ * <p>
+ * The mapper reads go to the read replica when one is configured. A game or
+ * membership the replica does not return is looked up again on the primary,
+ * as it may just have been created, so a player who joined can read the game
+ * right away. A game this node evicted is read from the primary for one TTL,
+ * so a replica that has not caught up with the change is not cached again.
+ */
+@Component
+public class GameCache {
+
+    private final GameMapper gameMapper;
+    private final long ttlNanos;
+    private final Map<Long, Expiring<Game>> games;
+    private final Map<String, Long> gameIdsByCode;
+    private final Map<String, Long> memberships;
+    private final Map<Long, Long> writtenUntil;
+
+    /**
+     * Constructs a new GameCache.
+     *
+     * @param gameMapper The mapper the cache reads through.
+     * @param ttlMillis  How long an entry is trusted, in milliseconds.
+     * @param maxSize    The number of games, codes and memberships each kept.
+     */
+    public GameCache(GameMapper gameMapper, @Value("${cardgames.cache.games.ttl-ms:5000}") long ttlMillis,
+            @Value("${cardgames.cache.games.max-size:10000}") int maxSize) {
+        this.gameMapper = gameMapper;
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.games = boundedMap(maxSize);
+        this.gameIdsByCode = boundedMap(maxSize);
+        this.memberships = boundedMap(maxSize);
+        this.writtenUntil = boundedMap(maxSize);
+    }
+
+    /**
+     * Finds a game by its ID.
+     *
+     * @param gameId The game ID.
+     * @return An Optional containing the game if found, or empty otherwise.
+     */
+    public Optional<Game> findById(Long gameId) {
+        long now = System.nanoTime();
+        Expiring<Game> cached = games.get(gameId);
+        if (cached != null && now - cached.expiresAt < 0) {
+            return Optional.of(cached.value);
+        }
+        Optional<Game> game = recentlyWritten(gameId, now) ? Optional.empty() : gameMapper.findById(gameId);
+        if (game.isEmpty()) {
+            game = ReplicaRoutingDataSource.onPrimary(() -> gameMapper.findById(gameId));
+        }
+        game.ifPresent(found -> games.put(gameId, new Expiring<>(found, now + ttlNanos)));
+        return game;
+    }
+
+    /**
+     * Finds a game by its unique code.
+     *
+     * @param code The game code.
+     * @return An Optional containing the game if found, or empty otherwise.
+     */
+    public Optional<Game> findByCode(String code) {
+        Long gameId = gameIdsByCode.get(code);
+        if (gameId != null) {
+            Optional<Game> game = findById(gameId);
+            if (game.isPresent() && game.get().getStatus() != GameStatus.FINISHED) {
+                return game;
+            }
+            // The code may have been given to a new game since
+            gameIdsByCode.remove(code);
+        }
+        Optional<Game> game = gameMapper.findByCode(code);
+        if (game.isEmpty() || recentlyWritten(game.get().getId(), System.nanoTime())) {
+            game = ReplicaRoutingDataSource.onPrimary(() -> gameMapper.findByCode(code));
+        }
+        game.ifPresent(found -> {
+            gameIdsByCode.put(code, found.getId());
+            games.put(found.getId(), new Expiring<>(found, System.nanoTime() + ttlNanos));
+        });
+        return game;
+    }
+
+    /**
+     * Checks if a user is a player in a specific game.
+     *
+     * @param gameId The ID of the game.
+     * @param userId The ID of the user.
+     * @return True if the user is in the game, false otherwise.
+     */
+    public boolean isPlayerInGame(Long gameId, Long userId) {
+        String key = gameId + ":" + userId;
+        long now = System.nanoTime();
+        Long expiresAt = memberships.get(key);
+        if (expiresAt != null && now - expiresAt < 0) {
+            return true;
+        }
+        if (!gameMapper.isPlayerInGame(gameId, userId)
+                && !ReplicaRoutingDataSource.onPrimary(() -> gameMapper.isPlayerInGame(gameId, userId))) {
+            return false;
+        }
+        memberships.put(key, now + ttlNanos);
+        return true;
+    }
+
+    /**
+     * Caches the membership of a user who was just added to a game, once the
+     * transaction adding them commits.
+     *
+     * @param gameId The ID of the game.
+     * @param userId The ID of the user.
+     */
+    public void playerAdded(Long gameId, Long userId) {
+        String key = gameId + ":" + userId;
+        afterCommit(() -> memberships.put(key, System.nanoTime() + ttlNanos));
+    }
+
+    /**
+     * Drops the cached metadata of a game whose status changed. It is dropped
+     * again once the transaction commits, in case a concurrent read cached the
+     * row as it was before. Until one TTL after the commit, the game is read
+     * from the primary.
+     *
+     * @param gameId The ID of the game.
+     */
+    public void evict(Long gameId) {
+        games.remove(gameId);
+        writtenUntil.put(gameId, System.nanoTime() + ttlNanos);
+        afterCommit(() -> {
+            games.remove(gameId);
+            writtenUntil.put(gameId, System.nanoTime() + ttlNanos);
+        });
+    }
+
+    private boolean recentlyWritten(Long gameId, long now) {
+        Long until = writtenUntil.get(gameId);
+        if (until == null) {
+            return false;
+        }
+        if (now - until < 0) {
+            return true;
+        }
+        writtenUntil.remove(gameId);
+        return false;
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    private static <K, V> Map<K, V> boundedMap(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private static final class Expiring<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Expiring(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
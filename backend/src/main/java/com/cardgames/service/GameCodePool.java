@@ -0,0 +1,161 @@
+package com.cardgames.service;
+
+import com.cardgames.mapper.GameMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out game codes from a pool of unused codes kept in a Redis set, shared
+ * by every node. Codes use an alphabet without look-alike characters, and are
+ * checked against the games still open before they enter the pool, so taking
+ * one is a single {@code SPOP}. A background thread tops the pool up when it
+ * runs low.
+ * <p>
+ * Codes of finished games are free again: only games that are not FINISHED
+ * hold their code unique. A code handed out while another node is inserting a
+ * game with it can still collide, which {@link GameService} handles by taking
+ * another one.
+ */
+@Component
+public class GameCodePool implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameCodePool.class);
+
+    static final String POOL_KEY = "game:codes";
+    static final String ALPHABET = "23456789ABCDEFGHJKMNPQRSTUVWXYZ";
+    static final int CODE_LENGTH = 6;
+
+    private final StringRedisTemplate redisTemplate;
+    private final GameMapper gameMapper;
+    private final int poolSize;
+    private final int lowWater;
+    private final long refillIntervalMillis;
+    private final Random random = new SecureRandom();
+    private final BlockingQueue<Boolean> refillRequests = new ArrayBlockingQueue<>(1);
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs a new GameCodePool.
+     *
+     * @param redisTemplate        The Redis template holding the pool.
+     * @param gameMapper           The mapper used to skip codes still in use.
+     * @param poolSize             The number of codes the pool is topped up to.
+     * @param lowWater             The pool size below which it is topped up.
+     * @param refillIntervalMillis How often the pool size is checked when no
+     *                             code is taken, in milliseconds.
+     */
+    public GameCodePool(StringRedisTemplate redisTemplate, GameMapper gameMapper,
+            @Value("${cardgames.codes.pool-size:1000}") int poolSize,
+            @Value("${cardgames.codes.low-water:250}") int lowWater,
+            @Value("${cardgames.codes.refill-interval-ms:30000}") long refillIntervalMillis) {
+        this.redisTemplate = redisTemplate;
+        this.gameMapper = gameMapper;
+        this.poolSize = poolSize;
+        this.lowWater = lowWater;
+        this.refillIntervalMillis = refillIntervalMillis;
+    }
+
+    /**
+     * Takes a code from the pool. If the pool is empty or Redis cannot be
+     * reached, a random code is generated instead.
+     *
+     * @return A 6-character game code.
+     */
+    public String allocate() {
+        String code = null;
+        try {
+            code = redisTemplate.opsForSet().pop(POOL_KEY);
+        } catch (RuntimeException e) {
+            logger.warn("Could not take a game code from the pool", e);
+        }
+        refillRequests.offer(Boolean.TRUE);
+        return code != null ? code : randomCode();
+    }
+
+    /**
+     * Tops the pool up to its size once it falls below the low-water mark,
+     * leaving out the codes of games that are not finished.
+     *
+     * @return The number of codes added.
+     */
+    int refill() {
+        Long size = redisTemplate.opsForSet().size(POOL_KEY);
+        long available = size == null ? 0 : size;
+        if (available >= lowWater) {
+            return 0;
+        }
+        Set<String> candidates = new HashSet<>();
+        while (candidates.size() < poolSize - available) {
+            candidates.add(randomCode());
+        }
+        candidates.removeAll(gameMapper.findOpenCodes(new ArrayList<>(candidates)));
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Long added = redisTemplate.opsForSet().add(POOL_KEY, candidates.toArray(new String[0]));
+        return added == null ? 0 : added.intValue();
+    }
+
+    private String randomCode() {
+        char[] code = new char[CODE_LENGTH];
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            code[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(code);
+    }
+
+    private void refillLoop() {
+        while (running) {
+            try {
+                refill();
+                refillRequests.poll(refillIntervalMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Could not refill the game code pool", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(refillIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::refillLoop, "game-code-refill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
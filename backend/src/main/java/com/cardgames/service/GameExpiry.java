@@ -0,0 +1,57 @@
+package com.cardgames.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * How long the Redis keys of a game live without activity. Every write to a
+ * game's state, action log or lobby pushes its expiry back, so only games
+ * nobody touches run out. Once a game is over its state gets the shorter
+ * finished TTL. {@link GameReaper} archives games shortly before they would
+ * expire.
+ */
+@Component
+public class GameExpiry {
+
+    /**
+     * Expiry that keeps keys forever, used by engines built outside of Spring
+     * for simulations, replays and benchmarks.
+     */
+    public static final GameExpiry NONE = new GameExpiry(null, null);
+
+    private final Duration idleTtl;
+    private final Duration finishedTtl;
+
+    /**
+     * Constructs a new GameExpiry.
+     *
+     * @param idleTtl     How long the keys of a game live without activity.
+     * @param finishedTtl How long the state of a finished game lives.
+     */
+    public GameExpiry(@Value("${cardgames.games.idle-ttl:6h}") Duration idleTtl,
+            @Value("${cardgames.games.finished-ttl:15m}") Duration finishedTtl) {
+        this.idleTtl = idleTtl;
+        this.finishedTtl = finishedTtl;
+    }
+
+    /**
+     * Gets the TTL of the state of a game.
+     *
+     * @param finished Whether the game is over.
+     * @return The TTL, or null if keys do not expire.
+     */
+    public Duration stateTtl(boolean finished) {
+        return finished ? finishedTtl : idleTtl;
+    }
+
+    /**
+     * Gets the TTL of the action log and lobby of a game.
+     *
+     * @return The TTL, or null if keys do not expire.
+     */
+    public Duration getIdleTtl() {
+        return idleTtl;
+    }
+}
@@ -0,0 +1,327 @@
+package com.cardgames.service;
+
+import com.cardgames.engine.AbstractGameEngine;
+import com.cardgames.engine.GameEngineHandler;
+import com.cardgames.mapper.GameArchiveMapper;
+import com.cardgames.mapper.GameMapper;
+import com.cardgames.metrics.CapacityTracker;
+import com.cardgames.metrics.GameMetrics;
+import com.cardgames.model.GameArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves games that are about to expire from Redis to Postgres. Every
+ * {@code cardgames.reaper.interval}, one node walks the state keys with SCAN
+ * and picks the games whose state expires within three intervals: games idle
+ * for nearly {@code cardgames.games.idle-ttl}, and games finished nearly
+ * {@code cardgames.games.finished-ttl} ago. Their last state and action log go
+ * to {@code game_archive}, then their state, log and lobby keys are deleted,
+ * unless a player acted on the game in the meantime. Games reaped before they
+ * finished are marked FINISHED, which frees their code for new games.
+ * <p>
+ * Keys written before they had a TTL are given one as they are found. If the
+ * reaper stops, Redis still expires every key, only without archiving it.
+ */
+@Component
+public class GameReaper implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameReaper.class);
+
+    static final String LOCK_KEY = "game:reaper:lock";
+    private static final int SCAN_COUNT = 500;
+
+    /**
+     * Deletes the keys of a game only if its state is still the one archived and
+     * still about to expire. KEYS are the state key then the other keys of the
+     * game; ARGV are the archived state and the reap window in milliseconds.
+     */
+    private static final RedisScript<Long> DELETE_IF_UNCHANGED = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end "
+                    + "local ttl = redis.call('PTTL', KEYS[1]) "
+                    + "if ttl < 0 or ttl >= tonumber(ARGV[2]) then return 0 end "
+                    + "return redis.call('DEL', unpack(KEYS))",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final GameEngineHandler gameEngineHandler;
+    private final GameArchiveMapper gameArchiveMapper;
+    private final GameMapper gameMapper;
+    private final GameCache gameCache;
+    private final GameExpiry gameExpiry;
+    private final GameMetrics gameMetrics;
+    private final CapacityTracker capacityTracker;
+    private final Duration interval;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs a new GameReaper.
+     *
+     * @param redisTemplate     The Redis template holding the games.
+     * @param gameEngineHandler The engines, which know the state keys.
+     * @param gameArchiveMapper The mapper archiving the games.
+     * @param gameMapper        The mapper finishing the reaped games.
+     * @param gameCache         The cache the finished games are evicted from.
+     * @param gameExpiry        The TTLs given to keys found without one.
+     * @param gameMetrics       The meters of each run.
+     * @param capacityTracker   The tracker the reaped games are removed from.
+     * @param interval          The time between two runs.
+     */
+    public GameReaper(StringRedisTemplate redisTemplate, GameEngineHandler gameEngineHandler,
+            GameArchiveMapper gameArchiveMapper, GameMapper gameMapper, GameCache gameCache, GameExpiry gameExpiry, GameMetrics gameMetrics,
+            CapacityTracker capacityTracker, @Value("${cardgames.reaper.interval:60s}") Duration interval) {
+        this.redisTemplate = redisTemplate;
+        this.gameEngineHandler = gameEngineHandler;
+        this.gameArchiveMapper = gameArchiveMapper;
+        this.gameMapper = gameMapper;
+        this.gameCache = gameCache;
+        this.gameExpiry = gameExpiry;
+        this.gameMetrics = gameMetrics;
+        this.capacityTracker = capacityTracker;
+        this.interval = interval;
+    }
+
+    /**
+     * Archives and removes the games about to expire, unless another node is
+     * already doing so.
+     *
+     * @return The Redis memory freed, in bytes.
+     */
+    public long reap() {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, nodeId, interval))) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        Run run = new Run();
+        for (AbstractGameEngine<?> engine : gameEngineHandler.getEngines()) {
+            scan(engine.getStateKeyPattern(), keys -> reapBatch(engine, keys, run));
+        }
+        scan(ActionLogService.ACTION_LOG_PREFIX + "*", keys -> expireBatch(keys, run));
+        scan(LobbyService.LOBBY_PLAYERS_PREFIX + "*", keys -> expireBatch(keys, run));
+        long nanos = System.nanoTime() - start;
+        gameMetrics.recordReaperRun(run.games, run.reclaimedBytes, nanos);
+        logger.info("Reaped {} games and reclaimed {} bytes of Redis memory in {} ms ({} keys given a TTL)",
+                run.games, run.reclaimedBytes, nanos / 1_000_000, run.expired);
+        return run.reclaimedBytes;
+    }
+
+    private void scan(String pattern, BatchHandler handler) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(SCAN_COUNT).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            List<String> batch = new ArrayList<>(SCAN_COUNT);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == SCAN_COUNT) {
+                    handler.handle(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                handler.handle(batch);
+            }
+        }
+    }
+
+    private void reapBatch(AbstractGameEngine<?> engine, List<String> keys, Run run) {
+        long reapWithin = interval.toMillis() * 3;
+        List<Long> ttls = pTtls(keys);
+        List<String> withoutTtl = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            long ttl = ttls.get(i);
+            if (ttl == -1) {
+                withoutTtl.add(keys.get(i));
+            } else if (ttl >= 0 && ttl < reapWithin) {
+                Long gameId = engine.parseStateKey(keys.get(i));
+                if (gameId == null) {
+                    continue;
+                }
+                try {
+                    Long reclaimed = reapGame(engine, gameId, reapWithin);
+                    if (reclaimed != null) {
+                        run.games++;
+                        run.reclaimedBytes += reclaimed;
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Could not archive game {}, leaving it to expire", gameId, e);
+                }
+            }
+        }
+        expire(withoutTtl, run);
+    }
+
+    private void expireBatch(List<String> keys, Run run) {
+        List<Long> ttls = pTtls(keys);
+        List<String> withoutTtl = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (ttls.get(i) == -1) {
+                withoutTtl.add(keys.get(i));
+            }
+        }
+        expire(withoutTtl, run);
+    }
+
+    /**
+     * Archives one game and deletes its keys. A game played since its state was
+     * read keeps its keys, and its archive is dropped again.
+     *
+     * @return The memory its keys used, or null if its state was already gone or
+     *         changed.
+     */
+    private Long reapGame(AbstractGameEngine<?> engine, Long gameId, long reapWithin) {
+        String stateKey = engine.getStateKey(gameId);
+        String logKey = ActionLogService.ACTION_LOG_PREFIX + gameId;
+        List<String> keys = List.of(stateKey, logKey, LobbyService.LOBBY_PLAYERS_PREFIX + gameId);
+        String state = redisTemplate.opsForValue().get(stateKey);
+        if (state == null) {
+            return null;
+        }
+        List<String> actions = redisTemplate.opsForList().range(logKey, 0, -1);
+        long reclaimed = memoryUsage(keys, state, actions);
+
+        GameArchive archive = new GameArchive();
+        archive.setGameId(gameId);
+        archive.setGameType(engine.getGameType());
+        archive.setFinished(engine.isStoredGameOver(state));
+        archive.setState(state);
+        archive.setActions(actions == null || actions.isEmpty() ? null : "[" + String.join(",", actions) + "]");
+        archive.setReclaimedBytes(reclaimed);
+        archive.setArchivedAt(LocalDateTime.now());
+        gameArchiveMapper.insertGameArchive(archive);
+
+        Long deleted = redisTemplate.execute(DELETE_IF_UNCHANGED, keys, state, String.valueOf(reapWithin));
+        if (deleted == null || deleted == 0) {
+            gameArchiveMapper.deleteGameArchive(gameId);
+            logger.info("Game {} was played while being reaped, keeping it", gameId);
+            return null;
+        }
+        capacityTracker.stateRemoved(gameId);
+        if (gameMapper.finishReapedGame(gameId, LocalDateTime.now()) > 0) {
+            gameCache.evict(gameId);
+        }
+        return reclaimed;
+    }
+
+    private List<Long> pTtls(List<String> keys) {
+        List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (String key : keys) {
+                strings.pTtl(key);
+            }
+            return null;
+        });
+        List<Long> ttls = new ArrayList<>(replies.size());
+        for (Object reply : replies) {
+            ttls.add(reply instanceof Number number ? number.longValue() : -2L);
+        }
+        return ttls;
+    }
+
+    private void expire(List<String> keys, Run run) {
+        Duration ttl = gameExpiry.getIdleTtl();
+        if (keys.isEmpty() || ttl == null) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection strings = (StringRedisConnection) connection;
+            for (String key : keys) {
+                strings.pExpire(key, ttl.toMillis());
+            }
+            return null;
+        });
+        run.expired += keys.size();
+    }
+
+    /**
+     * Asks Redis how much memory the keys of a game use. Servers without
+     * {@code MEMORY USAGE} are credited with the length of the values instead.
+     */
+    private long memoryUsage(List<String> keys, String state, List<String> actions) {
+        try {
+            List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection strings = (StringRedisConnection) connection;
+                for (String key : keys) {
+                    strings.execute("MEMORY", "USAGE", key);
+                }
+                return null;
+            });
+            long bytes = 0;
+            for (Object reply : replies) {
+                if (reply instanceof Number number) {
+                    bytes += number.longValue();
+                }
+            }
+            return bytes;
+        } catch (RuntimeException e) {
+            long bytes = state.length();
+            if (actions != null) {
+                for (String action : actions) {
+                    bytes += action.length();
+                }
+            }
+            return bytes;
+        }
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                Thread.sleep(interval.toMillis());
+                reap();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Game reaper run failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::loop, "game-reaper");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private interface BatchHandler {
+        void handle(List<String> keys);
+    }
+
+    private static final class Run {
+        private int games;
+        private long reclaimedBytes;
+        private int expired;
+    }
+}
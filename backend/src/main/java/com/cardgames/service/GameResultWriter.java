@@ -0,0 +1,220 @@
+package com.cardgames.service;
+
+import com.cardgames.mapper.GameMapper;
+import com.cardgames.mapper.GameResultMapper;
+import com.cardgames.model.GameResult;
+import com.cardgames.model.GameResultPlayer;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores the results of finished games in the background. Engines hand results
+ * over through a bounded queue, which never blocks the action that ended the
+ * game; a single writer thread drains it and writes each batch of results,
+ * their players and the FINISHED status of their games with the MyBatis batch
+ * executor, in one transaction. Once committed, the results that were not
+ * already stored are added to the leaderboards.
+ */
+@Service
+public class GameResultWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameResultWriter.class);
+
+    /**
+     * Writer that drops every result, used by engines built outside of Spring
+     * for simulations, replays and benchmarks.
+     */
+    public static final GameResultWriter NONE = new GameResultWriter(null, null, null, 1, 1);
+
+    private final SqlSessionFactory sqlSessionFactory;
+    private final GameCache gameCache;
+    private final LeaderboardService leaderboardService;
+    private final BlockingQueue<GameResult> queue;
+    private final int batchSize;
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs a new GameResultWriter.
+     *
+     * @param sqlSessionFactory  The factory of the batch sessions.
+     * @param gameCache          The cache of the games moved to FINISHED.
+     * @param leaderboardService The leaderboards the stored results count towards.
+     * @param queueCapacity      The number of results that may wait to be written.
+     * @param batchSize          The largest number of results written at once.
+     */
+    @Autowired
+    public GameResultWriter(SqlSessionFactory sqlSessionFactory, GameCache gameCache,
+            LeaderboardService leaderboardService,
+            @Value("${cardgames.results.queue-capacity:10000}") int queueCapacity,
+            @Value("${cardgames.results.batch-size:100}") int batchSize) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.gameCache = gameCache;
+        this.leaderboardService = leaderboardService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Queues the result of a finished game. If the queue is full, the result is
+     * logged and dropped rather than holding up the caller.
+     *
+     * @param result The result to store.
+     */
+    public void submit(GameResult result) {
+        if (sqlSessionFactory == null) {
+            return;
+        }
+        if (!queue.offer(result)) {
+            logger.error("Result queue full, dropping result of game {}: winner={}", result.getGameId(),
+                    result.getWinner());
+        }
+    }
+
+    /**
+     * Gets the number of results waiting to be written.
+     *
+     * @return The queue length.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     * Writes a batch of results, their players and the FINISHED status of their
+     * games in one transaction. A batch that fails is written again one result
+     * at a time, so one bad result does not lose the others.
+     *
+     * @param results The results to write.
+     */
+    void write(List<GameResult> results) {
+        try {
+            writeBatch(results);
+        } catch (RuntimeException e) {
+            if (results.size() == 1) {
+                logger.error("Could not store result of game {}", results.get(0).getGameId(), e);
+                return;
+            }
+            logger.warn("Could not store a batch of {} results, retrying one by one", results.size(), e);
+            for (GameResult result : results) {
+                write(List.of(result));
+            }
+        }
+    }
+
+    private void writeBatch(List<GameResult> results) {
+        List<GameResult> inserted;
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            GameResultMapper resultMapper = session.getMapper(GameResultMapper.class);
+            GameMapper gameMapper = session.getMapper(GameMapper.class);
+            for (GameResult result : results) {
+                resultMapper.insertGameResult(result);
+            }
+            for (GameResult result : results) {
+                for (GameResultPlayer player : result.getPlayers()) {
+                    resultMapper.insertGameResultPlayer(result.getGameId(), result.getFinishedAt(), player);
+                }
+            }
+            for (GameResult result : results) {
+                gameMapper.finishGame(result.getGameId(), result.getFinishedAt());
+            }
+            inserted = insertedResults(session.flushStatements());
+            session.commit();
+        }
+        for (GameResult result : results) {
+            gameCache.evict(result.getGameId());
+        }
+        if (!inserted.isEmpty()) {
+            leaderboardService.record(inserted);
+        }
+    }
+
+    /**
+     * Picks the results whose row was inserted, leaving out those an earlier
+     * attempt already stored and counted.
+     *
+     * @param batches The statements the batch executor ran.
+     * @return The results inserted by this batch.
+     */
+    private static List<GameResult> insertedResults(List<BatchResult> batches) {
+        List<GameResult> inserted = new ArrayList<>();
+        for (BatchResult batch : batches) {
+            if (!batch.getMappedStatement().getId().endsWith(".insertGameResult")) {
+                continue;
+            }
+            int[] counts = batch.getUpdateCounts();
+            List<Object> parameters = batch.getParameterObjects();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    inserted.add((GameResult) parameters.get(i));
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private void drain() {
+        List<GameResult> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                GameResult first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Result writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::drain, "game-result-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Stops taking new work once the queue is empty, writing what is left before
+     * the application shuts down.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
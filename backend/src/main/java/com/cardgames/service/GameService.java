@@ -16,24 +16,30 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @Service
 public class GameService {
 
+    private static final int MAX_CODE_ATTEMPTS = 5;
+
     private final GameMapper gameMapper;
+    private final GameCache gameCache;
+    private final GameCodePool gameCodePool;
     private final SimpMessageSendingOperations messagingTemplate;
     private final GameEngineHandler gameEngineHandler;
 
-    public GameService(GameMapper gameMapper, SimpMessageSendingOperations messagingTemplate,
-            GameEngineHandler gameEngineHandler) {
+    public GameService(GameMapper gameMapper, GameCache gameCache, GameCodePool gameCodePool,
+            SimpMessageSendingOperations messagingTemplate, GameEngineHandler gameEngineHandler) {
         this.gameMapper = gameMapper;
+        this.gameCache = gameCache;
+        this.gameCodePool = gameCodePool;
         this.messagingTemplate = messagingTemplate;
         this.gameEngineHandler = gameEngineHandler;
     }
 
     /**
-     * Creates a new game instance for the user.
+     * Creates a new game instance for the user, with a code from the pool. A
+     * code that turns out to be taken is replaced by another one.
      *
      * @param gameType The type of game to create.
      * @param user     The user creating the game.
@@ -41,16 +47,19 @@ public class GameService {
      */
     @Transactional
     public GameResponse createGame(String gameType, User user) {
-        String code = generateGameCode();
-
         Game game = new Game();
-        game.setCode(code);
         game.setType(gameType);
         game.setHostUserId(user.getId());
         game.setStatus(GameStatus.WAITING);
         game.setCreatedAt(LocalDateTime.now());
 
-        gameMapper.insertGame(game);
+        int attempts = 0;
+        do {
+            if (++attempts > MAX_CODE_ATTEMPTS) {
+                throw new RuntimeException("Could not allocate a game code");
+            }
+            game.setCode(gameCodePool.allocate());
+        } while (gameMapper.insertGame(game) == 0);
 
         GamePlayer host = new GamePlayer();
         host.setGameId(game.getId());
@@ -60,12 +69,15 @@ public class GameService {
         host.setHost(true);
 
         gameMapper.insertGamePlayer(host);
+        gameCache.playerAdded(game.getId(), user.getId());
 
         return new GameResponse(game.getId(), game.getCode(), game.getStatus(), game.getType(), game.getHostUserId());
     }
 
     /**
-     * Allows a user to join an existing game using its code.
+     * Allows a user to join an existing game using its code. Joining again
+     * returns the game without touching the database while its membership is
+     * cached.
      *
      * @param gameCode The code of the game to join.
      * @param user     The user joining the game.
@@ -73,10 +85,10 @@ public class GameService {
      */
     @Transactional
     public GameResponse joinGame(String gameCode, User user) {
-        Game game = gameMapper.findByCode(gameCode)
+        Game game = gameCache.findByCode(gameCode)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
-        if (gameMapper.isPlayerInGame(game.getId(), user.getId())) {
+        if (gameCache.isPlayerInGame(game.getId(), user.getId())) {
             return new GameResponse(game.getId(), game.getCode(), game.getStatus(), game.getType(),
                     game.getHostUserId());
         }
@@ -92,7 +104,12 @@ public class GameService {
         player.setJoinedAt(LocalDateTime.now());
         player.setHost(false);
 
-        gameMapper.insertGamePlayer(player);
+        // The cached status may be stale, so the insert checks it again
+        if (gameMapper.insertGamePlayerIfWaiting(player) == 0) {
+            gameCache.evict(game.getId());
+            throw new RuntimeException("Game is not open for joining");
+        }
+        gameCache.playerAdded(game.getId(), user.getId());
 
         return new GameResponse(game.getId(), game.getCode(), game.getStatus(), game.getType(), game.getHostUserId());
     }
@@ -105,11 +122,11 @@ public class GameService {
      * @return A response containing the game's details.
      */
     public GameResponse getGameInfo(Long gameId, User user) {
-        if (!gameMapper.isPlayerInGame(gameId, user.getId())) {
+        if (!gameCache.isPlayerInGame(gameId, user.getId())) {
             throw new AccessDeniedException("You are not part of this game");
         }
 
-        Game game = gameMapper.findById(gameId)
+        Game game = gameCache.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
         return new GameResponse(game.getId(), game.getCode(), game.getStatus(), game.getType(), game.getHostUserId());
@@ -123,7 +140,7 @@ public class GameService {
      */
     @Transactional
     public void startGame(Long gameId, User user) {
-        Game game = gameMapper.findById(gameId)
+        Game game = gameCache.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
         if (!game.getHostUserId().equals(user.getId())) {
@@ -134,7 +151,12 @@ public class GameService {
             throw new RuntimeException("Game cannot be started");
         }
 
-        gameMapper.updateGameStatus(gameId, GameStatus.PLAYING.name());
+        // Only moves a game that is still WAITING, whatever the cache said
+        int started = gameMapper.startGame(gameId, LocalDateTime.now());
+        gameCache.evict(gameId);
+        if (started == 0) {
+            throw new RuntimeException("Game cannot be started");
+        }
 
         gameEngineHandler.initializeGame(game.getType(), gameId);
 
@@ -148,13 +170,4 @@ public class GameService {
 
         messagingTemplate.convertAndSend("/topic/lobby/" + gameId + "/chat", systemAction);
     }
-
-    /**
-     * Generates a random alphanumeric code for the game.
-     *
-     * @return A 6-character unique game code.
-     */
-    private String generateGameCode() {
-        return UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-    }
 }
@@ -0,0 +1,256 @@
+package com.cardgames.service;
+
+import com.cardgames.dto.LeaderboardEntry;
+import com.cardgames.mapper.GameResultMapper;
+import com.cardgames.model.GameResult;
+import com.cardgames.model.GameResultPlayer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Ranks players per game type in Redis sorted sets. A player earns one point
+ * per opponent they finish ahead of; each stored result adds the points of its
+ * players with one ZINCRBY each, and reads are ZREVRANGE and ZREVRANK calls, so
+ * every request costs O(log n) whatever the number of players.
+ * <p>
+ * Every {@code cardgames.leaderboard.rebuild-interval}, one node recomputes the
+ * boards from {@code game_result_player} and swaps them in with RENAME, which
+ * repairs increments lost to a Redis restart or a failed write.
+ */
+@Service
+public class LeaderboardService implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    static final String LEADERBOARD_PREFIX = "leaderboard:";
+    static final String LOCK_KEY = "leaderboard:rebuild:lock";
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_RADIUS = 50;
+    private static final int REBUILD_CHUNK = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final GameResultMapper gameResultMapper;
+    private final Duration rebuildInterval;
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread worker;
+
+    /**
+     * Constructs a new LeaderboardService.
+     *
+     * @param redisTemplate    The Redis template holding the boards.
+     * @param gameResultMapper The mapper the boards are rebuilt from.
+     * @param rebuildInterval  The time between two rebuilds.
+     */
+    public LeaderboardService(StringRedisTemplate redisTemplate, GameResultMapper gameResultMapper,
+            @Value("${cardgames.leaderboard.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.redisTemplate = redisTemplate;
+        this.gameResultMapper = gameResultMapper;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    /**
+     * Adds the points of stored results to the boards, in one round trip. A
+     * failure is logged only: the next rebuild picks the results up.
+     *
+     * @param results The results just stored.
+     */
+    public void record(List<GameResult> results) {
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection strings = (StringRedisConnection) connection;
+                for (GameResult result : results) {
+                    String key = getKey(result.getGameType());
+                    for (GameResultPlayer player : result.getPlayers()) {
+                        strings.zIncrBy(key, points(result, player), player.getUsername());
+                    }
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not update leaderboards for {} results, the next rebuild will", results.size(), e);
+        }
+    }
+
+    /**
+     * Gets a page of the best players of a game type.
+     *
+     * @param gameType The game type.
+     * @param offset   The number of players to skip.
+     * @param limit    The number of players to return, at most {@link #MAX_PAGE_SIZE}.
+     * @return The players, best first.
+     */
+    public List<LeaderboardEntry> getTop(String gameType, int offset, int limit) {
+        if (offset < 0) {
+            throw new RuntimeException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return range(getKey(gameType), offset, offset + limit - 1L);
+    }
+
+    /**
+     * Gets the players ranked just above and below a player.
+     *
+     * @param gameType The game type.
+     * @param username The username of the player.
+     * @param radius   The number of players to include on each side, at most
+     *                 {@link #MAX_RADIUS}.
+     * @return The players around the given one, best first, or an empty list if
+     *         the player is not ranked.
+     */
+    public List<LeaderboardEntry> getAround(String gameType, String username, int radius) {
+        if (radius < 0 || radius > MAX_RADIUS) {
+            throw new RuntimeException("Radius must be between 0 and " + MAX_RADIUS);
+        }
+        String key = getKey(gameType);
+        Long rank = redisTemplate.opsForZSet().reverseRank(key, username);
+        if (rank == null) {
+            return List.of();
+        }
+        return range(key, Math.max(0, rank - radius), rank + radius);
+    }
+
+    /**
+     * Gets the rank and points of a player.
+     *
+     * @param gameType The game type.
+     * @param username The username of the player.
+     * @return The entry of the player, or null if the player is not ranked.
+     */
+    public LeaderboardEntry getRank(String gameType, String username) {
+        String key = getKey(gameType);
+        Long rank = redisTemplate.opsForZSet().reverseRank(key, username);
+        Double points = redisTemplate.opsForZSet().score(key, username);
+        if (rank == null || points == null) {
+            return null;
+        }
+        return new LeaderboardEntry(rank + 1, username, points.longValue());
+    }
+
+    /**
+     * Recomputes every board from the stored results, unless another node did
+     * so during the current interval. Each board is written to a scratch key and
+     * renamed over the live one, so readers never see a half-built board.
+     * Results stored while a board is rebuilt may be missing from it until the
+     * next rebuild.
+     *
+     * @return The number of boards rebuilt.
+     */
+    public int rebuild() {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, nodeId, rebuildInterval))) {
+            return 0;
+        }
+        List<String> gameTypes = gameResultMapper.findResultTypes();
+        for (String gameType : gameTypes) {
+            List<LeaderboardEntry> entries = gameResultMapper.findLeaderboardPoints(gameType);
+            String key = getKey(gameType);
+            String scratch = key + ":rebuild";
+            redisTemplate.delete(scratch);
+            for (int from = 0; from < entries.size(); from += REBUILD_CHUNK) {
+                Set<TypedTuple<String>> chunk = new HashSet<>();
+                for (LeaderboardEntry entry : entries.subList(from, Math.min(entries.size(), from + REBUILD_CHUNK))) {
+                    chunk.add(new DefaultTypedTuple<>(entry.getUsername(), (double) entry.getPoints()));
+                }
+                redisTemplate.opsForZSet().add(scratch, chunk);
+            }
+            if (entries.isEmpty()) {
+                redisTemplate.delete(key);
+            } else {
+                redisTemplate.rename(scratch, key);
+            }
+            logger.info("Rebuilt the {} leaderboard with {} players", gameType, entries.size());
+        }
+        return gameTypes.size();
+    }
+
+    /**
+     * Gets the points a player earns from a game: one per opponent placed after
+     * them.
+     *
+     * @param result The result of the game.
+     * @param player The player.
+     * @return The points.
+     */
+    static long points(GameResult result, GameResultPlayer player) {
+        long points = 0;
+        for (GameResultPlayer other : result.getPlayers()) {
+            if (other.getPlacement() > player.getPlacement()) {
+                points++;
+            }
+        }
+        return points;
+    }
+
+    private List<LeaderboardEntry> range(String key, long start, long end) {
+        Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet().reverseRangeWithScores(key, start, end);
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        if (tuples == null) {
+            return entries;
+        }
+        long rank = start + 1;
+        for (TypedTuple<String> tuple : tuples) {
+            double points = tuple.getScore() == null ? 0 : tuple.getScore();
+            entries.add(new LeaderboardEntry(rank++, tuple.getValue(), (long) points));
+        }
+        return entries;
+    }
+
+    private String getKey(String gameType) {
+        return LEADERBOARD_PREFIX + gameType.toUpperCase(Locale.ROOT);
+    }
+
+    private void loop() {
+        while (running) {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.warn("Leaderboard rebuild failed", e);
+            }
+            try {
+                Thread.sleep(rebuildInterval.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::loop, "leaderboard-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
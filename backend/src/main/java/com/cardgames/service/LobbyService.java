@@ -12,13 +12,17 @@ import java.util.Set;
 public class LobbyService {
 
     private static final Logger logger = LoggerFactory.getLogger(LobbyService.class);
-    private static final String LOBBY_PLAYERS_PREFIX = "lobby:players:";
+    static final String LOBBY_PLAYERS_PREFIX = "lobby:players:";
 
     @Autowired
     private StringRedisTemplate redisTemplate;
 
+    @Autowired
+    private GameExpiry gameExpiry = GameExpiry.NONE;
+
     /**
-     * Adds a player to the connected players set of a game lobby.
+     * Adds a player to the connected players set of a game lobby, pushing back
+     * its expiry.
      *
      * @param gameId   The ID of the game.
      * @param username The username of the player to add.
@@ -27,6 +31,9 @@ public class LobbyService {
         String key = LOBBY_PLAYERS_PREFIX + gameId;
         logger.info("Adding player to Redis: key={}, user={}", key, username);
         redisTemplate.opsForSet().add(key, username);
+        if (gameExpiry.getIdleTtl() != null) {
+            redisTemplate.expire(key, gameExpiry.getIdleTtl());
+        }
     }
 
     /**
@@ -0,0 +1,97 @@
+package com.cardgames.service;
+
+import com.cardgames.dto.MatchHistoryEntry;
+import com.cardgames.dto.MatchHistoryPage;
+import com.cardgames.mapper.GameMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Serves the finished games of a user. Pages are keyed by the end time and ID
+ * of the last game returned, handed to clients as an opaque cursor, and the
+ * full history can be streamed without holding it in memory.
+ */
+@Service
+public class MatchHistoryService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final GameMapper gameMapper;
+    private final ObjectMapper objectMapper;
+
+    public MatchHistoryService(GameMapper gameMapper, ObjectMapper objectMapper) {
+        this.gameMapper = gameMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Gets a page of the finished games of a user.
+     *
+     * @param userId The ID of the user.
+     * @param cursor The cursor returned with the previous page, or null for the
+     *               most recent games.
+     * @param limit  The number of games to return, at most {@link #MAX_PAGE_SIZE}.
+     * @return The games, most recent first, and the cursor of the next page.
+     */
+    public MatchHistoryPage getHistory(Long userId, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        LocalDateTime beforeFinishedAt = null;
+        Long beforeGameId = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                beforeFinishedAt = LocalDateTime.parse(parts[0]);
+                beforeGameId = Long.valueOf(parts[1]);
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new RuntimeException("Invalid cursor");
+            }
+        }
+        // One extra row tells whether there is a next page
+        List<MatchHistoryEntry> games = gameMapper.findMatchHistory(userId, beforeFinishedAt, beforeGameId,
+                limit + 1);
+        if (games.size() <= limit) {
+            return new MatchHistoryPage(games, null);
+        }
+        games = games.subList(0, limit);
+        MatchHistoryEntry last = games.get(limit - 1);
+        String next = last.getFinishedAt() + "|" + last.getGameId();
+        return new MatchHistoryPage(games,
+                Base64.getUrlEncoder().withoutPadding().encodeToString(next.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Writes every finished game of a user as newline-delimited JSON, most
+     * recent first. Rows are fetched from a database cursor as they are
+     * written, so the history is never loaded whole.
+     *
+     * @param userId The ID of the user.
+     * @param out    The stream to write to.
+     * @return The number of games written.
+     * @throws IOException If writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public int exportHistory(Long userId, OutputStream out) throws IOException {
+        int count = 0;
+        try (Cursor<MatchHistoryEntry> games = gameMapper.streamMatchHistory(userId)) {
+            for (MatchHistoryEntry game : games) {
+                out.write(objectMapper.writeValueAsBytes(game));
+                out.write('\n');
+                count++;
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cardgames.service;
+
+import com.cardgames.model.exception.ServiceBusyException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a small pool of its own instead of on request threads. At most
+ * {@code cardgames.auth.hash-threads} hashes run at once and
+ * {@code cardgames.auth.hash-queue} wait; beyond that logins and registrations
+ * fail at once with {@link ServiceBusyException}. A burst of logins therefore
+ * holds a bounded number of request threads, and the rest keep serving games.
+ */
+@Component
+public class PasswordHasher implements DisposableBean {
+
+    private final PasswordEncoder passwordEncoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitored;
+
+    /**
+     * Constructs a new PasswordHasher.
+     *
+     * @param passwordEncoder The BCrypt encoder.
+     * @param strength        The BCrypt cost new hashes use.
+     * @param threads         The number of hashing threads, 0 for one per core.
+     * @param queueCapacity   The number of hashes that may wait for a thread.
+     * @param registry        The registry the pool metrics are published to.
+     */
+    @Autowired
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+            @Value("${cardgames.auth.bcrypt-strength:10}") int strength,
+            @Value("${cardgames.auth.hash-threads:0}") int threads,
+            @Value("${cardgames.auth.hash-queue:64}") int queueCapacity,
+            MeterRegistry registry) {
+        this.passwordEncoder = passwordEncoder;
+        this.strength = strength;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.monitored = ExecutorServiceMetrics.monitor(registry, executor, "password-hash");
+    }
+
+    /**
+     * Hashes a password.
+     *
+     * @param rawPassword The password to hash.
+     * @return The hash.
+     * @throws ServiceBusyException If too many hashes are already waiting.
+     */
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against its stored hash.
+     *
+     * @param rawPassword     The password to check.
+     * @param encodedPassword The stored hash.
+     * @return True if the password matches.
+     * @throws ServiceBusyException If too many hashes are already waiting.
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Checks if a stored hash was made with another cost than the configured
+     * one, in either direction.
+     *
+     * @param encodedPassword The stored hash, e.g. {@code $2a$10$...}.
+     * @return True if the password should be hashed again.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        String[] parts = encodedPassword == null ? new String[0] : encodedPassword.split("\\$");
+        if (parts.length < 4) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(parts[2]) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = monitored.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many logins at once, please retry in a moment");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while hashing the password");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
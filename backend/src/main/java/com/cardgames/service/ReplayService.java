@@ -0,0 +1,224 @@
+package com.cardgames.service;
+
+import com.cardgames.dto.ReplayResponse;
+import com.cardgames.engine.AbstractGameEngine;
+import com.cardgames.engine.GameEngineHandler;
+import com.cardgames.mapper.GameArchiveMapper;
+import com.cardgames.model.Game;
+import com.cardgames.model.GameArchive;
+import com.cardgames.model.User;
+import com.cardgames.model.exception.AccessDeniedException;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rebuilds games from their seed and action log. Replays run the engine rules
+ * in memory only, and every {@link #CHECKPOINT_INTERVAL} moves a snapshot is
+ * kept so that seeking to a move only replays the actions after the nearest
+ * checkpoint. Once a game has been reaped from Redis, it is rebuilt from the
+ * action log archived with it.
+ */
+@Service
+public class ReplayService {
+
+    static final int CHECKPOINT_INTERVAL = 64;
+    private static final int MAX_CACHED_TIMELINES = 256;
+
+    private final GameCache gameCache;
+    private final GameEngineHandler gameEngineHandler;
+    private final ActionLogService actionLogService;
+    private final GameArchiveMapper gameArchiveMapper;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Timeline> timelines = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Timeline> eldest) {
+                    return size() > MAX_CACHED_TIMELINES;
+                }
+            });
+
+    public ReplayService(GameCache gameCache, GameEngineHandler gameEngineHandler,
+            ActionLogService actionLogService, GameArchiveMapper gameArchiveMapper, ObjectMapper objectMapper) {
+        this.gameCache = gameCache;
+        this.gameEngineHandler = gameEngineHandler;
+        this.actionLogService = actionLogService;
+        this.gameArchiveMapper = gameArchiveMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Rebuilds the state of a game right after the given move. While the game is
+     * still being played only the public view is returned, so the endpoint cannot
+     * be used to look at the deck.
+     *
+     * @param gameId The ID of the game.
+     * @param move   The move to rebuild, 0 being the initial deal.
+     * @param user   The user requesting the replay.
+     * @return A response containing the state after the move.
+     */
+    public ReplayResponse getStateAt(Long gameId, int move, User user) {
+        if (!gameCache.isPlayerInGame(gameId, user.getId())) {
+            throw new AccessDeniedException("You are not part of this game");
+        }
+
+        Game game = gameCache.findById(gameId)
+                .orElseThrow(() -> new RuntimeException("Game not found"));
+
+        return replay(gameEngineHandler.getEngine(game.getType()), gameId, move);
+    }
+
+    private <S> ReplayResponse replay(AbstractGameEngine<S> engine, Long gameId, int move) {
+        Timeline timeline = timeline(engine, gameId);
+        synchronized (timeline) {
+            int totalMoves = timeline.actions.size();
+            if (move < 0 || move > totalMoves) {
+                throw new RuntimeException("Move must be between 0 and " + totalMoves);
+            }
+            S state = timeline.seek(engine, move);
+            Object view = timeline.finished ? state : engine.toPublicState(state);
+            return new ReplayResponse(gameId, move, totalMoves, view);
+        }
+    }
+
+    /**
+     * Gets the cached timeline of a game, catching up with any actions recorded
+     * since it was built. A game whose log is no longer in Redis is caught up
+     * once from its archive, which is the final log.
+     */
+    private <S> Timeline timeline(AbstractGameEngine<S> engine, Long gameId) {
+        Timeline timeline = timelines.computeIfAbsent(gameId, id -> new Timeline());
+        synchronized (timeline) {
+            long recorded = actionLogService.size(gameId) - 1;
+            List<Action> entries = null;
+            if (recorded < 0) {
+                if (!timeline.archived) {
+                    entries = archivedActions(gameId);
+                    if (entries == null) {
+                        timelines.remove(gameId);
+                        throw new RuntimeException("No replay recorded for this game");
+                    }
+                    timeline.archived = true;
+                    if (!timeline.checkpoints.isEmpty()) {
+                        entries = entries.subList(Math.min(entries.size(), timeline.actions.size() + 1),
+                                entries.size());
+                    }
+                }
+            } else if (timeline.checkpoints.isEmpty()) {
+                entries = actionLogService.getActions(gameId, 0);
+            } else if (recorded > timeline.actions.size()) {
+                entries = actionLogService.getActions(gameId, timeline.actions.size() + 1L);
+            }
+            if (entries != null) {
+                timeline.extend(engine, entries);
+            }
+        }
+        return timeline;
+    }
+
+    /**
+     * Reads the action log archived with a game when it was reaped from Redis.
+     *
+     * @return The log, INIT entry first, or null if the game has no archived log.
+     */
+    private List<Action> archivedActions(Long gameId) {
+        String actions = gameArchiveMapper.findGameArchive(gameId).map(GameArchive::getActions).orElse(null);
+        if (actions == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(actions, new TypeReference<List<Action>>() {
+            });
+        } catch (IOException e) {
+            throw new IllegalStateException("Corrupt archived action log for game " + gameId, e);
+        }
+    }
+
+    /**
+     * The recorded moves of one game and the snapshots taken along the way.
+     * States are carried as JSON between moves, exactly like the live path
+     * reloads them from Redis before every action, so fields Jackson does not
+     * persist behave the same in a replay.
+     */
+    private final class Timeline {
+        private final List<Action> actions = new ArrayList<>();
+        private final List<byte[]> checkpoints = new ArrayList<>();
+        private boolean finished;
+        private boolean archived;
+
+        /**
+         * Applies the actions recorded since the last call, taking a checkpoint
+         * every {@link #CHECKPOINT_INTERVAL} moves. The first call gets the
+         * whole log, INIT entry included.
+         */
+        private <S> void extend(AbstractGameEngine<S> engine, List<Action> entries) {
+            byte[] snapshot;
+            if (checkpoints.isEmpty()) {
+                Map<String, Object> init = entries.get(0).getPayload();
+                entries = entries.subList(1, entries.size());
+                @SuppressWarnings("unchecked")
+                List<String> players = (List<String>) init.get("players");
+                snapshot = write(engine.newGame(players, ((Number) init.get("seed")).longValue()));
+                checkpoints.add(snapshot);
+            } else {
+                snapshot = snapshotAt(engine, actions.size());
+            }
+
+            for (Action action : entries) {
+                snapshot = step(engine, snapshot, action);
+                actions.add(action);
+                if (actions.size() % CHECKPOINT_INTERVAL == 0) {
+                    checkpoints.add(snapshot);
+                }
+            }
+            finished = engine.isGameOver(read(snapshot, engine.getStateType()));
+        }
+
+        /**
+         * Rebuilds the state after a move from the nearest earlier checkpoint.
+         */
+        private <S> S seek(AbstractGameEngine<S> engine, int move) {
+            return read(snapshotAt(engine, move), engine.getStateType());
+        }
+
+        private <S> byte[] snapshotAt(AbstractGameEngine<S> engine, int move) {
+            int checkpoint = move / CHECKPOINT_INTERVAL;
+            byte[] snapshot = checkpoints.get(checkpoint);
+            for (int i = checkpoint * CHECKPOINT_INTERVAL; i < move; i++) {
+                snapshot = step(engine, snapshot, actions.get(i));
+            }
+            return snapshot;
+        }
+    }
+
+    private <S> byte[] step(AbstractGameEngine<S> engine, byte[] snapshot, Action action) {
+        S state = read(snapshot, engine.getStateType());
+        engine.applyAction(state, action.getSender(), action.getPayload());
+        return write(state);
+    }
+
+    private byte[] write(Object state) {
+        try {
+            return objectMapper.writeValueAsBytes(state);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not snapshot replay state", e);
+        }
+    }
+
+    private <S> S read(byte[] snapshot, Class<S> stateType) {
+        try {
+            return objectMapper.readValue(snapshot, stateType);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not restore replay snapshot", e);
+        }
+    }
+}
@@ -2,19 +2,23 @@ package com.cardgames.service;
 
 import com.cardgames.mapper.UserMapper;
 import com.cardgames.model.User;
+import com.cardgames.model.exception.ServiceBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.util.List;
 
 @Service
 public class UserService {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserService.class);
+
     @Autowired
     private UserMapper userMapper;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     /**
      * Retrieves a list of all users in the system.
@@ -42,7 +46,7 @@ public class UserService {
      * @return The created User object.
      */
     public User createUser(User user) {
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHasher.encode(user.getPassword()));
         userMapper.insert(user);
         return user;
     }
@@ -62,13 +66,15 @@ public class UserService {
         User user = new User();
         user.setEmail(email);
         user.setUsername(username);
-        user.setPassword(passwordEncoder.encode(password));
+        user.setPassword(passwordHasher.encode(password));
         userMapper.insert(user);
         return user;
     }
 
     /**
-     * Verifies a user's credentials against the stored password.
+     * Verifies a user's credentials against the stored password. A password
+     * hashed with another BCrypt cost than the configured one is hashed again
+     * once it has been checked.
      *
      * @param email    The email address of the user.
      * @param password The raw password provided for verification.
@@ -76,9 +82,26 @@ public class UserService {
      */
     public User verifyUser(String email, String password) {
         User user = userMapper.findByEmail(email);
-        if (user != null && passwordEncoder.matches(password, user.getPassword())) {
+        if (user != null && passwordHasher.matches(password, user.getPassword())) {
+            if (passwordHasher.needsRehash(user.getPassword())) {
+                rehash(user, password);
+            }
             return user;
         }
         return null;
     }
+
+    /**
+     * Stores the password of a user hashed with the current cost. The login
+     * goes through even if this fails; the next one tries again.
+     */
+    private void rehash(User user, String password) {
+        try {
+            String encoded = passwordHasher.encode(password);
+            userMapper.updatePassword(user.getId(), encoded);
+            user.setPassword(encoded);
+        } catch (ServiceBusyException e) {
+            logger.debug("Skipped rehashing the password of user {}, hashing is saturated", user.getId());
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package com.cardgames.service;
+
+import com.cardgames.mapper.UserStatsMapper;
+import com.cardgames.model.UserStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serves the statistics shown on profile pages. The totals are maintained as
+ * results are stored, so a read is one primary-key lookup on
+ * {@code user_stats}, and each node keeps the rows it read for
+ * {@code cardgames.cache.stats.ttl-ms}. A profile may therefore miss the games
+ * that ended within that time.
+ */
+@Service
+public class UserStatsService {
+
+    private final UserStatsMapper userStatsMapper;
+    private final long ttlNanos;
+    private final Map<Long, Expiring> stats;
+
+    /**
+     * Constructs a new UserStatsService.
+     *
+     * @param userStatsMapper The mapper the cache reads through.
+     * @param ttlMillis       How long an entry is trusted, in milliseconds.
+     * @param maxSize         The number of users kept.
+     */
+    public UserStatsService(UserStatsMapper userStatsMapper,
+            @Value("${cardgames.cache.stats.ttl-ms:10000}") long ttlMillis,
+            @Value("${cardgames.cache.stats.max-size:10000}") int maxSize) {
+        this.userStatsMapper = userStatsMapper;
+        this.ttlNanos = ttlMillis * 1_000_000;
+        this.stats = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Expiring> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    /**
+     * Gets the statistics of a user.
+     *
+     * @param userId The user ID.
+     * @return One entry per game type the user finished, empty if none.
+     */
+    public List<UserStats> getStats(Long userId) {
+        long now = System.nanoTime();
+        Expiring cached = stats.get(userId);
+        if (cached != null && now - cached.expiresAt < 0) {
+            return cached.value;
+        }
+        List<UserStats> rows = List.copyOf(userStatsMapper.findByUserId(userId));
+        stats.put(userId, new Expiring(rows, now + ttlNanos));
+        return rows;
+    }
+
+    private static final class Expiring {
+        private final List<UserStats> value;
+        private final long expiresAt;
+
+        private Expiring(List<UserStats> value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.AbstractGameEngine;
+import com.cardgames.model.GameArchive;
+import com.cardgames.service.ActionLogService;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays the archived action log of every game in {@code game_archive} and
+ * checks that it ends in the archived state. Run after a rules change, it
+ * lists the recorded games the new rules would play differently. States are
+ * carried as JSON between moves, as the live engine reloads them before every
+ * action.
+ * <p>
+ * Run it from the backend directory, for example:
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.cardgames.simulation.ArchiveReplayJob \
+ *     -Dexec.args="--games=UNO,SKULL_KING --limit=10000"
+ * </pre>
+ *
+ * Other options are {@code --url}, {@code --user} and {@code --password},
+ * which default to the local database. The replay speed is logged at the end,
+ * in moves per second and against the time the games took to play. The run
+ * exits with status 1 when a game does not replay to its archived state.
+ */
+public class ArchiveReplayJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveReplayJob.class);
+    private static final int FETCH_SIZE = 500;
+    private static final int MAX_LOGGED_FAILURES = 50;
+
+    private final Map<String, AbstractGameEngine<?>> engines = new LinkedHashMap<>();
+    private final ObjectMapper objectMapper;
+
+    public ArchiveReplayJob(List<GameSimulation<?>> simulations, ObjectMapper objectMapper) {
+        simulations.forEach(s -> this.engines.put(s.getGameType(), s.getEngine()));
+        this.objectMapper = objectMapper;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "jdbc:postgresql://localhost:5432/cardgames";
+        String user = "postgres";
+        String password = "postgres";
+        List<String> gameTypes = List.of("FLIP_SEVEN", "UNO", "SKULL_KING");
+        long limit = Long.MAX_VALUE;
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            String value = arg.substring(eq + 1);
+            switch (arg.substring(2, eq)) {
+                case "url" -> url = value;
+                case "user" -> user = value;
+                case "password" -> password = value;
+                case "games" -> gameTypes = Arrays.asList(value.toUpperCase().split(","));
+                case "limit" -> limit = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+
+        ArchiveReplayJob job = new ArchiveReplayJob(BalanceAnalyticsJob.defaultSimulations(),
+                Jackson2ObjectMapperBuilder.json().build());
+        VerificationResult result = new VerificationResult();
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            job.verifyAll(connection, gameTypes, limit, result);
+        }
+
+        logger.info("Replayed {} archived games, {} moves in {} ms: {} moves/s, {} times faster than they were played",
+                result.getGames(), result.getMoves(), result.getReplayNanos() / 1_000_000,
+                Math.round(result.getMovesPerSecond()), Math.round(result.getSpeedup()));
+        List<String> failures = result.getFailures();
+        failures.stream().limit(MAX_LOGGED_FAILURES).forEach(failure -> logger.warn("  {}", failure));
+        if (!failures.isEmpty()) {
+            logger.warn("{} of {} games did not replay to their archived state", failures.size(), result.getGames());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Streams the archived games of the given types, oldest first, and replays
+     * each of them.
+     *
+     * @param connection The connection to the database holding the archive.
+     * @param gameTypes  The game types to replay.
+     * @param limit      The largest number of games to replay.
+     * @param result     The result the games are added to.
+     */
+    public void verifyAll(Connection connection, List<String> gameTypes, long limit, VerificationResult result)
+            throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT a.game_id, a.type, a.state, a.actions, r.duration_ms FROM game_archive a "
+                        + "LEFT JOIN game_result r ON r.game_id = a.game_id "
+                        + "WHERE a.actions IS NOT NULL AND a.type = ANY (?) ORDER BY a.game_id LIMIT ?")) {
+            statement.setArray(1, connection.createArrayOf("varchar", gameTypes.toArray()));
+            statement.setLong(2, limit);
+            statement.setFetchSize(FETCH_SIZE);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    GameArchive archive = new GameArchive();
+                    archive.setGameId(rows.getLong("game_id"));
+                    archive.setGameType(rows.getString("type"));
+                    archive.setState(rows.getString("state"));
+                    archive.setActions(rows.getString("actions"));
+                    long durationMs = rows.getLong("duration_ms");
+                    verify(archive, rows.wasNull() ? null : durationMs, result);
+                }
+            }
+        } finally {
+            connection.rollback();
+        }
+    }
+
+    /**
+     * Replays one archived game and adds it to the result, as a failure if the
+     * replay does not end in the archived state or cannot be run.
+     *
+     * @param archive    The archived game, with its action log.
+     * @param durationMs How long the game took to play, or null if unknown.
+     * @param result     The result the game is added to.
+     */
+    public void verify(GameArchive archive, Long durationMs, VerificationResult result) {
+        AbstractGameEngine<?> engine = engines.get(archive.getGameType());
+        if (engine == null) {
+            result.addFailure(archive.getGameId(), "unknown game type " + archive.getGameType());
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            List<Action> log = objectMapper.readValue(archive.getActions(), new TypeReference<List<Action>>() {
+            });
+            boolean matches = replay(engine, log, archive.getState());
+            result.addGame(log.size() - 1, System.nanoTime() - start, durationMs);
+            if (!matches) {
+                result.addFailure(archive.getGameId(), "replayed state differs from the archived one");
+            }
+        } catch (IOException | RuntimeException e) {
+            result.addFailure(archive.getGameId(), "replay failed: " + e);
+        }
+    }
+
+    private <S> boolean replay(AbstractGameEngine<S> engine, List<Action> log, String stored) throws IOException {
+        if (log.isEmpty() || !ActionLogService.INIT_ACTION.equals(log.get(0).getPayload().get("action"))) {
+            throw new IllegalStateException("The log does not start with " + ActionLogService.INIT_ACTION);
+        }
+        Map<String, Object> init = log.get(0).getPayload();
+        @SuppressWarnings("unchecked")
+        List<String> players = (List<String>) init.get("players");
+        byte[] snapshot = objectMapper.writeValueAsBytes(engine.newGame(players, ((Number) init.get("seed")).longValue()));
+        for (Action action : log.subList(1, log.size())) {
+            S state = objectMapper.readValue(snapshot, engine.getStateType());
+            engine.applyAction(state, action.getSender(), action.getPayload());
+            snapshot = objectMapper.writeValueAsBytes(state);
+        }
+        return objectMapper.readTree(snapshot).equals(objectMapper.readTree(stored));
+    }
+
+    /**
+     * The games replayed by a run, how fast they were replayed and the ones that
+     * did not end in their archived state.
+     */
+    public static class VerificationResult {
+        private long games;
+        private long moves;
+        private long replayNanos;
+        private long timedReplayNanos;
+        private long playedMillis;
+        private final List<String> failures = new ArrayList<>();
+
+        private void addGame(int gameMoves, long nanos, Long durationMs) {
+            games++;
+            moves += gameMoves;
+            replayNanos += nanos;
+            if (durationMs != null) {
+                timedReplayNanos += nanos;
+                playedMillis += durationMs;
+            }
+        }
+
+        private void addFailure(Long gameId, String reason) {
+            failures.add("game " + gameId + ": " + reason);
+        }
+
+        /**
+         * Gets the number of games replayed.
+         *
+         * @return The game count.
+         */
+        public long getGames() {
+            return games;
+        }
+
+        /**
+         * Gets the number of moves replayed, not counting the deals.
+         *
+         * @return The move count.
+         */
+        public long getMoves() {
+            return moves;
+        }
+
+        /**
+         * Gets the time spent replaying, without reading the archive.
+         *
+         * @return The replay time in nanoseconds.
+         */
+        public long getReplayNanos() {
+            return replayNanos;
+        }
+
+        /**
+         * Gets the number of moves replayed per second.
+         *
+         * @return The replay throughput.
+         */
+        public double getMovesPerSecond() {
+            return replayNanos == 0 ? 0 : moves * 1_000_000_000.0 / replayNanos;
+        }
+
+        /**
+         * Gets how many times faster than they were played the games with a
+         * recorded duration were replayed.
+         *
+         * @return The ratio of play time to replay time, or 0 if no game has a
+         *         duration.
+         */
+        public double getSpeedup() {
+            return timedReplayNanos == 0 ? 0 : playedMillis * 1_000_000.0 / timedReplayNanos;
+        }
+
+        /**
+         * Gets the games that did not replay to their archived state, with the
+         * reason.
+         *
+         * @return The failures, in archive order.
+         */
+        public List<String> getFailures() {
+            return failures;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.FlipSevenGameEngine;
+import com.cardgames.engine.SkullKingGameEngine;
+import com.cardgames.engine.UnoGameEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batch job running game-balance simulation campaigns across a thread pool.
+ * Every combination of game, player count and swept rule constants is a cell;
+ * each cell is split into batches of games that run in parallel, and the
+ * aggregated statistics are written as one CSV row per cell.
+ * <p>
+ * Run it from the backend directory, for example:
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.cardgames.simulation.BalanceAnalyticsJob \
+ *     -Dexec.args="--games=FLIP_SEVEN --sweep=flipSevenBonus=10,15,20 --games-per-cell=10000"
+ * </pre>
+ *
+ * Game seeds are derived from the campaign seed in a fixed order, so the same
+ * settings always produce the same report whatever the thread count.
+ */
+public class BalanceAnalyticsJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceAnalyticsJob.class);
+    private static final int BATCH_SIZE = 250;
+
+    private final Map<String, GameSimulation<?>> simulations = new LinkedHashMap<>();
+
+    public BalanceAnalyticsJob(List<GameSimulation<?>> simulations) {
+        simulations.forEach(s -> this.simulations.put(s.getGameType(), s));
+    }
+
+    public static void main(String[] args) throws Exception {
+        BalanceCampaign campaign = BalanceCampaign.parse(args);
+        BalanceAnalyticsJob job = new BalanceAnalyticsJob(defaultSimulations());
+
+        CampaignResult result = job.run(campaign);
+        try (Writer writer = Files.newBufferedWriter(Paths.get(campaign.getOutput()))) {
+            job.writeCsv(result, writer);
+        }
+        logger.info("Wrote {} cells to {}", result.getCells().size(), campaign.getOutput());
+    }
+
+    /**
+     * Builds the simulations of the three games, backed by engines that are not
+     * wired to Redis or WebSocket.
+     *
+     * @return The simulations.
+     */
+    public static List<GameSimulation<?>> defaultSimulations() {
+        return List.of(
+                new FlipSevenSimulation(new FlipSevenGameEngine(null, null, null, null, null)),
+                new UnoSimulation(new UnoGameEngine(null, null, null, null, null)),
+                new SkullKingSimulation(new SkullKingGameEngine(null, null, null, null, null)));
+    }
+
+    /**
+     * Runs every cell of a campaign and reports the throughput.
+     *
+     * @param campaign The campaign settings.
+     * @return The statistics of every cell.
+     * @throws IllegalArgumentException If a sweep names a parameter no game has.
+     */
+    public CampaignResult run(BalanceCampaign campaign) throws InterruptedException {
+        checkSweeps(campaign);
+        List<BalanceStats> cells = new ArrayList<>();
+        List<Future<BalanceStats>> batches = new ArrayList<>();
+        List<BalanceStats> batchCells = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(campaign.getSeed());
+
+        ExecutorService executor = Executors.newFixedThreadPool(campaign.getThreads());
+        long start = System.nanoTime();
+        try {
+            for (String gameType : campaign.getGameTypes()) {
+                GameSimulation<?> simulation = simulations.get(gameType);
+                if (simulation == null) {
+                    throw new IllegalArgumentException("Unknown game type: " + gameType);
+                }
+                for (Map<String, Integer> parameters : parameterGrid(simulation, campaign)) {
+                    for (int players : campaign.getPlayerCounts()) {
+                        BalanceStats cell = new BalanceStats(gameType, players, parameters);
+                        cells.add(cell);
+                        for (int done = 0; done < campaign.getGamesPerCell(); done += BATCH_SIZE) {
+                            int count = Math.min(BATCH_SIZE, campaign.getGamesPerCell() - done);
+                            SplittableRandom random = seeds.split();
+                            batches.add(executor.submit(
+                                    () -> playBatch(simulation, cell, count, random, campaign.getMaxMoves())));
+                            batchCells.add(cell);
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < batches.size(); i++) {
+                batchCells.get(i).merge(batches.get(i).get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation batch failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CampaignResult result = new CampaignResult(cells, System.nanoTime() - start, campaign.getThreads());
+        logger.info("Simulated {} games ({} actions) in {} ms on {} threads: {} games/s, {} actions/s",
+                result.getGames(), result.getMoves(), result.getElapsedNanos() / 1_000_000, result.getThreads(),
+                format(result.getGamesPerSecond()), format(result.getMovesPerSecond()));
+        return result;
+    }
+
+    private BalanceStats playBatch(GameSimulation<?> simulation, BalanceStats cell, int count,
+            SplittableRandom random, int maxMoves) {
+        BalanceStats stats = new BalanceStats(cell.getGameType(), cell.getPlayers(), cell.getParameters());
+        List<String> players = new ArrayList<>();
+        for (int i = 1; i <= cell.getPlayers(); i++) {
+            players.add("seat" + i);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            stats.add(simulation.play(players, random.nextLong(), cell.getParameters(), random, maxMoves));
+        }
+        stats.addCpuNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    /**
+     * Rejects sweeps of unknown parameters, which would otherwise be skipped by
+     * every game and leave a campaign of default values only.
+     */
+    private void checkSweeps(BalanceCampaign campaign) {
+        Set<String> known = new TreeSet<>();
+        simulations.values().forEach(simulation -> known.addAll(simulation.getDefaultParameters().keySet()));
+        for (String name : campaign.getSweeps().keySet()) {
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException("Unknown sweep parameter " + name + ", expected one of " + known);
+            }
+        }
+    }
+
+    /**
+     * Expands the sweeps that apply to a game into every combination of values,
+     * the other constants keeping their standard value.
+     */
+    private List<Map<String, Integer>> parameterGrid(GameSimulation<?> simulation, BalanceCampaign campaign) {
+        List<Map<String, Integer>> grid = new ArrayList<>();
+        grid.add(simulation.getDefaultParameters());
+        for (Map.Entry<String, List<Integer>> sweep : campaign.getSweeps().entrySet()) {
+            if (!simulation.getDefaultParameters().containsKey(sweep.getKey()))
+                continue;
+            List<Map<String, Integer>> expanded = new ArrayList<>();
+            for (Map<String, Integer> parameters : grid) {
+                for (int value : sweep.getValue()) {
+                    Map<String, Integer> copy = new LinkedHashMap<>(parameters);
+                    copy.put(sweep.getKey(), value);
+                    expanded.add(copy);
+                }
+            }
+            grid = expanded;
+        }
+        return grid;
+    }
+
+    /**
+     * Writes one CSV row per cell.
+     *
+     * @param result The campaign result.
+     * @param writer The destination of the report.
+     */
+    public void writeCsv(CampaignResult result, Writer writer) throws IOException {
+        int maxPlayers = result.getCells().stream().mapToInt(BalanceStats::getPlayers).max().orElse(0);
+
+        StringBuilder header = new StringBuilder("game,players,parameters,games,finished,stalled,"
+                + "meanMoves,p50Moves,p90Moves,p99Moves,maxMoves,meanScore,scoreStdDev,meanWinningScore,meanMargin");
+        for (int seat = 1; seat <= maxPlayers; seat++) {
+            header.append(",seat").append(seat).append("WinRate");
+        }
+        header.append(",gamesPerCpuSecond\n");
+        writer.write(header.toString());
+
+        for (BalanceStats cell : result.getCells()) {
+            List<String> parameters = new ArrayList<>();
+            cell.getParameters().forEach((k, v) -> parameters.add(k + "=" + v));
+
+            StringBuilder row = new StringBuilder();
+            row.append(cell.getGameType()).append(',')
+                    .append(cell.getPlayers()).append(',')
+                    .append(String.join(";", parameters)).append(',')
+                    .append(cell.getGames()).append(',')
+                    .append(cell.getFinished()).append(',')
+                    .append(cell.getGames() - cell.getFinished()).append(',')
+                    .append(format(cell.getMeanMoves())).append(',')
+                    .append(cell.getMovesPercentile(50)).append(',')
+                    .append(cell.getMovesPercentile(90)).append(',')
+                    .append(cell.getMovesPercentile(99)).append(',')
+                    .append(cell.getMovesPercentile(100)).append(',')
+                    .append(format(cell.getMeanScore())).append(',')
+                    .append(format(cell.getScoreStdDev())).append(',')
+                    .append(format(cell.getMeanWinningScore())).append(',')
+                    .append(format(cell.getMeanMargin()));
+            for (int seat = 0; seat < maxPlayers; seat++) {
+                row.append(',');
+                if (seat < cell.getPlayers())
+                    row.append(format(cell.getSeatWinRate(seat)));
+            }
+            row.append(',').append(format(cell.getGamesPerCpuSecond())).append('\n');
+            writer.write(row.toString());
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    /**
+     * The statistics of every cell of a campaign, with its throughput.
+     */
+    public static class CampaignResult {
+        private final List<BalanceStats> cells;
+        private final long elapsedNanos;
+        private final int threads;
+
+        /**
+         * Constructs a new CampaignResult.
+         *
+         * @param cells        The statistics of every cell, in campaign order.
+         * @param elapsedNanos The wall-clock duration of the campaign.
+         * @param threads      The number of worker threads.
+         */
+        public CampaignResult(List<BalanceStats> cells, long elapsedNanos, int threads) {
+            this.cells = cells;
+            this.elapsedNanos = elapsedNanos;
+            this.threads = threads;
+        }
+
+        /**
+         * Gets the statistics of every cell.
+         *
+         * @return The cells, in campaign order.
+         */
+        public List<BalanceStats> getCells() {
+            return cells;
+        }
+
+        /**
+         * Gets the wall-clock duration of the campaign.
+         *
+         * @return The elapsed time in nanoseconds.
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Gets the number of worker threads.
+         *
+         * @return The thread count.
+         */
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * Gets the number of simulated games.
+         *
+         * @return The number of games.
+         */
+        public long getGames() {
+            return cells.stream().mapToLong(BalanceStats::getGames).sum();
+        }
+
+        /**
+         * Gets the number of accepted actions across all games.
+         *
+         * @return The number of moves.
+         */
+        public long getMoves() {
+            return cells.stream().mapToLong(BalanceStats::getTotalMoves).sum();
+        }
+
+        /**
+         * Gets the number of games simulated per wall-clock second.
+         *
+         * @return The game throughput.
+         */
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : getGames() * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        /**
+         * Gets the number of actions applied per wall-clock second.
+         *
+         * @return The action throughput.
+         */
+        public double getMovesPerSecond() {
+            return elapsedNanos == 0 ? 0 : getMoves() * 1_000_000_000.0 / elapsedNanos;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.cardgames.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Settings of a balance campaign: which games to simulate, with how many
+ * players, how many games per cell and which rule constants to sweep.
+ * Parsed from {@code --key=value} command line arguments.
+ */
+public class BalanceCampaign {
+    private List<String> gameTypes = List.of("FLIP_SEVEN", "UNO", "SKULL_KING");
+    private List<Integer> playerCounts = List.of(2, 3, 4, 5, 6);
+    private int gamesPerCell = 1000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 1L;
+    private int maxMoves = 5000;
+    private Map<String, List<Integer>> sweeps = new LinkedHashMap<>();
+    private String output = "balance.csv";
+
+    /**
+     * Parses campaign settings. Recognized arguments are {@code --games},
+     * {@code --players}, {@code --games-per-cell}, {@code --threads},
+     * {@code --seed}, {@code --max-moves}, {@code --out} and the repeatable
+     * {@code --sweep=name=v1,v2,...}.
+     *
+     * @param args The command line arguments.
+     * @return The campaign settings.
+     */
+    public static BalanceCampaign parse(String[] args) {
+        BalanceCampaign campaign = new BalanceCampaign();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "games":
+                    campaign.gameTypes = Arrays.asList(value.toUpperCase().split(","));
+                    break;
+                case "players":
+                    campaign.playerCounts = parseInts(value);
+                    break;
+                case "games-per-cell":
+                    campaign.gamesPerCell = Integer.parseInt(value);
+                    break;
+                case "threads":
+                    campaign.threads = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    campaign.seed = Long.parseLong(value);
+                    break;
+                case "max-moves":
+                    campaign.maxMoves = Integer.parseInt(value);
+                    break;
+                case "out":
+                    campaign.output = value;
+                    break;
+                case "sweep":
+                    int split = value.indexOf('=');
+                    if (split < 0) {
+                        throw new IllegalArgumentException("Expected --sweep=name=v1,v2 but got " + arg);
+                    }
+                    campaign.sweeps.put(value.substring(0, split), parseInts(value.substring(split + 1)));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+        return campaign;
+    }
+
+    private static List<Integer> parseInts(String value) {
+        List<Integer> values = new ArrayList<>();
+        for (String part : value.split(",")) {
+            values.add(Integer.parseInt(part.trim()));
+        }
+        return values;
+    }
+
+    /**
+     * Gets the game types to simulate.
+     *
+     * @return The game types.
+     */
+    public List<String> getGameTypes() {
+        return gameTypes;
+    }
+
+    /**
+     * Sets the game types to simulate.
+     *
+     * @param gameTypes The game types to set.
+     */
+    public void setGameTypes(List<String> gameTypes) {
+        this.gameTypes = gameTypes;
+    }
+
+    /**
+     * Gets the player counts to simulate.
+     *
+     * @return The player counts.
+     */
+    public List<Integer> getPlayerCounts() {
+        return playerCounts;
+    }
+
+    /**
+     * Sets the player counts to simulate.
+     *
+     * @param playerCounts The player counts to set.
+     */
+    public void setPlayerCounts(List<Integer> playerCounts) {
+        this.playerCounts = playerCounts;
+    }
+
+    /**
+     * Gets the number of games simulated for each cell.
+     *
+     * @return The games per cell.
+     */
+    public int getGamesPerCell() {
+        return gamesPerCell;
+    }
+
+    /**
+     * Sets the number of games simulated for each cell.
+     *
+     * @param gamesPerCell The games per cell to set.
+     */
+    public void setGamesPerCell(int gamesPerCell) {
+        this.gamesPerCell = gamesPerCell;
+    }
+
+    /**
+     * Gets the number of worker threads.
+     *
+     * @return The thread count.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     *
+     * @param threads The thread count to set.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the seed all game seeds of the campaign are derived from.
+     *
+     * @return The campaign seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed all game seeds of the campaign are derived from.
+     *
+     * @param seed The campaign seed to set.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the number of accepted actions after which a game counts as stalled.
+     *
+     * @return The move limit.
+     */
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+
+    /**
+     * Sets the number of accepted actions after which a game counts as stalled.
+     *
+     * @param maxMoves The move limit to set.
+     */
+    public void setMaxMoves(int maxMoves) {
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Gets the values to sweep for each rule constant.
+     *
+     * @return The sweeps, keyed by parameter name.
+     */
+    public Map<String, List<Integer>> getSweeps() {
+        return sweeps;
+    }
+
+    /**
+     * Sets the values to sweep for each rule constant.
+     *
+     * @param sweeps The sweeps to set.
+     */
+    public void setSweeps(Map<String, List<Integer>> sweeps) {
+        this.sweeps = sweeps;
+    }
+
+    /**
+     * Gets the path of the CSV report.
+     *
+     * @return The output path.
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    /**
+     * Sets the path of the CSV report.
+     *
+     * @param output The output path to set.
+     */
+    public void setOutput(String output) {
+        this.output = output;
+    }
+}
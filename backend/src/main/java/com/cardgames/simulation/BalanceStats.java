@@ -0,0 +1,258 @@
+package com.cardgames.simulation;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Aggregated outcome of the simulated games of one campaign cell: one game
+ * type, one player count and one set of rule constants. Worker threads fill
+ * their own instance and the results are merged once they are done.
+ */
+public class BalanceStats {
+    private final String gameType;
+    private final int players;
+    private final Map<String, Integer> parameters;
+
+    private long games;
+    private long finished;
+    private long totalMoves;
+    private int[] moveCounts = new int[64];
+    private final long[] seatWins;
+
+    private long scoreCount;
+    private double scoreSum;
+    private double scoreSquareSum;
+    private double winningScoreSum;
+    private double marginSum;
+
+    private long cpuNanos;
+
+    /**
+     * Constructs empty statistics for a campaign cell.
+     *
+     * @param gameType   The type of the simulated games.
+     * @param players    The number of players per game.
+     * @param parameters The rule constants the games are played with.
+     */
+    public BalanceStats(String gameType, int players, Map<String, Integer> parameters) {
+        this.gameType = gameType;
+        this.players = players;
+        this.parameters = parameters;
+        this.seatWins = new long[players];
+    }
+
+    /**
+     * Adds the outcome of one game.
+     *
+     * @param game The simulated game.
+     */
+    public void add(SimulatedGame game) {
+        games++;
+        totalMoves += game.getMoves();
+        if (game.getMoves() >= moveCounts.length) {
+            moveCounts = Arrays.copyOf(moveCounts, Math.max(moveCounts.length * 2, game.getMoves() + 1));
+        }
+        moveCounts[game.getMoves()]++;
+
+        if (!game.isFinished())
+            return;
+
+        finished++;
+        int[] scores = game.getScores();
+        for (int score : scores) {
+            scoreCount++;
+            scoreSum += score;
+            scoreSquareSum += (double) score * score;
+        }
+
+        int winner = game.getWinnerSeat();
+        if (winner < 0)
+            return;
+
+        seatWins[winner]++;
+        winningScoreSum += scores[winner];
+        int runnerUp = Integer.MIN_VALUE;
+        for (int i = 0; i < scores.length; i++) {
+            if (i != winner)
+                runnerUp = Math.max(runnerUp, scores[i]);
+        }
+        if (runnerUp != Integer.MIN_VALUE)
+            marginSum += scores[winner] - runnerUp;
+    }
+
+    /**
+     * Adds the games of another instance for the same cell.
+     *
+     * @param other The statistics to merge into this one.
+     */
+    public void merge(BalanceStats other) {
+        games += other.games;
+        finished += other.finished;
+        totalMoves += other.totalMoves;
+        if (other.moveCounts.length > moveCounts.length) {
+            moveCounts = Arrays.copyOf(moveCounts, other.moveCounts.length);
+        }
+        for (int i = 0; i < other.moveCounts.length; i++) {
+            moveCounts[i] += other.moveCounts[i];
+        }
+        for (int i = 0; i < seatWins.length; i++) {
+            seatWins[i] += other.seatWins[i];
+        }
+        scoreCount += other.scoreCount;
+        scoreSum += other.scoreSum;
+        scoreSquareSum += other.scoreSquareSum;
+        winningScoreSum += other.winningScoreSum;
+        marginSum += other.marginSum;
+        cpuNanos += other.cpuNanos;
+    }
+
+    /**
+     * Adds time spent by a worker simulating games of this cell.
+     *
+     * @param nanos The elapsed time in nanoseconds.
+     */
+    public void addCpuNanos(long nanos) {
+        cpuNanos += nanos;
+    }
+
+    /**
+     * Gets the type of the simulated games.
+     *
+     * @return The game type.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Gets the number of players per game.
+     *
+     * @return The player count.
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the rule constants the games were played with.
+     *
+     * @return The parameters.
+     */
+    public Map<String, Integer> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the number of simulated games.
+     *
+     * @return The number of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that reached their end.
+     *
+     * @return The number of finished games.
+     */
+    public long getFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets the number of accepted actions across all games.
+     *
+     * @return The total number of moves.
+     */
+    public long getTotalMoves() {
+        return totalMoves;
+    }
+
+    /**
+     * Gets the average game length in accepted actions.
+     *
+     * @return The mean number of moves.
+     */
+    public double getMeanMoves() {
+        return games == 0 ? 0 : (double) totalMoves / games;
+    }
+
+    /**
+     * Gets a percentile of the game length distribution.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The smallest length that at least this share of games does not
+     *         exceed.
+     */
+    public int getMovesPercentile(double percentile) {
+        long threshold = (long) Math.ceil(games * percentile / 100.0);
+        long seen = 0;
+        for (int moves = 0; moves < moveCounts.length; moves++) {
+            seen += moveCounts[moves];
+            if (seen >= threshold && seen > 0)
+                return moves;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the average final score of a seat in finished games.
+     *
+     * @return The mean score.
+     */
+    public double getMeanScore() {
+        return scoreCount == 0 ? 0 : scoreSum / scoreCount;
+    }
+
+    /**
+     * Gets the standard deviation of the final scores in finished games.
+     *
+     * @return The score standard deviation.
+     */
+    public double getScoreStdDev() {
+        if (scoreCount == 0)
+            return 0;
+        double mean = getMeanScore();
+        return Math.sqrt(Math.max(0, scoreSquareSum / scoreCount - mean * mean));
+    }
+
+    /**
+     * Gets the average score of the winner.
+     *
+     * @return The mean winning score.
+     */
+    public double getMeanWinningScore() {
+        long wins = Arrays.stream(seatWins).sum();
+        return wins == 0 ? 0 : winningScoreSum / wins;
+    }
+
+    /**
+     * Gets the average lead of the winner over the best other seat.
+     *
+     * @return The mean winning margin.
+     */
+    public double getMeanMargin() {
+        long wins = Arrays.stream(seatWins).sum();
+        return wins == 0 ? 0 : marginSum / wins;
+    }
+
+    /**
+     * Gets the share of finished games won by a seat.
+     *
+     * @param seat The seat, 0 being the first player to act.
+     * @return The win rate of the seat.
+     */
+    public double getSeatWinRate(int seat) {
+        return finished == 0 ? 0 : (double) seatWins[seat] / finished;
+    }
+
+    /**
+     * Gets the number of games simulated per second of worker time.
+     *
+     * @return The per-thread throughput.
+     */
+    public double getGamesPerCpuSecond() {
+        return cpuNanos == 0 ? 0 : games * 1_000_000_000.0 / cpuNanos;
+    }
+}
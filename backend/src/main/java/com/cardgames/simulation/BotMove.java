@@ -0,0 +1,40 @@
+package com.cardgames.simulation;
+
+import java.util.Map;
+
+/**
+ * An action chosen by a simulated player, in the same shape a client sends it.
+ */
+public class BotMove {
+    private final String sender;
+    private final Map<String, Object> payload;
+
+    /**
+     * Constructs a new BotMove.
+     *
+     * @param sender  The username of the player making the move.
+     * @param payload The action payload, as a client would send it.
+     */
+    public BotMove(String sender, Map<String, Object> payload) {
+        this.sender = sender;
+        this.payload = payload;
+    }
+
+    /**
+     * Gets the username of the player making the move.
+     *
+     * @return The sender.
+     */
+    public String getSender() {
+        return sender;
+    }
+
+    /**
+     * Gets the action payload.
+     *
+     * @return The payload.
+     */
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,87 @@
+package com.cardgames.simulation;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Counts the cards found in every zone of a game state and checks that no
+ * card is held twice and that none has appeared or vanished. Card ids are the
+ * numeric indices the engines assign when they build a deck.
+ */
+public class CardLedger {
+    private final BitSet seen = new BitSet();
+    private int count;
+    private String duplicate;
+    private String malformed;
+
+    /**
+     * Records one card.
+     *
+     * @param id   The id of the card.
+     * @param zone The zone the card was found in, for the report.
+     */
+    public void add(String id, String zone) {
+        int index;
+        try {
+            index = Integer.parseInt(id);
+        } catch (NumberFormatException e) {
+            if (malformed == null)
+                malformed = "card id '" + id + "' in " + zone + " is not a deck index";
+            return;
+        }
+        if (index < 0) {
+            if (malformed == null)
+                malformed = "card id " + id + " in " + zone + " is negative";
+            return;
+        }
+        if (seen.get(index) && duplicate == null) {
+            duplicate = "card " + id + " is held twice, again in " + zone;
+        }
+        seen.set(index);
+        count++;
+    }
+
+    /**
+     * Gets the number of cards recorded.
+     *
+     * @return The card count.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Reports duplicated or malformed cards and a count different from the
+     * expected one.
+     *
+     * @param expected   The number of cards the game must hold.
+     * @param violations The list the violations are added to.
+     */
+    public void check(int expected, List<String> violations) {
+        checkUnique(violations);
+        if (count != expected) {
+            violations.add("card conservation: " + count + " cards in play instead of " + expected);
+        }
+    }
+
+    /**
+     * Reports duplicated or malformed cards and a count above the size of the
+     * deck, for games that discard cards between rounds.
+     *
+     * @param deckSize   The number of cards in a full deck.
+     * @param violations The list the violations are added to.
+     */
+    public void checkAtMost(int deckSize, List<String> violations) {
+        checkUnique(violations);
+        if (count > deckSize || seen.length() > deckSize) {
+            violations.add("card conservation: " + count + " cards in play from a deck of " + deckSize);
+        }
+    }
+
+    private void checkUnique(List<String> violations) {
+        if (duplicate != null)
+            violations.add("card conservation: " + duplicate);
+        if (malformed != null)
+            violations.add("card conservation: " + malformed);
+    }
+}
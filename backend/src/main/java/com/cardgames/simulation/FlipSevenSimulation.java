@@ -0,0 +1,265 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.FlipSevenGameEngine;
+import com.cardgames.model.flipseven.FlipSevenPlayer;
+import com.cardgames.model.flipseven.FlipSevenRules;
+import com.cardgames.model.flipseven.FlipSevenState;
+import com.cardgames.model.flipseven.PendingActionType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates Flip Seven games. The bot stays once its round score passes a
+ * randomly drawn threshold, freezes the opponent with the best round and
+ * sends Flip 3 and Second Chance cards to a random opponent.
+ */
+public class FlipSevenSimulation extends GameSimulation<FlipSevenState> {
+
+    public static final String TARGET_SCORE = "targetScore";
+    public static final String FLIP_SEVEN_BONUS = "flipSevenBonus";
+
+    private static final int DECK_SIZE = 94;
+    private static final String[] ACTIONS = { "HIT", "STAY", "SELECT_TARGET", "PLAYER_READY" };
+
+    private static final int MIN_STAY_SCORE = 20;
+    private static final int STAY_SCORE_SPREAD = 16;
+
+    private final FlipSevenGameEngine engine;
+
+    public FlipSevenSimulation(FlipSevenGameEngine engine) {
+        super(engine);
+        this.engine = engine;
+    }
+
+    /**
+     * Gets the game type.
+     *
+     * @return The game type.
+     */
+    @Override
+    public String getGameType() {
+        return "FLIP_SEVEN";
+    }
+
+    /**
+     * Gets the tunable rule constants and their standard values.
+     *
+     * @return The parameter names mapped to their defaults.
+     */
+    @Override
+    public Map<String, Integer> getDefaultParameters() {
+        FlipSevenRules rules = new FlipSevenRules();
+        Map<String, Integer> parameters = new LinkedHashMap<>();
+        parameters.put(TARGET_SCORE, rules.getTargetScore());
+        parameters.put(FLIP_SEVEN_BONUS, rules.getFlipSevenBonus());
+        return parameters;
+    }
+
+    /**
+     * Builds the opening state of a game played with the given constants.
+     *
+     * @param playerNames The usernames of the players.
+     * @param seed        The seed of the game.
+     * @param parameters  The rule constants.
+     * @return The initialized game state.
+     */
+    @Override
+    public FlipSevenState newGame(List<String> playerNames, long seed, Map<String, Integer> parameters) {
+        FlipSevenRules rules = new FlipSevenRules(parameters.get(TARGET_SCORE), parameters.get(FLIP_SEVEN_BONUS));
+        return engine.newGame(playerNames, seed, rules);
+    }
+
+    /**
+     * Chooses the next move of the player who has to act.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the simulated players.
+     * @return The move to apply.
+     */
+    @Override
+    public BotMove nextMove(FlipSevenState state, SplittableRandom random) {
+        Map<String, Object> payload = new HashMap<>();
+
+        if (state.isRoundOver()) {
+            payload.put("action", "PLAYER_READY");
+            for (FlipSevenPlayer p : state.getPlayers()) {
+                if (!state.getReadyPlayers().contains(p.getUsername())) {
+                    return new BotMove(p.getUsername(), payload);
+                }
+            }
+            return new BotMove(state.getPlayers().get(0).getUsername(), payload);
+        }
+
+        if (state.getPendingActionType() != null) {
+            FlipSevenPlayer initiator = findPlayer(state, state.getPendingActionInitiator());
+            payload.put("action", "SELECT_TARGET");
+            payload.put("target", chooseTarget(state, initiator, random));
+            return new BotMove(initiator.getUsername(), payload);
+        }
+
+        FlipSevenPlayer current = state.getPlayers().get(state.getCurrentPlayerIndex());
+        if (state.getDeck().isEmpty() || (!current.isHasSecondChance()
+                && current.getRoundScore() >= MIN_STAY_SCORE + random.nextInt(STAY_SCORE_SPREAD))) {
+            payload.put("action", "STAY");
+        } else {
+            payload.put("action", "HIT");
+        }
+        return new BotMove(current.getUsername(), payload);
+    }
+
+    /**
+     * Builds a random action from a random player, or from a stranger.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the fuzzer.
+     * @return The move to apply.
+     */
+    @Override
+    public BotMove randomMove(FlipSevenState state, SplittableRandom random) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("action", ACTIONS[random.nextInt(ACTIONS.length)]);
+        payload.put("target", randomPlayer(state, random));
+        return new BotMove(randomPlayer(state, random), payload);
+    }
+
+    private String randomPlayer(FlipSevenState state, SplittableRandom random) {
+        int index = random.nextInt(state.getPlayers().size() + 1);
+        return index == state.getPlayers().size() ? "stranger" : state.getPlayers().get(index).getUsername();
+    }
+
+    /**
+     * Checks that every card of the deck is held at most once, that the turn
+     * belongs to a player still in the round and that a pending selection waits
+     * on a seated player with at least one valid target.
+     *
+     * @param state      The game state to check.
+     * @param violations The list the broken invariants are described in.
+     */
+    @Override
+    public void checkInvariants(FlipSevenState state, List<String> violations) {
+        if (state.getDeck() == null) {
+            violations.add("deck is missing");
+            return;
+        }
+        int players = state.getPlayers().size();
+        if (state.getCurrentPlayerIndex() < 0 || state.getCurrentPlayerIndex() >= players) {
+            violations.add("current player index " + state.getCurrentPlayerIndex() + " is not one of "
+                    + players + " seats");
+            return;
+        }
+
+        CardLedger ledger = new CardLedger();
+        state.getDeck().forEach(c -> ledger.add(c.getId(), "deck"));
+        for (FlipSevenPlayer p : state.getPlayers()) {
+            p.getHand().forEach(c -> ledger.add(c.getId(), p.getUsername() + "'s hand"));
+            p.getBankedCards().forEach(c -> ledger.add(c.getId(), p.getUsername() + "'s banked cards"));
+        }
+        ledger.checkAtMost(DECK_SIZE, violations);
+
+        if (state.getFlip3DrawsRemaining() < 0) {
+            violations.add("negative Flip 3 draws remaining: " + state.getFlip3DrawsRemaining());
+        }
+
+        if (state.isRoundOver() || state.isGameOver())
+            return;
+
+        FlipSevenPlayer current = state.getPlayers().get(state.getCurrentPlayerIndex());
+        if (state.getPendingActionType() == null) {
+            if (!current.isRoundActive()) {
+                violations.add("turn belongs to " + current.getUsername() + " who is out of the round");
+            }
+        } else if (findPlayer(state, state.getPendingActionInitiator()) == null) {
+            violations.add("pending " + state.getPendingActionType() + " waits on "
+                    + state.getPendingActionInitiator() + " who is not seated");
+        } else if (state.getPlayers().stream().noneMatch(FlipSevenPlayer::isRoundActive)) {
+            violations.add("pending " + state.getPendingActionType() + " has no player left to target");
+        }
+    }
+
+    /**
+     * Gets the number of action cards queued during a Flip 3.
+     *
+     * @param state The current game state.
+     * @return The size of the pending action queue.
+     */
+    @Override
+    public int getPendingEffects(FlipSevenState state) {
+        return state.getPendingActionQueue() == null ? 0 : state.getPendingActionQueue().size();
+    }
+
+    /**
+     * Picks the target of a pending action card among the players still in the
+     * round, falling back on the player themselves.
+     */
+    private String chooseTarget(FlipSevenState state, FlipSevenPlayer self, SplittableRandom random) {
+        List<FlipSevenPlayer> opponents = new ArrayList<>();
+        for (FlipSevenPlayer p : state.getPlayers()) {
+            if (p != self && p.isRoundActive()) {
+                if (state.getPendingActionType() != PendingActionType.GIVE_SECOND_CHANCE || !p.isHasSecondChance()) {
+                    opponents.add(p);
+                }
+            }
+        }
+        if (opponents.isEmpty())
+            return self.getUsername();
+
+        if (state.getPendingActionType() == PendingActionType.FREEZE_SELECTION) {
+            FlipSevenPlayer leader = opponents.get(0);
+            for (FlipSevenPlayer p : opponents) {
+                if (p.getRoundScore() > leader.getRoundScore())
+                    leader = p;
+            }
+            return leader.getUsername();
+        }
+        return opponents.get(random.nextInt(opponents.size())).getUsername();
+    }
+
+    private FlipSevenPlayer findPlayer(FlipSevenState state, String username) {
+        for (FlipSevenPlayer p : state.getPlayers()) {
+            if (p.getUsername().equals(username))
+                return p;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the usernames of the players in turn order.
+     *
+     * @param state The current game state.
+     * @return The usernames, indexed by seat.
+     */
+    @Override
+    public List<String> getSeats(FlipSevenState state) {
+        List<String> seats = new ArrayList<>();
+        state.getPlayers().forEach(p -> seats.add(p.getUsername()));
+        return seats;
+    }
+
+    /**
+     * Gets the total score of a seat.
+     *
+     * @param state The final game state.
+     * @param seat  The seat to score.
+     * @return The total score of the seat.
+     */
+    @Override
+    public int getScore(FlipSevenState state, int seat) {
+        return state.getPlayers().get(seat).getTotalScore();
+    }
+
+    /**
+     * Gets the username of the winner.
+     *
+     * @param state The final game state.
+     * @return The winner, or null if there is none.
+     */
+    @Override
+    public String getWinner(FlipSevenState state) {
+        return state.getWinner();
+    }
+}
@@ -0,0 +1,147 @@
+package com.cardgames.simulation;
+
+/**
+ * A problem found while fuzzing, with what is needed to reproduce it: the
+ * game seed, the seed of the move stream and the move at which it happened.
+ */
+public class FuzzFinding {
+    private final String gameType;
+    private final String message;
+    private final int players;
+    private final long gameSeed;
+    private final long moveSeed;
+    private final int move;
+    private final String action;
+    private final long nanos;
+    private long count = 1;
+
+    /**
+     * Constructs a new FuzzFinding.
+     *
+     * @param gameType The type of the fuzzed game.
+     * @param message  The description of the problem.
+     * @param players  The number of players in the game.
+     * @param gameSeed The seed the game was dealt from.
+     * @param moveSeed The seed of the fuzzed move stream.
+     * @param move     The move at which the problem showed, 0 being the deal.
+     * @param action   The payload of the action applied at that move.
+     * @param nanos    The time the action took, in nanoseconds.
+     */
+    public FuzzFinding(String gameType, String message, int players, long gameSeed, long moveSeed, int move,
+            String action, long nanos) {
+        this.gameType = gameType;
+        this.message = message;
+        this.players = players;
+        this.gameSeed = gameSeed;
+        this.moveSeed = moveSeed;
+        this.move = move;
+        this.action = action;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Gets the key under which occurrences of the same problem are grouped:
+     * the message with its numbers blanked out.
+     *
+     * @return The grouping key.
+     */
+    public String getKind() {
+        return message.replaceAll("-?\\d+", "#");
+    }
+
+    /**
+     * Adds the occurrences of the same problem found elsewhere.
+     *
+     * @param occurrences The number of occurrences to add.
+     */
+    public void addOccurrences(long occurrences) {
+        count += occurrences;
+    }
+
+    /**
+     * Gets the type of the fuzzed game.
+     *
+     * @return The game type.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Gets the description of the problem.
+     *
+     * @return The message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Gets the number of players in the game.
+     *
+     * @return The player count.
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets the seed the game was dealt from.
+     *
+     * @return The game seed.
+     */
+    public long getGameSeed() {
+        return gameSeed;
+    }
+
+    /**
+     * Gets the seed of the fuzzed move stream.
+     *
+     * @return The move seed.
+     */
+    public long getMoveSeed() {
+        return moveSeed;
+    }
+
+    /**
+     * Gets the move at which the problem showed.
+     *
+     * @return The move number, 0 being the deal.
+     */
+    public int getMove() {
+        return move;
+    }
+
+    /**
+     * Gets the payload of the action applied at that move.
+     *
+     * @return The action, or null for the deal.
+     */
+    public String getAction() {
+        return action;
+    }
+
+    /**
+     * Gets the time the action took.
+     *
+     * @return The duration in nanoseconds.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Gets the number of times the problem was found.
+     *
+     * @return The number of occurrences.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return gameType + " x" + count + ": " + message + " (players=" + players + ", gameSeed=" + gameSeed
+                + ", moveSeed=" + moveSeed + ", move=" + move + ", action=" + action + ")";
+    }
+}
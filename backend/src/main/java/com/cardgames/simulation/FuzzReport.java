@@ -0,0 +1,233 @@
+package com.cardgames.simulation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * What the fuzzer saw for one game type: action counts, a latency histogram,
+ * the slowest actions, the deepest pending effect queue and every distinct
+ * problem found. Worker threads fill their own instance and the results are
+ * merged once they are done.
+ */
+public class FuzzReport {
+    private static final int MAX_FINDINGS = 100;
+    private static final int MAX_SLOWEST = 5;
+
+    private final String gameType;
+    private long games;
+    private long finishedGames;
+    private long actions;
+    private long workerNanos;
+    private final long[] latencyBuckets = new long[64];
+    private long outliers;
+    private int maxPendingEffects;
+    private final Map<String, FuzzFinding> findings = new LinkedHashMap<>();
+    private final List<FuzzFinding> slowest = new ArrayList<>();
+
+    /**
+     * Constructs an empty report.
+     *
+     * @param gameType The type of the fuzzed games.
+     */
+    public FuzzReport(String gameType) {
+        this.gameType = gameType;
+    }
+
+    /**
+     * Records one fuzzed game.
+     *
+     * @param finished Whether the game reached its end.
+     */
+    public void addGame(boolean finished) {
+        games++;
+        if (finished)
+            finishedGames++;
+    }
+
+    /**
+     * Records the latency of one action.
+     *
+     * @param nanos The time the engine took to apply the action.
+     */
+    public void addAction(long nanos) {
+        actions++;
+        latencyBuckets[63 - Long.numberOfLeadingZeros(Math.max(1, nanos))]++;
+    }
+
+    /**
+     * Records an action slower than the outlier threshold, keeping only the
+     * slowest ones.
+     *
+     * @param finding The slow action.
+     */
+    public void addOutlier(FuzzFinding finding) {
+        outliers++;
+        slowest.add(finding);
+        slowest.sort(Comparator.comparingLong(FuzzFinding::getNanos).reversed());
+        if (slowest.size() > MAX_SLOWEST)
+            slowest.remove(slowest.size() - 1);
+    }
+
+    /**
+     * Records the size of the pending effect queue after an action.
+     *
+     * @param pendingEffects The number of queued effects.
+     */
+    public void addPendingEffects(int pendingEffects) {
+        maxPendingEffects = Math.max(maxPendingEffects, pendingEffects);
+    }
+
+    /**
+     * Records a problem, grouped with earlier occurrences of the same kind.
+     *
+     * @param finding The problem found.
+     */
+    public void addFinding(FuzzFinding finding) {
+        addFinding(finding, 1);
+    }
+
+    private void addFinding(FuzzFinding finding, long occurrences) {
+        FuzzFinding known = findings.get(finding.getKind());
+        if (known != null) {
+            known.addOccurrences(occurrences);
+        } else if (findings.size() < MAX_FINDINGS) {
+            findings.put(finding.getKind(), finding);
+        }
+    }
+
+    /**
+     * Adds time spent by a worker fuzzing this game type.
+     *
+     * @param nanos The elapsed time in nanoseconds.
+     */
+    public void addWorkerNanos(long nanos) {
+        workerNanos += nanos;
+    }
+
+    /**
+     * Adds the results of another instance for the same game type.
+     *
+     * @param other The report to merge into this one.
+     */
+    public void merge(FuzzReport other) {
+        games += other.games;
+        finishedGames += other.finishedGames;
+        actions += other.actions;
+        workerNanos += other.workerNanos;
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            latencyBuckets[i] += other.latencyBuckets[i];
+        }
+        outliers += other.outliers;
+        maxPendingEffects = Math.max(maxPendingEffects, other.maxPendingEffects);
+        other.findings.values().forEach(f -> addFinding(f, f.getCount()));
+        for (FuzzFinding f : other.slowest) {
+            slowest.add(f);
+        }
+        slowest.sort(Comparator.comparingLong(FuzzFinding::getNanos).reversed());
+        while (slowest.size() > MAX_SLOWEST)
+            slowest.remove(slowest.size() - 1);
+    }
+
+    /**
+     * Gets the type of the fuzzed games.
+     *
+     * @return The game type.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Gets the number of fuzzed games.
+     *
+     * @return The number of games.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of fuzzed games that reached their end.
+     *
+     * @return The number of finished games.
+     */
+    public long getFinishedGames() {
+        return finishedGames;
+    }
+
+    /**
+     * Gets the number of actions applied.
+     *
+     * @return The number of actions.
+     */
+    public long getActions() {
+        return actions;
+    }
+
+    /**
+     * Gets the number of actions applied per second of worker time, invariant
+     * checks included.
+     *
+     * @return The per-thread throughput.
+     */
+    public double getActionsPerWorkerSecond() {
+        return workerNanos == 0 ? 0 : actions * 1_000_000_000.0 / workerNanos;
+    }
+
+    /**
+     * Gets an upper bound of a latency percentile, from the power-of-two
+     * histogram.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency bound in nanoseconds.
+     */
+    public long getLatencyPercentile(double percentile) {
+        long threshold = (long) Math.ceil(actions * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < latencyBuckets.length; i++) {
+            seen += latencyBuckets[i];
+            if (seen >= threshold && seen > 0)
+                return 2L << i;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of actions slower than the outlier threshold.
+     *
+     * @return The number of outliers.
+     */
+    public long getOutliers() {
+        return outliers;
+    }
+
+    /**
+     * Gets the slowest actions, slowest first.
+     *
+     * @return The slowest actions.
+     */
+    public List<FuzzFinding> getSlowest() {
+        return slowest;
+    }
+
+    /**
+     * Gets the deepest pending effect queue seen.
+     *
+     * @return The maximum number of pending effects.
+     */
+    public int getMaxPendingEffects() {
+        return maxPendingEffects;
+    }
+
+    /**
+     * Gets the distinct problems found, in the order they were first seen.
+     *
+     * @return The findings.
+     */
+    public List<FuzzFinding> getFindings() {
+        return new ArrayList<>(findings.values());
+    }
+}
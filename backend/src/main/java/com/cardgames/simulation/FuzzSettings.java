@@ -0,0 +1,287 @@
+package com.cardgames.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings of a fuzzing run, parsed from {@code --key=value} command line
+ * arguments.
+ */
+public class FuzzSettings {
+    private List<String> gameTypes = List.of("FLIP_SEVEN", "UNO", "SKULL_KING");
+    private List<Integer> playerCounts = List.of(2, 3, 4, 5, 6);
+    private int gamesPerCell = 2000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long seed = 1L;
+    private double noise = 0.1;
+    private int maxMoves = 2000;
+    private long outlierMicros = 1000;
+    private int maxPendingEffects = 16;
+    private int stackKb = 256;
+    private int warmupGames = 200;
+
+    /**
+     * Parses fuzzing settings. Recognized arguments are {@code --games},
+     * {@code --players}, {@code --games-per-cell}, {@code --threads},
+     * {@code --seed}, {@code --noise}, {@code --max-moves},
+     * {@code --outlier-micros}, {@code --max-pending-effects},
+     * {@code --stack-kb} and {@code --warmup-games}.
+     *
+     * @param args The command line arguments.
+     * @return The fuzzing settings.
+     */
+    public static FuzzSettings parse(String[] args) {
+        FuzzSettings settings = new FuzzSettings();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "games":
+                    settings.gameTypes = Arrays.asList(value.toUpperCase().split(","));
+                    break;
+                case "players":
+                    List<Integer> counts = new ArrayList<>();
+                    for (String part : value.split(",")) {
+                        counts.add(Integer.parseInt(part.trim()));
+                    }
+                    settings.playerCounts = counts;
+                    break;
+                case "games-per-cell":
+                    settings.gamesPerCell = Integer.parseInt(value);
+                    break;
+                case "threads":
+                    settings.threads = Integer.parseInt(value);
+                    break;
+                case "seed":
+                    settings.seed = Long.parseLong(value);
+                    break;
+                case "noise":
+                    settings.noise = Double.parseDouble(value);
+                    break;
+                case "max-moves":
+                    settings.maxMoves = Integer.parseInt(value);
+                    break;
+                case "outlier-micros":
+                    settings.outlierMicros = Long.parseLong(value);
+                    break;
+                case "max-pending-effects":
+                    settings.maxPendingEffects = Integer.parseInt(value);
+                    break;
+                case "stack-kb":
+                    settings.stackKb = Integer.parseInt(value);
+                    break;
+                case "warmup-games":
+                    settings.warmupGames = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Gets the game types to fuzz.
+     *
+     * @return The game types.
+     */
+    public List<String> getGameTypes() {
+        return gameTypes;
+    }
+
+    /**
+     * Sets the game types to fuzz.
+     *
+     * @param gameTypes The game types to set.
+     */
+    public void setGameTypes(List<String> gameTypes) {
+        this.gameTypes = gameTypes;
+    }
+
+    /**
+     * Gets the player counts to fuzz.
+     *
+     * @return The player counts.
+     */
+    public List<Integer> getPlayerCounts() {
+        return playerCounts;
+    }
+
+    /**
+     * Sets the player counts to fuzz.
+     *
+     * @param playerCounts The player counts to set.
+     */
+    public void setPlayerCounts(List<Integer> playerCounts) {
+        this.playerCounts = playerCounts;
+    }
+
+    /**
+     * Gets the number of games fuzzed for each game type and player count.
+     *
+     * @return The games per cell.
+     */
+    public int getGamesPerCell() {
+        return gamesPerCell;
+    }
+
+    /**
+     * Sets the number of games fuzzed for each game type and player count.
+     *
+     * @param gamesPerCell The games per cell to set.
+     */
+    public void setGamesPerCell(int gamesPerCell) {
+        this.gamesPerCell = gamesPerCell;
+    }
+
+    /**
+     * Gets the number of worker threads.
+     *
+     * @return The thread count.
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Sets the number of worker threads.
+     *
+     * @param threads The thread count to set.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Gets the seed all game and move seeds are derived from.
+     *
+     * @return The run seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the seed all game and move seeds are derived from.
+     *
+     * @param seed The run seed to set.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the share of actions replaced by random, mostly illegal ones.
+     *
+     * @return The noise ratio, between 0 and 1.
+     */
+    public double getNoise() {
+        return noise;
+    }
+
+    /**
+     * Sets the share of actions replaced by random, mostly illegal ones.
+     *
+     * @param noise The noise ratio to set.
+     */
+    public void setNoise(double noise) {
+        this.noise = noise;
+    }
+
+    /**
+     * Gets the number of actions after which a game is abandoned.
+     *
+     * @return The move limit.
+     */
+    public int getMaxMoves() {
+        return maxMoves;
+    }
+
+    /**
+     * Sets the number of actions after which a game is abandoned.
+     *
+     * @param maxMoves The move limit to set.
+     */
+    public void setMaxMoves(int maxMoves) {
+        this.maxMoves = maxMoves;
+    }
+
+    /**
+     * Gets the latency above which an action is recorded as an outlier.
+     *
+     * @return The threshold in microseconds.
+     */
+    public long getOutlierMicros() {
+        return outlierMicros;
+    }
+
+    /**
+     * Sets the latency above which an action is recorded as an outlier.
+     *
+     * @param outlierMicros The threshold in microseconds to set.
+     */
+    public void setOutlierMicros(long outlierMicros) {
+        this.outlierMicros = outlierMicros;
+    }
+
+    /**
+     * Gets the pending effect queue size reported as unbounded growth.
+     *
+     * @return The maximum number of pending effects.
+     */
+    public int getMaxPendingEffects() {
+        return maxPendingEffects;
+    }
+
+    /**
+     * Sets the pending effect queue size reported as unbounded growth.
+     *
+     * @param maxPendingEffects The maximum number of pending effects to set.
+     */
+    public void setMaxPendingEffects(int maxPendingEffects) {
+        this.maxPendingEffects = maxPendingEffects;
+    }
+
+    /**
+     * Gets the stack size of the worker threads. Kept small so deep recursion
+     * overflows during fuzzing rather than in production.
+     *
+     * @return The stack size in kilobytes.
+     */
+    public int getStackKb() {
+        return stackKb;
+    }
+
+    /**
+     * Sets the stack size of the worker threads.
+     *
+     * @param stackKb The stack size in kilobytes to set.
+     */
+    public void setStackKb(int stackKb) {
+        this.stackKb = stackKb;
+    }
+
+    /**
+     * Gets the number of games played per game type before measuring, so JIT
+     * compilation does not show up as latency outliers.
+     *
+     * @return The number of warm-up games.
+     */
+    public int getWarmupGames() {
+        return warmupGames;
+    }
+
+    /**
+     * Sets the number of games played per game type before measuring.
+     *
+     * @param warmupGames The number of warm-up games to set.
+     */
+    public void setWarmupGames(int warmupGames) {
+        this.warmupGames = warmupGames;
+    }
+}
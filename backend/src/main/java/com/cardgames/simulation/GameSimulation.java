@@ -0,0 +1,160 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.AbstractGameEngine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete games of one type in memory, with a simple bot choosing the
+ * move of whichever player has to act. Only the pure rules of the engine are
+ * used, so simulations never touch Redis or WebSocket.
+ *
+ * @param <S> The game state type.
+ */
+public abstract class GameSimulation<S> {
+
+    private static final int MAX_REJECTED_MOVES = 100;
+
+    private final AbstractGameEngine<S> engine;
+
+    protected GameSimulation(AbstractGameEngine<S> engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Gets the engine the games are played with.
+     *
+     * @return The game engine.
+     */
+    public AbstractGameEngine<S> getEngine() {
+        return engine;
+    }
+
+    /**
+     * Gets the game type, as stored on the Game entity.
+     *
+     * @return The game type.
+     */
+    public abstract String getGameType();
+
+    /**
+     * Gets the tunable rule constants of this game and their standard values.
+     *
+     * @return The parameter names mapped to their defaults, in a stable order.
+     */
+    public abstract Map<String, Integer> getDefaultParameters();
+
+    /**
+     * Builds the opening state of a game played with the given rule constants.
+     *
+     * @param playerNames The usernames of the players.
+     * @param seed        The seed of the game.
+     * @param parameters  The rule constants, keyed as in
+     *                    {@link #getDefaultParameters()}.
+     * @return The initialized game state.
+     */
+    public abstract S newGame(List<String> playerNames, long seed, Map<String, Integer> parameters);
+
+    /**
+     * Chooses the next move of the player who has to act.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the simulated players.
+     * @return The move to apply.
+     */
+    public abstract BotMove nextMove(S state, SplittableRandom random);
+
+    /**
+     * Builds a well-formed action with random values from a random player,
+     * usually one the engine must reject. Used to fuzz the engines.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the fuzzer.
+     * @return The move to apply.
+     */
+    public abstract BotMove randomMove(S state, SplittableRandom random);
+
+    /**
+     * Checks the invariants of a state: no card created, lost or held twice,
+     * exactly one valid current player and a consistent phase.
+     *
+     * @param state      The game state to check.
+     * @param violations The list the broken invariants are described in.
+     */
+    public abstract void checkInvariants(S state, List<String> violations);
+
+    /**
+     * Gets the number of effects queued for later resolution, to spot unbounded
+     * growth. Games without such a queue report 0.
+     *
+     * @param state The current game state.
+     * @return The number of pending effects.
+     */
+    public int getPendingEffects(S state) {
+        return 0;
+    }
+
+    /**
+     * Gets the usernames of the players in turn order.
+     *
+     * @param state The current game state.
+     * @return The usernames, indexed by seat.
+     */
+    public abstract List<String> getSeats(S state);
+
+    /**
+     * Gets the final score of a seat, higher being better.
+     *
+     * @param state The final game state.
+     * @param seat  The seat to score.
+     * @return The score of the seat.
+     */
+    public abstract int getScore(S state, int seat);
+
+    /**
+     * Gets the username of the winner.
+     *
+     * @param state The final game state.
+     * @return The winner, or null if there is none.
+     */
+    public abstract String getWinner(S state);
+
+    /**
+     * Plays one game until it ends or the move limit is reached.
+     *
+     * @param playerNames The usernames of the players.
+     * @param seed        The seed of the game.
+     * @param parameters  The rule constants.
+     * @param random      The random stream of the simulated players.
+     * @param maxMoves    The number of accepted actions after which the game is
+     *                    counted as stalled.
+     * @return The outcome of the game.
+     */
+    public SimulatedGame play(List<String> playerNames, long seed, Map<String, Integer> parameters,
+            SplittableRandom random, int maxMoves) {
+        S state = newGame(playerNames, seed, parameters);
+        int moves = 0;
+        int rejected = 0;
+        while (!engine.isGameOver(state) && moves < maxMoves) {
+            BotMove move = nextMove(state, random);
+            if (engine.applyAction(state, move.getSender(), move.getPayload())) {
+                moves++;
+                rejected = 0;
+            } else if (++rejected > MAX_REJECTED_MOVES) {
+                throw new IllegalStateException(getGameType() + " bot keeps sending rejected moves: "
+                        + move.getPayload());
+            }
+        }
+
+        List<String> seats = getSeats(state);
+        int[] scores = new int[seats.size()];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = getScore(state, i);
+        }
+        boolean finished = engine.isGameOver(state);
+        int winnerSeat = finished ? seats.indexOf(getWinner(state)) : -1;
+        return new SimulatedGame(finished, moves, winnerSeat, scores);
+    }
+}
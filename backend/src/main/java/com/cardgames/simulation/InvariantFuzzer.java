@@ -0,0 +1,215 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.AbstractGameEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes bot action streams, mixed with random and mostly illegal actions,
+ * through the engines and checks the invariants of every game after every
+ * step. Besides broken invariants it reports actions that throw, overflow the
+ * deliberately small worker stacks, grow the pending effect queue past a
+ * limit or take longer than the latency threshold.
+ * <p>
+ * Run it from the backend directory, for example:
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=com.cardgames.simulation.InvariantFuzzer \
+ *     -Dexec.args="--games-per-cell=20000 --noise=0.2"
+ * </pre>
+ *
+ * The run exits with status 1 when anything other than a latency outlier is
+ * found. Every finding carries the game and move seeds it was found with.
+ */
+public class InvariantFuzzer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvariantFuzzer.class);
+    private static final int BATCH_SIZE = 100;
+
+    private final Map<String, GameSimulation<?>> simulations = new LinkedHashMap<>();
+
+    public InvariantFuzzer(List<GameSimulation<?>> simulations) {
+        simulations.forEach(s -> this.simulations.put(s.getGameType(), s));
+    }
+
+    public static void main(String[] args) throws Exception {
+        FuzzSettings settings = FuzzSettings.parse(args);
+        Map<String, FuzzReport> reports = new InvariantFuzzer(BalanceAnalyticsJob.defaultSimulations()).run(settings);
+
+        boolean clean = true;
+        for (FuzzReport report : reports.values()) {
+            logger.info("{}: {} actions in {} games ({} finished), {} actions/s per thread, latency p50 < {} ns, "
+                    + "p99 < {} ns, p99.9 < {} ns, {} outliers, max pending effects {}",
+                    report.getGameType(), report.getActions(), report.getGames(), report.getFinishedGames(),
+                    Math.round(report.getActionsPerWorkerSecond()), report.getLatencyPercentile(50),
+                    report.getLatencyPercentile(99), report.getLatencyPercentile(99.9), report.getOutliers(),
+                    report.getMaxPendingEffects());
+            for (FuzzFinding slow : report.getSlowest()) {
+                logger.info("  slow action: {} ns, {}", slow.getNanos(), slow);
+            }
+            for (FuzzFinding finding : report.getFindings()) {
+                logger.warn("  {}", finding);
+                clean = false;
+            }
+        }
+        if (!clean) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Fuzzes every game type and player count of the settings across a pool of
+     * small-stack worker threads.
+     *
+     * @param settings The fuzzing settings.
+     * @return The report of each game type.
+     */
+    public Map<String, FuzzReport> run(FuzzSettings settings) throws InterruptedException {
+        Map<String, FuzzReport> reports = new LinkedHashMap<>();
+        List<Future<FuzzReport>> batches = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(settings.getSeed());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads(),
+                r -> new Thread(null, r, "fuzz-" + threadCount.incrementAndGet(), settings.getStackKb() * 1024L));
+        long start = System.nanoTime();
+        try {
+            for (String gameType : settings.getGameTypes()) {
+                GameSimulation<?> simulation = simulations.get(gameType);
+                if (simulation == null) {
+                    throw new IllegalArgumentException("Unknown game type: " + gameType);
+                }
+                reports.put(gameType, new FuzzReport(gameType));
+                warmUp(simulation, settings);
+
+                for (int players : settings.getPlayerCounts()) {
+                    for (int done = 0; done < settings.getGamesPerCell(); done += BATCH_SIZE) {
+                        int count = Math.min(BATCH_SIZE, settings.getGamesPerCell() - done);
+                        SplittableRandom random = seeds.split();
+                        batches.add(executor.submit(() -> fuzzBatch(simulation, players, count, random, settings)));
+                    }
+                }
+            }
+
+            for (Future<FuzzReport> batch : batches) {
+                FuzzReport report = batch.get();
+                reports.get(report.getGameType()).merge(report);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Fuzzing batch failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long actions = reports.values().stream().mapToLong(FuzzReport::getActions).sum();
+        logger.info("Fuzzed {} actions in {} ms on {} threads: {} actions/s", actions, elapsed / 1_000_000,
+                settings.getThreads(), Math.round(actions * 1_000_000_000.0 / elapsed));
+        return reports;
+    }
+
+    private void warmUp(GameSimulation<?> simulation, FuzzSettings settings) {
+        SplittableRandom random = new SplittableRandom(settings.getSeed());
+        FuzzReport discarded = new FuzzReport(simulation.getGameType());
+        for (int i = 0; i < settings.getWarmupGames(); i++) {
+            int players = settings.getPlayerCounts().get(i % settings.getPlayerCounts().size());
+            fuzzGame(simulation, players, random.nextLong(), random.nextLong(), settings, discarded);
+        }
+    }
+
+    private FuzzReport fuzzBatch(GameSimulation<?> simulation, int players, int count, SplittableRandom random,
+            FuzzSettings settings) {
+        FuzzReport report = new FuzzReport(simulation.getGameType());
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            fuzzGame(simulation, players, random.nextLong(), random.nextLong(), settings, report);
+        }
+        report.addWorkerNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    /**
+     * Fuzzes one game, stopping at the first problem found so that every finding
+     * is reproducible from its seeds.
+     *
+     * @param simulation The simulation of the game type.
+     * @param players    The number of players.
+     * @param gameSeed   The seed the game is dealt from.
+     * @param moveSeed   The seed of the fuzzed move stream.
+     * @param settings   The fuzzing settings.
+     * @param report     The report the results are added to.
+     */
+    public <S> void fuzzGame(GameSimulation<S> simulation, int players, long gameSeed, long moveSeed,
+            FuzzSettings settings, FuzzReport report) {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= players; i++) {
+            names.add("seat" + i);
+        }
+        AbstractGameEngine<S> engine = simulation.getEngine();
+        SplittableRandom random = new SplittableRandom(moveSeed);
+        List<String> violations = new ArrayList<>();
+        long outlierNanos = settings.getOutlierMicros() * 1000;
+
+        S state = simulation.newGame(names, gameSeed, simulation.getDefaultParameters());
+        simulation.checkInvariants(state, violations);
+        if (!violations.isEmpty()) {
+            violations.forEach(v -> report.addFinding(
+                    new FuzzFinding(simulation.getGameType(), v, players, gameSeed, moveSeed, 0, null, 0)));
+            report.addGame(false);
+            return;
+        }
+
+        for (int move = 1; move <= settings.getMaxMoves() && !engine.isGameOver(state); move++) {
+            BotMove next = random.nextDouble() < settings.getNoise() ? simulation.randomMove(state, random)
+                    : simulation.nextMove(state, random);
+
+            long start = System.nanoTime();
+            try {
+                engine.applyAction(state, next.getSender(), next.getPayload());
+            } catch (StackOverflowError e) {
+                StackTraceElement top = e.getStackTrace().length > 0 ? e.getStackTrace()[0] : null;
+                violations.add("stack overflow" + (top == null ? "" : " in " + top.getClassName() + "."
+                        + top.getMethodName()));
+            } catch (RuntimeException e) {
+                violations.add("action threw " + e.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+            long nanos = System.nanoTime() - start;
+
+            report.addAction(nanos);
+            if (nanos > outlierNanos) {
+                report.addOutlier(new FuzzFinding(simulation.getGameType(), "slow action", players, gameSeed,
+                        moveSeed, move, String.valueOf(next.getPayload()), nanos));
+            }
+
+            int pending = simulation.getPendingEffects(state);
+            report.addPendingEffects(pending);
+            if (pending > settings.getMaxPendingEffects()) {
+                violations.add("pending effect queue grew to " + pending);
+            }
+
+            if (violations.isEmpty()) {
+                simulation.checkInvariants(state, violations);
+            }
+            if (!violations.isEmpty()) {
+                for (String violation : violations) {
+                    report.addFinding(new FuzzFinding(simulation.getGameType(), violation, players, gameSeed,
+                            moveSeed, move, next.getSender() + " " + next.getPayload(), nanos));
+                }
+                report.addGame(false);
+                return;
+            }
+        }
+        report.addGame(engine.isGameOver(state));
+    }
+}
@@ -0,0 +1,63 @@
+package com.cardgames.simulation;
+
+/**
+ * The outcome of one simulated game. Seats are numbered in turn order, seat 0
+ * being the first player to act.
+ */
+public class SimulatedGame {
+    private final boolean finished;
+    private final int moves;
+    private final int winnerSeat;
+    private final int[] scores;
+
+    /**
+     * Constructs a new SimulatedGame.
+     *
+     * @param finished   Whether the game reached its end within the move limit.
+     * @param moves      The number of accepted actions.
+     * @param winnerSeat The seat of the winner, or -1 if there is none.
+     * @param scores     The final score of each seat.
+     */
+    public SimulatedGame(boolean finished, int moves, int winnerSeat, int[] scores) {
+        this.finished = finished;
+        this.moves = moves;
+        this.winnerSeat = winnerSeat;
+        this.scores = scores;
+    }
+
+    /**
+     * Checks whether the game reached its end within the move limit.
+     *
+     * @return true if the game finished, false if it stalled.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets the number of accepted actions.
+     *
+     * @return The number of moves.
+     */
+    public int getMoves() {
+        return moves;
+    }
+
+    /**
+     * Gets the seat of the winner.
+     *
+     * @return The winner seat, or -1 if there is none.
+     */
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    /**
+     * Gets the final score of each seat.
+     *
+     * @return The scores, indexed by seat.
+     */
+    public int[] getScores() {
+        return scores;
+    }
+}
@@ -0,0 +1,257 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.SkullKingGameEngine;
+import com.cardgames.model.skullking.SkullKingCard;
+import com.cardgames.model.skullking.SkullKingCardType;
+import com.cardgames.model.skullking.SkullKingColor;
+import com.cardgames.model.skullking.SkullKingPlayer;
+import com.cardgames.model.skullking.SkullKingRules;
+import com.cardgames.model.skullking.SkullKingState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates Skull King games. The bot bids the number of strong cards in its
+ * hand and plays a random card among those the suit-following rule allows.
+ */
+public class SkullKingSimulation extends GameSimulation<SkullKingState> {
+
+    public static final String ROUNDS = "rounds";
+    public static final String POINTS_PER_TRICK = "pointsPerTrick";
+    public static final String ZERO_BID_POINTS_PER_ROUND = "zeroBidPointsPerRound";
+    public static final String POINTS_PER_MISSED_TRICK = "pointsPerMissedTrick";
+
+    private static final int DECK_SIZE = 83;
+    private static final String[] ACTIONS = { "BID", "PLAY_CARD", "PLAYER_READY" };
+
+    private static final int STRONG_BLACK_VALUE = 10;
+    private static final int STRONG_COLOR_VALUE = 13;
+
+    private final SkullKingGameEngine engine;
+
+    public SkullKingSimulation(SkullKingGameEngine engine) {
+        super(engine);
+        this.engine = engine;
+    }
+
+    /**
+     * Gets the game type.
+     *
+     * @return The game type.
+     */
+    @Override
+    public String getGameType() {
+        return "SKULL_KING";
+    }
+
+    /**
+     * Gets the tunable rule constants and their standard values.
+     *
+     * @return The parameter names mapped to their defaults.
+     */
+    @Override
+    public Map<String, Integer> getDefaultParameters() {
+        SkullKingRules rules = new SkullKingRules();
+        Map<String, Integer> parameters = new LinkedHashMap<>();
+        parameters.put(ROUNDS, rules.getRounds());
+        parameters.put(POINTS_PER_TRICK, rules.getPointsPerTrick());
+        parameters.put(ZERO_BID_POINTS_PER_ROUND, rules.getZeroBidPointsPerRound());
+        parameters.put(POINTS_PER_MISSED_TRICK, rules.getPointsPerMissedTrick());
+        return parameters;
+    }
+
+    /**
+     * Builds the opening state of a game played with the given constants.
+     *
+     * @param playerNames The usernames of the players.
+     * @param seed        The seed of the game.
+     * @param parameters  The rule constants.
+     * @return The initialized game state.
+     */
+    @Override
+    public SkullKingState newGame(List<String> playerNames, long seed, Map<String, Integer> parameters) {
+        SkullKingRules rules = new SkullKingRules(parameters.get(ROUNDS), parameters.get(POINTS_PER_TRICK),
+                parameters.get(ZERO_BID_POINTS_PER_ROUND), parameters.get(POINTS_PER_MISSED_TRICK));
+        return engine.newGame(playerNames, seed, rules);
+    }
+
+    /**
+     * Chooses the next move of the player who has to act.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the simulated players.
+     * @return The move to apply.
+     */
+    @Override
+    public BotMove nextMove(SkullKingState state, SplittableRandom random) {
+        Map<String, Object> payload = new HashMap<>();
+
+        if ("BIDDING".equals(state.getPhase())) {
+            for (SkullKingPlayer p : state.getPlayers()) {
+                if (p.getBid() == null) {
+                    payload.put("action", "BID");
+                    payload.put("bid", countStrongCards(p));
+                    return new BotMove(p.getUsername(), payload);
+                }
+            }
+        }
+
+        if ("PLAYING".equals(state.getPhase())) {
+            SkullKingPlayer current = state.getPlayers().get(state.getCurrentPlayerIndex());
+            List<SkullKingCard> playable = playableCards(state, current);
+            payload.put("action", "PLAY_CARD");
+            payload.put("cardId", playable.get(random.nextInt(playable.size())).getId());
+            return new BotMove(current.getUsername(), payload);
+        }
+
+        payload.put("action", "PLAYER_READY");
+        for (SkullKingPlayer p : state.getPlayers()) {
+            if (!state.getReadyPlayers().contains(p.getUsername())) {
+                return new BotMove(p.getUsername(), payload);
+            }
+        }
+        return new BotMove(state.getPlayers().get(0).getUsername(), payload);
+    }
+
+    /**
+     * Builds a random action from a random player, or from a stranger.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the fuzzer.
+     * @return The move to apply.
+     */
+    @Override
+    public BotMove randomMove(SkullKingState state, SplittableRandom random) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("action", ACTIONS[random.nextInt(ACTIONS.length)]);
+        payload.put("bid", random.nextInt(state.getRoundNumber() + 2));
+        payload.put("cardId", String.valueOf(random.nextInt(DECK_SIZE + 1)));
+
+        int index = random.nextInt(state.getPlayers().size() + 1);
+        String sender = index == state.getPlayers().size() ? "stranger"
+                : state.getPlayers().get(index).getUsername();
+        return new BotMove(sender, payload);
+    }
+
+    /**
+     * Checks that every card of the round deck is in the deck, a hand, the
+     * current trick or a completed trick, and that the turn belongs to a valid
+     * seat.
+     *
+     * @param state      The game state to check.
+     * @param violations The list the broken invariants are described in.
+     */
+    @Override
+    public void checkInvariants(SkullKingState state, List<String> violations) {
+        if (state.getDeck() == null) {
+            violations.add("deck is missing");
+            return;
+        }
+        int players = state.getPlayers().size();
+        if (state.getCurrentPlayerIndex() < 0 || state.getCurrentPlayerIndex() >= players) {
+            violations.add("current player index " + state.getCurrentPlayerIndex() + " is not one of "
+                    + players + " seats");
+            return;
+        }
+
+        CardLedger ledger = new CardLedger();
+        state.getDeck().forEach(c -> ledger.add(c.getId(), "deck"));
+        int tricks = 0;
+        for (SkullKingPlayer p : state.getPlayers()) {
+            p.getHand().forEach(c -> ledger.add(c.getId(), p.getUsername() + "'s hand"));
+            if (p.getCardPlayed() != null)
+                ledger.add(p.getCardPlayed().getId(), "the trick");
+            tricks += p.getTricksWon();
+        }
+        if ("TRICK_OVER".equals(state.getPhase()))
+            tricks--;
+
+        int inPlay = ledger.getCount();
+        ledger.check(inPlay, violations);
+        if (inPlay + tricks * players != DECK_SIZE) {
+            violations.add("card conservation: " + inPlay + " cards in play and " + tricks
+                    + " completed tricks from a deck of " + DECK_SIZE);
+        }
+    }
+
+    private int countStrongCards(SkullKingPlayer player) {
+        int strong = 0;
+        for (SkullKingCard c : player.getHand()) {
+            if (c.getType() == SkullKingCardType.SKULL_KING || c.getType() == SkullKingCardType.PIRATE
+                    || c.getType() == SkullKingCardType.MERMAID) {
+                strong++;
+            } else if (c.getType() == SkullKingCardType.NUMBER) {
+                int threshold = c.getColor() == SkullKingColor.BLACK ? STRONG_BLACK_VALUE : STRONG_COLOR_VALUE;
+                if (c.getValue() >= threshold)
+                    strong++;
+            }
+        }
+        return strong;
+    }
+
+    /**
+     * Lists the cards the player may play, following the lead color of the trick
+     * when they hold it, as the engine requires.
+     */
+    private List<SkullKingCard> playableCards(SkullKingState state, SkullKingPlayer player) {
+        SkullKingColor leadColor = null;
+        int count = state.getPlayers().size();
+        for (int i = 0; i < count && leadColor == null; i++) {
+            SkullKingCard played = state.getPlayers().get((state.getTrickStarterIndex() + i) % count).getCardPlayed();
+            if (played != null && played.getType() == SkullKingCardType.NUMBER) {
+                leadColor = played.getColor();
+            }
+        }
+
+        List<SkullKingCard> following = new ArrayList<>();
+        for (SkullKingCard c : player.getHand()) {
+            if (c.getType() != SkullKingCardType.NUMBER || c.getColor() == leadColor) {
+                following.add(c);
+            }
+        }
+        boolean holdsLead = following.stream()
+                .anyMatch(c -> c.getType() == SkullKingCardType.NUMBER);
+        return holdsLead ? following : player.getHand();
+    }
+
+    /**
+     * Gets the usernames of the players in turn order.
+     *
+     * @param state The current game state.
+     * @return The usernames, indexed by seat.
+     */
+    @Override
+    public List<String> getSeats(SkullKingState state) {
+        List<String> seats = new ArrayList<>();
+        state.getPlayers().forEach(p -> seats.add(p.getUsername()));
+        return seats;
+    }
+
+    /**
+     * Gets the total score of a seat.
+     *
+     * @param state The final game state.
+     * @param seat  The seat to score.
+     * @return The total score of the seat.
+     */
+    @Override
+    public int getScore(SkullKingState state, int seat) {
+        return state.getPlayers().get(seat).getScore();
+    }
+
+    /**
+     * Gets the username of the winner.
+     *
+     * @param state The final game state.
+     * @return The winner, or null if there is none.
+     */
+    @Override
+    public String getWinner(SkullKingState state) {
+        return state.getWinner();
+    }
+}
@@ -0,0 +1,273 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.UnoGameEngine;
+import com.cardgames.model.uno.UnoCard;
+import com.cardgames.model.uno.UnoCardColor;
+import com.cardgames.model.uno.UnoCardType;
+import com.cardgames.model.uno.UnoPlayer;
+import com.cardgames.model.uno.UnoRules;
+import com.cardgames.model.uno.UnoState;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Simulates Uno games. The bot plays a random matching colored card, keeps
+ * wild cards for when nothing else fits, picks the color it holds the most of
+ * and always says Uno. The winner scores the standard points of the cards
+ * left in the other hands.
+ */
+public class UnoSimulation extends GameSimulation<UnoState> {
+
+    public static final String HAND_SIZE = "handSize";
+    public static final String UNO_PENALTY = "unoPenalty";
+
+    private static final int DECK_SIZE = 108;
+    private static final String[] ACTIONS = { "PLAY_CARD", "DRAW_CARD", "SELECT_COLOR", "SAY_UNO" };
+    private static final String[] COLOR_NAMES = { "RED", "BLUE", "GREEN", "YELLOW", "NONE", "PINK" };
+
+    private static final UnoCardColor[] COLORS = { UnoCardColor.RED, UnoCardColor.BLUE, UnoCardColor.GREEN,
+            UnoCardColor.YELLOW };
+
+    private final UnoGameEngine engine;
+
+    public UnoSimulation(UnoGameEngine engine) {
+        super(engine);
+        this.engine = engine;
+    }
+
+    /**
+     * Gets the game type.
+     *
+     * @return The game type.
+     */
+    @Override
+    public String getGameType() {
+        return "UNO";
+    }
+
+    /**
+     * Gets the tunable rule constants and their standard values.
+     *
+     * @return The parameter names mapped to their defaults.
+     */
+    @Override
+    public Map<String, Integer> getDefaultParameters() {
+        UnoRules rules = new UnoRules();
+        Map<String, Integer> parameters = new LinkedHashMap<>();
+        parameters.put(HAND_SIZE, rules.getHandSize());
+        parameters.put(UNO_PENALTY, rules.getUnoPenalty());
+        return parameters;
+    }
+
+    /**
+     * Builds the opening state of a game played with the given constants.
+     *
+     * @param playerNames The usernames of the players.
+     * @param seed        The seed of the game.
+     * @param parameters  The rule constants.
+     * @return The initialized game state.
+     */
+    @Override
+    public UnoState newGame(List<String> playerNames, long seed, Map<String, Integer> parameters) {
+        return engine.newGame(playerNames, seed, new UnoRules(parameters.get(HAND_SIZE), parameters.get(UNO_PENALTY)));
+    }
+
+    /**
+     * Chooses the next move of the player who has to act.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the simulated players.
+     * @return The move to apply.
+     */
+    @Override
+    public BotMove nextMove(UnoState state, SplittableRandom random) {
+        UnoPlayer current = state.getPlayers().get(state.getCurrentPlayerIndex());
+        Map<String, Object> payload = new HashMap<>();
+
+        if (state.isWaitingForColorSelection()) {
+            payload.put("action", "SELECT_COLOR");
+            payload.put("color", favoriteColor(current, random).name());
+            return new BotMove(current.getUsername(), payload);
+        }
+
+        List<UnoCard> colored = new ArrayList<>();
+        List<UnoCard> wild = new ArrayList<>();
+        for (UnoCard c : current.getHand()) {
+            if (c.getColor() == UnoCardColor.NONE) {
+                wild.add(c);
+            } else if (isPlayable(state, c)) {
+                colored.add(c);
+            }
+        }
+
+        List<UnoCard> choices = colored.isEmpty() ? wild : colored;
+        if (choices.isEmpty()) {
+            payload.put("action", "DRAW_CARD");
+        } else {
+            payload.put("action", "PLAY_CARD");
+            payload.put("cardId", choices.get(random.nextInt(choices.size())).getId());
+            payload.put("saidUno", current.getHand().size() == 2);
+        }
+        return new BotMove(current.getUsername(), payload);
+    }
+
+    /**
+     * Builds a random action from a random player, or from a stranger.
+     *
+     * @param state  The current game state.
+     * @param random The random stream of the fuzzer.
+     * @return The move to apply.
+     */
+    @Override
+    public BotMove randomMove(UnoState state, SplittableRandom random) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("action", ACTIONS[random.nextInt(ACTIONS.length)]);
+        payload.put("cardId", String.valueOf(random.nextInt(DECK_SIZE + 1)));
+        payload.put("color", COLOR_NAMES[random.nextInt(COLOR_NAMES.length)]);
+        payload.put("saidUno", random.nextBoolean());
+
+        int index = random.nextInt(state.getPlayers().size() + 1);
+        String sender = index == state.getPlayers().size() ? "stranger"
+                : state.getPlayers().get(index).getUsername();
+        return new BotMove(sender, payload);
+    }
+
+    /**
+     * Checks that all cards of the deck are in the draw pile, the discard pile
+     * or a hand exactly once, that the turn belongs to a valid seat and that the
+     * top card is the last discarded one.
+     *
+     * @param state      The game state to check.
+     * @param violations The list the broken invariants are described in.
+     */
+    @Override
+    public void checkInvariants(UnoState state, List<String> violations) {
+        if (state.getDeck() == null || state.getDiscardPile() == null) {
+            violations.add("draw or discard pile is missing");
+            return;
+        }
+        int players = state.getPlayers().size();
+        if (state.getCurrentPlayerIndex() < 0 || state.getCurrentPlayerIndex() >= players) {
+            violations.add("current player index " + state.getCurrentPlayerIndex() + " is not one of "
+                    + players + " seats");
+            return;
+        }
+        if (state.getDirection() != 1 && state.getDirection() != -1) {
+            violations.add("direction is " + state.getDirection());
+        }
+
+        CardLedger ledger = new CardLedger();
+        state.getDeck().forEach(c -> ledger.add(c.getId(), "draw pile"));
+        state.getDiscardPile().forEach(c -> ledger.add(c.getId(), "discard pile"));
+        for (UnoPlayer p : state.getPlayers()) {
+            p.getHand().forEach(c -> ledger.add(c.getId(), p.getUsername() + "'s hand"));
+        }
+        ledger.check(DECK_SIZE, violations);
+
+        List<UnoCard> discard = state.getDiscardPile();
+        if (discard.isEmpty() || discard.get(discard.size() - 1) != state.getCurrentTopCard()) {
+            violations.add("top card is not the last discarded card");
+        }
+
+        if (state.isWaitingForColorSelection() && !state.isGameOver()) {
+            String current = state.getPlayers().get(state.getCurrentPlayerIndex()).getUsername();
+            if (!current.equals(state.getPendingActionInitiator())) {
+                violations.add("color selection waits on " + state.getPendingActionInitiator()
+                        + " but the turn belongs to " + current);
+            }
+        }
+    }
+
+    /**
+     * Checks a colored card against the top of the discard pile, with the same
+     * matching rules as the engine.
+     */
+    private boolean isPlayable(UnoState state, UnoCard card) {
+        UnoCard top = state.getCurrentTopCard();
+        if (card.getColor() == state.getCurrentColor())
+            return true;
+        if (card.getValue() != null && top.getValue() != null && card.getValue().equals(top.getValue()))
+            return true;
+        return card.getType() == top.getType() && card.getType() != UnoCardType.NUMBER;
+    }
+
+    private UnoCardColor favoriteColor(UnoPlayer player, SplittableRandom random) {
+        int[] counts = new int[COLORS.length];
+        for (UnoCard c : player.getHand()) {
+            for (int i = 0; i < COLORS.length; i++) {
+                if (c.getColor() == COLORS[i])
+                    counts[i]++;
+            }
+        }
+        int best = random.nextInt(COLORS.length);
+        for (int i = 0; i < COLORS.length; i++) {
+            if (counts[i] > counts[best])
+                best = i;
+        }
+        return COLORS[best];
+    }
+
+    /**
+     * Gets the usernames of the players in turn order.
+     *
+     * @param state The current game state.
+     * @return The usernames, indexed by seat.
+     */
+    @Override
+    public List<String> getSeats(UnoState state) {
+        List<String> seats = new ArrayList<>();
+        state.getPlayers().forEach(p -> seats.add(p.getUsername()));
+        return seats;
+    }
+
+    /**
+     * Gets the points a seat scored: the winner takes the value of every card
+     * left in the other hands, the others score nothing.
+     *
+     * @param state The final game state.
+     * @param seat  The seat to score.
+     * @return The points of the seat.
+     */
+    @Override
+    public int getScore(UnoState state, int seat) {
+        UnoPlayer player = state.getPlayers().get(seat);
+        if (!player.getUsername().equals(state.getWinner()))
+            return 0;
+
+        int points = 0;
+        for (UnoPlayer p : state.getPlayers()) {
+            for (UnoCard c : p.getHand()) {
+                points += cardPoints(c);
+            }
+        }
+        return points;
+    }
+
+    private int cardPoints(UnoCard card) {
+        switch (card.getType()) {
+            case NUMBER:
+                return card.getValue();
+            case WILD:
+            case WILD_DRAW_FOUR:
+                return 50;
+            default:
+                return 20;
+        }
+    }
+
+    /**
+     * Gets the username of the winner.
+     *
+     * @param state The final game state.
+     * @return The winner, or null if there is none.
+     */
+    @Override
+    public String getWinner(UnoState state) {
+        return state.getWinner();
+    }
+}
@@ -1,8 +1,13 @@
 package com.cardgames.websocket.controller;
 
 import com.cardgames.engine.GameEngineHandler;
+import com.cardgames.metrics.ActionFlightRecorder;
+import com.cardgames.metrics.GameMetrics;
+import com.cardgames.metrics.jfr.ActionReceivedEvent;
 import com.cardgames.service.LobbyService;
+import com.cardgames.websocket.interceptor.ActionTraceInterceptor;
 import com.cardgames.websocket.model.Action;
+import com.cardgames.websocket.model.ActionTrace;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +18,9 @@ import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Controller;
 
+import java.util.Map;
+import java.util.Set;
+
 @Controller
 public class ActionController {
 
@@ -27,19 +35,30 @@ public class ActionController {
     @Autowired
     private GameEngineHandler gameEngineHandler;
 
+    @Autowired
+    private GameMetrics gameMetrics;
+
+    @Autowired
+    private ActionFlightRecorder flightRecorder;
+
     /**
      * Handles incoming messages from clients, routing them to the appropriate
-     * handler (Game Engine or Chat).
+     * handler (Game Engine or Chat). Game actions get an {@link ActionTrace}
+     * that starts when the frame was received and is sent back with the
+     * GAME_UPDATE, and are kept in the {@link ActionFlightRecorder} once
+     * handled.
      *
-     * @param gameId The ID of the game session.
-     * @param action The action object sent by the client.
+     * @param gameId         The ID of the game session.
+     * @param action         The action object sent by the client.
+     * @param headerAccessor Accessor for the headers of the frame.
      * @return The original action object.
      */
     @MessageMapping("/action/{gameId}/sendMessage")
-    public Action sendMessage(@DestinationVariable String gameId, @Payload Action action) {
-        logger.info("Received action from client for game {}: sender={}, payload={}, type={}", gameId,
-                action.getSender(),
-                action.getPayload(), action.getType());
+    public Action sendMessage(@DestinationVariable String gameId, @Payload Action action,
+            SimpMessageHeaderAccessor headerAccessor) {
+        ActionReceivedEvent event = new ActionReceivedEvent();
+        event.begin();
+        startTrace(action, headerAccessor);
 
         if (action.getGameId() == null) {
             action.setGameId(Long.parseLong(gameId));
@@ -48,9 +67,20 @@ public class ActionController {
         if (Action.ActionType.GAME_ACTION.equals(action.getType())
                 || Action.ActionType.SYNC_REQUEST.equals(action.getType())) {
             gameEngineHandler.handleAction(action);
+            flightRecorder.record(action);
         } else {
             messagingTemplate.convertAndSend("/topic/lobby/" + gameId + "/chat", action);
         }
+
+        event.end();
+        if (event.shouldCommit()) {
+            Map<String, Object> payload = action.getPayload();
+            event.setGame(action.getGameType(), action.getGameId());
+            event.setMessageType(String.valueOf(action.getType()));
+            event.setAction(payload == null ? null : String.valueOf(payload.get("action")));
+            event.setPayloadEntries(payload == null ? 0 : payload.size());
+            event.commit();
+        }
         return action;
     }
 
@@ -74,10 +104,23 @@ public class ActionController {
         Long gId = Long.parseLong(gameId);
         lobbyService.addPlayer(gId, action.getSender());
 
-        messagingTemplate.convertAndSend("/topic/lobby/" + gameId, lobbyService.getPlayers(gId));
+        Set<String> players = lobbyService.getPlayers(gId);
+        gameMetrics.recordLobbySize(gId, players == null ? 0 : players.size());
+        messagingTemplate.convertAndSend("/topic/lobby/" + gameId, players);
 
         messagingTemplate.convertAndSend("/topic/lobby/" + gameId + "/chat", action);
 
         return action;
     }
+
+    private void startTrace(Action action, SimpMessageHeaderAccessor headerAccessor) {
+        Object receivedAt = headerAccessor.getHeader(ActionTraceInterceptor.RECEIVED_AT_HEADER);
+        Object receivedNanos = headerAccessor.getHeader(ActionTraceInterceptor.RECEIVED_NANOS_HEADER);
+        ActionTrace trace = receivedAt instanceof Long at && receivedNanos instanceof Long nanos
+                ? ActionTrace.start(action.getCorrelationId(), at, nanos)
+                : ActionTrace.start(action.getCorrelationId());
+        trace.markDequeued();
+        action.setCorrelationId(trace.getCorrelationId());
+        action.setTrace(trace);
+    }
 }
@@ -0,0 +1,48 @@
+package com.cardgames.websocket.interceptor;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stamps every SEND frame with the time it was received, on the WebSocket
+ * thread and before it waits in the inbound queue, so the action controller can
+ * start its {@link com.cardgames.websocket.model.ActionTrace} from there.
+ */
+@Component
+public class ActionTraceInterceptor implements ChannelInterceptor {
+
+    public static final String RECEIVED_AT_HEADER = "cardgames.receivedAt";
+    public static final String RECEIVED_NANOS_HEADER = "cardgames.receivedNanos";
+
+    /**
+     * Adds the receive time headers to SEND frames.
+     *
+     * @param message The message received from a client.
+     * @param channel The client inbound channel.
+     * @return The message with the receive time headers.
+     */
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SEND) {
+            return message;
+        }
+        long receivedNanos = System.nanoTime();
+        long receivedAt = System.currentTimeMillis();
+        if (accessor.isMutable()) {
+            accessor.setHeader(RECEIVED_AT_HEADER, receivedAt);
+            accessor.setHeader(RECEIVED_NANOS_HEADER, receivedNanos);
+            return message;
+        }
+        return MessageBuilder.fromMessage(message)
+                .setHeader(RECEIVED_AT_HEADER, receivedAt)
+                .setHeader(RECEIVED_NANOS_HEADER, receivedNanos)
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.cardgames.websocket.listener;
 
+import com.cardgames.metrics.CapacityTracker;
+import com.cardgames.metrics.GameMetrics;
 import com.cardgames.service.LobbyService;
 import com.cardgames.websocket.model.Action;
 import org.slf4j.Logger;
@@ -26,13 +28,22 @@ public class WebSocketEventListener {
     @Autowired
     private LobbyService lobbyService;
 
+    @Autowired
+    private GameMetrics gameMetrics;
+
+    @Autowired
+    private CapacityTracker capacityTracker;
+
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         logger.info("Received a new web socket connection");
+        gameMetrics.sessionConnected();
     }
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
+        gameMetrics.sessionDisconnected();
+        capacityTracker.sampleIdleHeap(gameMetrics.getConnectedSessions());
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
 
         String username = (String) Objects.requireNonNull(headerAccessor.getSessionAttributes()).get("username");
@@ -52,6 +63,7 @@ public class WebSocketEventListener {
 
             // Broadcast updated user list
             Set<String> players = lobbyService.getPlayers(gameId);
+            gameMetrics.recordLobbySize(gameId, players == null ? 0 : players.size());
             messagingTemplate.convertAndSend("/topic/lobby/" + gameId, players);
         }
     }
@@ -1,5 +1,7 @@
 package com.cardgames.websocket.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.Map;
 
 public class Action {
@@ -8,6 +10,9 @@ public class Action {
     private Long gameId;
     private ActionType type;
     private String gameType;
+    private String correlationId;
+    @JsonIgnore
+    private ActionTrace trace;
 
     public enum ActionType {
         CHAT,
@@ -58,4 +63,20 @@ public class Action {
     public void setGameType(String gameType) {
         this.gameType = gameType;
     }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public void setCorrelationId(String correlationId) {
+        this.correlationId = correlationId;
+    }
+
+    public ActionTrace getTrace() {
+        return trace;
+    }
+
+    public void setTrace(ActionTrace trace) {
+        this.trace = trace;
+    }
 }
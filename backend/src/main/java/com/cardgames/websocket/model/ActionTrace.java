@@ -0,0 +1,201 @@
+package com.cardgames.websocket.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Correlation ID and stage timings of one inbound action, sent back with the
+ * GAME_UPDATE it caused. {@code receivedAt} is wall-clock time so clients can
+ * line it up with their own clock; every stage is the number of microseconds
+ * since the frame was received, measured with {@link System#nanoTime()}.
+ * Stages the action did not go through, such as saving a sync request, stay
+ * null. The size of the saved state is kept for the flight recorder but not
+ * sent to clients.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ActionTrace {
+
+    private String correlationId;
+    private long receivedAt;
+    private Long dequeuedMicros;
+    private Long loadedMicros;
+    private Long appliedMicros;
+    private Long savedMicros;
+    private Long broadcastMicros;
+    private long receivedNanos;
+    private Integer stateSize;
+
+    /**
+     * Starts the trace of an action.
+     *
+     * @param correlationId The ID chosen by the client, or null to generate one.
+     * @param receivedAt    The wall-clock time the frame was received, in
+     *                      milliseconds since the epoch.
+     * @param receivedNanos The {@link System#nanoTime()} the frame was received.
+     * @return The trace.
+     */
+    public static ActionTrace start(String correlationId, long receivedAt, long receivedNanos) {
+        ActionTrace trace = new ActionTrace();
+        trace.correlationId = correlationId != null && !correlationId.isBlank() ? correlationId : newCorrelationId();
+        trace.receivedAt = receivedAt;
+        trace.receivedNanos = receivedNanos;
+        return trace;
+    }
+
+    /**
+     * Starts the trace of an action received now.
+     *
+     * @param correlationId The ID chosen by the client, or null to generate one.
+     * @return The trace.
+     */
+    public static ActionTrace start(String correlationId) {
+        return start(correlationId, System.currentTimeMillis(), System.nanoTime());
+    }
+
+    /**
+     * Generates a correlation ID. It only has to tell apart the actions in
+     * flight and in the logs of the last days, so it is drawn from
+     * {@link ThreadLocalRandom} rather than a secure random UUID.
+     *
+     * @return A random base 36 ID.
+     */
+    public static String newCorrelationId() {
+        return Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, Character.MAX_RADIX);
+    }
+
+    /**
+     * Marks the action as taken off the inbound queue and converted.
+     */
+    public void markDequeued() {
+        dequeuedMicros = elapsedMicros();
+    }
+
+    /**
+     * Marks the game state as loaded.
+     */
+    public void markLoaded() {
+        loadedMicros = elapsedMicros();
+    }
+
+    /**
+     * Marks the rules as applied to the state.
+     */
+    public void markApplied() {
+        appliedMicros = elapsedMicros();
+    }
+
+    /**
+     * Marks the new state as saved.
+     */
+    public void markSaved() {
+        savedMicros = elapsedMicros();
+    }
+
+    /**
+     * Marks the update as handed to the broadcast.
+     */
+    public void markBroadcast() {
+        broadcastMicros = elapsedMicros();
+    }
+
+    /**
+     * Sets the size of the state saved for the action.
+     *
+     * @param stateSize The length of the state JSON.
+     */
+    public void setStateSize(Integer stateSize) {
+        this.stateSize = stateSize;
+    }
+
+    /**
+     * Gets the time elapsed since the frame was received.
+     *
+     * @return The elapsed time in microseconds.
+     */
+    public long elapsedMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - receivedNanos);
+    }
+
+    /**
+     * Gets the correlation ID.
+     *
+     * @return The correlation ID.
+     */
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    /**
+     * Gets the wall-clock time the frame was received.
+     *
+     * @return The time in milliseconds since the epoch.
+     */
+    public long getReceivedAt() {
+        return receivedAt;
+    }
+
+    /**
+     * Gets when the action was taken off the inbound queue.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getDequeuedMicros() {
+        return dequeuedMicros;
+    }
+
+    /**
+     * Gets when the game state was loaded.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getLoadedMicros() {
+        return loadedMicros;
+    }
+
+    /**
+     * Gets when the rules were applied.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getAppliedMicros() {
+        return appliedMicros;
+    }
+
+    /**
+     * Gets when the new state was saved.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getSavedMicros() {
+        return savedMicros;
+    }
+
+    /**
+     * Gets when the update was handed to the broadcast.
+     *
+     * @return Microseconds since received, or null.
+     */
+    public Long getBroadcastMicros() {
+        return broadcastMicros;
+    }
+
+    /**
+     * Gets the size of the state saved for the action.
+     *
+     * @return The length of the state JSON, or null if nothing was saved.
+     */
+    @JsonIgnore
+    public Integer getStateSize() {
+        return stateSize;
+    }
+
+    @Override
+    public String toString() {
+        return "correlationId=" + correlationId + ", dequeued=" + dequeuedMicros + "us, loaded=" + loadedMicros
+                + "us, applied=" + appliedMicros + "us, saved=" + savedMicros + "us, broadcast=" + broadcastMicros
+                + "us";
+    }
+}
@@ -0,0 +1,68 @@
+package com.cardgames.config;
+
+import com.cardgames.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionSerializerTest {
+
+    private final SessionSerializer serializer = new SessionSerializer();
+
+    @Test
+    public void testRoundTrip_UserContextWithoutPassword() {
+        User user = new User();
+        user.setId(42L);
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("$2a$10$hash");
+        SecurityContext context = new SecurityContextImpl(new UsernamePasswordAuthenticationToken(user, null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        byte[] bytes = serializer.serialize(context);
+        SecurityContext restored = (SecurityContext) serializer.deserialize(bytes);
+
+        assertTrue(bytes.length < 64, "serialized to " + bytes.length + " bytes");
+        assertTrue(restored.getAuthentication().isAuthenticated());
+        User principal = (User) restored.getAuthentication().getPrincipal();
+        assertEquals(42L, principal.getId());
+        assertEquals("alice", principal.getUsername());
+        assertEquals("alice@example.com", principal.getEmail());
+        assertNull(principal.getPassword());
+        assertEquals("ROLE_USER", restored.getAuthentication().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    public void testRoundTrip_SessionTimestampsAndStrings() {
+        assertEquals(1_700_000_000_000L, serializer.deserialize(serializer.serialize(1_700_000_000_000L)));
+        assertEquals(1800, serializer.deserialize(serializer.serialize(1800)));
+        assertEquals("été", serializer.deserialize(serializer.serialize("été")));
+    }
+
+    @Test
+    public void testRoundTrip_OtherSerializableValueFallsBackToJava() {
+        ArrayList<String> value = new ArrayList<>(List.of("a", "b"));
+
+        assertEquals(value, serializer.deserialize(serializer.serialize(value)));
+    }
+
+    @Test
+    public void testNull_IsEmpty() {
+        assertEquals(0, serializer.serialize(null).length);
+        assertNull(serializer.deserialize(new byte[0]));
+        assertNull(serializer.deserialize(null));
+    }
+
+    @Test
+    public void testDeserialize_UnknownTagFails() {
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[] { 99 }));
+    }
+}
@@ -1,6 +1,7 @@
 package com.cardgames.controller;
 
 import com.cardgames.model.User;
+import com.cardgames.model.exception.ServiceBusyException;
 import com.cardgames.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -19,6 +20,7 @@ import java.util.Map;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AuthController.class)
@@ -98,4 +100,20 @@ class AuthControllerTest {
                 .content(objectMapper.writeValueAsString(payload)))
                 .andExpect(status().is4xxClientError());
     }
+
+    @Test
+    void login_HashingSaturated() throws Exception {
+        Map<String, String> payload = new HashMap<>();
+        payload.put("email", "test@test.com");
+        payload.put("password", "pass");
+
+        when(userService.verifyUser(anyString(), anyString()))
+                .thenThrow(new ServiceBusyException("Too many logins at once, please retry in a moment"));
+
+        mockMvc.perform(post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(payload)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+    }
 }
@@ -3,9 +3,11 @@ package com.cardgames.controller;
 import com.cardgames.dto.CreateGameRequest;
 import com.cardgames.dto.GameResponse;
 import com.cardgames.dto.JoinGameRequest;
+import com.cardgames.dto.ReplayResponse;
 import com.cardgames.model.GameStatus;
 import com.cardgames.model.User;
 import com.cardgames.service.GameService;
+import com.cardgames.service.ReplayService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -20,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -38,6 +41,9 @@ public class GameControllerTest {
     @MockitoBean
     private GameService gameService;
 
+    @MockitoBean
+    private ReplayService replayService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -109,4 +115,17 @@ public class GameControllerTest {
         mockMvc.perform(post("/game/1/start"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    public void testGetReplay() throws Exception {
+        ReplayResponse response = new ReplayResponse(1L, 3, 10, null);
+
+        when(replayService.getStateAt(anyLong(), anyInt(), any(User.class))).thenReturn(response);
+
+        mockMvc.perform(get("/game/1/replay")
+                .param("move", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.move").value(3))
+                .andExpect(jsonPath("$.totalMoves").value(10));
+    }
 }
@@ -0,0 +1,94 @@
+package com.cardgames.controller;
+
+import com.cardgames.dto.LeaderboardEntry;
+import com.cardgames.model.User;
+import com.cardgames.service.LeaderboardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(LeaderboardController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class LeaderboardControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("testPlayer");
+
+        Authentication authentication = mock(Authentication.class);
+        when(authentication.getPrincipal()).thenReturn(user);
+
+        SecurityContext securityContext = mock(SecurityContext.class);
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    @Test
+    public void testGetTop() throws Exception {
+        when(leaderboardService.getTop("UNO", 0, 20))
+                .thenReturn(List.of(new LeaderboardEntry(1L, "alice", 12), new LeaderboardEntry(2L, "bob", 9)));
+
+        mockMvc.perform(get("/leaderboard/UNO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].username").value("alice"))
+                .andExpect(jsonPath("$[1].rank").value(2));
+    }
+
+    @Test
+    public void testGetTop_InvalidLimit() throws Exception {
+        when(leaderboardService.getTop("UNO", 0, 500)).thenThrow(new RuntimeException("Limit must be between 1 and 100"));
+
+        mockMvc.perform(get("/leaderboard/UNO").param("limit", "500"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void testGetAroundMe() throws Exception {
+        when(leaderboardService.getAround("UNO", "testPlayer", 2))
+                .thenReturn(List.of(new LeaderboardEntry(7L, "testPlayer", 4)));
+
+        mockMvc.perform(get("/leaderboard/UNO/around-me").param("radius", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value(7));
+    }
+
+    @Test
+    public void testGetMyRank() throws Exception {
+        when(leaderboardService.getRank("UNO", "testPlayer")).thenReturn(new LeaderboardEntry(7L, "testPlayer", 4));
+
+        mockMvc.perform(get("/leaderboard/UNO/me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points").value(4));
+    }
+
+    @Test
+    public void testGetMyRank_NotRanked() throws Exception {
+        when(leaderboardService.getRank("UNO", "testPlayer")).thenReturn(null);
+
+        mockMvc.perform(get("/leaderboard/UNO/me"))
+                .andExpect(status().isNotFound());
+    }
+}
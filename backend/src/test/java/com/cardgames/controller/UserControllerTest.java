@@ -1,7 +1,12 @@
 package com.cardgames.controller;
 
+import com.cardgames.dto.MatchHistoryEntry;
+import com.cardgames.dto.MatchHistoryPage;
 import com.cardgames.model.User;
+import com.cardgames.model.UserStats;
+import com.cardgames.service.MatchHistoryService;
 import com.cardgames.service.UserService;
+import com.cardgames.service.UserStatsService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -9,12 +14,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
@@ -27,6 +40,12 @@ class UserControllerTest {
     @MockitoBean
     private UserService userService;
 
+    @MockitoBean
+    private UserStatsService userStatsService;
+
+    @MockitoBean
+    private MatchHistoryService matchHistoryService;
+
     @Test
     @WithMockUser
     void getAllUsers() throws Exception {
@@ -54,4 +73,55 @@ class UserControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.username").value("testuser"));
     }
+
+    @Test
+    @WithMockUser
+    void getUserStats() throws Exception {
+        UserStats stats = new UserStats();
+        stats.setUserId(1L);
+        stats.setGameType("UNO");
+        stats.setGamesPlayed(4);
+        stats.setWins(1);
+
+        when(userStatsService.getStats(1L)).thenReturn(List.of(stats));
+
+        mockMvc.perform(get("/users/1/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].gameType").value("UNO"))
+                .andExpect(jsonPath("$[0].winRate").value(0.25));
+    }
+
+    @Test
+    @WithMockUser
+    void getMatchHistory() throws Exception {
+        MatchHistoryEntry game = new MatchHistoryEntry();
+        game.setGameId(42L);
+        game.setGameType("UNO");
+
+        when(matchHistoryService.getHistory(1L, "abc", 10)).thenReturn(new MatchHistoryPage(List.of(game), "def"));
+
+        mockMvc.perform(get("/users/1/games").param("cursor", "abc").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.games[0].gameId").value(42))
+                .andExpect(jsonPath("$.nextCursor").value("def"));
+    }
+
+    @Test
+    @WithMockUser
+    void exportMatchHistory() throws Exception {
+        when(matchHistoryService.exportHistory(eq(1L), any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"gameId\":42}\n".getBytes());
+            return 1;
+        });
+
+        MvcResult result = mockMvc.perform(get("/users/1/games/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"gameId\":42}\n"));
+    }
 }
@@ -0,0 +1,106 @@
+package com.cardgames.engine;
+
+import com.cardgames.simulation.BalanceAnalyticsJob;
+import com.cardgames.simulation.BotMove;
+import com.cardgames.simulation.GameSimulation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Fails when the rules of a game allocate more per accepted action than the
+ * budget recorded in allocation-budgets.properties. Scripted games are
+ * recorded once from the simulation bots, then replayed several times, and
+ * the replay allocating least in applyAction is kept: earlier replays still
+ * run interpreted code, and other tests sharing the JVM can leave the JIT
+ * with a profile that defeats escape analysis for a while.
+ */
+public class AllocationBudgetTest {
+
+    private static final List<String> PLAYERS = List.of("p1", "p2", "p3", "p4");
+    private static final int GAMES = 8;
+    private static final int MAX_MOVES = 2000;
+    private static final int REPLAYS = 20;
+
+    private static final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Properties budgets;
+
+    @BeforeAll
+    public static void loadBudgets() throws IOException {
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(in, "allocation-budgets.properties is missing");
+            budgets.load(in);
+        }
+    }
+
+    @Test
+    public void testApplyAction_StaysWithinAllocationBudget() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled(),
+                "Thread allocation counters are not available on this JVM");
+
+        List<String> overBudget = new ArrayList<>();
+        List<String> measured = new ArrayList<>();
+        for (GameSimulation<?> simulation : BalanceAnalyticsJob.defaultSimulations()) {
+            long budget = Long.parseLong(budgets.getProperty(simulation.getGameType()));
+            long bytesPerAction = measure(simulation);
+            measured.add(simulation.getGameType() + "=" + bytesPerAction);
+            if (bytesPerAction > budget) {
+                overBudget.add(simulation.getGameType() + ": " + bytesPerAction + " > " + budget + " bytes");
+            }
+        }
+        assertTrue(overBudget.isEmpty(),
+                "Allocation per action over budget: " + overBudget + ", measured bytes per action: " + measured);
+    }
+
+    private static <S> long measure(GameSimulation<S> simulation) {
+        List<List<BotMove>> scripts = new ArrayList<>();
+        for (long seed = 1; seed <= GAMES; seed++) {
+            scripts.add(record(simulation, seed));
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int replay = 0; replay < REPLAYS; replay++) {
+            long bytes = 0;
+            long actions = 0;
+            for (int game = 0; game < GAMES; game++) {
+                S state = simulation.newGame(PLAYERS, game + 1, simulation.getDefaultParameters());
+                for (BotMove move : scripts.get(game)) {
+                    long before = threads.getCurrentThreadAllocatedBytes();
+                    simulation.getEngine().applyAction(state, move.getSender(), move.getPayload());
+                    bytes += threads.getCurrentThreadAllocatedBytes() - before;
+                    actions++;
+                }
+            }
+            best = Math.min(best, bytes / actions);
+        }
+        return best;
+    }
+
+    private static <S> List<BotMove> record(GameSimulation<S> simulation, long seed) {
+        AbstractGameEngine<S> engine = simulation.getEngine();
+        S state = simulation.newGame(PLAYERS, seed, simulation.getDefaultParameters());
+        SplittableRandom random = new SplittableRandom(seed);
+        List<BotMove> script = new ArrayList<>();
+        while (!engine.isGameOver(state) && script.size() < MAX_MOVES) {
+            BotMove move = simulation.nextMove(state, random);
+            if (engine.applyAction(state, move.getSender(), move.getPayload())) {
+                script.add(move);
+            }
+        }
+        return script;
+    }
+}
@@ -1,6 +1,7 @@
 package com.cardgames.engine;
 
 import com.cardgames.model.flipseven.*;
+import com.cardgames.service.ActionLogService;
 import com.cardgames.service.LobbyService;
 import com.cardgames.websocket.model.Action;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -37,6 +38,9 @@ public class FlipSevenGameEngineTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ActionLogService actionLogService;
+
     @InjectMocks
     private FlipSevenGameEngine gameEngine;
 
@@ -47,6 +51,7 @@ public class FlipSevenGameEngineTest {
     public void setUp() {
         MockitoAnnotations.openMocks(this);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(actionLogService.recordWithState(any(), any(), any(), any(), any(), any())).thenReturn(true);
 
         testState = new FlipSevenState();
         testState.setPlayers(new ArrayList<>());
@@ -76,10 +81,28 @@ public class FlipSevenGameEngineTest {
 
         verify(lobbyService, times(1)).getPlayers(gameId);
         verify(redisTemplate.opsForValue(), times((1))).set(anyString(), anyString()); // Saved state
+        verify(actionLogService, times(1)).recordStart(eq(gameId), anyList(), anyLong());
         // Broadcasts: Initial state
         verify(messagingTemplate, atLeastOnce()).convertAndSend(anyString(), any(Action.class));
     }
 
+
+    @Test
+    public void testNewGame_SameSeedDealsSameCards() {
+        FlipSevenState first = gameEngine.newGame(List.of("player1", "player2"), 42L);
+        FlipSevenState second = gameEngine.newGame(List.of("player1", "player2"), 42L);
+        FlipSevenState other = gameEngine.newGame(List.of("player1", "player2"), 43L);
+
+        assertEquals(42L, first.getSeed());
+        assertEquals(first.getRngState(), second.getRngState());
+        assertEquals(first.getDeck().stream().map(Card::getId).toList(),
+                second.getDeck().stream().map(Card::getId).toList());
+        assertEquals(first.getPlayers().get(0).getHand().get(0).getId(),
+                second.getPlayers().get(0).getHand().get(0).getId());
+        assertNotEquals(first.getDeck().stream().map(Card::getId).toList(),
+                other.getDeck().stream().map(Card::getId).toList());
+    }
+
     @Test
     public void testHandleAction_Hit_Normal() throws JsonProcessingException {
         // Setup P1 Hand
@@ -96,7 +119,8 @@ public class FlipSevenGameEngineTest {
         // Wait, logic: handleHit removes from deck. Deck has 10, 5.
         // P1 gets 10. Hand: [2, 10]. Score 12.
 
-        verify(valueOperations, atLeastOnce()).set(anyString(), anyString());
+        verify(actionLogService, times(1)).recordWithState(eq(gameId), eq(action), anyString(), eq("json_state"),
+                eq("new_json_state"), any());
         // Verify broadcast
         verify(messagingTemplate, atLeastOnce()).convertAndSend(anyString(), any(Action.class));
     }
@@ -161,7 +185,7 @@ public class FlipSevenGameEngineTest {
         gameEngine.handleAction(action);
 
         // Should be pending target selection
-        assertEquals("FREEZE_SELECTION", testState.getPendingActionType());
+        assertEquals(PendingActionType.FREEZE_SELECTION, testState.getPendingActionType());
         assertEquals("player1", testState.getPendingActionInitiator());
 
         // Turn NOT advanced yet
@@ -171,7 +195,7 @@ public class FlipSevenGameEngineTest {
     @Test
     public void testHandleAction_SelectTarget_Freeze() throws JsonProcessingException {
         // State is waiting for freeze target
-        testState.setPendingActionType("FREEZE_SELECTION");
+        testState.setPendingActionType(PendingActionType.FREEZE_SELECTION);
         testState.setPendingActionInitiator("player1");
         // P1 needs the freeze card in hand to be consumable
         testState.getPlayers().get(0).getHand().add(new Card("99", CardType.ACTION_FREEZE, 0, "Freeze"));
@@ -194,6 +218,41 @@ public class FlipSevenGameEngineTest {
         assertEquals(0, testState.getCurrentPlayerIndex());
     }
 
+    @Test
+    public void testHandleAction_SelectTarget_ByFlip3TargetOutOfTurn() throws JsonProcessingException {
+        // P1 plays Flip 3 on P2, whose first draw is a Freeze
+        testState.setPendingActionType(PendingActionType.FLIP3_SELECTION);
+        testState.setPendingActionInitiator("player1");
+        testState.getPlayers().get(0).getHand().add(new Card("98", CardType.ACTION_FLIP3, 0, "Flip 3"));
+        testState.getDeck().add(0, new Card("99", CardType.ACTION_FREEZE, 0, "Freeze"));
+
+        mockStateLoading();
+
+        Action flip3 = createAction("player1", "SELECT_TARGET");
+        flip3.getPayload().put("target", "player2");
+        gameEngine.handleAction(flip3);
+
+        // The Freeze waits on P2 although the turn is still P1's
+        assertEquals(3, testState.getPlayers().get(1).getHand().size());
+        assertEquals(PendingActionType.FREEZE_SELECTION, testState.getPendingActionType());
+        assertEquals("player2", testState.getPendingActionInitiator());
+        assertEquals(0, testState.getCurrentPlayerIndex());
+
+        // P1 cannot play on while P2 chooses
+        gameEngine.handleAction(createAction("player1", "HIT"));
+        assertEquals(1, testState.getPlayers().get(0).getHand().size());
+
+        Action freeze = createAction("player2", "SELECT_TARGET");
+        freeze.getPayload().put("target", "player1");
+        gameEngine.handleAction(freeze);
+
+        assertFalse(testState.getPlayers().get(0).isRoundActive());
+        assertNull(testState.getPendingActionType());
+        assertEquals(1, testState.getCurrentPlayerIndex());
+        verify(actionLogService, times(2)).recordWithState(eq(gameId), any(Action.class), anyString(), anyString(),
+                anyString(), any());
+    }
+
     @Test
     public void testFlipSeven_Bonus() throws JsonProcessingException {
         // P1 has 6 numbers. Draws 7th unique number -> +15 bonus and Auto-Stay.
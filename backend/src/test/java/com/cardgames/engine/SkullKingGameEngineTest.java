@@ -1,6 +1,7 @@
 package com.cardgames.engine;
 
 import com.cardgames.model.skullking.*;
+import com.cardgames.service.ActionLogService;
 import com.cardgames.service.LobbyService;
 import com.cardgames.websocket.model.Action;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -37,6 +38,9 @@ public class SkullKingGameEngineTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ActionLogService actionLogService;
+
     @InjectMocks
     private SkullKingGameEngine gameEngine;
 
@@ -47,6 +51,7 @@ public class SkullKingGameEngineTest {
     public void setUp() {
         MockitoAnnotations.openMocks(this);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(actionLogService.recordWithState(any(), any(), any(), any(), any(), any())).thenReturn(true);
 
         testState = new SkullKingState();
         testState.setPlayers(new ArrayList<>());
@@ -70,6 +75,19 @@ public class SkullKingGameEngineTest {
         verify(messagingTemplate, atLeastOnce()).convertAndSend(anyString(), any(Action.class));
     }
 
+
+    @Test
+    public void testNewGame_SameSeedDealsSameCards() {
+        SkullKingState first = gameEngine.newGame(List.of("player1", "player2"), 42L);
+        SkullKingState second = gameEngine.newGame(List.of("player1", "player2"), 42L);
+
+        assertEquals(42L, first.getSeed());
+        assertEquals(first.getDeck().stream().map(SkullKingCard::getId).toList(),
+                second.getDeck().stream().map(SkullKingCard::getId).toList());
+        assertEquals(first.getPlayers().get(1).getHand().get(0).getId(),
+                second.getPlayers().get(1).getHand().get(0).getId());
+    }
+
     @Test
     public void testProcessAction_Bid() throws JsonProcessingException {
         // Setup: Waiting for bids
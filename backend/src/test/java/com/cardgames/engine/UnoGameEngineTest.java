@@ -1,19 +1,30 @@
 package com.cardgames.engine;
 
+import com.cardgames.model.GameResult;
+import com.cardgames.model.GameResultPlayer;
 import com.cardgames.model.uno.*;
+import com.cardgames.service.ActionLogService;
+import com.cardgames.service.GameExpiry;
+import com.cardgames.service.GameResultWriter;
 import com.cardgames.service.LobbyService;
+import com.cardgames.simulation.BotMove;
+import com.cardgames.simulation.UnoSimulation;
 import com.cardgames.websocket.model.Action;
+import com.cardgames.websocket.model.ActionTrace;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +48,9 @@ public class UnoGameEngineTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private ActionLogService actionLogService;
+
     @InjectMocks
     private UnoGameEngine gameEngine;
 
@@ -47,6 +61,7 @@ public class UnoGameEngineTest {
     public void setUp() {
         MockitoAnnotations.openMocks(this);
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(actionLogService.recordWithState(any(), any(), any(), any(), any(), any())).thenReturn(true);
 
         testState = new UnoState();
         testState.setPlayers(new ArrayList<>());
@@ -72,6 +87,20 @@ public class UnoGameEngineTest {
         verify(redisTemplate.opsForValue(), times(1)).set(anyString(), anyString());
     }
 
+
+    @Test
+    public void testNewGame_SameSeedDealsSameCards() {
+        UnoState first = gameEngine.newGame(List.of("player1", "player2", "player3"), 42L);
+        UnoState second = gameEngine.newGame(List.of("player1", "player2", "player3"), 42L);
+
+        assertEquals(42L, first.getSeed());
+        assertEquals(first.getPlayers().stream().map(UnoPlayer::getUsername).toList(),
+                second.getPlayers().stream().map(UnoPlayer::getUsername).toList());
+        assertEquals(first.getDeck().stream().map(UnoCard::getId).toList(),
+                second.getDeck().stream().map(UnoCard::getId).toList());
+        assertEquals(first.getCurrentTopCard().getId(), second.getCurrentTopCard().getId());
+    }
+
     @Test
     public void testProcessAction_PlayCard_ColorMatch() throws JsonProcessingException {
         // Setup: Top card RED 5, Current Color RED
@@ -150,6 +179,135 @@ public class UnoGameEngineTest {
         assertEquals(1, testState.getCurrentPlayerIndex());
     }
 
+    @Test
+    public void testHandleAction_UpdateCarriesTrace() throws JsonProcessingException {
+        UnoCard topCard = new UnoCard("1", UnoCardColor.RED, UnoCardType.NUMBER, 5, "5");
+        testState.setCurrentTopCard(topCard);
+        testState.setCurrentColor(UnoCardColor.RED);
+        testState.getPlayers().get(0).getHand().add(new UnoCard("2", UnoCardColor.RED, UnoCardType.NUMBER, 7, "7"));
+        testState.getPlayers().get(0).getHand().add(new UnoCard("3", UnoCardColor.BLUE, UnoCardType.NUMBER, 9, "9"));
+        mockStateLoading();
+
+        Action action = createAction("player1", "PLAY_CARD");
+        action.getPayload().put("cardId", "2");
+        action.setCorrelationId("click-1");
+
+        gameEngine.handleAction(action);
+
+        ArgumentCaptor<Action> update = ArgumentCaptor.forClass(Action.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/lobby/2/game"), update.capture());
+        assertEquals("click-1", update.getValue().getCorrelationId());
+        ActionTrace trace = (ActionTrace) update.getValue().getPayload().get("trace");
+        assertEquals("click-1", trace.getCorrelationId());
+        assertNotNull(trace.getLoadedMicros());
+        assertNotNull(trace.getAppliedMicros());
+        assertNotNull(trace.getSavedMicros());
+        assertNotNull(trace.getBroadcastMicros());
+        assertTrue(trace.getBroadcastMicros() >= trace.getLoadedMicros());
+    }
+
+    @Test
+    public void testHandleAction_LastCardSubmitsResult() throws JsonProcessingException {
+        GameResultWriter gameResultWriter = mock(GameResultWriter.class);
+        ReflectionTestUtils.setField(gameEngine, "gameResultWriter", gameResultWriter);
+        testState.setCurrentTopCard(new UnoCard("1", UnoCardColor.RED, UnoCardType.NUMBER, 5, "5"));
+        testState.setCurrentColor(UnoCardColor.RED);
+        testState.getPlayers().get(0).getHand().add(new UnoCard("2", UnoCardColor.RED, UnoCardType.NUMBER, 7, "7"));
+        testState.getPlayers().get(0).setSaidUno(true);
+        testState.getPlayers().get(1).getHand().add(new UnoCard("3", UnoCardColor.BLUE, UnoCardType.NUMBER, 9, "9"));
+        testState.getPlayers().get(1).getHand().add(new UnoCard("4", UnoCardColor.NONE, UnoCardType.WILD, null, "Wild"));
+        mockStateLoading();
+
+        Action action = createAction("player1", "PLAY_CARD");
+        action.getPayload().put("cardId", "2");
+        gameEngine.handleAction(action);
+
+        ArgumentCaptor<GameResult> result = ArgumentCaptor.forClass(GameResult.class);
+        verify(gameResultWriter).submit(result.capture());
+        assertEquals(gameId, result.getValue().getGameId());
+        assertEquals("UNO", result.getValue().getGameType());
+        assertEquals("player1", result.getValue().getWinner());
+        GameResultPlayer winner = result.getValue().getPlayers().get(0);
+        assertEquals("player1", winner.getUsername());
+        assertEquals(59, winner.getScore());
+        assertEquals(1, winner.getPlacement());
+        assertEquals(2, result.getValue().getPlayers().get(1).getPlacement());
+
+        // Actions after the end of the game do not submit the result again
+        gameEngine.handleAction(createAction("player2", "DRAW_CARD"));
+        verify(gameResultWriter, times(1)).submit(any());
+    }
+
+    @Test
+    public void testHandleAction_StateExpiresSoonerOnceGameIsOver() throws JsonProcessingException {
+        ReflectionTestUtils.setField(gameEngine, "gameExpiry",
+                new GameExpiry(Duration.ofHours(6), Duration.ofMinutes(15)));
+        testState.setCurrentTopCard(new UnoCard("1", UnoCardColor.RED, UnoCardType.NUMBER, 5, "5"));
+        testState.setCurrentColor(UnoCardColor.RED);
+        testState.getPlayers().get(0).getHand().add(new UnoCard("2", UnoCardColor.RED, UnoCardType.NUMBER, 7, "7"));
+        testState.getPlayers().get(0).getHand().add(new UnoCard("3", UnoCardColor.RED, UnoCardType.NUMBER, 8, "8"));
+        testState.getPlayers().get(1).getHand().add(new UnoCard("4", UnoCardColor.BLUE, UnoCardType.NUMBER, 9, "9"));
+        mockStateLoading();
+
+        Action first = createAction("player1", "PLAY_CARD");
+        first.getPayload().put("cardId", "2");
+        gameEngine.handleAction(first);
+        verify(actionLogService).recordWithState(gameId, first, "game:uno:2:state", "json_state", "new_json_state",
+                Duration.ofHours(6));
+
+        testState.setCurrentPlayerIndex(0);
+        testState.getPlayers().get(0).setSaidUno(true);
+        Action last = createAction("player1", "PLAY_CARD");
+        last.getPayload().put("cardId", "3");
+        gameEngine.handleAction(last);
+        verify(actionLogService).recordWithState(gameId, last, "game:uno:2:state", "json_state", "new_json_state",
+                Duration.ofMinutes(15));
+    }
+
+    @Test
+    public void testHandleAction_AppliesAgainWhenStateChangedFirst() throws JsonProcessingException {
+        UnoGameEngine engine = realEngine();
+        Action action = botAction(engine);
+        when(actionLogService.recordWithState(any(), any(), any(), any(), any(), any())).thenReturn(false, true);
+
+        engine.handleAction(action);
+
+        // The first save lost to another action, so the state was loaded again
+        verify(valueOperations, times(2)).get("game:uno:2:state");
+        verify(actionLogService, times(2)).recordWithState(eq(gameId), eq(action), eq("game:uno:2:state"),
+                anyString(), anyString(), any());
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Action.class));
+    }
+
+    @Test
+    public void testHandleAction_DropsActionThatKeepsLosingTheSave() throws JsonProcessingException {
+        UnoGameEngine engine = realEngine();
+        when(actionLogService.recordWithState(any(), any(), any(), any(), any(), any())).thenReturn(false);
+
+        engine.handleAction(botAction(engine));
+
+        verify(actionLogService, times(3)).recordWithState(any(), any(), any(), any(), any(), any());
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Action.class));
+    }
+
+    private UnoGameEngine realEngine() throws JsonProcessingException {
+        ObjectMapper mapper = new ObjectMapper();
+        UnoGameEngine engine = new UnoGameEngine(messagingTemplate, redisTemplate, null, mapper, actionLogService);
+        when(valueOperations.get("game:uno:2:state"))
+                .thenReturn(mapper.writeValueAsString(engine.newGame(List.of("alice", "bob"), 7L)));
+        return engine;
+    }
+
+    private Action botAction(UnoGameEngine engine) {
+        UnoState state = engine.newGame(List.of("alice", "bob"), 7L);
+        BotMove move = new UnoSimulation(engine).nextMove(state, new SplittableRandom(7L));
+        Action action = new Action();
+        action.setGameId(gameId);
+        action.setSender(move.getSender());
+        action.setPayload(move.getPayload());
+        return action;
+    }
+
     private void mockStateLoading() throws JsonProcessingException {
         when(valueOperations.get(anyString())).thenReturn("json_state");
         when(objectMapper.readValue("json_state", UnoState.class)).thenReturn(testState);
@@ -0,0 +1,88 @@
+package com.cardgames.metrics;
+
+import com.cardgames.websocket.model.Action;
+import com.cardgames.websocket.model.ActionTrace;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ActionFlightRecorderTest {
+
+    private static Action action(long gameId, String name) {
+        Action action = new Action();
+        action.setType(Action.ActionType.GAME_ACTION);
+        action.setGameId(gameId);
+        action.setSender("user1");
+        action.setPayload(Map.of("action", name));
+        ActionTrace trace = ActionTrace.start("c-" + gameId);
+        trace.markLoaded();
+        trace.setStateSize(512);
+        action.setTrace(trace);
+        return action;
+    }
+
+    @Test
+    public void testRecord_KeepsTimingsAndStateSize() {
+        ActionFlightRecorder recorder = new ActionFlightRecorder(8, 0);
+
+        recorder.record(action(1, "PLAY_CARD"));
+
+        FlightRecord record = recorder.snapshot().get(0);
+        assertEquals(1L, record.getGameId());
+        assertEquals("user1", record.getSender());
+        assertEquals("PLAY_CARD", record.getAction());
+        assertEquals("c-1", record.getCorrelationId());
+        assertEquals(512, record.getStateSize());
+        assertNull(record.getSavedMicros());
+    }
+
+    @Test
+    public void testSnapshot_NewestFirstAndOverwritesOldest() {
+        ActionFlightRecorder recorder = new ActionFlightRecorder(4, 0);
+        for (long gameId = 1; gameId <= 6; gameId++) {
+            recorder.record(action(gameId, "HIT"));
+        }
+
+        List<FlightRecord> records = recorder.snapshot();
+
+        assertEquals(List.of(6L, 5L, 4L, 3L), records.stream().map(FlightRecord::getGameId).toList());
+    }
+
+    @Test
+    public void testConstructor_RoundsCapacityToPowerOfTwo() {
+        assertEquals(1024, new ActionFlightRecorder(1000, 0).getCapacity());
+        assertEquals(1, new ActionFlightRecorder(1, 0).getCapacity());
+        assertThrows(IllegalArgumentException.class, () -> new ActionFlightRecorder(0, 0));
+    }
+
+    @Test
+    public void testRecord_ConcurrentWritersFillEverySlot() throws InterruptedException {
+        ActionFlightRecorder recorder = new ActionFlightRecorder(64, 0);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long offset = t * 1000L;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (long i = 0; i < 500; i++) {
+                    recorder.record(action(offset + i, "HIT"));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<FlightRecord> records = recorder.snapshot();
+        Set<Long> games = new HashSet<>();
+        records.forEach(record -> games.add(record.getGameId()));
+        assertEquals(64, records.size());
+        assertEquals(64, games.size());
+    }
+}
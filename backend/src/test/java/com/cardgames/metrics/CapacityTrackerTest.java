@@ -0,0 +1,103 @@
+package com.cardgames.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CapacityTrackerTest {
+
+    @Test
+    public void testStateSaved_CountsLiveGamesPerType() {
+        CapacityTracker tracker = new CapacityTracker(Duration.ofHours(6));
+        for (long gameId = 1; gameId <= 10; gameId++) {
+            tracker.stateSaved("UNO", gameId, (int) gameId * 100, 4, false);
+        }
+        tracker.stateSaved("UNO", 3L, 5000, 4, false);
+        tracker.stateSaved("FLIP_SEVEN", 20L, 800, 2, false);
+        tracker.stateSaved("FLIP_SEVEN", 21L, 900, 3, false);
+        tracker.stateSaved("FLIP_SEVEN", 21L, 950, 3, true);
+
+        CapacityReport report = tracker.report(0, null, null, null);
+
+        assertEquals(11, report.getLiveGames());
+        CapacityReport.GameTypeCapacity uno = report.getGames().get("UNO");
+        assertEquals(10, uno.getLiveGames());
+        assertEquals(100, uno.getMinStateSize());
+        assertEquals(700, uno.getMedianStateSize());
+        assertEquals(5000, uno.getMaxStateSize());
+        assertEquals(10200, uno.getTotalStateSize());
+        assertEquals(4.0, uno.getAveragePlayers());
+        assertEquals(1, report.getGames().get("FLIP_SEVEN").getLiveGames());
+    }
+
+    @Test
+    public void testReport_ForgetsGamesNotSavedForIdleTtl() throws Exception {
+        CapacityTracker tracker = new CapacityTracker(Duration.ofMillis(50));
+        tracker.stateSaved("UNO", 1L, 1000, 4, false);
+        Thread.sleep(100);
+        tracker.stateSaved("UNO", 2L, 1000, 4, false);
+
+        CapacityReport report = tracker.report(0, null, null, null);
+
+        assertEquals(1, report.getLiveGames());
+    }
+
+    @Test
+    public void testReport_SplitsRedisMemoryOverPlayingGamesOfAllNodes() {
+        CapacityTracker tracker = new CapacityTracker(Duration.ofHours(6));
+        tracker.stateSaved("UNO", 1L, 1000, 4, false);
+
+        CapacityReport report = tracker.report(0, 4_000_000L, 40_000_000L, 8L);
+
+        assertEquals(1, report.getLiveGames());
+        assertEquals(8L, report.getPlayingGames());
+        assertEquals(500_000L, report.getRedisMemoryPerGame());
+        assertEquals(80L, report.getRedisGameCapacity());
+    }
+
+    @Test
+    public void testStateLoaded_AveragesHeapPerState() {
+        CapacityTracker tracker = new CapacityTracker(Duration.ofHours(6));
+        tracker.stateSaved("UNO", 1L, 1000, 2, false);
+
+        long before = tracker.allocatedBytes();
+        byte[][] decoded = new byte[16][1024];
+        tracker.stateLoaded("UNO", before);
+
+        Long heapPerState = tracker.report(0, null, null, null).getGames().get("UNO").getHeapPerState();
+        assertNotNull(heapPerState);
+        assertTrue(heapPerState >= 16 * 1024, "decoded state of " + decoded.length + " KB measured " + heapPerState);
+    }
+
+    @Test
+    public void testReport_ProjectsGamesFromHeapAndRedis() {
+        CapacityReport.GameTypeCapacity uno = new CapacityReport.GameTypeCapacity(new int[] { 2000, 4000 }, 4,
+                10_000L);
+
+        CapacityReport report = new CapacityReport(Map.of("UNO", uno), 8, 100_000_000L, 60_000_000L,
+                20_000_000L, 1_000_000L, 50_000_000L, 2L);
+
+        assertEquals(5_000_000L, report.getHeapPerSession());
+        assertEquals(20_010_000L, report.getHeapPerGame());
+        assertEquals(3L, report.getNodeGameCapacity());
+        assertEquals(500_000L, report.getRedisMemoryPerGame());
+        assertEquals(100L, report.getRedisGameCapacity());
+    }
+
+    @Test
+    public void testReport_LeavesUnknownEstimatesNull() {
+        CapacityReport report = new CapacityReport(Map.of(), 0, 100_000_000L, 60_000_000L, null, null, null, null);
+
+        assertEquals(0, report.getLiveGames());
+        assertNull(report.getHeapPerSession());
+        assertNull(report.getHeapPerGame());
+        assertNull(report.getNodeGameCapacity());
+        assertNull(report.getRedisGameCapacity());
+    }
+}
@@ -0,0 +1,98 @@
+package com.cardgames.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GameMetricsTest {
+
+    private MeterRegistry registry;
+    private GameMetrics gameMetrics;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        gameMetrics = new GameMetrics(registry);
+    }
+
+    @Test
+    public void testRecordAction_TaggedByGameAndAction() {
+        gameMetrics.recordAction("UNO", "PLAY_CARD", TimeUnit.MILLISECONDS.toNanos(2));
+        gameMetrics.recordAction("UNO", "PLAY_CARD", TimeUnit.MILLISECONDS.toNanos(4));
+        gameMetrics.recordAction("UNO", GameMetrics.ACTION_REJECTED, 1000);
+
+        assertEquals(2, registry.get("cardgames.engine.action")
+                .tags("game", "UNO", "action", "PLAY_CARD").timer().count());
+        assertEquals(6.0, registry.get("cardgames.engine.action")
+                .tags("game", "UNO", "action", "PLAY_CARD").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(1, registry.get("cardgames.engine.action")
+                .tags("action", GameMetrics.ACTION_REJECTED).timer().count());
+    }
+
+    @Test
+    public void testRecordState_RecordsTimeAndSize() {
+        gameMetrics.recordState("FLIP_SEVEN", "save", 1000, 2048);
+
+        assertEquals(1, registry.get("cardgames.state.time")
+                .tags("game", "FLIP_SEVEN", "operation", "save").timer().count());
+        assertEquals(2048.0, registry.get("cardgames.state.size")
+                .tags("game", "FLIP_SEVEN", "operation", "save").summary().totalAmount());
+    }
+
+    @Test
+    public void testRecordBroadcast_GameIdNotInTags() {
+        gameMetrics.recordBroadcast("/topic/lobby/42/game", 100);
+        gameMetrics.recordBroadcast("/topic/lobby/43/game", 300);
+        gameMetrics.recordBroadcast("/topic/lobby/43", 50);
+
+        assertEquals(2, registry.get("cardgames.broadcast.size")
+                .tags("topic", "/topic/lobby/{id}/game").summary().count());
+        assertEquals(400.0, registry.get("cardgames.broadcast.size")
+                .tags("topic", "/topic/lobby/{id}/game").summary().totalAmount());
+        assertEquals(1, registry.get("cardgames.broadcast.size")
+                .tags("topic", "/topic/lobby/{id}").summary().count());
+    }
+
+    @Test
+    public void testTopicOf() {
+        assertEquals("/topic/lobby/{id}/chat", GameMetrics.topicOf("/topic/lobby/7/chat"));
+        assertEquals("/topic/lobby/{id}", GameMetrics.topicOf("/topic/lobby/7"));
+        assertEquals("/topic/lobby/a7", GameMetrics.topicOf("/topic/lobby/a7"));
+        assertEquals("none", GameMetrics.topicOf(null));
+    }
+
+    @Test
+    public void testGauges_SessionsAndLiveGames() {
+        gameMetrics.sessionConnected();
+        gameMetrics.sessionConnected();
+        gameMetrics.sessionDisconnected();
+        gameMetrics.recordLobbySize(1L, 2);
+        gameMetrics.recordLobbySize(2L, 1);
+        gameMetrics.recordLobbySize(2L, 0);
+
+        assertEquals(1.0, registry.get("cardgames.sessions.connected").gauge().value());
+        assertEquals(1.0, registry.get("cardgames.games.live").gauge().value());
+        assertEquals(3, registry.get("cardgames.lobby.size").summary().count());
+    }
+
+    @Test
+    public void testSessionConnected_RecordsFirstConnectionOnce() {
+        assertTrue(Double.isNaN(registry.get("cardgames.startup.first.connection").timeGauge()
+                .value(TimeUnit.MILLISECONDS)));
+
+        gameMetrics.sessionConnected();
+        long first = gameMetrics.getFirstConnectionMillis();
+        gameMetrics.sessionConnected();
+
+        assertTrue(first >= 0);
+        assertEquals(first, gameMetrics.getFirstConnectionMillis());
+        assertEquals(first, registry.get("cardgames.startup.first.connection").timeGauge()
+                .value(TimeUnit.MILLISECONDS));
+    }
+}
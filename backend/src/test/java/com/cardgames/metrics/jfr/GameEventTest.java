@@ -0,0 +1,111 @@
+package com.cardgames.metrics.jfr;
+
+import com.cardgames.engine.UnoGameEngine;
+import com.cardgames.model.uno.UnoState;
+import com.cardgames.service.ActionLogService;
+import com.cardgames.simulation.BotMove;
+import com.cardgames.simulation.UnoSimulation;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+public class GameEventTest {
+
+    @Mock
+    private SimpMessageSendingOperations messagingTemplate;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ActionLogService actionLogService;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UnoGameEngine engine;
+    private Action action;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        engine = new UnoGameEngine(messagingTemplate, redisTemplate, null, objectMapper, actionLogService);
+
+        UnoState state = engine.newGame(List.of("alice", "bob", "carol"), 7L);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("game:uno:1:state")).thenReturn(objectMapper.writeValueAsString(state));
+        when(actionLogService.recordWithState(any(), any(), any(), any(), any(), any())).thenReturn(true);
+
+        BotMove move = new UnoSimulation(engine).nextMove(state, new SplittableRandom(7L));
+        action = new Action();
+        action.setType(Action.ActionType.GAME_ACTION);
+        action.setGameId(1L);
+        action.setGameType("UNO");
+        action.setSender(move.getSender());
+        action.setPayload(move.getPayload());
+    }
+
+    @Test
+    public void testEvents_DisabledByDefault() {
+        assertFalse(new StateLoadEvent().isEnabled());
+        assertFalse(new ApplyActionEvent().isEnabled());
+        assertFalse(new BroadcastEvent().isEnabled());
+    }
+
+    @Test
+    public void testHandleAction_RecordsLoadApplyAndSave() throws Exception {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(StateLoadEvent.class);
+            recording.enable(ApplyActionEvent.class);
+            recording.enable(StateSaveEvent.class);
+            recording.start();
+            engine.handleAction(action);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        RecordedEvent load = find(events, "com.cardgames.StateLoad");
+        RecordedEvent apply = find(events, "com.cardgames.ApplyAction");
+        RecordedEvent save = find(events, "com.cardgames.StateSave");
+
+        assertEquals("UNO", load.getString("gameType"));
+        assertEquals(1L, load.getLong("gameId"));
+        assertEquals(3, load.getInt("players"));
+        assertTrue(load.getInt("stateSize") > 0);
+        assertEquals(action.getPayload().get("action"), apply.getString("action"));
+        assertTrue(apply.getBoolean("accepted"));
+        assertEquals(3, save.getInt("players"));
+        assertTrue(save.getInt("stateSize") > 0);
+    }
+
+    private static RecordedEvent find(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+    }
+}
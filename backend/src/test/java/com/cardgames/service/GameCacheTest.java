@@ -0,0 +1,195 @@
+package com.cardgames.service;
+
+import com.cardgames.config.ReplicaRoutingDataSource;
+import com.cardgames.mapper.GameMapper;
+import com.cardgames.model.Game;
+import com.cardgames.model.GameStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class GameCacheTest {
+
+    @Mock
+    private GameMapper gameMapper;
+
+    private Game game;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        game = new Game();
+        game.setId(1L);
+        game.setCode("ABCDEF");
+        game.setStatus(GameStatus.WAITING);
+        when(gameMapper.findById(1L)).thenReturn(Optional.of(game));
+        when(gameMapper.findByCode("ABCDEF")).thenReturn(Optional.of(game));
+    }
+
+    @Test
+    public void testFindById_ReadsDatabaseOncePerTtl() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+
+        assertSame(game, cache.findById(1L).orElseThrow());
+        assertSame(game, cache.findById(1L).orElseThrow());
+
+        verify(gameMapper, times(1)).findById(1L);
+    }
+
+    @Test
+    public void testFindById_ExpiredEntryIsReloaded() {
+        GameCache cache = new GameCache(gameMapper, 0, 100);
+
+        cache.findById(1L);
+        cache.findById(1L);
+
+        verify(gameMapper, times(2)).findById(1L);
+    }
+
+    @Test
+    public void testFindById_MissingGameIsNotCached() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+
+        assertTrue(cache.findById(2L).isEmpty());
+        assertTrue(cache.findById(2L).isEmpty());
+
+        // Each miss is checked again on the primary
+        verify(gameMapper, times(4)).findById(2L);
+    }
+
+    @Test
+    public void testEvict_ReloadsChangedGame() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+        cache.findById(1L);
+
+        cache.evict(1L);
+        cache.findById(1L);
+
+        verify(gameMapper, times(2)).findById(1L);
+    }
+
+    @Test
+    public void testEvict_ReadsChangedGameFromPrimary() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+        cache.findById(1L);
+
+        try (MockedStatic<ReplicaRoutingDataSource> routing = mockStatic(ReplicaRoutingDataSource.class,
+                CALLS_REAL_METHODS)) {
+            cache.evict(1L);
+            cache.findById(1L);
+            cache.findByCode("ABCDEF");
+
+            // The replica may still hold the row as it was before the change
+            routing.verify(() -> ReplicaRoutingDataSource.onPrimary(any()), times(2));
+        }
+        verify(gameMapper, times(2)).findById(1L);
+    }
+
+    @Test
+    public void testEvict_ReadsReplicaAgainAfterTtl() {
+        GameCache cache = new GameCache(gameMapper, 0, 100);
+
+        try (MockedStatic<ReplicaRoutingDataSource> routing = mockStatic(ReplicaRoutingDataSource.class,
+                CALLS_REAL_METHODS)) {
+            cache.evict(1L);
+            cache.findById(1L);
+
+            routing.verify(() -> ReplicaRoutingDataSource.onPrimary(any()), never());
+        }
+    }
+
+    @Test
+    public void testFindByCode_CachesCodeAndGame() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+
+        cache.findByCode("ABCDEF");
+        cache.findByCode("ABCDEF");
+        cache.findById(1L);
+
+        verify(gameMapper, times(1)).findByCode("ABCDEF");
+        verify(gameMapper, never()).findById(1L);
+    }
+
+    @Test
+    public void testFindByCode_FinishedGameReleasesCode() {
+        GameCache cache = new GameCache(gameMapper, 0, 100);
+        cache.findByCode("ABCDEF");
+        Game finished = new Game();
+        finished.setId(1L);
+        finished.setStatus(GameStatus.FINISHED);
+        Game next = new Game();
+        next.setId(2L);
+        next.setStatus(GameStatus.WAITING);
+        when(gameMapper.findById(1L)).thenReturn(Optional.of(finished));
+        when(gameMapper.findByCode("ABCDEF")).thenReturn(Optional.of(next));
+
+        assertEquals(2L, cache.findByCode("ABCDEF").orElseThrow().getId());
+    }
+
+    @Test
+    public void testIsPlayerInGame_OnlyCachesMembers() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+        when(gameMapper.isPlayerInGame(1L, 10L)).thenReturn(true);
+        when(gameMapper.isPlayerInGame(1L, 20L)).thenReturn(false);
+
+        assertTrue(cache.isPlayerInGame(1L, 10L));
+        assertTrue(cache.isPlayerInGame(1L, 10L));
+        assertFalse(cache.isPlayerInGame(1L, 20L));
+        assertFalse(cache.isPlayerInGame(1L, 20L));
+
+        verify(gameMapper, times(1)).isPlayerInGame(1L, 10L);
+        verify(gameMapper, times(4)).isPlayerInGame(1L, 20L);
+    }
+
+    @Test
+    public void testPlayerAdded_CachesMembership() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+
+        cache.playerAdded(1L, 10L);
+
+        assertTrue(cache.isPlayerInGame(1L, 10L));
+        verify(gameMapper, never()).isPlayerInGame(1L, 10L);
+    }
+
+    @Test
+    public void testFindById_EvictsLeastRecentlyUsedBeyondMaxSize() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 2);
+        for (long id = 2; id <= 3; id++) {
+            Game other = new Game();
+            other.setId(id);
+            when(gameMapper.findById(id)).thenReturn(Optional.of(other));
+        }
+
+        cache.findById(1L);
+        cache.findById(2L);
+        cache.findById(3L);
+        cache.findById(1L);
+
+        verify(gameMapper, times(2)).findById(1L);
+    }
+
+    @Test
+    public void testFindByCode_MissOnReplicaIsReadAgain() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+        when(gameMapper.findByCode("NEWONE")).thenReturn(Optional.empty()).thenReturn(Optional.of(game));
+
+        assertSame(game, cache.findByCode("NEWONE").orElseThrow());
+        verify(gameMapper, times(2)).findByCode("NEWONE");
+    }
+
+    @Test
+    public void testIsPlayerInGame_JoinNotYetOnReplicaIsFound() {
+        GameCache cache = new GameCache(gameMapper, 60_000, 100);
+        when(gameMapper.isPlayerInGame(1L, 30L)).thenReturn(false).thenReturn(true);
+
+        assertTrue(cache.isPlayerInGame(1L, 30L));
+    }
+}
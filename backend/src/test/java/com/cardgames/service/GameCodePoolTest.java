@@ -0,0 +1,100 @@
+package com.cardgames.service;
+
+import com.cardgames.mapper.GameMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class GameCodePoolTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private GameMapper gameMapper;
+
+    private GameCodePool pool;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        pool = new GameCodePool(redisTemplate, gameMapper, 100, 25, 60_000);
+    }
+
+    @Test
+    public void testAllocate_PopsFromPool() {
+        when(setOperations.pop(GameCodePool.POOL_KEY)).thenReturn("K7P2QX");
+
+        assertEquals("K7P2QX", pool.allocate());
+    }
+
+    @Test
+    public void testAllocate_EmptyPoolFallsBackToRandomCode() {
+        when(setOperations.pop(GameCodePool.POOL_KEY)).thenReturn(null);
+
+        assertReadable(pool.allocate());
+    }
+
+    @Test
+    public void testAllocate_RedisDownFallsBackToRandomCode() {
+        when(setOperations.pop(GameCodePool.POOL_KEY)).thenThrow(new RuntimeException("connection refused"));
+
+        assertReadable(pool.allocate());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRefill_TopsUpWithCodesNotInUse() {
+        when(setOperations.size(GameCodePool.POOL_KEY)).thenReturn(10L);
+        when(gameMapper.findOpenCodes(anyList())).thenAnswer(invocation -> {
+            List<String> codes = invocation.getArgument(0);
+            return codes.subList(0, 5);
+        });
+        when(setOperations.add(eq(GameCodePool.POOL_KEY), any(String[].class))).thenReturn(85L);
+
+        assertEquals(85, pool.refill());
+
+        ArgumentCaptor<List<String>> checked = ArgumentCaptor.forClass(List.class);
+        verify(gameMapper).findOpenCodes(checked.capture());
+        assertEquals(90, checked.getValue().size());
+        ArgumentCaptor<String[]> added = ArgumentCaptor.forClass(String[].class);
+        verify(setOperations).add(eq(GameCodePool.POOL_KEY), added.capture());
+        Set<String> pooled = new HashSet<>(Arrays.asList(added.getValue()));
+        assertEquals(85, pooled.size());
+        checked.getValue().subList(0, 5).forEach(code -> assertFalse(pooled.contains(code)));
+        pooled.forEach(this::assertReadable);
+    }
+
+    @Test
+    public void testRefill_SkipsPoolAboveLowWater() {
+        when(setOperations.size(GameCodePool.POOL_KEY)).thenReturn(25L);
+
+        assertEquals(0, pool.refill());
+        verifyNoInteractions(gameMapper);
+        verify(setOperations, never()).add(anyString(), any(String[].class));
+    }
+
+    private void assertReadable(String code) {
+        assertEquals(GameCodePool.CODE_LENGTH, code.length());
+        for (char c : code.toCharArray()) {
+            assertTrue(GameCodePool.ALPHABET.indexOf(c) >= 0, "unexpected character in " + code);
+        }
+    }
+}
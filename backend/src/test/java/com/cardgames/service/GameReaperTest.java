@@ -0,0 +1,188 @@
+package com.cardgames.service;
+
+import com.cardgames.engine.AbstractGameEngine;
+import com.cardgames.engine.GameEngineHandler;
+import com.cardgames.mapper.GameArchiveMapper;
+import com.cardgames.mapper.GameMapper;
+import com.cardgames.metrics.CapacityTracker;
+import com.cardgames.metrics.GameMetrics;
+import com.cardgames.model.GameArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class GameReaperTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private ListOperations<String, String> listOperations;
+
+    @Mock
+    private GameEngineHandler gameEngineHandler;
+
+    @Mock
+    private AbstractGameEngine<Object> engine;
+
+    @Mock
+    private GameArchiveMapper gameArchiveMapper;
+
+    @Mock
+    private GameMapper gameMapper;
+
+    @Mock
+    private GameCache gameCache;
+
+    @Mock
+    private CapacityTracker capacityTracker;
+
+    private GameReaper reaper;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForList()).thenReturn(listOperations);
+        when(valueOperations.setIfAbsent(eq(GameReaper.LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        when(gameEngineHandler.getEngines()).thenReturn(List.of(engine));
+        when(engine.getStateKeyPattern()).thenReturn("game:uno:*:state");
+        when(engine.getGameType()).thenReturn("UNO");
+        when(engine.getStateKey(anyLong())).thenAnswer(invocation -> "game:uno:" + invocation.getArgument(0) + ":state");
+        when(engine.parseStateKey(anyString())).thenAnswer(invocation -> {
+            String key = invocation.getArgument(0);
+            return Long.valueOf(key.split(":")[2]);
+        });
+        reaper = new GameReaper(redisTemplate, gameEngineHandler, gameArchiveMapper, gameMapper, gameCache,
+                new GameExpiry(Duration.ofHours(6), Duration.ofMinutes(15)), GameMetrics.NONE, capacityTracker,
+                Duration.ofSeconds(60));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReap_ArchivesGamesAboutToExpire() {
+        stubScan(Map.of("game:uno:*:state", List.of("game:uno:1:state", "game:uno:2:state", "game:uno:3:state")));
+        // Game 1 expires in 30 s, game 2 in 5 h, game 3 has no TTL yet
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of(30_000L, 5 * 3_600_000L, -1L))
+                .thenReturn(List.of(1200L, 300L, 0L))
+                .thenReturn(List.of());
+        when(valueOperations.get("game:uno:1:state")).thenReturn("{\"gameOver\":true}");
+        when(listOperations.range("game:actions:1", 0, -1)).thenReturn(List.of("{\"a\":1}", "{\"a\":2}"));
+        when(engine.isStoredGameOver("{\"gameOver\":true}")).thenReturn(true);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString())).thenReturn(3L);
+        when(gameMapper.finishReapedGame(eq(1L), any())).thenReturn(1);
+
+        long reclaimed = reaper.reap();
+
+        assertEquals(1500L, reclaimed);
+        ArgumentCaptor<GameArchive> archive = ArgumentCaptor.forClass(GameArchive.class);
+        verify(gameArchiveMapper, times(1)).insertGameArchive(archive.capture());
+        assertEquals(1L, archive.getValue().getGameId());
+        assertEquals("UNO", archive.getValue().getGameType());
+        assertTrue(archive.getValue().isFinished());
+        assertEquals("[{\"a\":1},{\"a\":2}]", archive.getValue().getActions());
+        assertEquals(1500L, archive.getValue().getReclaimedBytes());
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of("game:uno:1:state", "game:actions:1", "lobby:players:1")), eq("{\"gameOver\":true}"),
+                eq("180000"));
+        verify(capacityTracker).stateRemoved(1L);
+        verify(gameMapper).finishReapedGame(eq(1L), any());
+        verify(gameCache).evict(1L);
+        verify(valueOperations, never()).get("game:uno:2:state");
+        // PTTL batch, MEMORY USAGE of game 1, then PEXPIRE of the key without a TTL
+        verify(redisTemplate, times(3)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReap_KeepsKeysWhenArchiveFails() {
+        stubScan(Map.of("game:uno:*:state", List.of("game:uno:1:state")));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of(30_000L))
+                .thenReturn(List.of(1200L));
+        when(valueOperations.get("game:uno:1:state")).thenReturn("{}");
+        when(gameArchiveMapper.insertGameArchive(any())).thenThrow(new RuntimeException("database down"));
+
+        assertEquals(0L, reaper.reap());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyString(), anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReap_KeepsGamePlayedWhileBeingReaped() {
+        stubScan(Map.of("game:uno:*:state", List.of("game:uno:1:state")));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of(30_000L))
+                .thenReturn(List.of(1200L));
+        when(valueOperations.get("game:uno:1:state")).thenReturn("{}");
+        // The state changed or its TTL was pushed back before the delete
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString())).thenReturn(0L);
+
+        assertEquals(0L, reaper.reap());
+        verify(gameArchiveMapper).deleteGameArchive(1L);
+        verify(capacityTracker, never()).stateRemoved(anyLong());
+        verify(gameMapper, never()).finishReapedGame(anyLong(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReap_LeavesFinishedGameInCache() {
+        stubScan(Map.of("game:uno:*:state", List.of("game:uno:1:state")));
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of(30_000L))
+                .thenReturn(List.of(1200L));
+        when(valueOperations.get("game:uno:1:state")).thenReturn("{\"gameOver\":true}");
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString())).thenReturn(1L);
+        // The row was already FINISHED when the game ended
+        when(gameMapper.finishReapedGame(eq(1L), any())).thenReturn(0);
+
+        assertEquals(1200L, reaper.reap());
+        verify(gameCache, never()).evict(anyLong());
+    }
+
+    @Test
+    public void testReap_SkipsRunWhileAnotherNodeHoldsLock() {
+        when(valueOperations.setIfAbsent(eq(GameReaper.LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(false);
+
+        assertEquals(0L, reaper.reap());
+        verify(redisTemplate, never()).scan(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubScan(Map<String, List<String>> keysByPattern) {
+        when(redisTemplate.scan(any(ScanOptions.class))).thenAnswer(invocation -> {
+            ScanOptions options = invocation.getArgument(0);
+            Iterator<String> keys = new ArrayList<>(keysByPattern.getOrDefault(options.getPattern(), List.of()))
+                    .iterator();
+            Cursor<String> cursor = mock(Cursor.class);
+            when(cursor.hasNext()).thenAnswer(ignored -> keys.hasNext());
+            when(cursor.next()).thenAnswer(ignored -> keys.next());
+            return cursor;
+        });
+    }
+}
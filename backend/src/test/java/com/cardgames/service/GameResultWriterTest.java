@@ -0,0 +1,191 @@
+package com.cardgames.service;
+
+import com.cardgames.mapper.GameMapper;
+import com.cardgames.mapper.GameResultMapper;
+import com.cardgames.model.GameResult;
+import com.cardgames.model.GameResultPlayer;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class GameResultWriterTest {
+
+    @Mock
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Mock
+    private SqlSession sqlSession;
+
+    @Mock
+    private GameResultMapper gameResultMapper;
+
+    @Mock
+    private GameMapper gameMapper;
+
+    @Mock
+    private GameCache gameCache;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    private final Set<Long> storedGameIds = new HashSet<>();
+    private final List<GameResult> pendingInserts = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(sqlSessionFactory.openSession(ExecutorType.BATCH, false)).thenAnswer(invocation -> {
+            pendingInserts.clear();
+            return sqlSession;
+        });
+        when(sqlSession.getMapper(GameResultMapper.class)).thenReturn(gameResultMapper);
+        when(sqlSession.getMapper(GameMapper.class)).thenReturn(gameMapper);
+        doAnswer(invocation -> pendingInserts.add(invocation.getArgument(0)))
+                .when(gameResultMapper).insertGameResult(any());
+        when(sqlSession.flushStatements()).thenAnswer(invocation -> flushInserts());
+    }
+
+    @Test
+    public void testWrite_StoresBatchInOneTransaction() {
+        GameResultWriter writer = new GameResultWriter(sqlSessionFactory, gameCache, leaderboardService, 10, 10);
+        GameResult first = result(1L);
+        GameResult second = result(2L);
+
+        writer.write(List.of(first, second));
+
+        verify(sqlSessionFactory, times(1)).openSession(ExecutorType.BATCH, false);
+        verify(gameResultMapper).insertGameResult(first);
+        verify(gameResultMapper).insertGameResult(second);
+        verify(gameResultMapper, times(4)).insertGameResultPlayer(any(), any(), any());
+        verify(gameMapper).finishGame(1L, first.getFinishedAt());
+        verify(gameMapper).finishGame(2L, second.getFinishedAt());
+        verify(gameCache).evict(1L);
+        verify(gameCache).evict(2L);
+        InOrder inOrder = inOrder(sqlSession, leaderboardService);
+        inOrder.verify(sqlSession).flushStatements();
+        inOrder.verify(sqlSession).commit();
+        inOrder.verify(sqlSession).close();
+        inOrder.verify(leaderboardService).record(List.of(first, second));
+    }
+
+    @Test
+    public void testWrite_FailedBatchRetriesEachResult() {
+        GameResultWriter writer = new GameResultWriter(sqlSessionFactory, gameCache, leaderboardService, 10, 10);
+        GameResult good = result(1L);
+        GameResult bad = result(2L);
+        doThrow(new RuntimeException("constraint")).when(gameMapper).finishGame(eq(2L), any());
+
+        writer.write(List.of(good, bad));
+
+        verify(sqlSessionFactory, times(3)).openSession(ExecutorType.BATCH, false);
+        verify(gameResultMapper, times(2)).insertGameResult(good);
+        verify(sqlSession, times(1)).commit();
+        verify(leaderboardService, times(1)).record(any());
+        verify(leaderboardService).record(List.of(good));
+    }
+
+    @Test
+    public void testWrite_CountsResultsAlreadyStoredOnce() {
+        GameResultWriter writer = new GameResultWriter(sqlSessionFactory, gameCache, leaderboardService, 10, 10);
+        GameResult first = result(1L);
+        GameResult second = result(2L);
+
+        writer.write(List.of(first));
+        writer.write(List.of(first, second));
+        writer.write(List.of(second));
+
+        verify(leaderboardService, times(2)).record(any());
+        verify(leaderboardService).record(List.of(first));
+        verify(leaderboardService).record(List.of(second));
+        verify(gameMapper, times(2)).finishGame(eq(1L), any());
+    }
+
+    @Test
+    public void testSubmit_WritesInBackgroundUntilStopped() {
+        GameResultWriter writer = new GameResultWriter(sqlSessionFactory, gameCache, leaderboardService, 10, 10);
+        writer.start();
+        writer.submit(result(1L));
+        writer.submit(result(2L));
+        writer.stop();
+
+        assertEquals(0, writer.getPendingCount());
+        verify(gameMapper).finishGame(eq(1L), any());
+        verify(gameMapper).finishGame(eq(2L), any());
+    }
+
+    @Test
+    public void testSubmit_DropsResultWhenQueueFull() {
+        GameResultWriter writer = new GameResultWriter(sqlSessionFactory, gameCache, leaderboardService, 1, 10);
+        writer.submit(result(1L));
+        writer.submit(result(2L));
+
+        assertEquals(1, writer.getPendingCount());
+    }
+
+    @Test
+    public void testNone_IgnoresResults() {
+        GameResultWriter.NONE.submit(result(1L));
+
+        assertEquals(0, GameResultWriter.NONE.getPendingCount());
+    }
+
+    /**
+     * Flushes the pending result inserts as Postgres would, inserting nothing
+     * for a game whose result is already stored.
+     */
+    private List<BatchResult> flushInserts() {
+        MappedStatement statement = new MappedStatement.Builder(new Configuration(),
+                GameResultMapper.class.getName() + ".insertGameResult", mock(SqlSource.class), SqlCommandType.INSERT)
+                .build();
+        BatchResult batch = new BatchResult(statement, "INSERT INTO game_result");
+        int[] counts = new int[pendingInserts.size()];
+        for (int i = 0; i < counts.length; i++) {
+            GameResult result = pendingInserts.get(i);
+            batch.addParameterObject(result);
+            counts[i] = storedGameIds.add(result.getGameId()) ? 1 : 0;
+        }
+        batch.setUpdateCounts(counts);
+        pendingInserts.clear();
+        return List.of(batch);
+    }
+
+    private GameResult result(Long gameId) {
+        GameResult result = new GameResult();
+        result.setGameId(gameId);
+        result.setGameType("UNO");
+        result.setWinner("alice");
+        result.setFinishedAt(LocalDateTime.now());
+        result.setPlayers(List.of(player("alice", 0, 40, 1), player("bob", 1, 0, 2)));
+        return result;
+    }
+
+    private GameResultPlayer player(String username, int seat, int score, int placement) {
+        GameResultPlayer player = new GameResultPlayer();
+        player.setUsername(username);
+        player.setSeat(seat);
+        player.setScore(score);
+        player.setPlacement(placement);
+        return player;
+    }
+}
@@ -10,7 +10,6 @@ import com.cardgames.model.exception.AccessDeniedException;
 import com.cardgames.websocket.model.Action;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.messaging.simp.SimpMessageSendingOperations;
@@ -34,7 +33,9 @@ public class GameServiceTest {
     @Mock
     private GameEngineHandler gameEngineHandler;
 
-    @InjectMocks
+    @Mock
+    private GameCodePool gameCodePool;
+
     private GameService gameService;
 
     private User testUser;
@@ -43,6 +44,8 @@ public class GameServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        gameService = new GameService(gameMapper, new GameCache(gameMapper, 60_000, 100), gameCodePool,
+                messagingTemplate, gameEngineHandler);
         testUser = new User();
         testUser.setId(1L);
         testUser.setUsername("testUser");
@@ -58,7 +61,8 @@ public class GameServiceTest {
 
     @Test
     public void testCreateGame() {
-        doNothing().when(gameMapper).insertGame(any(Game.class));
+        when(gameCodePool.allocate()).thenReturn("K7P2QX");
+        when(gameMapper.insertGame(any(Game.class))).thenReturn(1);
         doNothing().when(gameMapper).insertGamePlayer(any());
 
         GameResponse response = gameService.createGame("flip-seven", testUser);
@@ -66,24 +70,68 @@ public class GameServiceTest {
         assertNotNull(response);
         assertEquals("flip-seven", response.getGameType());
         assertEquals(1L, response.getHostUserId());
-        assertNotNull(response.getGameCode());
+        assertEquals("K7P2QX", response.getGameCode());
         assertEquals(GameStatus.WAITING, response.getStatus());
 
         verify(gameMapper, times(1)).insertGame(any(Game.class));
         verify(gameMapper, times(1)).insertGamePlayer(any());
     }
 
+    @Test
+    public void testCreateGame_TakenCodeIsReplaced() {
+        when(gameCodePool.allocate()).thenReturn("K7P2QX", "M3N8RT");
+        when(gameMapper.insertGame(any(Game.class))).thenReturn(0, 1);
+
+        GameResponse response = gameService.createGame("flip-seven", testUser);
+
+        assertEquals("M3N8RT", response.getGameCode());
+        verify(gameMapper, times(2)).insertGame(any(Game.class));
+        verify(gameMapper, times(1)).insertGamePlayer(any());
+    }
+
+    @Test
+    public void testCreateGame_GivesUpAfterRepeatedCollisions() {
+        when(gameCodePool.allocate()).thenReturn("K7P2QX");
+        when(gameMapper.insertGame(any(Game.class))).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> gameService.createGame("flip-seven", testUser));
+        verify(gameMapper, never()).insertGamePlayer(any());
+    }
+
     @Test
     public void testJoinGame_Success() {
         when(gameMapper.findByCode(anyString())).thenReturn(Optional.of(testGame));
         when(gameMapper.isPlayerInGame(anyLong(), anyLong())).thenReturn(false);
-        doNothing().when(gameMapper).insertGamePlayer(any());
+        when(gameMapper.insertGamePlayerIfWaiting(any())).thenReturn(1);
 
         GameResponse response = gameService.joinGame("ABCDEF", testUser);
 
         assertNotNull(response);
         assertEquals(testGame.getId(), response.getGameId());
-        verify(gameMapper, times(1)).insertGamePlayer(any());
+        verify(gameMapper, times(1)).insertGamePlayerIfWaiting(any());
+    }
+
+    @Test
+    public void testJoinGame_StartedSinceCached() {
+        when(gameMapper.findByCode(anyString())).thenReturn(Optional.of(testGame));
+        when(gameMapper.isPlayerInGame(anyLong(), anyLong())).thenReturn(false);
+        when(gameMapper.insertGamePlayerIfWaiting(any())).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> gameService.joinGame("ABCDEF", testUser));
+    }
+
+    @Test
+    public void testJoinGame_RejoinServedFromCache() {
+        when(gameMapper.findByCode(anyString())).thenReturn(Optional.of(testGame));
+        when(gameMapper.isPlayerInGame(anyLong(), anyLong())).thenReturn(true);
+
+        gameService.joinGame("ABCDEF", testUser);
+        gameService.joinGame("ABCDEF", testUser);
+        gameService.getGameInfo(1L, testUser);
+
+        verify(gameMapper, times(1)).findByCode("ABCDEF");
+        verify(gameMapper, times(1)).isPlayerInGame(1L, 1L);
+        verify(gameMapper, never()).findById(anyLong());
     }
 
     @Test
@@ -94,7 +142,7 @@ public class GameServiceTest {
         GameResponse response = gameService.joinGame("ABCDEF", testUser);
 
         assertNotNull(response);
-        verify(gameMapper, never()).insertGamePlayer(any());
+        verify(gameMapper, never()).insertGamePlayerIfWaiting(any());
     }
 
     @Test
@@ -142,12 +190,12 @@ public class GameServiceTest {
     @Test
     public void testStartGame_Success() {
         when(gameMapper.findById(anyLong())).thenReturn(Optional.of(testGame));
-        doNothing().when(gameMapper).updateGameStatus(anyLong(), anyString());
+        when(gameMapper.startGame(anyLong(), any())).thenReturn(1);
         doNothing().when(gameEngineHandler).initializeGame(anyString(), anyLong());
 
         gameService.startGame(1L, testUser);
 
-        verify(gameMapper, times(1)).updateGameStatus(1L, GameStatus.PLAYING.name());
+        verify(gameMapper, times(1)).startGame(eq(1L), any());
         verify(gameEngineHandler, times(1)).initializeGame(testGame.getType(), testGame.getId());
         verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Action.class));
     }
@@ -168,4 +216,13 @@ public class GameServiceTest {
 
         assertThrows(RuntimeException.class, () -> gameService.startGame(1L, testUser));
     }
+
+    @Test
+    public void testStartGame_StartedSinceCached() {
+        when(gameMapper.findById(anyLong())).thenReturn(Optional.of(testGame));
+        when(gameMapper.startGame(anyLong(), any())).thenReturn(0);
+
+        assertThrows(RuntimeException.class, () -> gameService.startGame(1L, testUser));
+        verify(gameEngineHandler, never()).initializeGame(anyString(), anyLong());
+    }
 }
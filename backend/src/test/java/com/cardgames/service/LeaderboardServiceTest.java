@@ -0,0 +1,172 @@
+package com.cardgames.service;
+
+import com.cardgames.dto.LeaderboardEntry;
+import com.cardgames.mapper.GameResultMapper;
+import com.cardgames.model.GameResult;
+import com.cardgames.model.GameResultPlayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LeaderboardServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private GameResultMapper gameResultMapper;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(LeaderboardService.LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(true);
+        leaderboardService = new LeaderboardService(redisTemplate, gameResultMapper, Duration.ofHours(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecord_IncrementsEachPlayerByOpponentsBeaten() {
+        GameResult result = new GameResult();
+        result.setGameType("UNO");
+        result.setPlayers(List.of(player("alice", 1), player("bob", 2), player("carol", 2)));
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<Object> callback = invocation.getArgument(0);
+            callback.doInRedis((RedisConnection) connection);
+            return List.of();
+        });
+
+        leaderboardService.record(List.of(result));
+
+        verify(connection).zIncrBy("leaderboard:UNO", 2, "alice");
+        verify(connection).zIncrBy("leaderboard:UNO", 0, "bob");
+        verify(connection).zIncrBy("leaderboard:UNO", 0, "carol");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRecord_RedisDownIsLeftToRebuild() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RuntimeException("connection refused"));
+        GameResult result = new GameResult();
+        result.setGameType("UNO");
+        result.setPlayers(List.of(player("alice", 1)));
+
+        assertDoesNotThrow(() -> leaderboardService.record(List.of(result)));
+    }
+
+    @Test
+    public void testGetTop_ReturnsPageWithRanks() {
+        Set<TypedTuple<String>> page = new LinkedHashSet<>();
+        page.add(new DefaultTypedTuple<>("alice", 12.0));
+        page.add(new DefaultTypedTuple<>("bob", 9.0));
+        when(zSetOperations.reverseRangeWithScores("leaderboard:UNO", 10, 29)).thenReturn(page);
+
+        List<LeaderboardEntry> entries = leaderboardService.getTop("uno", 10, 20);
+
+        assertEquals(2, entries.size());
+        assertEquals(11L, entries.get(0).getRank());
+        assertEquals("alice", entries.get(0).getUsername());
+        assertEquals(12L, entries.get(0).getPoints());
+        assertEquals(12L, entries.get(1).getRank());
+    }
+
+    @Test
+    public void testGetTop_RejectsOversizedPage() {
+        assertThrows(RuntimeException.class,
+                () -> leaderboardService.getTop("UNO", 0, LeaderboardService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(zSetOperations);
+    }
+
+    @Test
+    public void testGetAround_ClampsWindowAtTop() {
+        when(zSetOperations.reverseRank("leaderboard:UNO", "bob")).thenReturn(1L);
+        when(zSetOperations.reverseRangeWithScores("leaderboard:UNO", 0, 4)).thenReturn(new LinkedHashSet<>());
+
+        leaderboardService.getAround("UNO", "bob", 3);
+
+        verify(zSetOperations).reverseRangeWithScores("leaderboard:UNO", 0, 4);
+    }
+
+    @Test
+    public void testGetAround_UnrankedPlayerGetsEmptyWindow() {
+        when(zSetOperations.reverseRank("leaderboard:UNO", "dave")).thenReturn(null);
+
+        assertTrue(leaderboardService.getAround("UNO", "dave", 3).isEmpty());
+        verify(zSetOperations, never()).reverseRangeWithScores(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void testGetRank_ReturnsOneBasedRank() {
+        when(zSetOperations.reverseRank("leaderboard:UNO", "bob")).thenReturn(4L);
+        when(zSetOperations.score("leaderboard:UNO", "bob")).thenReturn(7.0);
+        when(zSetOperations.reverseRank("leaderboard:UNO", "dave")).thenReturn(null);
+
+        LeaderboardEntry entry = leaderboardService.getRank("UNO", "bob");
+
+        assertEquals(5L, entry.getRank());
+        assertEquals(7L, entry.getPoints());
+        assertNull(leaderboardService.getRank("UNO", "dave"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRebuild_SwapsInBoardComputedFromResults() {
+        when(gameResultMapper.findResultTypes()).thenReturn(List.of("UNO"));
+        when(gameResultMapper.findLeaderboardPoints("UNO"))
+                .thenReturn(List.of(new LeaderboardEntry(null, "alice", 12), new LeaderboardEntry(null, "bob", 9)));
+
+        assertEquals(1, leaderboardService.rebuild());
+
+        ArgumentCaptor<Set<TypedTuple<String>>> added = ArgumentCaptor.forClass(Set.class);
+        verify(zSetOperations).add(eq("leaderboard:UNO:rebuild"), added.capture());
+        assertEquals(2, added.getValue().size());
+        verify(redisTemplate).rename("leaderboard:UNO:rebuild", "leaderboard:UNO");
+    }
+
+    @Test
+    public void testRebuild_SkipsWhileAnotherNodeHoldsLock() {
+        when(valueOperations.setIfAbsent(eq(LeaderboardService.LOCK_KEY), anyString(), any(Duration.class)))
+                .thenReturn(false);
+
+        assertEquals(0, leaderboardService.rebuild());
+        verifyNoInteractions(gameResultMapper);
+    }
+
+    private GameResultPlayer player(String username, int placement) {
+        GameResultPlayer player = new GameResultPlayer();
+        player.setUsername(username);
+        player.setPlacement(placement);
+        return player;
+    }
+}
@@ -0,0 +1,93 @@
+package com.cardgames.service;
+
+import com.cardgames.dto.MatchHistoryEntry;
+import com.cardgames.dto.MatchHistoryPage;
+import com.cardgames.mapper.GameMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class MatchHistoryServiceTest {
+
+    @Mock
+    private GameMapper gameMapper;
+
+    private MatchHistoryService matchHistoryService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        matchHistoryService = new MatchHistoryService(gameMapper, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    public void testGetHistory_FirstPageReturnsCursorOfLastGame() {
+        LocalDateTime base = LocalDateTime.of(2026, 1, 10, 12, 0, 0, 123_456_000);
+        when(gameMapper.findMatchHistory(1L, null, null, 3))
+                .thenReturn(new ArrayList<>(List.of(entry(9L, base), entry(8L, base.minusMinutes(1)),
+                        entry(7L, base.minusMinutes(2)))));
+
+        MatchHistoryPage page = matchHistoryService.getHistory(1L, null, 2);
+
+        assertEquals(2, page.getGames().size());
+        assertNotNull(page.getNextCursor());
+
+        when(gameMapper.findMatchHistory(eq(1L), any(), any(), eq(3))).thenReturn(List.of(entry(7L, base)));
+        matchHistoryService.getHistory(1L, page.getNextCursor(), 2);
+        verify(gameMapper).findMatchHistory(1L, base.minusMinutes(1), 8L, 3);
+    }
+
+    @Test
+    public void testGetHistory_LastPageHasNoCursor() {
+        when(gameMapper.findMatchHistory(1L, null, null, 21)).thenReturn(List.of(entry(1L, LocalDateTime.now())));
+
+        assertNull(matchHistoryService.getHistory(1L, null, 20).getNextCursor());
+    }
+
+    @Test
+    public void testGetHistory_RejectsInvalidCursorAndLimit() {
+        assertThrows(RuntimeException.class, () -> matchHistoryService.getHistory(1L, "not-a-cursor", 20));
+        assertThrows(RuntimeException.class, () -> matchHistoryService.getHistory(1L, null, 0));
+        assertThrows(RuntimeException.class,
+                () -> matchHistoryService.getHistory(1L, null, MatchHistoryService.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(gameMapper);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExportHistory_WritesOneLinePerGameAndClosesCursor() throws Exception {
+        Cursor<MatchHistoryEntry> cursor = mock(Cursor.class);
+        when(cursor.iterator()).thenReturn(List.of(entry(2L, LocalDateTime.now()), entry(1L, LocalDateTime.now()))
+                .iterator());
+        when(gameMapper.streamMatchHistory(1L)).thenReturn(cursor);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(2, matchHistoryService.exportHistory(1L, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"gameId\":2"));
+        verify(cursor).close();
+    }
+
+    private MatchHistoryEntry entry(Long gameId, LocalDateTime finishedAt) {
+        MatchHistoryEntry entry = new MatchHistoryEntry();
+        entry.setGameId(gameId);
+        entry.setGameType("UNO");
+        entry.setFinishedAt(finishedAt);
+        return entry;
+    }
+}
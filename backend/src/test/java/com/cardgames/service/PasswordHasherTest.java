@@ -0,0 +1,90 @@
+package com.cardgames.service;
+
+import com.cardgames.model.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PasswordHasherTest {
+
+    private PasswordHasher hasher;
+
+    @AfterEach
+    public void tearDown() {
+        if (hasher != null) {
+            hasher.destroy();
+        }
+    }
+
+    @Test
+    public void testEncodeAndMatches_UseConfiguredCost() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, 1, 4, new SimpleMeterRegistry());
+
+        String encoded = hasher.encode("secret");
+
+        assertTrue(encoded.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("secret", encoded));
+        assertFalse(hasher.matches("wrong", encoded));
+        assertFalse(hasher.needsRehash(encoded));
+    }
+
+    @Test
+    public void testNeedsRehash_ComparesCostInBothDirections() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(10), 10, 1, 4, new SimpleMeterRegistry());
+
+        assertFalse(hasher.needsRehash("$2a$10$abcdefghijklmnopqrstuv"));
+        assertTrue(hasher.needsRehash("$2a$08$abcdefghijklmnopqrstuv"));
+        assertTrue(hasher.needsRehash("$2b$12$abcdefghijklmnopqrstuv"));
+        assertFalse(hasher.needsRehash("not-a-bcrypt-hash"));
+        assertFalse(hasher.needsRehash(null));
+    }
+
+    @Test
+    public void testMatches_RejectsWhenThreadAndQueueAreFull() throws Exception {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(encoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return true;
+        });
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hasher = new PasswordHasher(encoder, 10, 1, 1, registry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> hasher.matches("a", "hash"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> hasher.matches("b", "hash"));
+        // Wait until the second call sits in the queue
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("executor.queued").tag("name", "password-hash").gauge().value() < 1
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThrows(ServiceBusyException.class, () -> hasher.matches("c", "hash"));
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testEncode_RethrowsEncoderFailure() {
+        PasswordEncoder encoder = mock(PasswordEncoder.class);
+        when(encoder.encode("secret")).thenThrow(new IllegalArgumentException("bad salt"));
+        hasher = new PasswordHasher(encoder, 10, 1, 1, new SimpleMeterRegistry());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> hasher.encode("secret"));
+        assertEquals("bad salt", e.getMessage());
+    }
+}
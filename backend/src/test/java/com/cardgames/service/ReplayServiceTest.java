@@ -0,0 +1,259 @@
+package com.cardgames.service;
+
+import com.cardgames.dto.ReplayResponse;
+import com.cardgames.engine.FlipSevenGameEngine;
+import com.cardgames.engine.GameEngineHandler;
+import com.cardgames.engine.SkullKingGameEngine;
+import com.cardgames.engine.UnoGameEngine;
+import com.cardgames.mapper.GameArchiveMapper;
+import com.cardgames.mapper.GameMapper;
+import com.cardgames.model.Game;
+import com.cardgames.model.GameArchive;
+import com.cardgames.model.User;
+import com.cardgames.model.exception.AccessDeniedException;
+import com.cardgames.model.flipseven.FlipSevenPlayer;
+import com.cardgames.model.flipseven.FlipSevenState;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ReplayServiceTest {
+
+    @Mock
+    private GameMapper gameMapper;
+
+    @Mock
+    private ActionLogService actionLogService;
+
+    @Mock
+    private GameArchiveMapper gameArchiveMapper;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private FlipSevenGameEngine engine;
+    private ReplayService replayService;
+
+    private User testUser;
+    private final Long gameId = 1L;
+
+    private final List<Action> log = new ArrayList<>();
+    private final List<String> statesByMove = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        engine = new FlipSevenGameEngine(null, null, null, objectMapper, null);
+        GameEngineHandler handler = new GameEngineHandler(engine,
+                new UnoGameEngine(null, null, null, objectMapper, null),
+                new SkullKingGameEngine(null, null, null, objectMapper, null));
+        replayService = new ReplayService(new GameCache(gameMapper, 5000, 100), handler, actionLogService,
+                gameArchiveMapper, objectMapper);
+
+        testUser = new User();
+        testUser.setId(1L);
+
+        Game game = new Game();
+        game.setId(gameId);
+        game.setType("FLIP_SEVEN");
+        when(gameMapper.findById(gameId)).thenReturn(Optional.of(game));
+        when(gameMapper.isPlayerInGame(gameId, 1L)).thenReturn(true);
+
+        recordGame(List.of("player1", "player2", "player3"), 7L, 400);
+
+        when(actionLogService.size(gameId)).thenAnswer(inv -> (long) log.size());
+        when(actionLogService.getActions(eq(gameId), anyLong()))
+                .thenAnswer(inv -> new ArrayList<>(log.subList((int) (long) inv.getArgument(1), log.size())));
+    }
+
+    @Test
+    public void testGetStateAt_MatchesLiveGameAcrossCheckpoints() throws Exception {
+        for (int move : new int[] { 0, 1, ReplayService.CHECKPOINT_INTERVAL, ReplayService.CHECKPOINT_INTERVAL + 5,
+                statesByMove.size() - 1 }) {
+            ReplayResponse response = replayService.getStateAt(gameId, move, testUser);
+
+            assertEquals(move, response.getMove());
+            assertEquals(statesByMove.size() - 1, response.getTotalMoves());
+            assertEquals(objectMapper.valueToTree(expectedView(move)),
+                    objectMapper.valueToTree(response.getGameState()));
+        }
+    }
+
+    @Test
+    public void testGetStateAt_HidesDeckWhileInProgress() throws Exception {
+        log.subList(ReplayService.CHECKPOINT_INTERVAL + 11, log.size()).clear();
+        statesByMove.subList(ReplayService.CHECKPOINT_INTERVAL + 11, statesByMove.size()).clear();
+
+        ReplayResponse response = replayService.getStateAt(gameId, ReplayService.CHECKPOINT_INTERVAL + 10, testUser);
+
+        FlipSevenState replayed = (FlipSevenState) response.getGameState();
+        assertTrue(replayed.getDeck().isEmpty());
+        assertEquals(0L, replayed.getSeed());
+        assertEquals(objectMapper.valueToTree(expectedView(ReplayService.CHECKPOINT_INTERVAL + 10)),
+                objectMapper.valueToTree(replayed));
+    }
+
+    @Test
+    public void testGetStateAt_CatchesUpWithNewMoves() throws Exception {
+        log.subList(ReplayService.CHECKPOINT_INTERVAL + 1, log.size()).clear();
+        statesByMove.subList(ReplayService.CHECKPOINT_INTERVAL + 1, statesByMove.size()).clear();
+        int recorded = statesByMove.size() - 1;
+        replayService.getStateAt(gameId, recorded, testUser);
+
+        continueGame(20);
+
+        ReplayResponse response = replayService.getStateAt(gameId, statesByMove.size() - 1, testUser);
+        assertEquals(statesByMove.size() - 1, response.getTotalMoves());
+        assertEquals(objectMapper.valueToTree(expectedView(statesByMove.size() - 1)),
+                objectMapper.valueToTree(response.getGameState()));
+    }
+
+    @Test
+    public void testGetStateAt_RebuildsReapedGameFromArchive() throws Exception {
+        archiveLog();
+
+        ReplayResponse response = replayService.getStateAt(gameId, statesByMove.size() - 1, testUser);
+
+        assertEquals(statesByMove.size() - 1, response.getTotalMoves());
+        assertEquals(objectMapper.valueToTree(expectedView(statesByMove.size() - 1)),
+                objectMapper.valueToTree(response.getGameState()));
+        // The archive is read once, later seeks use the cached timeline
+        replayService.getStateAt(gameId, ReplayService.CHECKPOINT_INTERVAL + 1, testUser);
+        verify(gameArchiveMapper, times(1)).findGameArchive(gameId);
+    }
+
+    @Test
+    public void testGetStateAt_CatchesUpFromArchiveOnceReaped() throws Exception {
+        log.subList(ReplayService.CHECKPOINT_INTERVAL + 1, log.size()).clear();
+        statesByMove.subList(ReplayService.CHECKPOINT_INTERVAL + 1, statesByMove.size()).clear();
+        replayService.getStateAt(gameId, 1, testUser);
+
+        // Moves played after the replay was built are only in the archive
+        continueGame(20);
+        archiveLog();
+
+        ReplayResponse response = replayService.getStateAt(gameId, statesByMove.size() - 1, testUser);
+
+        assertEquals(statesByMove.size() - 1, response.getTotalMoves());
+        assertEquals(objectMapper.valueToTree(expectedView(statesByMove.size() - 1)),
+                objectMapper.valueToTree(response.getGameState()));
+    }
+
+    @Test
+    public void testGetStateAt_NoLogInRedisNorArchive() {
+        when(actionLogService.size(gameId)).thenReturn(0L);
+        when(gameArchiveMapper.findGameArchive(gameId)).thenReturn(Optional.empty());
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> replayService.getStateAt(gameId, 0, testUser));
+        assertEquals("No replay recorded for this game", e.getMessage());
+    }
+
+    @Test
+    public void testGetStateAt_MoveOutOfRange() {
+        assertThrows(RuntimeException.class, () -> replayService.getStateAt(gameId, statesByMove.size(), testUser));
+        assertThrows(RuntimeException.class, () -> replayService.getStateAt(gameId, -1, testUser));
+    }
+
+    @Test
+    public void testGetStateAt_NotInGame() {
+        when(gameMapper.isPlayerInGame(gameId, 1L)).thenReturn(false);
+
+        assertThrows(AccessDeniedException.class, () -> replayService.getStateAt(gameId, 0, testUser));
+    }
+
+    /**
+     * Moves the recorded log to the archive, as the reaper does, leaving no log
+     * in Redis.
+     */
+    private void archiveLog() throws Exception {
+        List<String> entries = new ArrayList<>();
+        for (Action action : log) {
+            entries.add(objectMapper.writeValueAsString(action));
+        }
+        GameArchive archive = new GameArchive();
+        archive.setGameId(gameId);
+        archive.setGameType("FLIP_SEVEN");
+        archive.setState(statesByMove.get(statesByMove.size() - 1));
+        archive.setActions("[" + String.join(",", entries) + "]");
+        when(gameArchiveMapper.findGameArchive(gameId)).thenReturn(Optional.of(archive));
+        when(actionLogService.size(gameId)).thenReturn(0L);
+    }
+
+    /**
+     * The full state once the recorded game has ended, the public view before.
+     */
+    private FlipSevenState expectedView(int move) throws Exception {
+        FlipSevenState state = objectMapper.readValue(statesByMove.get(move), FlipSevenState.class);
+        FlipSevenState last = objectMapper.readValue(statesByMove.get(statesByMove.size() - 1), FlipSevenState.class);
+        return last.isGameOver() ? state : engine.toPublicState(state);
+    }
+
+    /**
+     * Plays a game the way the live engine does, reloading the state from JSON
+     * before every action, and records every accepted action.
+     */
+    private void recordGame(List<String> players, long seed, int moves) throws Exception {
+        Map<String, Object> init = new HashMap<>();
+        init.put("action", ActionLogService.INIT_ACTION);
+        init.put("players", players);
+        init.put("seed", seed);
+        Action start = new Action();
+        start.setPayload(init);
+        log.add(start);
+        statesByMove.add(objectMapper.writeValueAsString(engine.newGame(players, seed)));
+
+        continueGame(moves);
+    }
+
+    private void continueGame(int moves) throws Exception {
+        for (int i = 0; i < moves; i++) {
+            FlipSevenState state = objectMapper.readValue(statesByMove.get(statesByMove.size() - 1),
+                    FlipSevenState.class);
+            if (state.isGameOver())
+                return;
+            Action action = nextAction(state, i);
+            if (engine.applyAction(state, action.getSender(), action.getPayload())) {
+                log.add(action);
+                statesByMove.add(objectMapper.writeValueAsString(state));
+            }
+        }
+    }
+
+    private Action nextAction(FlipSevenState state, int turn) {
+        Map<String, Object> payload = new HashMap<>();
+        Action action = new Action();
+        action.setGameId(gameId);
+        action.setPayload(payload);
+
+        if (state.isRoundOver()) {
+            for (FlipSevenPlayer p : state.getPlayers()) {
+                if (!state.getReadyPlayers().contains(p.getUsername())) {
+                    action.setSender(p.getUsername());
+                    break;
+                }
+            }
+            payload.put("action", "PLAYER_READY");
+            return action;
+        }
+
+        FlipSevenPlayer current = state.getPlayers().get(state.getCurrentPlayerIndex());
+        action.setSender(current.getUsername());
+        if (state.getPendingActionType() != null) {
+            action.setSender(state.getPendingActionInitiator());
+            payload.put("action", "SELECT_TARGET");
+            payload.put("target", state.getPlayers().stream().filter(FlipSevenPlayer::isRoundActive)
+                    .map(FlipSevenPlayer::getUsername).findFirst().orElse(current.getUsername()));
+        } else {
+            payload.put("action", turn % 4 == 3 ? "STAY" : "HIT");
+        }
+        return action;
+    }
+}
@@ -2,12 +2,12 @@ package com.cardgames.service;
 
 import com.cardgames.mapper.UserMapper;
 import com.cardgames.model.User;
+import com.cardgames.model.exception.ServiceBusyException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -23,7 +23,7 @@ class UserServiceTest {
     private UserMapper userMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @InjectMocks
     private UserService userService;
@@ -58,7 +58,7 @@ class UserServiceTest {
     void createUser() {
         User user = new User();
         user.setPassword("plainPassword");
-        when(passwordEncoder.encode("plainPassword")).thenReturn("hashedPassword");
+        when(passwordHasher.encode("plainPassword")).thenReturn("hashedPassword");
 
         userService.createUser(user);
 
@@ -73,7 +73,7 @@ class UserServiceTest {
         String username = "user";
 
         when(userMapper.findByEmail(email)).thenReturn(null);
-        when(passwordEncoder.encode(password)).thenReturn("hashedPassword");
+        when(passwordHasher.encode(password)).thenReturn("hashedPassword");
 
         User result = userService.registerUser(email, password, username);
 
@@ -104,7 +104,7 @@ class UserServiceTest {
         user.setPassword("hashedPassword");
 
         when(userMapper.findByEmail(email)).thenReturn(user);
-        when(passwordEncoder.matches(password, "hashedPassword")).thenReturn(true);
+        when(passwordHasher.matches(password, "hashedPassword")).thenReturn(true);
 
         User result = userService.verifyUser(email, password);
 
@@ -119,10 +119,43 @@ class UserServiceTest {
         user.setPassword("hashedPassword");
 
         when(userMapper.findByEmail(email)).thenReturn(user);
-        when(passwordEncoder.matches(password, "hashedPassword")).thenReturn(false);
+        when(passwordHasher.matches(password, "hashedPassword")).thenReturn(false);
 
         User result = userService.verifyUser(email, password);
 
         assertNull(result);
     }
+
+    @Test
+    void verifyUser_RehashesPasswordOfOtherCost() {
+        User user = new User();
+        user.setId(7L);
+        user.setPassword("$2a$08$oldHash");
+
+        when(userMapper.findByEmail("test@test.com")).thenReturn(user);
+        when(passwordHasher.matches("password", "$2a$08$oldHash")).thenReturn(true);
+        when(passwordHasher.needsRehash("$2a$08$oldHash")).thenReturn(true);
+        when(passwordHasher.encode("password")).thenReturn("$2a$12$newHash");
+
+        User result = userService.verifyUser("test@test.com", "password");
+
+        assertNotNull(result);
+        assertEquals("$2a$12$newHash", result.getPassword());
+        verify(userMapper).updatePassword(7L, "$2a$12$newHash");
+    }
+
+    @Test
+    void verifyUser_LogsInWhenRehashIsRejected() {
+        User user = new User();
+        user.setId(7L);
+        user.setPassword("$2a$08$oldHash");
+
+        when(userMapper.findByEmail("test@test.com")).thenReturn(user);
+        when(passwordHasher.matches("password", "$2a$08$oldHash")).thenReturn(true);
+        when(passwordHasher.needsRehash("$2a$08$oldHash")).thenReturn(true);
+        when(passwordHasher.encode("password")).thenThrow(new ServiceBusyException("busy"));
+
+        assertNotNull(userService.verifyUser("test@test.com", "password"));
+        verify(userMapper, never()).updatePassword(any(), any());
+    }
 }
@@ -0,0 +1,64 @@
+package com.cardgames.service;
+
+import com.cardgames.mapper.UserStatsMapper;
+import com.cardgames.model.UserStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserStatsServiceTest {
+
+    @Mock
+    private UserStatsMapper userStatsMapper;
+
+    private UserStats unoStats;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        unoStats = new UserStats();
+        unoStats.setUserId(1L);
+        unoStats.setGameType("UNO");
+        unoStats.setGamesPlayed(4);
+        unoStats.setWins(1);
+        unoStats.setTotalScore(90);
+        when(userStatsMapper.findByUserId(1L)).thenReturn(List.of(unoStats));
+    }
+
+    @Test
+    public void testGetStats_ReadsDatabaseOncePerTtl() {
+        UserStatsService service = new UserStatsService(userStatsMapper, 60_000, 100);
+
+        assertEquals(List.of(unoStats), service.getStats(1L));
+        assertEquals(List.of(unoStats), service.getStats(1L));
+
+        verify(userStatsMapper, times(1)).findByUserId(1L);
+    }
+
+    @Test
+    public void testGetStats_ExpiredEntryIsReloaded() {
+        UserStatsService service = new UserStatsService(userStatsMapper, 0, 100);
+
+        service.getStats(1L);
+        service.getStats(1L);
+
+        verify(userStatsMapper, times(2)).findByUserId(1L);
+    }
+
+    @Test
+    public void testGetStats_DerivesRates() {
+        UserStatsService service = new UserStatsService(userStatsMapper, 60_000, 100);
+
+        UserStats stats = service.getStats(1L).get(0);
+
+        assertEquals(0.25, stats.getWinRate());
+        assertEquals(22.5, stats.getAverageScore());
+        assertEquals(0, new UserStats().getWinRate());
+    }
+}
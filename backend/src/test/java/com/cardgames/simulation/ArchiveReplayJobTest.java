@@ -0,0 +1,119 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.UnoGameEngine;
+import com.cardgames.model.GameArchive;
+import com.cardgames.model.uno.UnoState;
+import com.cardgames.service.ActionLogService;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArchiveReplayJobTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UnoSimulation uno = new UnoSimulation(new UnoGameEngine(null, null, null, null, null));
+
+    private ArchiveReplayJob job;
+    private GameArchive archive;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        job = new ArchiveReplayJob(List.of(uno), objectMapper);
+        archive = playGame(List.of("alice", "bob", "carol"), 7L);
+    }
+
+    @Test
+    public void testVerify_ArchivedGameReplaysToItsState() {
+        ArchiveReplayJob.VerificationResult result = new ArchiveReplayJob.VerificationResult();
+
+        job.verify(archive, 60_000L, result);
+
+        assertEquals(List.of(), result.getFailures());
+        assertEquals(1, result.getGames());
+        assertTrue(result.getMoves() > 0);
+        assertTrue(result.getMovesPerSecond() > 0);
+        assertTrue(result.getSpeedup() > 0);
+    }
+
+    @Test
+    public void testVerify_ReportsGameThatReplaysDifferently() throws Exception {
+        UnoState changed = objectMapper.readValue(archive.getState(), UnoState.class);
+        changed.setCurrentPlayerIndex((changed.getCurrentPlayerIndex() + 1) % 3);
+        archive.setState(objectMapper.writeValueAsString(changed));
+        ArchiveReplayJob.VerificationResult result = new ArchiveReplayJob.VerificationResult();
+
+        job.verify(archive, null, result);
+
+        assertEquals(List.of("game 1: replayed state differs from the archived one"), result.getFailures());
+        assertEquals(0, result.getSpeedup());
+    }
+
+    @Test
+    public void testVerify_ReportsLogsThatCannotBeReplayed() {
+        ArchiveReplayJob.VerificationResult result = new ArchiveReplayJob.VerificationResult();
+        GameArchive unknown = new GameArchive();
+        unknown.setGameId(2L);
+        unknown.setGameType("POKER");
+        archive.setActions("[]");
+
+        job.verify(archive, null, result);
+        job.verify(unknown, null, result);
+
+        assertEquals(2, result.getFailures().size());
+        assertTrue(result.getFailures().get(0).startsWith("game 1: replay failed"));
+        assertEquals("game 2: unknown game type POKER", result.getFailures().get(1));
+    }
+
+    /**
+     * Plays a bot game the way the live engine does, reloading the state from
+     * JSON before every action, and archives it as the reaper would.
+     */
+    private GameArchive playGame(List<String> players, long seed) throws Exception {
+        UnoGameEngine engine = (UnoGameEngine) uno.getEngine();
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> entries = new ArrayList<>();
+
+        Map<String, Object> init = new HashMap<>();
+        init.put("action", ActionLogService.INIT_ACTION);
+        init.put("players", players);
+        init.put("seed", seed);
+        entries.add(objectMapper.writeValueAsString(action("SYSTEM", init)));
+        String json = objectMapper.writeValueAsString(engine.newGame(players, seed));
+
+        for (int move = 0; move < 200; move++) {
+            UnoState state = objectMapper.readValue(json, UnoState.class);
+            if (engine.isGameOver(state)) {
+                break;
+            }
+            BotMove next = uno.nextMove(state, random);
+            if (engine.applyAction(state, next.getSender(), next.getPayload())) {
+                entries.add(objectMapper.writeValueAsString(action(next.getSender(), next.getPayload())));
+                json = objectMapper.writeValueAsString(state);
+            }
+        }
+
+        GameArchive archived = new GameArchive();
+        archived.setGameId(1L);
+        archived.setGameType("UNO");
+        archived.setState(json);
+        archived.setActions("[" + String.join(",", entries) + "]");
+        return archived;
+    }
+
+    private static Action action(String sender, Map<String, Object> payload) {
+        Action action = new Action();
+        action.setGameId(1L);
+        action.setSender(sender);
+        action.setPayload(payload);
+        return action;
+    }
+}
@@ -0,0 +1,116 @@
+package com.cardgames.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BalanceAnalyticsJobTest {
+
+    private BalanceAnalyticsJob job;
+    private BalanceCampaign campaign;
+
+    @BeforeEach
+    public void setUp() {
+        job = new BalanceAnalyticsJob(BalanceAnalyticsJob.defaultSimulations());
+
+        campaign = new BalanceCampaign();
+        campaign.setPlayerCounts(List.of(2, 4));
+        campaign.setGamesPerCell(20);
+        campaign.setThreads(2);
+        campaign.setSeed(42L);
+    }
+
+    @Test
+    public void testRun_AllGames() throws Exception {
+        BalanceAnalyticsJob.CampaignResult result = job.run(campaign);
+
+        assertEquals(6, result.getCells().size());
+        assertEquals(120, result.getGames());
+        assertTrue(result.getMoves() > 0);
+        for (BalanceStats cell : result.getCells()) {
+            assertEquals(20, cell.getGames());
+            if (!"FLIP_SEVEN".equals(cell.getGameType())) {
+                assertEquals(20, cell.getFinished());
+            }
+            double winRates = 0;
+            for (int seat = 0; seat < cell.getPlayers(); seat++) {
+                winRates += cell.getSeatWinRate(seat);
+            }
+            assertEquals(1.0, winRates, 1e-9);
+        }
+    }
+
+    @Test
+    public void testRun_SweepsOnlyMatchingGames() throws Exception {
+        Map<String, List<Integer>> sweeps = new LinkedHashMap<>();
+        sweeps.put(FlipSevenSimulation.FLIP_SEVEN_BONUS, List.of(10, 20));
+        sweeps.put(SkullKingSimulation.ROUNDS, List.of(3, 10));
+        campaign.setSweeps(sweeps);
+        campaign.setGameTypes(List.of("FLIP_SEVEN", "SKULL_KING"));
+        campaign.setPlayerCounts(List.of(3));
+
+        BalanceAnalyticsJob.CampaignResult result = job.run(campaign);
+
+        assertEquals(4, result.getCells().size());
+        assertEquals(10, result.getCells().get(0).getParameters().get(FlipSevenSimulation.FLIP_SEVEN_BONUS));
+        assertEquals(200, result.getCells().get(0).getParameters().get(FlipSevenSimulation.TARGET_SCORE));
+        assertEquals(20, result.getCells().get(1).getParameters().get(FlipSevenSimulation.FLIP_SEVEN_BONUS));
+
+        BalanceStats shortGames = result.getCells().get(2);
+        BalanceStats fullGames = result.getCells().get(3);
+        assertEquals(3, shortGames.getParameters().get(SkullKingSimulation.ROUNDS));
+        assertTrue(shortGames.getMeanMoves() < fullGames.getMeanMoves());
+    }
+
+    @Test
+    public void testRun_UnknownSweepParameter() {
+        campaign.setSweeps(Map.of("flipSevenBonsu", List.of(10, 20)));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> job.run(campaign));
+        assertTrue(e.getMessage().contains(FlipSevenSimulation.FLIP_SEVEN_BONUS), e.getMessage());
+    }
+
+    @Test
+    public void testRun_SameSeedSameReportWhateverTheThreads() throws Exception {
+        String parallel = csvWithoutThroughput(job.run(campaign));
+        campaign.setThreads(1);
+        String sequential = csvWithoutThroughput(job.run(campaign));
+
+        assertEquals(parallel, sequential);
+    }
+
+    @Test
+    public void testParse() {
+        BalanceCampaign parsed = BalanceCampaign.parse(new String[] { "--games=uno,skull_king", "--players=3,5",
+                "--games-per-cell=500", "--threads=4", "--seed=7", "--sweep=handSize=5,7,9", "--out=uno.csv" });
+
+        assertEquals(List.of("UNO", "SKULL_KING"), parsed.getGameTypes());
+        assertEquals(List.of(3, 5), parsed.getPlayerCounts());
+        assertEquals(500, parsed.getGamesPerCell());
+        assertEquals(4, parsed.getThreads());
+        assertEquals(7L, parsed.getSeed());
+        assertEquals(List.of(5, 7, 9), parsed.getSweeps().get(UnoSimulation.HAND_SIZE));
+        assertEquals("uno.csv", parsed.getOutput());
+    }
+
+    @Test
+    public void testParse_UnknownArgument() {
+        assertThrows(IllegalArgumentException.class, () -> BalanceCampaign.parse(new String[] { "--speed=fast" }));
+    }
+
+    private String csvWithoutThroughput(BalanceAnalyticsJob.CampaignResult result) throws Exception {
+        StringWriter writer = new StringWriter();
+        job.writeCsv(result, writer);
+        return Arrays.stream(writer.toString().split("\n"))
+                .map(line -> line.substring(0, line.lastIndexOf(',')))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -0,0 +1,112 @@
+package com.cardgames.simulation;
+
+import com.cardgames.engine.FlipSevenGameEngine;
+import com.cardgames.engine.SkullKingGameEngine;
+import com.cardgames.engine.UnoGameEngine;
+import com.cardgames.model.flipseven.FlipSevenState;
+import com.cardgames.model.skullking.SkullKingState;
+import com.cardgames.model.uno.UnoState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InvariantFuzzerTest {
+
+    private final FlipSevenSimulation flipSeven = new FlipSevenSimulation(
+            new FlipSevenGameEngine(null, null, null, null, null));
+    private final UnoSimulation uno = new UnoSimulation(new UnoGameEngine(null, null, null, null, null));
+    private final SkullKingSimulation skullKing = new SkullKingSimulation(
+            new SkullKingGameEngine(null, null, null, null, null));
+
+    private InvariantFuzzer fuzzer;
+    private FuzzSettings settings;
+
+    private final List<String> players = List.of("seat1", "seat2", "seat3");
+
+    @BeforeEach
+    public void setUp() {
+        fuzzer = new InvariantFuzzer(List.of(flipSeven, uno, skullKing));
+
+        settings = new FuzzSettings();
+        settings.setPlayerCounts(List.of(2, 5));
+        settings.setGamesPerCell(50);
+        settings.setThreads(2);
+        settings.setWarmupGames(0);
+    }
+
+    @Test
+    public void testRun_GamesKeepInvariants() throws Exception {
+        settings.setGameTypes(List.of("FLIP_SEVEN", "UNO", "SKULL_KING"));
+        settings.setNoise(0.3);
+
+        Map<String, FuzzReport> reports = fuzzer.run(settings);
+
+        for (FuzzReport report : reports.values()) {
+            assertEquals(100, report.getGames());
+            assertTrue(report.getActions() > 0);
+            assertEquals(List.of(), report.getFindings(), report.getGameType());
+        }
+    }
+
+    @Test
+    public void testRun_RecordsLatencyOutliers() throws Exception {
+        settings.setGameTypes(List.of("UNO"));
+        settings.setOutlierMicros(0);
+
+        FuzzReport report = fuzzer.run(settings).get("UNO");
+
+        assertEquals(report.getActions(), report.getOutliers());
+        assertEquals(5, report.getSlowest().size());
+        assertTrue(report.getSlowest().get(0).getNanos() >= report.getSlowest().get(4).getNanos());
+        assertTrue(report.getLatencyPercentile(50) <= report.getLatencyPercentile(99));
+    }
+
+    @Test
+    public void testCheckInvariants_FlipSevenDuplicateCard() {
+        FlipSevenState state = flipSeven.newGame(players, 1L, flipSeven.getDefaultParameters());
+        state.getPlayers().get(1).getHand().add(state.getDeck().get(0));
+
+        List<String> violations = new ArrayList<>();
+        flipSeven.checkInvariants(state, violations);
+
+        assertTrue(violations.get(0).startsWith("card conservation: card "));
+        assertTrue(violations.get(0).endsWith("is held twice, again in seat2's hand"));
+    }
+
+    @Test
+    public void testCheckInvariants_UnoLostCard() {
+        UnoState state = uno.newGame(players, 1L, uno.getDefaultParameters());
+        state.getDeck().remove(0);
+
+        List<String> violations = new ArrayList<>();
+        uno.checkInvariants(state, violations);
+
+        assertEquals(List.of("card conservation: 107 cards in play instead of 108"), violations);
+    }
+
+    @Test
+    public void testCheckInvariants_SkullKingCurrentPlayerOutOfRange() {
+        SkullKingState state = skullKing.newGame(players, 1L, skullKing.getDefaultParameters());
+        state.setCurrentPlayerIndex(3);
+
+        List<String> violations = new ArrayList<>();
+        skullKing.checkInvariants(state, violations);
+
+        assertEquals(List.of("current player index 3 is not one of 3 seats"), violations);
+    }
+
+    @Test
+    public void testCheckInvariants_FreshGamesAreValid() {
+        List<String> violations = new ArrayList<>();
+        flipSeven.checkInvariants(flipSeven.newGame(players, 2L, flipSeven.getDefaultParameters()), violations);
+        uno.checkInvariants(uno.newGame(players, 2L, uno.getDefaultParameters()), violations);
+        skullKing.checkInvariants(skullKing.newGame(players, 2L, skullKing.getDefaultParameters()), violations);
+
+        assertEquals(List.of(), violations);
+    }
+}
@@ -1,8 +1,12 @@
 package com.cardgames.websocket.controller;
 
 import com.cardgames.engine.GameEngineHandler;
+import com.cardgames.metrics.ActionFlightRecorder;
+import com.cardgames.metrics.GameMetrics;
 import com.cardgames.service.LobbyService;
+import com.cardgames.websocket.interceptor.ActionTraceInterceptor;
 import com.cardgames.websocket.model.Action;
+import com.cardgames.websocket.model.ActionTrace;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -16,6 +20,7 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -31,6 +36,12 @@ public class ActionControllerTest {
     @Mock
     private GameEngineHandler gameEngineHandler;
 
+    @Mock
+    private GameMetrics gameMetrics;
+
+    @Mock
+    private ActionFlightRecorder flightRecorder;
+
     @InjectMocks
     private ActionController actionController;
 
@@ -46,12 +57,43 @@ public class ActionControllerTest {
         action.setType(Action.ActionType.GAME_ACTION);
         action.setSender("user1");
 
-        actionController.sendMessage(gameId, action);
+        actionController.sendMessage(gameId, action, SimpMessageHeaderAccessor.create());
 
         verify(gameEngineHandler, times(1)).handleAction(action);
+        verify(flightRecorder, times(1)).record(action);
         assertEquals(1L, action.getGameId());
     }
 
+    @Test
+    public void testSendMessage_StartsTraceAtReceiveTime() {
+        Action action = new Action();
+        action.setType(Action.ActionType.GAME_ACTION);
+        action.setSender("user1");
+        action.setCorrelationId("click-1");
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create();
+        headerAccessor.setHeader(ActionTraceInterceptor.RECEIVED_AT_HEADER, 1_000L);
+        headerAccessor.setHeader(ActionTraceInterceptor.RECEIVED_NANOS_HEADER, System.nanoTime());
+
+        actionController.sendMessage("1", action, headerAccessor);
+
+        ActionTrace trace = action.getTrace();
+        assertEquals("click-1", trace.getCorrelationId());
+        assertEquals(1_000L, trace.getReceivedAt());
+        assertNotNull(trace.getDequeuedMicros());
+    }
+
+    @Test
+    public void testSendMessage_GeneratesCorrelationId() {
+        Action action = new Action();
+        action.setType(Action.ActionType.GAME_ACTION);
+        action.setSender("user1");
+
+        actionController.sendMessage("1", action, SimpMessageHeaderAccessor.create());
+
+        assertNotNull(action.getCorrelationId());
+        assertEquals(action.getCorrelationId(), action.getTrace().getCorrelationId());
+    }
+
     @Test
     public void testSendMessage_Chat() {
         String gameId = "1";
@@ -59,7 +101,7 @@ public class ActionControllerTest {
         action.setType(Action.ActionType.SYSTEM); // Not GAME_ACTION
         action.setSender("user1");
 
-        actionController.sendMessage(gameId, action);
+        actionController.sendMessage(gameId, action, SimpMessageHeaderAccessor.create());
 
         verify(gameEngineHandler, never()).handleAction(action);
         verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/lobby/1/chat"), eq(action));
@@ -84,6 +126,7 @@ public class ActionControllerTest {
 
         // Verify Service call
         verify(lobbyService, times(1)).addPlayer(1L, "user1");
+        verify(gameMetrics, times(1)).recordLobbySize(1L, 1);
 
         // Verify Broadcasts
         verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/lobby/1"), any(Set.class)); // User list
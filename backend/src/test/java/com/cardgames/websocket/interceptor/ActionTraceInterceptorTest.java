@@ -0,0 +1,47 @@
+package com.cardgames.websocket.interceptor;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ActionTraceInterceptorTest {
+
+    private final ActionTraceInterceptor interceptor = new ActionTraceInterceptor();
+
+    @Test
+    public void testPreSend_StampsSendFrames() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        Message<?> result = interceptor.preSend(message, null);
+
+        assertInstanceOf(Long.class, result.getHeaders().get(ActionTraceInterceptor.RECEIVED_AT_HEADER));
+        assertInstanceOf(Long.class, result.getHeaders().get(ActionTraceInterceptor.RECEIVED_NANOS_HEADER));
+    }
+
+    @Test
+    public void testPreSend_StampsImmutableSendFrames() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SEND);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        Message<?> result = interceptor.preSend(message, null);
+
+        assertNotNull(result.getHeaders().get(ActionTraceInterceptor.RECEIVED_NANOS_HEADER));
+    }
+
+    @Test
+    public void testPreSend_IgnoresOtherFrames() {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+        Message<?> result = interceptor.preSend(message, null);
+
+        assertSame(message, result);
+        assertNull(result.getHeaders().get(ActionTraceInterceptor.RECEIVED_NANOS_HEADER));
+    }
+}
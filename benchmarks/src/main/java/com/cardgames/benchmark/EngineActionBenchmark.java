@@ -0,0 +1,63 @@
+package com.cardgames.benchmark;
+
+import com.cardgames.engine.AbstractGameEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one player action going through {@code handleAction}: loading the
+ * state JSON, applying the rules, appending to the action log, saving the
+ * state and converting the broadcast. Every invocation starts from the next of
+ * a fixed set of recorded mid-game positions, so the game never runs out and
+ * each run sees the same mix of moves.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineActionBenchmark {
+
+    private static final int POSITIONS = 512;
+
+    @Param({ "FLIP_SEVEN", "UNO", "SKULL_KING" })
+    public String gameType;
+
+    @Param({ "2", "4", "6" })
+    public int players;
+
+    private EngineFixture fixture;
+    private AbstractGameEngine<?> engine;
+    private List<EngineFixture.Position> positions;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new EngineFixture(gameType);
+        engine = fixture.getEngine();
+        positions = fixture.recordMidGame(players, POSITIONS, 42L);
+        next = 0;
+    }
+
+    @Benchmark
+    public void handleAction() {
+        EngineFixture.Position position = positions.get(next);
+        next = (next + 1) % POSITIONS;
+        fixture.restore(position);
+        engine.handleAction(position.action());
+    }
+}
@@ -0,0 +1,184 @@
+package com.cardgames.benchmark;
+
+import com.cardgames.engine.AbstractGameEngine;
+import com.cardgames.engine.FlipSevenGameEngine;
+import com.cardgames.engine.SkullKingGameEngine;
+import com.cardgames.engine.UnoGameEngine;
+import com.cardgames.service.ActionLogService;
+import com.cardgames.simulation.BotMove;
+import com.cardgames.simulation.FlipSevenSimulation;
+import com.cardgames.simulation.GameSimulation;
+import com.cardgames.simulation.SkullKingSimulation;
+import com.cardgames.simulation.UnoSimulation;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Wires a game engine the way Spring does in production, except that states
+ * live in an {@link InMemoryRedisTemplate} and broadcasts are converted to
+ * JSON and dropped, and records mid-game positions to replay in benchmarks.
+ */
+public class EngineFixture {
+
+    private static final int MAX_MOVES = 5000;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final InMemoryRedisTemplate redisTemplate = new InMemoryRedisTemplate();
+    private final GameSimulation<?> simulation;
+    private final String stateKey;
+
+    /**
+     * Builds the engine of a game type.
+     *
+     * @param gameType The type of the game (FLIP_SEVEN, UNO or SKULL_KING).
+     */
+    public EngineFixture(String gameType) {
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> true);
+        messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter(objectMapper));
+
+        ActionLogService actionLogService = new ActionLogService();
+        inject(actionLogService, "redisTemplate", redisTemplate);
+        inject(actionLogService, "objectMapper", objectMapper);
+
+        this.simulation = switch (gameType) {
+            case "FLIP_SEVEN" -> new FlipSevenSimulation(new FlipSevenGameEngine(messagingTemplate,
+                    redisTemplate, null, objectMapper, actionLogService));
+            case "UNO" -> new UnoSimulation(new UnoGameEngine(messagingTemplate,
+                    redisTemplate, null, objectMapper, actionLogService));
+            case "SKULL_KING" -> new SkullKingSimulation(new SkullKingGameEngine(messagingTemplate,
+                    redisTemplate, null, objectMapper, actionLogService));
+            default -> throw new IllegalArgumentException("Unknown game type: " + gameType);
+        };
+        this.stateKey = switch (gameType) {
+            case "FLIP_SEVEN" -> "game:flipseven:";
+            case "UNO" -> "game:uno:";
+            default -> "game:skullking:";
+        } + Position.GAME_ID + ":state";
+    }
+
+    /**
+     * Gets the engine under test.
+     *
+     * @return The game engine.
+     */
+    public AbstractGameEngine<?> getEngine() {
+        return simulation.getEngine();
+    }
+
+    /**
+     * Stores a recorded position as the current state of the benchmark game.
+     *
+     * @param position The position to restore.
+     */
+    public void restore(Position position) {
+        redisTemplate.put(stateKey, position.state());
+    }
+
+    /**
+     * Gets the object mapper the engine serializes states with.
+     *
+     * @return The object mapper.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Plays bot games and keeps the positions from their middle half, skipping
+     * the opening deal and the final rounds.
+     *
+     * @param players The number of players.
+     * @param count   The number of positions to record.
+     * @param seed    The seed of the games and of the bots.
+     * @return The recorded positions with the bot move played from each.
+     */
+    public List<Position> recordMidGame(int players, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Position> positions = new ArrayList<>();
+        while (positions.size() < count) {
+            List<Position> game = playGame(simulation, players, random);
+            positions.addAll(game.subList(game.size() / 4, game.size() * 3 / 4));
+        }
+        return positions.subList(0, count);
+    }
+
+    /**
+     * Plays one bot game and reads back the state reached after the given share
+     * of its moves.
+     *
+     * @param players  The number of players.
+     * @param progress How far into the game to stop, from 0 (the deal) to 1.
+     * @param seed     The seed of the game and of the bots.
+     * @return The game state at that point.
+     */
+    public Object recordStage(int players, double progress, long seed) {
+        List<Position> game = playGame(simulation, players, new SplittableRandom(seed));
+        String json = game.get((int) Math.min(game.size() - 1, game.size() * progress)).state();
+        try {
+            return objectMapper.readValue(json, getEngine().getStateType());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read benchmark position", e);
+        }
+    }
+
+    private <S> List<Position> playGame(GameSimulation<S> simulation, int players, SplittableRandom random) {
+        List<String> seats = new ArrayList<>();
+        for (int i = 1; i <= players; i++) {
+            seats.add("seat" + i);
+        }
+
+        S state = simulation.newGame(seats, random.nextLong(), simulation.getDefaultParameters());
+        List<Position> game = new ArrayList<>();
+        while (!simulation.getEngine().isGameOver(state) && game.size() < MAX_MOVES) {
+            BotMove move = simulation.nextMove(state, random);
+            String json = write(state);
+            if (simulation.getEngine().applyAction(state, move.getSender(), move.getPayload())) {
+                game.add(new Position(json, toAction(move)));
+            }
+        }
+        return game;
+    }
+
+    private String write(Object state) {
+        try {
+            return objectMapper.writeValueAsString(state);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not record benchmark position", e);
+        }
+    }
+
+    private static Action toAction(BotMove move) {
+        Action action = new Action();
+        action.setType(Action.ActionType.GAME_ACTION);
+        action.setGameId(Position.GAME_ID);
+        action.setSender(move.getSender());
+        action.setPayload(move.getPayload());
+        return action;
+    }
+
+    private static void inject(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * A stored game state and the action a bot played from it.
+     *
+     * @param state  The state as saved in Redis.
+     * @param action The action the engine accepted from that state.
+     */
+    public record Position(String state, Action action) {
+        static final long GAME_ID = 1L;
+    }
+}
@@ -0,0 +1,107 @@
+package com.cardgames.benchmark;
+
+import org.springframework.data.redis.core.ListOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A StringRedisTemplate that keeps game states in a map, so benchmarks measure
+ * the engines and JSON mapping without a Redis round trip. Only the
+ * operations the engines and the action log use are supported. Action log
+ * entries are serialized by the caller as in production and then dropped.
+ * Not thread safe: give every benchmark thread its own instance.
+ */
+public class InMemoryRedisTemplate extends StringRedisTemplate {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    private final ValueOperations<String, String> valueOperations = proxy(ValueOperations.class,
+            (proxy, method, args) -> switch (method.getName()) {
+                case "get" -> values.get(args[0]);
+                case "set" -> {
+                    values.put((String) args[0], (String) args[1]);
+                    yield null;
+                }
+                default -> unsupported(method.getName());
+            });
+
+    private final ListOperations<String, String> listOperations = proxy(ListOperations.class,
+            (proxy, method, args) -> switch (method.getName()) {
+                case "rightPush" -> 1L;
+                default -> unsupported(method.getName());
+            });
+
+    /**
+     * Gets the in-memory value operations.
+     *
+     * @return The value operations.
+     */
+    @Override
+    public ValueOperations<String, String> opsForValue() {
+        return valueOperations;
+    }
+
+    /**
+     * Gets the list operations, which accept pushes and discard them.
+     *
+     * @return The list operations.
+     */
+    @Override
+    public ListOperations<String, String> opsForList() {
+        return listOperations;
+    }
+
+    /**
+     * Runs the action log script that saves a state if it is unchanged: the new
+     * state replaces the old one when the old one is the expected one, and the
+     * log entry is dropped.
+     *
+     * @param script The script, which must take the state key first and the
+     *               expected and new states as its first arguments.
+     * @param keys   The keys of the script.
+     * @param args   The arguments of the script.
+     * @return 1 if the state was saved, 0 otherwise.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(RedisScript<T> script, List<String> keys, Object... args) {
+        if (!Objects.equals(values.get(keys.get(0)), args[0])) {
+            return (T) Long.valueOf(0);
+        }
+        values.put(keys.get(0), (String) args[1]);
+        return (T) Long.valueOf(1);
+    }
+
+    /**
+     * Stores a value directly, bypassing the operations proxy.
+     *
+     * @param key   The key to set.
+     * @param value The value to store.
+     */
+    public void put(String key, String value) {
+        values.put(key, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InMemoryRedisTemplate.class.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    default -> handler.invoke(proxy, method, args);
+                });
+    }
+
+    private static Object unsupported(String operation) {
+        throw new UnsupportedOperationException("In-memory Redis does not support " + operation);
+    }
+}
@@ -0,0 +1,43 @@
+package com.cardgames.benchmark;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reports the size of the JSON handled by {@link StateSerializationBenchmark} as
+ * the {@code bytes} secondary result. The sizes are fixed for a trial, so every
+ * iteration reports the same value and they are averaged, not summed.
+ */
+public class PayloadSizeProfiler implements InternalProfiler {
+
+    static volatile long stateBytes = -1;
+    static volatile long broadcastBytes = -1;
+
+    @Override
+    public String getDescription() {
+        return "Size of the JSON payloads of StateSerializationBenchmark";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams,
+            IterationParams iterationParams, IterationResult result) {
+        String benchmark = benchmarkParams.getBenchmark();
+        if (!benchmark.startsWith(StateSerializationBenchmark.class.getName() + ".")) {
+            return List.of();
+        }
+        long bytes = benchmark.endsWith(".encodeBroadcast") ? broadcastBytes : stateBytes;
+        return List.of(new ScalarResult("bytes", bytes, "B", AggregationPolicy.AVG));
+    }
+}
@@ -0,0 +1,108 @@
+package com.cardgames.benchmark;
+
+import com.cardgames.engine.AbstractGameEngine;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Jackson work done around every action: writing the state to
+ * Redis, reading it back, and building and converting the broadcast the way
+ * {@code broadcastGameState} does. States are taken from a bot game at the
+ * deal, halfway through and near the end. The size of the JSON is reported next
+ * to the timings as the {@code bytes} result of {@link PayloadSizeProfiler}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StateSerializationBenchmark {
+
+    @Param({ "FLIP_SEVEN", "UNO", "SKULL_KING" })
+    public String gameType;
+
+    @Param({ "EARLY", "MID", "LATE" })
+    public String stage;
+
+    @Param({ "4" })
+    public int players;
+
+    private ObjectMapper objectMapper;
+    private MappingJackson2MessageConverter messageConverter;
+    private AbstractGameEngine<?> engine;
+    private Object state;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        EngineFixture fixture = new EngineFixture(gameType);
+        objectMapper = fixture.getObjectMapper();
+        messageConverter = new MappingJackson2MessageConverter(objectMapper);
+        engine = fixture.getEngine();
+        state = fixture.recordStage(players, progress(stage), 42L);
+        encoded = objectMapper.writeValueAsBytes(state);
+        PayloadSizeProfiler.stateBytes = encoded.length;
+        PayloadSizeProfiler.broadcastBytes = ((byte[]) encodeBroadcast().getPayload()).length;
+    }
+
+    @Benchmark
+    public byte[] encodeState() throws Exception {
+        return objectMapper.writeValueAsBytes(state);
+    }
+
+    @Benchmark
+    public Object decodeState() throws Exception {
+        return objectMapper.readValue(encoded, engine.getStateType());
+    }
+
+    @Benchmark
+    public Message<?> encodeBroadcast() {
+        return messageConverter.toMessage(buildBroadcast(engine, state), null);
+    }
+
+    /**
+     * Builds the GAME_UPDATE wrapper exactly as broadcastGameState does.
+     */
+    @SuppressWarnings("unchecked")
+    private static <S> Action buildBroadcast(AbstractGameEngine<S> engine, Object state) {
+        Action updateAction = new Action();
+        updateAction.setType(Action.ActionType.GAME_ACTION);
+        updateAction.setGameId(EngineFixture.Position.GAME_ID);
+        updateAction.setSender("SYSTEM");
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "GAME_UPDATE");
+        payload.put("gameState", engine.toPublicState((S) state));
+
+        updateAction.setPayload(payload);
+        return updateAction;
+    }
+
+    private static double progress(String stage) {
+        return switch (stage) {
+            case "EARLY" -> 0.1;
+            case "MID" -> 0.5;
+            case "LATE" -> 0.9;
+            default -> throw new IllegalArgumentException("Unknown stage: " + stage);
+        };
+    }
+}
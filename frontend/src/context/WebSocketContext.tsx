@@ -9,6 +9,7 @@ export interface Action {
     type: string;
     gameId?: number;
     gameType?: string;
+    correlationId?: string;
     // UI convenience
     content?: string;
 }
@@ -39,6 +40,8 @@ export const WebSocketProvider: React.FC<{ children: React.ReactNode }> = ({ chi
     const [currentGameType, setCurrentGameType] = useState<string | null>(null);
 
     const stompClientRef = useRef<any>(null);
+    // Send time of the game actions waiting for their GAME_UPDATE, by correlation ID
+    const pendingActionsRef = useRef<Map<string, number>>(new Map());
 
     const disconnect = useCallback(() => {
         if (stompClientRef.current) {
@@ -113,6 +116,12 @@ export const WebSocketProvider: React.FC<{ children: React.ReactNode }> = ({ chi
                 const gameAction = JSON.parse(payload.body);
 
                 if (gameAction.payload?.type === 'GAME_UPDATE') {
+                    const trace = gameAction.payload.trace;
+                    const sentAt = trace && pendingActionsRef.current.get(trace.correlationId);
+                    if (sentAt !== undefined && sentAt !== null) {
+                        pendingActionsRef.current.delete(trace.correlationId);
+                        console.debug(`Action ${trace.correlationId}: ${Math.round(performance.now() - sentAt)} ms round trip, server stages (us)`, trace);
+                    }
                     setGameState((prev: any) => ({
                         ...prev,
                         ...gameAction.payload
@@ -139,12 +148,20 @@ export const WebSocketProvider: React.FC<{ children: React.ReactNode }> = ({ chi
 
     const sendAction = useCallback((type: string, payload: any) => {
         if (stompClientRef.current && connected && currentGameId && currentGameType && user) {
-            const action = {
+            const action: Action = {
                 sender: user.username,
                 payload: payload,
                 type: type,
                 gameType: currentGameType
             };
+            if (type === 'GAME_ACTION' || type === 'SYNC_REQUEST') {
+                const correlationId = Math.random().toString(36).slice(2);
+                const pending = pendingActionsRef.current;
+                // Rejected actions never get an update; forget the oldest ones
+                if (pending.size >= 50) pending.delete(pending.keys().next().value as string);
+                pending.set(correlationId, performance.now());
+                action.correlationId = correlationId;
+            }
             stompClientRef.current.send(`/app/action/${currentGameId}/sendMessage`, {}, JSON.stringify(action));
         }
     }, [connected, currentGameId, currentGameType, user]);
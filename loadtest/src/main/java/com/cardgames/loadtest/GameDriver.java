@@ -0,0 +1,226 @@
+package com.cardgames.loadtest;
+
+import com.cardgames.dto.GameResponse;
+import com.cardgames.engine.AbstractGameEngine;
+import com.cardgames.model.flipseven.Card;
+import com.cardgames.model.flipseven.CardType;
+import com.cardgames.model.flipseven.FlipSevenState;
+import com.cardgames.simulation.BotMove;
+import com.cardgames.simulation.GameSimulation;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Plays games of one type back to back with a fixed table of scripted players
+ * until the deadline. Players register once, then for every game the first
+ * one creates it, the others join with its code, everyone connects to the
+ * lobby and the host starts it. Moves are chosen by the simulation bots from
+ * the broadcast state, so only one action per game is in flight and the next
+ * GAME_UPDATE is the one it caused.
+ *
+ * @param <S> The game state type.
+ */
+public class GameDriver<S> implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameDriver.class);
+
+    private static final int MAX_MOVES = 5000;
+    private static final int MAX_TIMEOUTS_IN_ROW = 3;
+    private static final List<Card> HIDDEN_DECK = List.of(new Card("hidden", CardType.NUMBER, 0, "?"));
+
+    private final GameSimulation<S> simulation;
+    private final WebSocketStompClient client;
+    private final ObjectMapper objectMapper;
+    private final LoadTestSettings settings;
+    private final LoadReport report;
+    private final List<ScriptedPlayer> players = new ArrayList<>();
+    private final Map<String, ScriptedPlayer> playersByName = new HashMap<>();
+    private final SplittableRandom random;
+    private final long deadline;
+
+    /**
+     * Creates a driver and its table of players.
+     *
+     * @param simulation   The bots of the game type to play.
+     * @param client       The STOMP client shared by all drivers.
+     * @param objectMapper The object mapper used to read states.
+     * @param settings     The load test settings.
+     * @param report       The report of the game type.
+     * @param namePrefix   The prefix of the usernames, unique to this driver and run.
+     * @param seed         The seed the bots draw their moves from.
+     * @param deadline     The {@link System#nanoTime()} after which no new game is started.
+     */
+    public GameDriver(GameSimulation<S> simulation, WebSocketStompClient client, ObjectMapper objectMapper,
+            LoadTestSettings settings, LoadReport report, String namePrefix, long seed, long deadline) {
+        this.simulation = simulation;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.settings = settings;
+        this.report = report;
+        this.random = new SplittableRandom(seed);
+        this.deadline = deadline;
+        for (int seat = 1; seat <= settings.getPlayers(); seat++) {
+            ScriptedPlayer player = new ScriptedPlayer(settings.getBaseUrl(), namePrefix + "p" + seat, objectMapper);
+            players.add(player);
+            playersByName.put(player.getUsername(), player);
+        }
+    }
+
+    /**
+     * Registers the players and plays games until the deadline.
+     */
+    @Override
+    public void run() {
+        try {
+            for (ScriptedPlayer player : players) {
+                player.register();
+            }
+            while (System.nanoTime() < deadline) {
+                playGame();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("{} driver of {} stopped", simulation.getGameType(), players.get(0).getUsername(), e);
+        }
+    }
+
+    private void playGame() throws Exception {
+        ScriptedPlayer host = players.get(0);
+        GameResponse game = host.createGame(simulation.getGameType());
+        Long gameId = game.getGameId();
+        for (ScriptedPlayer player : players.subList(1, players.size())) {
+            player.joinGame(game.getGameCode());
+        }
+
+        BlockingQueue<Update> updates = new LinkedBlockingQueue<>();
+        CountDownLatch lobbyFull = new CountDownLatch(1);
+        String gameTopic = "/topic/lobby/" + gameId + "/game";
+        try {
+            host.connect(client, gameId, Map.of(
+                    gameTopic, handler(Action.class, a -> updates.add(new Update(System.nanoTime(), a))),
+                    "/topic/lobby/" + gameId, handler(List.class, lobby -> {
+                        if (lobby.size() >= players.size())
+                            lobbyFull.countDown();
+                    })));
+            for (ScriptedPlayer player : players.subList(1, players.size())) {
+                player.connect(client, gameId, Map.of(gameTopic, handler(Action.class, a -> {
+                })));
+            }
+
+            if (!lobbyFull.await(settings.getActionTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Lobby of game {} did not fill up, abandoning it", gameId);
+                report.recordGame(false);
+                return;
+            }
+            host.startGame(gameId);
+            report.recordGame(play(gameId, updates));
+        } finally {
+            players.forEach(ScriptedPlayer::disconnect);
+        }
+    }
+
+    /**
+     * Answers every update with the next bot move until the game ends.
+     *
+     * @return true if the game reached its end.
+     */
+    private boolean play(Long gameId, BlockingQueue<Update> updates) throws InterruptedException {
+        AbstractGameEngine<S> engine = simulation.getEngine();
+        String gameType = simulation.getGameType();
+        long sentAt = 0;
+        int timeoutsInRow = 0;
+        Object previousView = null;
+
+        for (int moves = 0; moves < MAX_MOVES;) {
+            Update update = updates.poll(settings.getActionTimeoutMillis(), TimeUnit.MILLISECONDS);
+            if (update == null) {
+                report.recordTimeout();
+                sentAt = 0;
+                if (++timeoutsInRow > MAX_TIMEOUTS_IN_ROW) {
+                    logger.warn("Game {} stopped answering, abandoning it", gameId);
+                    return false;
+                }
+                if (!players.get(0).isConnected()) {
+                    logger.warn("Connection of the host of game {} closed, abandoning it", gameId);
+                    return false;
+                }
+                players.get(0).requestSync(gameId, gameType);
+                continue;
+            }
+            timeoutsInRow = 0;
+
+            Map<String, Object> payload = update.action().getPayload();
+            if (payload == null || !"GAME_UPDATE".equals(payload.get("type")))
+                continue;
+            if (sentAt != 0) {
+                report.recordLatency(update.receivedAt() - sentAt);
+                sentAt = 0;
+            }
+
+            Object view = payload.get("gameState");
+            boolean unchanged = view.equals(previousView);
+            previousView = view;
+            S state = objectMapper.convertValue(view, engine.getStateType());
+            if (engine.isGameOver(state))
+                return true;
+
+            BotMove move = simulation.nextMove(withHiddenCards(state, unchanged), random);
+            ScriptedPlayer player = playersByName.get(move.getSender());
+            sentAt = System.nanoTime();
+            player.sendGameAction(gameId, gameType, move.getPayload());
+            moves++;
+        }
+        return false;
+    }
+
+    /**
+     * The broadcast hides the Flip Seven deck, which the bot only looks at to
+     * avoid hitting on an empty deck. The deck is assumed to hold cards unless
+     * the last action left the state unchanged, which is how the engine answers
+     * a hit on an empty deck.
+     */
+    private S withHiddenCards(S state, boolean unchanged) {
+        if (state instanceof FlipSevenState flipSeven && flipSeven.getDeck().isEmpty() && !unchanged) {
+            flipSeven.setDeck(HIDDEN_DECK);
+        }
+        return state;
+    }
+
+    private static <T> StompFrameHandler handler(Class<T> payloadType, Consumer<T> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return payloadType;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                consumer.accept(payloadType.cast(payload));
+            }
+        };
+    }
+
+    /**
+     * A broadcast and the time it was received.
+     */
+    private record Update(long receivedAt, Action action) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.cardgames.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the load test measured for one game type: the end-to-end latency of
+ * every action, from sending it to receiving the GAME_UPDATE it caused, and the
+ * number of actions, games and timeouts.
+ */
+public class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String gameType;
+    private final Histogram latencies = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private long games;
+    private long finishedGames;
+    private long timeouts;
+
+    /**
+     * Creates an empty report.
+     *
+     * @param gameType The game type the report is about.
+     */
+    public LoadReport(String gameType) {
+        this.gameType = gameType;
+    }
+
+    /**
+     * Records the latency of one action.
+     *
+     * @param nanos The time between sending the action and receiving its update.
+     */
+    public synchronized void recordLatency(long nanos) {
+        latencies.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    /**
+     * Records an action whose update did not arrive in time.
+     */
+    public synchronized void recordTimeout() {
+        timeouts++;
+    }
+
+    /**
+     * Records the end of a game.
+     *
+     * @param finished true if the game reached its end, false if it was abandoned.
+     */
+    public synchronized void recordGame(boolean finished) {
+        games++;
+        if (finished) {
+            finishedGames++;
+        }
+    }
+
+    /**
+     * Gets the game type.
+     *
+     * @return The game type.
+     */
+    public String getGameType() {
+        return gameType;
+    }
+
+    /**
+     * Gets the number of actions that received their update.
+     *
+     * @return The number of actions.
+     */
+    public synchronized long getActions() {
+        return latencies.getTotalCount();
+    }
+
+    /**
+     * Gets the number of games played, finished or not.
+     *
+     * @return The number of games.
+     */
+    public synchronized long getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of games that reached their end.
+     *
+     * @return The number of finished games.
+     */
+    public synchronized long getFinishedGames() {
+        return finishedGames;
+    }
+
+    /**
+     * Gets the number of actions whose update did not arrive in time.
+     *
+     * @return The number of timeouts.
+     */
+    public synchronized long getTimeouts() {
+        return timeouts;
+    }
+
+    /**
+     * Gets a latency percentile.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency in microseconds.
+     */
+    public synchronized long getLatencyPercentile(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Gets the highest latency recorded.
+     *
+     * @return The latency in microseconds.
+     */
+    public synchronized long getMaxLatency() {
+        return latencies.getMaxValue();
+    }
+}
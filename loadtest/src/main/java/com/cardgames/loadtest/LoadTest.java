@@ -0,0 +1,138 @@
+package com.cardgames.loadtest;
+
+import com.cardgames.simulation.BalanceAnalyticsJob;
+import com.cardgames.simulation.GameSimulation;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.websocket.ContainerProvider;
+import jakarta.websocket.WebSocketContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for a running backend. Plays concurrent games over the REST
+ * API and STOMP exactly like browsers do, and reports the end-to-end latency of
+ * game actions and the action throughput of each game type.
+ */
+public class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int INBOUND_MESSAGE_SIZE_LIMIT = 1024 * 1024;
+
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * Creates a load test.
+     *
+     * @param settings The load test settings.
+     */
+    public LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        LoadTest loadTest = new LoadTest(settings);
+
+        long start = System.nanoTime();
+        Map<String, LoadReport> reports = loadTest.run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        for (LoadReport report : reports.values()) {
+            logger.info("{}: {} actions/s, {} actions in {} games ({} finished), latency p50 {} us, p99 {} us, "
+                    + "p99.9 {} us, max {} us, {} timeouts",
+                    report.getGameType(), Math.round(report.getActions() / seconds), report.getActions(),
+                    report.getGames(), report.getFinishedGames(), report.getLatencyPercentile(50),
+                    report.getLatencyPercentile(99), report.getLatencyPercentile(99.9), report.getMaxLatency(),
+                    report.getTimeouts());
+        }
+        try (Writer writer = Files.newBufferedWriter(Paths.get(settings.getOut()))) {
+            loadTest.writeCsv(reports, seconds, writer);
+        }
+        logger.info("Wrote {}", settings.getOut());
+    }
+
+    /**
+     * Starts the concurrent games, spread evenly over the game types, and waits
+     * for the last of them to end once the duration is over.
+     *
+     * @return The report of each game type.
+     */
+    public Map<String, LoadReport> run() throws InterruptedException {
+        Map<String, GameSimulation<?>> simulations = new LinkedHashMap<>();
+        for (GameSimulation<?> simulation : BalanceAnalyticsJob.defaultSimulations()) {
+            simulations.put(simulation.getGameType(), simulation);
+        }
+        Map<String, LoadReport> reports = new LinkedHashMap<>();
+        for (String gameType : settings.getGameTypes()) {
+            if (!simulations.containsKey(gameType)) {
+                throw new IllegalArgumentException("Unknown game type " + gameType);
+            }
+            reports.put(gameType, new LoadReport(gameType));
+        }
+
+        WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        container.setDefaultMaxTextMessageBufferSize(INBOUND_MESSAGE_SIZE_LIMIT);
+        WebSocketStompClient client = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient(container)))));
+        client.setMessageConverter(new MappingJackson2MessageConverter(objectMapper));
+        client.setInboundMessageSizeLimit(INBOUND_MESSAGE_SIZE_LIMIT);
+
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        SplittableRandom seeds = new SplittableRandom(settings.getSeed());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.getDurationSeconds());
+
+        List<Future<?>> drivers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int slot = 0; slot < settings.getGames(); slot++) {
+                String gameType = settings.getGameTypes().get(slot % settings.getGameTypes().size());
+                drivers.add(executor.submit(new GameDriver<>(simulations.get(gameType), client, objectMapper,
+                        settings, reports.get(gameType), "lt" + runId + "g" + slot, seeds.nextLong(), deadline)));
+            }
+        }
+        client.stop();
+        logger.info("{} drivers done", drivers.size());
+        return reports;
+    }
+
+    /**
+     * Writes one CSV row per game type.
+     *
+     * @param reports The reports to write.
+     * @param seconds The duration of the run.
+     * @param writer  The destination.
+     */
+    public void writeCsv(Map<String, LoadReport> reports, double seconds, Writer writer) throws IOException {
+        writer.write("game,players,concurrentGames,games,finished,actions,actionsPerSecond,"
+                + "p50Micros,p99Micros,p999Micros,maxMicros,timeouts\n");
+        for (LoadReport report : reports.values()) {
+            writer.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.1f,%d,%d,%d,%d,%d%n",
+                    report.getGameType(), settings.getPlayers(), settings.getGames(), report.getGames(),
+                    report.getFinishedGames(), report.getActions(), report.getActions() / seconds,
+                    report.getLatencyPercentile(50), report.getLatencyPercentile(99),
+                    report.getLatencyPercentile(99.9), report.getMaxLatency(), report.getTimeouts()));
+        }
+    }
+}
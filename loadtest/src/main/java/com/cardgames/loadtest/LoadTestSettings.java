@@ -0,0 +1,143 @@
+package com.cardgames.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings of a load test, parsed from {@code --key=value} command line
+ * arguments.
+ */
+public class LoadTestSettings {
+    private String baseUrl = "http://localhost:8080";
+    private List<String> gameTypes = List.of("FLIP_SEVEN", "UNO", "SKULL_KING");
+    private int games = 10;
+    private int players = 4;
+    private int durationSeconds = 60;
+    private long actionTimeoutMillis = 5000;
+    private long seed = 1L;
+    private String out = "loadtest.csv";
+
+    /**
+     * Parses load test settings. Recognized arguments are {@code --url},
+     * {@code --games}, {@code --concurrent-games}, {@code --players},
+     * {@code --duration-seconds}, {@code --action-timeout-ms}, {@code --seed}
+     * and {@code --out}.
+     *
+     * @param args The command line arguments.
+     * @return The load test settings.
+     */
+    public static LoadTestSettings parse(String[] args) {
+        LoadTestSettings settings = new LoadTestSettings();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "url":
+                    settings.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "games":
+                    settings.gameTypes = Arrays.asList(value.toUpperCase().split(","));
+                    break;
+                case "concurrent-games":
+                    settings.games = Integer.parseInt(value);
+                    break;
+                case "players":
+                    settings.players = Integer.parseInt(value);
+                    break;
+                case "duration-seconds":
+                    settings.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "action-timeout-ms":
+                    settings.actionTimeoutMillis = Long.parseLong(value);
+                    break;
+                case "seed":
+                    settings.seed = Long.parseLong(value);
+                    break;
+                case "out":
+                    settings.out = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + arg);
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * Gets the base URL of the backend.
+     *
+     * @return The base URL, without a trailing slash.
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Gets the game types to play. Concurrent games are spread evenly over
+     * them.
+     *
+     * @return The game types.
+     */
+    public List<String> getGameTypes() {
+        return gameTypes;
+    }
+
+    /**
+     * Gets the number of games played at the same time.
+     *
+     * @return The number of concurrent games.
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Gets the number of players seated in every game.
+     *
+     * @return The number of players.
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * Gets how long new games keep being started.
+     *
+     * @return The duration in seconds.
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    /**
+     * Gets how long to wait for the update of an action before counting it as
+     * timed out and asking the server for the state again.
+     *
+     * @return The timeout in milliseconds.
+     */
+    public long getActionTimeoutMillis() {
+        return actionTimeoutMillis;
+    }
+
+    /**
+     * Gets the seed the scripted players draw their moves from.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Gets the path of the CSV report.
+     *
+     * @return The output path.
+     */
+    public String getOut() {
+        return out;
+    }
+}
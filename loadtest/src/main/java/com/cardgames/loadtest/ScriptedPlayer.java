@@ -0,0 +1,199 @@
+package com.cardgames.loadtest;
+
+import com.cardgames.dto.GameResponse;
+import com.cardgames.websocket.model.Action;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * One simulated user. Talks to the REST API with its own session cookie, like a
+ * browser, and to the game over its own STOMP connection.
+ */
+public class ScriptedPlayer {
+
+    private static final String PASSWORD = "load-test-password";
+    private static final long CONNECT_TIMEOUT_SECONDS = 10;
+
+    private final String baseUrl;
+    private final String username;
+    private final ObjectMapper objectMapper;
+    private final CookieManager cookies = new CookieManager();
+    private final HttpClient http;
+
+    private StompSession session;
+
+    /**
+     * Creates a player that has not registered yet.
+     *
+     * @param baseUrl      The base URL of the backend.
+     * @param username     The username, also used to build the email.
+     * @param objectMapper The object mapper used for request bodies.
+     */
+    public ScriptedPlayer(String baseUrl, String username, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.objectMapper = objectMapper;
+        this.http = HttpClient.newBuilder().cookieHandler(cookies).build();
+    }
+
+    /**
+     * Gets the username of the player.
+     *
+     * @return The username.
+     */
+    public String getUsername() {
+        return username;
+    }
+
+    /**
+     * Registers the user and logs in, keeping the session cookie.
+     */
+    public void register() throws IOException, InterruptedException {
+        Map<String, String> account = new HashMap<>();
+        account.put("email", username + "@loadtest.local");
+        account.put("password", PASSWORD);
+        account.put("username", username);
+        post("/auth/register", account, Void.class);
+
+        account.remove("username");
+        post("/auth/login", account, Void.class);
+    }
+
+    /**
+     * Creates a game hosted by this player.
+     *
+     * @param gameType The type of the game.
+     * @return The created game.
+     */
+    public GameResponse createGame(String gameType) throws IOException, InterruptedException {
+        return post("/game/create", Map.of("gameType", gameType), GameResponse.class);
+    }
+
+    /**
+     * Joins a game by its code.
+     *
+     * @param gameCode The code of the game.
+     * @return The joined game.
+     */
+    public GameResponse joinGame(String gameCode) throws IOException, InterruptedException {
+        return post("/game/join", Map.of("gameCode", gameCode), GameResponse.class);
+    }
+
+    /**
+     * Starts a game hosted by this player.
+     *
+     * @param gameId The ID of the game.
+     */
+    public void startGame(Long gameId) throws IOException, InterruptedException {
+        post("/game/" + gameId + "/start", Map.of(), Void.class);
+    }
+
+    /**
+     * Opens the STOMP connection, subscribes to the given topics of the game and
+     * then joins its lobby, in the same order as the web client.
+     *
+     * @param client        The STOMP client.
+     * @param gameId        The ID of the game.
+     * @param subscriptions The handlers to subscribe, keyed by destination.
+     */
+    public void connect(WebSocketStompClient client, Long gameId, Map<String, StompFrameHandler> subscriptions)
+            throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Cookie", cookies.getCookieStore().getCookies().stream()
+                .map(HttpCookie::toString)
+                .collect(Collectors.joining("; ")));
+
+        session = client.connectAsync(baseUrl + "/ws", headers, new StompSessionHandlerAdapter() {
+        }).get(CONNECT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        subscriptions.forEach(session::subscribe);
+
+        Action join = new Action();
+        join.setType(Action.ActionType.JOIN);
+        join.setSender(username);
+        join.setPayload(Map.of());
+        session.send("/app/action/" + gameId + "/addUser", join);
+    }
+
+    /**
+     * Sends a game action.
+     *
+     * @param gameId   The ID of the game.
+     * @param gameType The type of the game.
+     * @param payload  The action payload.
+     */
+    public void sendGameAction(Long gameId, String gameType, Map<String, Object> payload) {
+        send(gameId, gameType, Action.ActionType.GAME_ACTION, payload);
+    }
+
+    /**
+     * Asks the server to broadcast the current state again.
+     *
+     * @param gameId   The ID of the game.
+     * @param gameType The type of the game.
+     */
+    public void requestSync(Long gameId, String gameType) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("action", "SYNC_REQUEST");
+        send(gameId, gameType, Action.ActionType.SYNC_REQUEST, payload);
+    }
+
+    /**
+     * Tells whether the STOMP connection is open.
+     *
+     * @return true if connected.
+     */
+    public boolean isConnected() {
+        return session != null && session.isConnected();
+    }
+
+    /**
+     * Closes the STOMP connection, if open.
+     */
+    public void disconnect() {
+        if (isConnected()) {
+            session.disconnect();
+        }
+        session = null;
+    }
+
+    private void send(Long gameId, String gameType, Action.ActionType type, Map<String, Object> payload) {
+        Action action = new Action();
+        action.setType(type);
+        action.setSender(username);
+        action.setGameId(gameId);
+        action.setGameType(gameType);
+        action.setPayload(payload);
+        session.send("/app/action/" + gameId + "/sendMessage", action);
+    }
+
+    private <T> T post(String path, Object body, Class<T> responseType) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(path + " answered " + response.statusCode() + " for " + username
+                    + ": " + response.body());
+        }
+        return responseType == Void.class ? null : objectMapper.readValue(response.body(), responseType);
+    }
+}